@@ -0,0 +1,161 @@
+package org.connect4.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.connect4.Board;
+import org.connect4.GameRecord;
+import org.connect4.Player;
+import org.connect4.archive.ArchivedGame;
+import org.connect4.archive.GameArchive;
+import org.connect4.archive.GameOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Állás szerinti keresés a játszmaarchívumban: egy ritka (mély) állás
+ * ellenőrzött találatai és egy gyakori nyitóállás kimenetel-statisztikája
+ * sok véletlen játszma fölött, több lezárt szegmensen át.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ArchiveBenchmark {
+    /** A ritka állás mélysége. */
+    private static final int RARE_PLIES = 12;
+
+    /** A gyakori állás mélysége. */
+    private static final int COMMON_PLIES = 3;
+
+    /** A találatok korlátja. */
+    private static final int LIMIT = 100;
+
+    /** Egy szegmens játszmaszáma (hogy több szegmens keletkezzen). */
+    private static final int SEGMENT_GAMES = 65_536;
+
+    /** Az archivált játszmák száma. */
+    @Param({"300000"})
+    private int games;
+
+    /** Az archívum könyvtára. */
+    private Path directory;
+
+    /** Az archívum. */
+    private GameArchive archive;
+
+    /** Egy mély, kevés játszmában előforduló állás. */
+    private Board rare;
+
+    /** Egy sok játszmában előforduló nyitóállás. */
+    private Board common;
+
+    /**
+     * Felépíti az archívumot véletlen játszmákból.
+     *
+     * @throws IOException ha az archívum nem írható.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("connect4-archive");
+        archive = GameArchive.open(directory, SEGMENT_GAMES);
+        final SplittableRandom random = new SplittableRandom(games);
+        final Player first = new Player("Első",
+                BenchmarkPositions.FIRST_TOKEN);
+        final Player second = new Player("Második",
+                BenchmarkPositions.SECOND_TOKEN);
+        GameRecord sample = null;
+        for (int i = 0; i < games; i++) {
+            final GameRecord record = randomGame(random, first, second);
+            archive.append(record);
+            if (sample == null && record.getMoveCount() > RARE_PLIES) {
+                sample = record;
+            }
+        }
+        rare = BenchmarkPositions.board(
+                Arrays.copyOf(sample.getMoves(), RARE_PLIES));
+        common = BenchmarkPositions.board(
+                Arrays.copyOf(sample.getMoves(), COMMON_PLIES));
+    }
+
+    /**
+     * Bezárja és törli az archívumot.
+     *
+     * @throws IOException ha a törlés nem sikerül.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        archive.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder())
+                    .toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Egy mély állás ellenőrzött találatai.
+     *
+     * @return A találatok.
+     * @throws IOException ha egy bejegyzés sérült.
+     */
+    @Benchmark
+    public List<ArchivedGame> findRare() throws IOException {
+        return archive.find(rare, LIMIT);
+    }
+
+    /**
+     * Egy nyitóállás kimenetel-statisztikája.
+     *
+     * @return A kimenetelek darabszámai.
+     */
+    @Benchmark
+    public Map<GameOutcome, Long> countCommonOutcomes() {
+        return archive.countOutcomes(common);
+    }
+
+    /**
+     * Véletlen lépésekkel végigjátszott játszma.
+     *
+     * @param random A véletlenforrás.
+     * @param first  A kezdő játékos.
+     * @param second A második játékos.
+     * @return A játszma.
+     */
+    private static GameRecord randomGame(final SplittableRandom random,
+                                         final Player first,
+                                         final Player second) {
+        final Board board = new Board();
+        final int[] moves = new int[board.getRows() * board.getCols()];
+        int count = 0;
+        while (!board.isFull()) {
+            final int col = random.nextInt(board.getCols());
+            if (!board.makeMove(col, BenchmarkPositions.token(count))) {
+                continue;
+            }
+            moves[count++] = col;
+            if (board.checkWinAt(board.getRows() - board.getHeight(col),
+                    col)) {
+                break;
+            }
+        }
+        return new GameRecord(board.getRows(), board.getCols(),
+                board.getConnectLength(), first, second,
+                Arrays.copyOf(moves, count));
+    }
+}
@@ -0,0 +1,144 @@
+package org.connect4.bench;
+
+import java.util.SplittableRandom;
+
+import org.connect4.Board;
+import org.connect4.ai.Position;
+
+/**
+ * A benchmarkok közös, determinisztikus állásai.
+ * Minden állás egy rögzített magú véletlen játszma eleje, amelyben
+ * egyik játékos sem nyert még, és a lépő sem nyerhet azonnal, így a
+ * győzelemvizsgálatok a teljes táblát bejárják, a keresés pedig nem
+ * ér véget az első lépésnél.
+ */
+public final class BenchmarkPositions {
+    /** Az üres tábla neve. */
+    public static final String EMPTY = "empty";
+
+    /** A középjáték-állás neve. */
+    public static final String MIDGAME = "midgame";
+
+    /** A majdnem tele tábla neve. */
+    public static final String NEAR_FULL = "nearFull";
+
+    /** A kezdő játékos karaktere. */
+    public static final char FIRST_TOKEN = 'X';
+
+    /** A második játékos karaktere. */
+    public static final char SECOND_TOKEN = 'O';
+
+    /** A középjáték-állás lépésszáma. */
+    private static final int MIDGAME_MOVES = 20;
+
+    /** A majdnem tele tábla lépésszáma. */
+    private static final int NEAR_FULL_MOVES = 38;
+
+    /** A véletlen játszmák kezdő magja. */
+    private static final long SEED = 20_240_611L;
+
+    // Privát konstruktor
+    private BenchmarkPositions() {
+        throw new UnsupportedOperationException(
+                "A segédosztály példányosítása nem engedélyezett"
+        );
+    }
+
+    /**
+     * Az állás lépései (oszlopindexek) a név alapján.
+     *
+     * @param name Az állás neve ({@link #EMPTY}, {@link #MIDGAME} vagy
+     *             {@link #NEAR_FULL}).
+     * @return A lépések sorrendben.
+     */
+    public static int[] moves(final String name) {
+        switch (name) {
+            case EMPTY:
+                return new int[0];
+            case MIDGAME:
+                return randomGame(MIDGAME_MOVES);
+            case NEAR_FULL:
+                return randomGame(NEAR_FULL_MOVES);
+            default:
+                throw new IllegalArgumentException(
+                        "Ismeretlen állás: " + name);
+        }
+    }
+
+    /**
+     * Egy új tábla a lépések lejátszása után ('X' kezd).
+     *
+     * @param moves A lépések.
+     * @return A tábla.
+     */
+    public static Board board(final int[] moves) {
+        final Board board = new Board();
+        for (int i = 0; i < moves.length; i++) {
+            board.dropToken(moves[i], token(i));
+        }
+        return board;
+    }
+
+    /**
+     * Az állás a lépésen lévő játékos szemszögéből.
+     *
+     * @param moves A lépések.
+     * @return Az állás.
+     */
+    public static Position position(final int[] moves) {
+        final Position position = new Position(
+                Position.DEFAULT_ROWS, Position.DEFAULT_COLS);
+        for (int move : moves) {
+            position.play(move);
+        }
+        return position;
+    }
+
+    /**
+     * Az adott sorszámú lépést tevő játékos karaktere.
+     *
+     * @param ply A lépés sorszáma (0-tól).
+     * @return A játékos karaktere.
+     */
+    public static char token(final int ply) {
+        return (ply & 1) == 0 ? FIRST_TOKEN : SECOND_TOKEN;
+    }
+
+    /**
+     * Véletlen játszma a megadott hosszig, amelyben egyik fél sem ad
+     * azonnali nyerési lehetőséget az ellenfélnek. Ha a játszma elakad,
+     * a véletlen sorozat folytatásával újrakezdi.
+     *
+     * @param length A lépések száma.
+     * @return A lépések.
+     */
+    private static int[] randomGame(final int length) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int[] moves = new int[length];
+        final int[] candidates = new int[Position.DEFAULT_COLS];
+        while (true) {
+            final Position position = new Position(
+                    Position.DEFAULT_ROWS, Position.DEFAULT_COLS);
+            int ply = 0;
+            while (ply < length) {
+                final long safe = position.possibleNonLosingMoves();
+                int count = 0;
+                for (int col = 0; col < Position.DEFAULT_COLS; col++) {
+                    if ((safe & position.columnMask(col)) != 0
+                            && !position.isWinningMove(col)) {
+                        candidates[count++] = col;
+                    }
+                }
+                if (count == 0) {
+                    break;
+                }
+                moves[ply] = candidates[random.nextInt(count)];
+                position.play(moves[ply]);
+                ply++;
+            }
+            if (ply == length) {
+                return moves;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.connect4.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.Board;
+import org.connect4.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A {@link Board} lépés-, telítettség- és győzelemvizsgálatainak
+ * mérése üres, középjáték- és majdnem tele állásokon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardBenchmark {
+    /** A mért állás neve. */
+    @Param({BenchmarkPositions.EMPTY, BenchmarkPositions.MIDGAME,
+            BenchmarkPositions.NEAR_FULL})
+    private String position;
+
+    /** Az állás lépései. */
+    private int[] moves;
+
+    /** A tábla a mért állásban. */
+    private Board board;
+
+    /** A kezdő játékos. */
+    private Player player;
+
+    /** Az utolsó lépés sora (üres táblánál 0). */
+    private int lastRow;
+
+    /** Az utolsó lépés oszlopa (üres táblánál 0). */
+    private int lastCol;
+
+    /**
+     * Felépíti a mért állást.
+     */
+    @Setup
+    public void setUp() {
+        moves = BenchmarkPositions.moves(position);
+        board = BenchmarkPositions.board(moves);
+        player = new Player("Benchmark", BenchmarkPositions.FIRST_TOKEN);
+        if (moves.length > 0) {
+            lastCol = moves[moves.length - 1];
+            lastRow = board.getRows() - board.getHeight(lastCol);
+        }
+    }
+
+    /**
+     * Az állás összes lépésének visszavonása, majd újra megtétele a
+     * beállított táblán (másolás és új tábla nélkül).
+     *
+     * @return A lépések után visszaálló kulcs.
+     */
+    @Benchmark
+    public long unmakeAndRedoMoves() {
+        for (int i = 0; i < moves.length; i++) {
+            board.unmakeMove();
+        }
+        for (int i = 0; i < moves.length; i++) {
+            board.redoMove();
+        }
+        return board.getHashKey();
+    }
+
+    /**
+     * Új tábla, majd az állás összes lépése {@code dropToken}-nel.
+     *
+     * @return A felépített tábla.
+     */
+    @Benchmark
+    public Board replayMoves() {
+        final Board replay = new Board();
+        for (int i = 0; i < moves.length; i++) {
+            replay.dropToken(moves[i], BenchmarkPositions.token(i));
+        }
+        return replay;
+    }
+
+    /**
+     * A tábla telítettségének vizsgálata.
+     *
+     * @return True, ha a tábla tele van.
+     */
+    @Benchmark
+    public boolean isFull() {
+        return board.isFull();
+    }
+
+    /**
+     * Vízszintes győzelem vizsgálata.
+     *
+     * @return A vizsgálat eredménye.
+     */
+    @Benchmark
+    public boolean checkHorizontalWin() {
+        return board.checkHorizontalWin(player);
+    }
+
+    /**
+     * Függőleges győzelem vizsgálata.
+     *
+     * @return A vizsgálat eredménye.
+     */
+    @Benchmark
+    public boolean checkVerticalWin() {
+        return board.checkVerticalWin(player);
+    }
+
+    /**
+     * Átlós győzelem vizsgálata.
+     *
+     * @return A vizsgálat eredménye.
+     */
+    @Benchmark
+    public boolean checkDiagonalWin() {
+        return board.checkDiagonalWin(player);
+    }
+
+    /**
+     * Győzelem vizsgálata az utolsó lépés mezőjén át.
+     *
+     * @return A vizsgálat eredménye.
+     */
+    @Benchmark
+    public boolean checkWinAt() {
+        return board.checkWinAt(lastRow, lastCol);
+    }
+
+    /**
+     * A tábla karaktermátrixának előállítása.
+     *
+     * @return A mátrix.
+     */
+    @Benchmark
+    public char[][] getBoard() {
+        return board.getBoard();
+    }
+}
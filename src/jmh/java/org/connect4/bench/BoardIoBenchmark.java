@@ -0,0 +1,91 @@
+package org.connect4.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A játékállapot szöveges mentésének és betöltésének mérése.
+ * A mérés alatt a konzolkimenet el van nyelve, hogy a metódusok
+ * üzenetei ne torzítsák az eredményt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardIoBenchmark {
+    /** A mért állás neve. */
+    @Param({BenchmarkPositions.EMPTY, BenchmarkPositions.MIDGAME,
+            BenchmarkPositions.NEAR_FULL})
+    private String position;
+
+    /** A mentendő tábla. */
+    private Board board;
+
+    /** A betöltés céltáblája. */
+    private Board target;
+
+    /** Az ideiglenes állásfájl. */
+    private Path file;
+
+    /** Az eredeti standard kimenet. */
+    private PrintStream originalOut;
+
+    /**
+     * Létrehozza az ideiglenes fájlt, és elnyeli a konzolkimenetet.
+     *
+     * @throws IOException ha a fájl nem hozható létre.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        board = BenchmarkPositions.board(
+                BenchmarkPositions.moves(position));
+        target = new Board();
+        file = Files.createTempFile("connect4-bench", ".txt");
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        board.saveStateToFile(file.toString());
+    }
+
+    /**
+     * Visszaállítja a konzolkimenetet, és törli az ideiglenes fájlt.
+     *
+     * @throws IOException ha a fájl nem törölhető.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Az állás mentése fájlba.
+     */
+    @Benchmark
+    public void saveStateToFile() {
+        board.saveStateToFile(file.toString());
+    }
+
+    /**
+     * Az állás betöltése fájlból.
+     *
+     * @return True, ha a betöltés sikerült.
+     */
+    @Benchmark
+    public boolean loadStateFromFile() {
+        return target.loadStateFromFile(file.toString());
+    }
+}
@@ -0,0 +1,121 @@
+package org.connect4.bench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.Board;
+import org.connect4.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A győzelemvizsgálat és a lépésgenerálás skálázódása a táblamérettel.
+ * A méret {@code sorok x oszlopok x sorhossz} alakú; a 64 bitnél
+ * nagyobb táblák a több szavas bitkészletet használják. Minden táblán
+ * egy félig kitöltött, győzelem nélküli véletlen állás a mérés alapja.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardSizeBenchmark {
+    /** A véletlen állás magja. */
+    private static final long SEED = 17L;
+
+    /** A tábla mérete. */
+    @Param({"6x7x4", "7x8x4", "8x9x5", "16x16x5", "32x32x6"})
+    private String size;
+
+    /** A félig kitöltött tábla. */
+    private Board board;
+
+    /** Az állás lépései. */
+    private int[] moves;
+
+    /** A sorok száma. */
+    private int rows;
+
+    /** Az oszlopok száma. */
+    private int cols;
+
+    /** A sorhossz. */
+    private int connect;
+
+    /** A kezdő játékos. */
+    private Player player;
+
+    /** A következő vizsgált oszlop. */
+    private int probe;
+
+    /**
+     * Felépíti a félig kitöltött állást.
+     */
+    @Setup
+    public void setUp() {
+        final String[] parts = size.split("x");
+        rows = Integer.parseInt(parts[0]);
+        cols = Integer.parseInt(parts[1]);
+        connect = Integer.parseInt(parts[2]);
+        player = new Player("Benchmark", BenchmarkPositions.FIRST_TOKEN);
+        board = new Board(rows, cols, connect);
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int target = rows * cols / 2;
+        moves = new int[target];
+        int count = 0;
+        int attempts = 0;
+        while (count < target && attempts < rows * cols * cols) {
+            attempts++;
+            final int col = random.nextInt(cols);
+            final char token = BenchmarkPositions.token(count);
+            if (board.getHeight(col) < rows
+                    && !board.isWinningMove(col, token)) {
+                board.dropToken(col, token);
+                moves[count++] = col;
+            }
+        }
+        moves = Arrays.copyOf(moves, count);
+    }
+
+    /**
+     * Új tábla, majd az állás összes lépése {@code dropToken}-nel.
+     *
+     * @return A felépített tábla.
+     */
+    @Benchmark
+    public Board replayMoves() {
+        final Board replay = new Board(rows, cols, connect);
+        for (int i = 0; i < moves.length; i++) {
+            replay.dropToken(moves[i], BenchmarkPositions.token(i));
+        }
+        return replay;
+    }
+
+    /**
+     * A teljes táblát vizsgáló győzelemellenőrzés mindhárom irányban.
+     *
+     * @return True, ha a kezdő játékos nyert.
+     */
+    @Benchmark
+    public boolean checkAllWins() {
+        return board.checkHorizontalWin(player)
+                || board.checkVerticalWin(player)
+                || board.checkDiagonalWin(player);
+    }
+
+    /**
+     * Nyerő lépés vizsgálata egy oszlopban (lépésgenerálás).
+     *
+     * @return True, ha a lépés nyerne.
+     */
+    @Benchmark
+    public boolean isWinningMove() {
+        probe = probe + 1 == cols ? 0 : probe + 1;
+        return board.isWinningMove(probe, BenchmarkPositions.FIRST_TOKEN);
+    }
+}
@@ -0,0 +1,184 @@
+package org.connect4.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.ai.Evaluation;
+import org.connect4.ai.Position;
+import org.connect4.ai.SearchEngine;
+import org.connect4.ai.SearchResult;
+import org.connect4.ai.ThreatEvaluator;
+import org.connect4.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A fenyegetésalapú értékelés mérése: hány értékelés fér egy
+ * másodpercbe növekményesen (lépés, értékelés, visszavonás) és teljes
+ * újraszámolással, valamint hány csomópontot jár be a rögzített
+ * mélységű keresés a két értékeléssel. A csomópontszámot a
+ * {@link NodeCounter} segédszámláló jelenti.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EvaluationBenchmark {
+    /** A keresés mélysége. */
+    private static final int DEPTH = 8;
+
+    /** A transzpozíciós tábla mérete megabájtban. */
+    private static final int TABLE_MB = 1;
+
+    /** Gyakorlatilag korlátlan gondolkodási idő (ms). */
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2;
+
+    /** A mért állás neve. */
+    @Param({BenchmarkPositions.EMPTY, BenchmarkPositions.MIDGAME})
+    private String position;
+
+    /** A keresés gyökere. */
+    private Position root;
+
+    /** A gyökérre állított növekményes értékelő. */
+    private ThreatEvaluator evaluator;
+
+    /** A gyökérben játszható oszlopok. */
+    private int[] playable;
+
+    /** A következő mért lépés indexe a játszható oszlopok között. */
+    private int next;
+
+    /** Kereső középértékeléssel. */
+    private SearchEngine centerEngine;
+
+    /** Kereső fenyegetésalapú értékeléssel. */
+    private SearchEngine threatEngine;
+
+    /**
+     * A keresés csomópontjainak száma mint JMH segédszámláló.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NodeCounter {
+        /** A bejárt csomópontok száma. */
+        private long nodes;
+
+        /** A keresések száma. */
+        private long searches;
+
+        /**
+         * Egy keresés átlagos csomópontszáma (a JMH olvassa).
+         *
+         * @return A csomópontok száma keresésenként.
+         */
+        public long nodesPerSearch() {
+            return searches == 0 ? 0L : nodes / searches;
+        }
+
+        /**
+         * Nullázás minden iteráció előtt.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0L;
+            searches = 0L;
+        }
+    }
+
+    /**
+     * Felépíti az állást, az értékelőt és a keresőket.
+     */
+    @Setup
+    public void setUp() {
+        root = BenchmarkPositions.position(
+                BenchmarkPositions.moves(position));
+        evaluator = new ThreatEvaluator(root.getRows(), root.getCols());
+        evaluator.reset(root);
+        int count = 0;
+        final int[] columns = new int[root.getCols()];
+        for (int col = 0; col < root.getCols(); col++) {
+            if (root.canPlay(col)) {
+                columns[count++] = col;
+            }
+        }
+        playable = Arrays.copyOf(columns, count);
+        centerEngine = new SearchEngine(NO_TIME_LIMIT, DEPTH,
+                new TranspositionTable(TABLE_MB), Evaluation.CENTER);
+        threatEngine = new SearchEngine(NO_TIME_LIMIT, DEPTH,
+                new TranspositionTable(TABLE_MB), Evaluation.THREATS);
+    }
+
+    /**
+     * Növekményes értékelés: lépés, értékelés és visszavonás.
+     *
+     * @return Az értékelés.
+     */
+    @Benchmark
+    public int incrementalEvaluation() {
+        final int col = playable[next];
+        next = next + 1 == playable.length ? 0 : next + 1;
+        evaluator.play(col);
+        final int score = evaluator.score();
+        evaluator.undo(col);
+        return score;
+    }
+
+    /**
+     * Az értékelés teljes újraszámolása ugyanarra az állásra.
+     *
+     * @return Az értékelés.
+     */
+    @Benchmark
+    public int fullEvaluation() {
+        evaluator.reset(root);
+        return evaluator.score();
+    }
+
+    /**
+     * Rögzített mélységű keresés középértékeléssel.
+     *
+     * @param counter A csomópontszámláló.
+     * @return A keresés eredménye.
+     */
+    @Benchmark
+    public SearchResult searchWithCenterEvaluation(
+            final NodeCounter counter) {
+        return search(centerEngine, counter);
+    }
+
+    /**
+     * Rögzített mélységű keresés fenyegetésalapú értékeléssel.
+     *
+     * @param counter A csomópontszámláló.
+     * @return A keresés eredménye.
+     */
+    @Benchmark
+    public SearchResult searchWithThreatEvaluation(
+            final NodeCounter counter) {
+        return search(threatEngine, counter);
+    }
+
+    /**
+     * Keresés üres táblával, a csomópontok számlálásával.
+     *
+     * @param engine  A kereső.
+     * @param counter A csomópontszámláló.
+     * @return A keresés eredménye.
+     */
+    private SearchResult search(final SearchEngine engine,
+                                final NodeCounter counter) {
+        engine.getTable().clear();
+        final SearchResult result = engine.search(root);
+        counter.nodes += result.getNodes();
+        counter.searches++;
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package org.connect4.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.Game;
+import org.connect4.GameListener;
+import org.connect4.MoveResult;
+import org.connect4.Player;
+import org.connect4.ai.OpeningBook;
+import org.connect4.ai.Searcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A konzol nélküli {@link Game#play(int)} lépésenkénti költsége: egy
+ * majdnem tele tábláig tartó játszma lépései újrakezdéstől, figyelő
+ * nélkül és egy üres figyelővel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameBenchmark {
+    /** A játszma lépéseinek száma. */
+    private static final int PLIES = 38;
+
+    /** Regisztrált figyelők száma. */
+    @Param({"0", "1"})
+    private int listenerCount;
+
+    /** A lejátszott lépések. */
+    private int[] moves;
+
+    /** A játék (AI és napló nélkül). */
+    private Game game;
+
+    /**
+     * Felépíti a játékot és a lépéssort.
+     */
+    @Setup
+    public void setUp() {
+        moves = BenchmarkPositions.moves(BenchmarkPositions.NEAR_FULL);
+        game = new Game(
+                new Player("Első", BenchmarkPositions.FIRST_TOKEN),
+                new Player("Második", BenchmarkPositions.SECOND_TOKEN),
+                false, (Searcher) null, (OpeningBook) null);
+        for (int i = 0; i < listenerCount; i++) {
+            game.addListener(new GameListener() { });
+        }
+    }
+
+    /**
+     * Újrakezdés, majd a játszma összes lépése; az eredmény egy lépésre
+     * vetített idő.
+     *
+     * @return Az utolsó lépés kimenetele.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PLIES)
+    public MoveResult playGame() {
+        game.restart();
+        MoveResult result = null;
+        for (final int col : moves) {
+            result = game.play(col);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,159 @@
+package org.connect4.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.ai.Position;
+import org.connect4.bulk.ImportListener;
+import org.connect4.bulk.ImportSummary;
+import org.connect4.bulk.PositionDumpWriter;
+import org.connect4.bulk.PositionImporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Tömeges állásimport: ugyanannyi véletlen állás szöveges és bináris
+ * dumpjának beolvasása, ellenőrzése és kulcsokká alakítása. Az
+ * átviteli sebesség a fájlméret (a beállításkor naplózva) és a mért
+ * idő hányadosa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImportBenchmark {
+    /** Az állások legnagyobb lépésszáma. */
+    private static final int MAX_MOVES = 30;
+
+    /** Az állások száma a dumpokban. */
+    @Param({"1000000"})
+    private int positions;
+
+    /** A feldolgozó szálak száma. */
+    @Param({"1", "4"})
+    private int threads;
+
+    /** A szöveges dump. */
+    private Path text;
+
+    /** A bináris dump. */
+    private Path binary;
+
+    /** Az importáló. */
+    private PositionImporter importer;
+
+    /** A kulcsokat összegző fogadó (hogy a munka ne vesszen el). */
+    private final Checksum checksum = new Checksum();
+
+    /**
+     * Legenerálja a két dumpot.
+     *
+     * @throws IOException ha a fájlok nem írhatók.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        text = Files.createTempFile("connect4-positions", ".txt");
+        binary = Files.createTempFile("connect4-positions", ".c4pb");
+        final SplittableRandom random = new SplittableRandom(positions);
+        final char[] line = new char[Position.DEFAULT_COLS];
+        try (BufferedWriter out =
+                     Files.newBufferedWriter(text, StandardCharsets.US_ASCII);
+             PositionDumpWriter dump = PositionDumpWriter.create(binary,
+                     Position.DEFAULT_ROWS, Position.DEFAULT_COLS)) {
+            for (int i = 0; i < positions; i++) {
+                final Position position = new Position(
+                        Position.DEFAULT_ROWS, Position.DEFAULT_COLS);
+                final int moves = random.nextInt(MAX_MOVES);
+                for (int m = 0; m < moves; m++) {
+                    final int col = random.nextInt(Position.DEFAULT_COLS);
+                    if (position.canPlay(col)
+                            && !position.isWinningMove(col)) {
+                        position.play(col);
+                    }
+                }
+                final long own = position.getCurrent();
+                final long other = own ^ position.getMask();
+                final boolean firstToMove =
+                        (position.getMoveCount() & 1) == 0;
+                final long first = firstToMove ? own : other;
+                final long second = firstToMove ? other : own;
+                dump.write(first, second);
+                for (int row = Position.DEFAULT_ROWS - 1; row >= 0; row--) {
+                    for (int col = 0; col < Position.DEFAULT_COLS; col++) {
+                        final long bit = 1L
+                                << (col * (Position.DEFAULT_ROWS + 1) + row);
+                        line[col] = (first & bit) != 0
+                                ? PositionImporter.FIRST_TOKEN
+                                : (second & bit) != 0
+                                ? PositionImporter.SECOND_TOKEN
+                                : PositionImporter.EMPTY;
+                    }
+                    out.write(line);
+                    out.newLine();
+                }
+            }
+        }
+        System.out.printf("%nszöveges dump: %d bájt, bináris: %d bájt%n",
+                Files.size(text), Files.size(binary));
+        importer = new PositionImporter(Position.DEFAULT_ROWS,
+                Position.DEFAULT_COLS, threads);
+    }
+
+    /**
+     * Törli a dumpokat.
+     *
+     * @throws IOException ha a törlés nem sikerül.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        importer.close();
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(binary);
+    }
+
+    /**
+     * A szöveges dump importálása.
+     *
+     * @return Az összesítés.
+     * @throws IOException ha a dump nem olvasható.
+     */
+    @Benchmark
+    public ImportSummary importText() throws IOException {
+        return importer.importFile(text, checksum);
+    }
+
+    /**
+     * A bináris dump importálása.
+     *
+     * @return Az összesítés.
+     * @throws IOException ha a dump nem olvasható.
+     */
+    @Benchmark
+    public ImportSummary importBinary() throws IOException {
+        return importer.importFile(binary, checksum);
+    }
+
+    /**
+     * A kulcsokat összegző fogadó.
+     */
+    private static final class Checksum implements ImportListener {
+        /** A kulcsok összege. */
+        private long sum;
+
+        @Override
+        public void onPosition(final long index, final long key) {
+            sum += key;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.connect4.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.ai.ParallelSearch;
+import org.connect4.ai.Position;
+import org.connect4.ai.SearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A párhuzamos (Lazy SMP) kereső skálázódása: egy rögzített mélységű
+ * keresés az üres tábláról, szálszámonként. A közös táblát minden
+ * keresés előtt üríti, így a mérések nem örökölnek eredményt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParallelSearchBenchmark {
+    /** A transzpozíciós tábla mérete megabájtban. */
+    private static final int TABLE_MB = 64;
+
+    /** Gyakorlatilag korlátlan gondolkodási idő (ms). */
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2;
+
+    /** A kereső szálainak száma. */
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    /** A célmélység. */
+    @Param({"12"})
+    private int depth;
+
+    /** A keresés gyökere (üres tábla). */
+    private Position root;
+
+    /** A mért kereső. */
+    private ParallelSearch search;
+
+    /**
+     * Felépíti a keresőt.
+     */
+    @Setup
+    public void setUp() {
+        root = new Position(Position.DEFAULT_ROWS, Position.DEFAULT_COLS);
+        search = new ParallelSearch(threads, NO_TIME_LIMIT, depth, TABLE_MB);
+    }
+
+    /**
+     * Leállítja a kereső szálait.
+     */
+    @TearDown
+    public void tearDown() {
+        search.close();
+    }
+
+    /**
+     * Keresés a célmélységig üres táblával.
+     *
+     * @return A keresés eredménye.
+     */
+    @Benchmark
+    public SearchResult searchToDepth() {
+        search.getTable().clear();
+        return search.search(root);
+    }
+}
@@ -0,0 +1,82 @@
+package org.connect4.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.ai.Position;
+import org.connect4.ai.SearchEngine;
+import org.connect4.ai.SearchResult;
+import org.connect4.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Az AI rögzített mélységű keresésének mérése transzpozíciós táblával
+ * és anélkül. A táblát minden keresés előtt üríti, így az egymást követő
+ * mérések nem örökölnek eredményt egymástól.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchBenchmark {
+    /** A keresés mélysége. */
+    private static final int DEPTH = 8;
+
+    /** A transzpozíciós tábla mérete megabájtban. */
+    private static final int TABLE_MB = 1;
+
+    /** Gyakorlatilag korlátlan gondolkodási idő (ms). */
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2;
+
+    /** A mért állás neve. */
+    @Param({BenchmarkPositions.EMPTY, BenchmarkPositions.MIDGAME,
+            BenchmarkPositions.NEAR_FULL})
+    private String position;
+
+    /** A keresés gyökere. */
+    private Position root;
+
+    /** Kereső transzpozíciós tábla nélkül. */
+    private SearchEngine plain;
+
+    /** Kereső transzpozíciós táblával. */
+    private SearchEngine cached;
+
+    /**
+     * Felépíti az állást és a keresőket.
+     */
+    @Setup
+    public void setUp() {
+        root = BenchmarkPositions.position(
+                BenchmarkPositions.moves(position));
+        plain = new SearchEngine(NO_TIME_LIMIT, DEPTH);
+        cached = new SearchEngine(NO_TIME_LIMIT, DEPTH,
+                new TranspositionTable(TABLE_MB));
+    }
+
+    /**
+     * Keresés transzpozíciós tábla nélkül.
+     *
+     * @return A keresés eredménye.
+     */
+    @Benchmark
+    public SearchResult searchWithoutTable() {
+        return plain.search(root);
+    }
+
+    /**
+     * Keresés üres transzpozíciós táblával.
+     *
+     * @return A keresés eredménye.
+     */
+    @Benchmark
+    public SearchResult searchWithTable() {
+        cached.getTable().clear();
+        return cached.search(root);
+    }
+}
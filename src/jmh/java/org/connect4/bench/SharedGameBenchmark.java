@@ -0,0 +1,179 @@
+package org.connect4.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.connect4.Board;
+import org.connect4.BoardSnapshot;
+import org.connect4.MoveResult;
+import org.connect4.Player;
+import org.connect4.SharedGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Egy közösen olvasott játszma sok olvasóval és kevés íróval. Az
+ * olvasók (nézők) a teljes táblát bejárják, az írók véletlen lépéseket
+ * tesznek, és a játszma végén újrakezdik. A {@code snapshot} csoport a
+ * zár nélküli {@link SharedGame}, a {@code locked} csoport egy
+ * olvasó-író zárral védett {@link Board}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SharedGameBenchmark {
+    /** Az olvasó szálak száma csoportonként. */
+    private static final int READERS = 6;
+
+    /** Az író szálak száma csoportonként. */
+    private static final int WRITERS = 2;
+
+    /** A zár nélküli közös játszma. */
+    private SharedGame shared;
+
+    /** A zárral védett tábla. */
+    private Board board;
+
+    /** A tábla zárja. */
+    private ReentrantReadWriteLock lock;
+
+    /**
+     * Felépíti a közös játszmákat.
+     */
+    @Setup
+    public void setUp() {
+        shared = new SharedGame(
+                new Player("Első", BenchmarkPositions.FIRST_TOKEN),
+                new Player("Második", BenchmarkPositions.SECOND_TOKEN));
+        board = new Board();
+        lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Író szálanként külön véletlenszám-generátor.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        /** A szálak egyedi magjai. */
+        private static final AtomicLong SEEDS = new AtomicLong();
+
+        /** Az oszlopválasztás generátora. */
+        private SplittableRandom random;
+
+        /**
+         * Szálanként eltérő, rögzített mag.
+         */
+        @Setup
+        public void setUp() {
+            random = new SplittableRandom(SEEDS.incrementAndGet());
+        }
+    }
+
+    /**
+     * Néző a zár nélküli játszmán: egy volatile olvasás, majd a
+     * pillanatkép bejárása zár és másolás nélkül.
+     *
+     * @return A mezők ellenőrzőösszege.
+     */
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(READERS)
+    public int snapshotRead() {
+        return checksum(shared.current());
+    }
+
+    /**
+     * Író a zár nélküli játszmán: CAS-sal közzétett lépés.
+     *
+     * @param writer A szál generátora.
+     * @return A lépés kimenetele.
+     */
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(WRITERS)
+    public MoveResult snapshotWrite(final Writer writer) {
+        final MoveResult result = shared.play(
+                writer.random.nextInt(Board.DEFAULT_COLS));
+        if (result.endsGame() || result == MoveResult.GAME_OVER) {
+            shared.restart();
+        }
+        return result;
+    }
+
+    /**
+     * Néző a zárral védett táblán: a bejárás az olvasózár alatt fut.
+     *
+     * @return A mezők ellenőrzőösszege.
+     */
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(READERS)
+    public int lockedRead() {
+        lock.readLock().lock();
+        try {
+            int sum = 0;
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    sum = sum * BenchmarkPositions.SECOND_TOKEN
+                            + board.cellAt(r, c);
+                }
+            }
+            return sum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Író a zárral védett táblán: a lépés az írózár alatt fut.
+     *
+     * @param writer A szál generátora.
+     * @return Megtörtént-e a lépés.
+     */
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(WRITERS)
+    public boolean lockedWrite(final Writer writer) {
+        final int col = writer.random.nextInt(Board.DEFAULT_COLS);
+        lock.writeLock().lock();
+        try {
+            final char token = (board.getMoveCount() & 1) == 0
+                    ? BenchmarkPositions.FIRST_TOKEN
+                    : BenchmarkPositions.SECOND_TOKEN;
+            final boolean won = board.isWinningMove(col, token);
+            final boolean dropped = board.dropToken(col, token);
+            if (won || board.isFull()) {
+                board.clear();
+            }
+            return dropped;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A pillanatkép mezőinek ellenőrzőösszege.
+     *
+     * @param snapshot A pillanatkép.
+     * @return Az összeg.
+     */
+    private static int checksum(final BoardSnapshot snapshot) {
+        int sum = 0;
+        for (int r = 0; r < snapshot.getRows(); r++) {
+            for (int c = 0; c < snapshot.getCols(); c++) {
+                sum = sum * BenchmarkPositions.SECOND_TOKEN
+                        + snapshot.cellAt(r, c);
+            }
+        }
+        return sum;
+    }
+}
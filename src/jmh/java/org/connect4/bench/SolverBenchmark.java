@@ -0,0 +1,52 @@
+package org.connect4.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.connect4.ai.Position;
+import org.connect4.ai.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A tökéletes megoldó mérése. Az üres tábla megoldása túl hosszú egy
+ * benchmark-iterációhoz, ezért csak a későbbi állások szerepelnek.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SolverBenchmark {
+    /** A transzpozíciós tábla mérete megabájtban. */
+    private static final int TABLE_MB = 1;
+
+    /** A mért állás neve. */
+    @Param({BenchmarkPositions.MIDGAME, BenchmarkPositions.NEAR_FULL})
+    private String position;
+
+    /** A megoldandó állás. */
+    private Position root;
+
+    /**
+     * Felépíti az állást.
+     */
+    @Setup
+    public void setUp() {
+        root = BenchmarkPositions.position(
+                BenchmarkPositions.moves(position));
+    }
+
+    /**
+     * Megoldás friss (üres táblájú) megoldóval.
+     *
+     * @return Az állás értéke.
+     */
+    @Benchmark
+    public int solve() {
+        return new Solver(TABLE_MB).solve(root);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the JMH benchmarks for the Board, the win checks
+ * and the AI. Run them with {@code mvn -Pbenchmark verify}.
+ */
+package org.connect4.bench;
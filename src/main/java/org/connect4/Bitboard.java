@@ -0,0 +1,91 @@
+package org.connect4;
+
+/**
+ * Egy játékos (vagy a foglalt mezők) bitkészlete a {@link Board}-on.
+ * A bitindexek oszloponként követik egymást alulról felfelé, minden
+ * oszlop fölött egy mindig üres őrbittel, így egy irányba tett
+ * eltolás nem lép át a szomszédos oszlopba.
+ *
+ * <p>Ha a tábla elfér 64 biten, egyetlen {@code long} tárolja
+ * ({@link LongBitboard}), egyébként {@code long} szavak tömbje
+ * ({@link WordsBitboard}).</p>
+ */
+interface Bitboard {
+    /**
+     * A megadott méretű bitkészlethez illő megvalósítás.
+     *
+     * @param size A bitek száma.
+     * @return Üres bitkészlet.
+     */
+    static Bitboard create(final int size) {
+        return size <= Long.SIZE
+                ? new LongBitboard()
+                : new WordsBitboard(size);
+    }
+
+    /**
+     * Egy bit értéke.
+     *
+     * @param index A bit indexe.
+     * @return True, ha a bit be van állítva.
+     */
+    boolean get(int index);
+
+    /**
+     * Beállít egy bitet.
+     *
+     * @param index A bit indexe.
+     */
+    void set(int index);
+
+    /**
+     * Töröl egy bitet.
+     *
+     * @param index A bit indexe.
+     */
+    void clear(int index);
+
+    /**
+     * Az összes bit törlése.
+     */
+    void clearAll();
+
+    /**
+     * A beállított bitek száma.
+     *
+     * @return A bitek száma.
+     */
+    int count();
+
+    /**
+     * Megvizsgálja, van-e legalább {@code length} egymást követő bit az
+     * adott eltolás irányában.
+     *
+     * @param shift  Az irányhoz tartozó biteltolás.
+     * @param length A keresett sor hossza.
+     * @return True, ha van ilyen sor.
+     */
+    boolean hasLine(int shift, int length);
+
+    /**
+     * Átveszi egy azonos méretű bitkészlet tartalmát.
+     *
+     * @param other A másolandó bitkészlet.
+     */
+    void copyFrom(Bitboard other);
+
+    /**
+     * Független másolat.
+     *
+     * @return A másolat.
+     */
+    Bitboard copy();
+
+    /**
+     * A bitkészlet egyetlen {@code long}-ként.
+     *
+     * @return A bitek.
+     * @throws IllegalStateException ha a bitkészlet nem fér el 64 biten.
+     */
+    long toLong();
+}
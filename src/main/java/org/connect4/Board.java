@@ -7,37 +7,152 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Arrays;
 
+import org.connect4.metrics.FileOperationEvent;
+import org.connect4.metrics.Metrics;
+import org.connect4.metrics.Operation;
+
 /**
  * A Connect 4 játék táblája.
  * Ez az osztály metódusokat biztosít a tábla kezeléséhez,
  * győzelmi feltételek és a játékállapotok
  * mentéséhez és betöltéséhez.
+ *
+ * <p>A tábla belül bitboardként tárolódik: játékosonként egy
+ * {@link Bitboard}, valamint egy foglaltsági maszk. A bitek oszloponként
+ * követik egymást alulról felfelé, minden oszlop fölött egy üres
+ * őrbittel, így a győzelem néhány eltolással és ÉS művelettel
+ * ellenőrizhető. A méret és a győzelemhez szükséges sorhossz
+ * konstruáláskor adható meg; ha a tábla elfér 64 biten, egyetlen
+ * {@code long} tárolja, egyébként több szóból álló bitkészlet.</p>
  */
 public class Board {
+    /** A tábla sorainak alapértelmezett száma. */
+    public static final int DEFAULT_ROWS = 6;
+
+    /** A tábla oszlopainak alapértelmezett száma. */
+    public static final int DEFAULT_COLS = 7;
+
+    /** A győzelemhez alapértelmezetten összekötendő karakterek száma. */
+    public static final int DEFAULT_CONNECT_LENGTH = 4;
+
+    /** Az üres mezőt jelölő karakter. */
+    static final char EMPTY = '.';
+
+    /** Még ki nem osztott tokenhely jelölése. */
+    static final char UNASSIGNED = '\0';
+
+    /** Függőleges irány eltolása a bitboardon. */
+    private static final int VERTICAL_SHIFT = 1;
+
+    /** A Zobrist-kulcsok keverőjének első szorzója (SplitMix64). */
+    private static final long MIX_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** A Zobrist-kulcsok keverőjének második szorzója. */
+    private static final long MIX_FIRST = 0xBF58476D1CE4E5B9L;
+
+    /** A Zobrist-kulcsok keverőjének harmadik szorzója. */
+    private static final long MIX_SECOND = 0x94D049BB133111EBL;
+
+    /** A keverő első eltolása. */
+    private static final int MIX_SHIFT_FIRST = 30;
+
+    /** A keverő második eltolása. */
+    private static final int MIX_SHIFT_SECOND = 27;
+
+    /** A keverő harmadik eltolása. */
+    private static final int MIX_SHIFT_THIRD = 31;
+
     /** A tábla sorainak száma. */
-    private static final int DEFAULT_ROWS = 6;
+    private final int rows;
 
     /** A tábla oszlopainak száma. */
-    private static final int DEFAULT_COLS = 7;
+    private final int cols;
 
     /** A győzelemhez szükséges összekötendő karakterek száma. */
-    private static final int CONNECT_LENGTH = 4;
+    private final int connectLength;
+
+    /** Egy oszlop bitjeinek száma (a sorok és egy őrbit). */
+    private final int columnBits;
+
+    /** A két tokenhely bitboardja. */
+    private final Bitboard[] playerBits = new Bitboard[2];
+
+    /** A két tokenhelyhez tartozó karakterek. */
+    private final char[] tokens = new char[2];
 
-    /** 2D tömb, amely a táblát reprezentálja. */
-    private final char[][] board;
+    /** Az összes foglalt mező maszkja. */
+    private final Bitboard mask;
+
+    /** Az oszlopok aktuális magassága (a bennük lévő tokenek száma). */
+    private final int[] heights;
+
+    /** A táblán lévő tokenek száma. */
+    private int moveCount;
+
+    /**
+     * A lépések oszlopai sorrendben. A {@link #moveCount} utáni
+     * bejegyzések a visszavont, újra megtehető lépések.
+     */
+    private final int[] history;
+
+    /** A lépések tokenhelyei a történet sorrendjében. */
+    private final byte[] historySlots;
+
+    /** A történet vége (a visszavont lépésekkel együtt). */
+    private int historyEnd;
+
+    /** Igaz, ha a történet a tábla összes tokenjét lefedi. */
+    private boolean historyComplete = true;
+
+    /** Az állás Zobrist-kulcsa, lépésenként frissítve. */
+    private long hash;
+
+    /** A tükrözött állás Zobrist-kulcsa, lépésenként frissítve. */
+    private long mirrorHash;
 
     /**
-     * Üres tábla alapértelmezett értékekkel.
+     * Üres tábla alapértelmezett értékekkel (6x7, négyes sor).
      */
     public Board() {
-        this.board = new char[DEFAULT_ROWS][DEFAULT_COLS];
-        for (char[] row : board) {
-            Arrays.fill(row, '.'); // Üres helyekkel inicializálás
+        this(DEFAULT_ROWS, DEFAULT_COLS, DEFAULT_CONNECT_LENGTH);
+    }
+
+    /**
+     * Üres tábla a megadott méretekkel.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param connect  A győzelemhez szükséges sorhossz.
+     * @throws IllegalArgumentException ha a méretek érvénytelenek.
+     */
+    public Board(final int rowCount, final int colCount, final int connect) {
+        if (rowCount < 1 || colCount < 1) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen táblaméret: " + rowCount + "x" + colCount);
+        }
+        if (connect < 2 || connect > Math.max(rowCount, colCount)) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen sorhossz: " + connect);
         }
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.connectLength = connect;
+        this.columnBits = rowCount + 1;
+        final int size = Math.multiplyExact(columnBits, colCount);
+        this.playerBits[0] = Bitboard.create(size);
+        this.playerBits[1] = Bitboard.create(size);
+        this.mask = Bitboard.create(size);
+        this.heights = new int[colCount];
+        this.history = new int[Math.multiplyExact(rowCount, colCount)];
+        this.historySlots = new byte[history.length];
+        Arrays.fill(tokens, UNASSIGNED);
     }
 
     /**
-     * Karakter ledobása a megadott oszlopba.
+     * Karakter ledobása a megadott oszlopba. Az új lépés törli a
+     * visszavont lépéseket (nincs többé mit újra megtenni). A
+     * szabálytalan lépést csak a visszatérési érték jelzi, a metódus
+     * nem ír a konzolra.
      *
      * @param col   Az oszlop ahova a karaktert dobjuk.
      * @param token A ledobott karakter.
@@ -45,25 +160,155 @@ public class Board {
      *         false, ha az oszlop tele van vagy érvénytelen.
      */
     public boolean dropToken(final int col, final char token) {
-        if (col < 0 || col >= DEFAULT_COLS) {
-            System.out.println("Érvénytelen oszlop: " + col);
-            return false;
+        final long start = Metrics.start();
+        final boolean dropped = drop(col, token);
+        Metrics.stop(Operation.MOVE, start);
+        return dropped;
+    }
+
+    /**
+     * A {@link #dropToken(int, char)} mérés nélküli törzse.
+     *
+     * @param col   Az oszlop ahova a karaktert dobjuk.
+     * @param token A ledobott karakter.
+     * @return True, ha a karakter sikeresen le lett dobva.
+     */
+    private boolean drop(final int col, final char token) {
+        if (col < 0 || col >= cols || heights[col] == rows) {
+            return false; // Érvénytelen vagy tele lévő oszlop
         }
-        for (int row = DEFAULT_ROWS - 1; row >= 0; row--) {
-            if (board[row][col] == '.') {
-                board[row][col] = token;
-                return true; // Sikeres tokenledobás
-            }
+        final int slot = slotOf(token, true);
+        if (slot < 0) {
+            return false; // Egy harmadik karakternek nincs helye
+        }
+        place(col, slot);
+        historyEnd = moveCount;
+        return true; // Sikeres tokenledobás
+    }
+
+    /**
+     * Megtesz egy lépést; a {@link #unmakeMove()} párja.
+     *
+     * @param col   Az oszlop.
+     * @param token A lépő játékos karaktere.
+     * @return True, ha a lépés szabályos volt és megtörtént.
+     */
+    public boolean makeMove(final int col, final char token) {
+        return dropToken(col, token);
+    }
+
+    /**
+     * Visszavonja az utolsó lépést konstans időben: a bitek, az
+     * oszlopmagasság és a Zobrist-kulcs lépésenként állnak vissza. A
+     * visszavont lépés a {@link #redoMove()} hívással újra megtehető.
+     *
+     * @return A visszavont lépés oszlopa.
+     * @throws IllegalStateException ha nincs visszavonható lépés.
+     */
+    public int unmakeMove() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nincs visszavonható lépés.");
+        }
+        moveCount--;
+        final int col = history[moveCount];
+        final int slot = historySlots[moveCount];
+        final int height = heights[col] - 1;
+        final int index = col * columnBits + height;
+        playerBits[slot].clear(index);
+        mask.clear(index);
+        heights[col] = height;
+        hash ^= zobrist(index, tokens[slot]);
+        mirrorHash ^= zobrist(mirrorIndex(col, height), tokens[slot]);
+        return col;
+    }
+
+    /**
+     * Újra megteszi az utoljára visszavont lépést.
+     *
+     * @return Az újra megtett lépés oszlopa.
+     * @throws IllegalStateException ha nincs visszavont lépés.
+     */
+    public int redoMove() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nincs újra megtehető lépés.");
         }
-        System.out.println("Az oszlop tele van: " + col);
-        return false; // Az oszlop tele van
+        final int col = history[moveCount];
+        place(col, historySlots[moveCount]);
+        return col;
+    }
+
+    /**
+     * Megmutatja, hogy van-e visszavonható lépés. Szöveges betöltés
+     * után a sorrend ismeretlen, ezért nincs.
+     *
+     * @return True, ha a {@link #unmakeMove()} hívható.
+     */
+    public boolean canUndo() {
+        return moveCount > 0 && historyComplete;
+    }
+
+    /**
+     * Megmutatja, hogy van-e visszavont, újra megtehető lépés.
+     *
+     * @return True, ha a {@link #redoMove()} hívható.
+     */
+    public boolean canRedo() {
+        return historyEnd > moveCount;
+    }
+
+    /**
+     * Az állás Zobrist-kulcsa: a foglalt mezők és rajtuk lévő
+     * karakterek kulcsainak kizáró vagyja. Azonos állásokra (a
+     * lépéssorrendtől függetlenül) azonos.
+     *
+     * @return A kulcs.
+     */
+    public long getHashKey() {
+        return hash;
+    }
+
+    /**
+     * A függőleges középtengelyre tükrözött állás Zobrist-kulcsa. A
+     * {@link #getHashKey()} kulccsal együtt, lépésenként frissül.
+     *
+     * @return A tükörkép kulcsa.
+     */
+    public long getMirrorHashKey() {
+        return mirrorHash;
+    }
+
+    /**
+     * Az állás kanonikus kulcsa: a Zobrist-kulcs és a tükörkép kulcsa
+     * közül a kisebb. Egy állás és a tükörképe azonos kulcsot kap, így
+     * egy gyorsítótár vagy index egy bejegyzéssel fedi le mindkettőt.
+     *
+     * @return A kanonikus kulcs.
+     */
+    public long getCanonicalKey() {
+        return Math.min(hash, mirrorHash);
+    }
+
+    /**
+     * Kiüríti a táblát; a tokenek karakterhozzárendelése is törlődik.
+     */
+    public void clear() {
+        playerBits[0].clearAll();
+        playerBits[1].clearAll();
+        mask.clearAll();
+        Arrays.fill(tokens, UNASSIGNED);
+        Arrays.fill(heights, 0);
+        moveCount = 0;
+        historyEnd = 0;
+        historyComplete = true;
+        hash = 0L;
+        mirrorHash = 0L;
     }
 
     /**
      * A tábla aktuális állapotának kiírása.
      */
     public void print() {
-        for (char[] row : board) {
+        for (char[] row : getBoard()) {
             System.out.println(new String(row)); // Minden sort kiírunk
         }
     }
@@ -74,14 +319,7 @@ public class Board {
      * @return True, ha a tábla tele van, különben false.
      */
     public boolean isFull() {
-        for (char[] row : board) {
-            for (char cell : row) {
-                if (cell == '.') {
-                    return false; // Találtunk egy üres helyet
-                }
-            }
-        }
-        return true; // Nincsenek üres helyek
+        return moveCount == rows * cols;
     }
 
     /**
@@ -91,27 +329,60 @@ public class Board {
      * @return True, ha az állapot sikeresen betöltődött, különben false.
      */
     public boolean loadStateFromFile(final String fileName) {
+        final FileOperationEvent event = new FileOperationEvent(
+                false, fileName, FileOperationEvent.TEXT);
+        return event.finish(loadText(fileName));
+    }
+
+    /**
+     * A {@link #loadStateFromFile(String)} mérés nélküli törzse.
+     *
+     * @param fileName A fájl neve.
+     * @return True, ha az állapot sikeresen betöltődött.
+     */
+    private boolean loadText(final String fileName) {
+        final Bitboard[] loaded = {playerBits[0].copy(), playerBits[1].copy()};
+        final char[] loadedTokens = tokens.clone();
         try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            for (int r = 0; r < DEFAULT_ROWS; r++) {
+            for (int r = 0; r < rows; r++) {
                 String line = br.readLine();
                 if (line == null) {
                     break; // Ha a fájl rövidebb, mint a tábla, akkor leállunk.
                 }
-                for
-                (int c = 0; c < Math.min(line.length(), DEFAULT_COLS); c++) {
-                    board[r][c] = line.charAt(c);
+                for (int c = 0; c < Math.min(line.length(), cols); c++) {
+                    final int index = cellIndex(r, c);
+                    loaded[0].clear(index);
+                    loaded[1].clear(index);
+                    final char ch = line.charAt(c);
+                    if (ch == EMPTY) {
+                        continue;
+                    }
+                    final int slot = slotOf(loadedTokens, ch, true);
+                    if (slot < 0) {
+                        System.out.println("Ismeretlen karakter a(z) "
+                                + fileName + " fájlban: " + ch);
+                        return false;
+                    }
+                    loaded[slot].set(index);
                 }
             }
-            System.out.println(
-                    "Játékállapot sikeresen betöltve a(z) "
-                            + fileName + " fájlból."
-            );
-            return true; // Sikeres játékállapot betöltés
         } catch (IOException e) {
             System.out.println("Hiba a(z) " + fileName
                     + " fájl betöltésekor: " + e.getMessage());
             return false; // A játékállapot betöltése nem sikerült
         }
+        playerBits[0].copyFrom(loaded[0]);
+        playerBits[1].copyFrom(loaded[1]);
+        tokens[0] = loadedTokens[0];
+        tokens[1] = loadedTokens[1];
+        recomputeHeights();
+        historyEnd = moveCount;
+        historyComplete = moveCount == 0; // A szöveg nem őrzi a sorrendet
+        System.out.println(
+                "Játékállapot sikeresen betöltve a(z) "
+                        + fileName + " fájlból."
+        );
+        return true; // Sikeres játékállapot betöltés
     }
 
     /**
@@ -120,14 +391,18 @@ public class Board {
      * @param fileName A fájl neve, ahova a játékállapotot mentjük.
      */
     public void saveStateToFile(final String fileName) {
+        final FileOperationEvent event = new FileOperationEvent(
+                true, fileName, FileOperationEvent.TEXT);
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(fileName))) {
-            for (char[] row : board) {
+            for (char[] row : getBoard()) {
                 bw.write(row); // A sort közvetlenül kiírjuk
                 bw.newLine(); // Következő sorba lépés a fájlban
             }
+            event.finish(true);
             System.out.println("A játékállapot mentésre került a(z) "
                     + fileName + " fájlba.");
         } catch (IOException e) {
+            event.finish(false);
             System.out.println("Hiba történt a játékállapot mentésekor: "
                     + e.getMessage());
         }
@@ -140,15 +415,12 @@ public class Board {
      * @return True, ha a játékos vízszintesen nyert, különben false.
      */
     public boolean checkHorizontalWin(final Player player) {
-        final char token = player.getToken();
-        for (int row = 0; row < DEFAULT_ROWS; row++) {
-            for (int col = 0; col <= DEFAULT_COLS - CONNECT_LENGTH; col++) {
-                if (isWinningCombination(row, col, token, 0, 1)) {
-                    return true; // Találtunk egy vízszintes győzelmet
-                }
-            }
-        }
-        return false; // Nincs vízszintes győzelem
+        final long start = Metrics.start();
+        final Bitboard bits = bitsOf(player);
+        final boolean won =
+                bits != null && bits.hasLine(columnBits, connectLength);
+        Metrics.stop(Operation.WIN_CHECK, start);
+        return won;
     }
 
     /**
@@ -158,15 +430,12 @@ public class Board {
      * @return True, ha a játékos függőlegesen nyert, különben false.
      */
     public boolean checkVerticalWin(final Player player) {
-        final char token = player.getToken();
-        for (int col = 0; col < DEFAULT_COLS; col++) {
-            for (int row = 0; row <= DEFAULT_ROWS - CONNECT_LENGTH; row++) {
-                if (isWinningCombination(row, col, token, 1, 0)) {
-                    return true; // Találtunk egy függőleges győzelmet
-                }
-            }
-        }
-        return false; // Nincs függőleges győzelem
+        final long start = Metrics.start();
+        final Bitboard bits = bitsOf(player);
+        final boolean won =
+                bits != null && bits.hasLine(VERTICAL_SHIFT, connectLength);
+        Metrics.stop(Operation.WIN_CHECK, start);
+        return won;
     }
 
     /**
@@ -176,61 +445,445 @@ public class Board {
      * @return True, ha a játékos átlósan nyert, különben false.
      */
     public boolean checkDiagonalWin(final Player player) {
-        final char token = player.getToken();
-        // Pozitív lejtésű átló ellenőrzése (\)
-        for (int row = 0; row <= DEFAULT_ROWS - CONNECT_LENGTH; row++) {
-            for (int col = 0; col <= DEFAULT_COLS - CONNECT_LENGTH; col++) {
-                if (isWinningCombination(row, col, token, 1, 1)) {
-                    return true;
-                    // Találtunk egy átlós győzelmet (pozitív lejtés)
-                }
-            }
+        final long start = Metrics.start();
+        final Bitboard bits = bitsOf(player);
+        final boolean won = bits != null
+                && (bits.hasLine(columnBits + 1, connectLength)
+                || bits.hasLine(columnBits - 1, connectLength));
+        Metrics.stop(Operation.WIN_CHECK, start);
+        return won;
+    }
+
+    /**
+     * Győzelem ellenőrzése csak a megadott mezőn átmenő négy vonalon.
+     * Az utolsó ledobott token után hívva ugyanazt adja, mint a teljes
+     * táblát vizsgáló check*Win metódusok, de a tábla méretétől
+     * függetlenül.
+     *
+     * @param row A mező sora (0 a legfelső sor).
+     * @param col A mező oszlopa.
+     * @return True, ha a mezőn lévő token egy nyerő vonal része.
+     */
+    public boolean checkWinAt(final int row, final int col) {
+        final long start = Metrics.start();
+        final boolean won = winAt(row, col);
+        Metrics.stop(Operation.WIN_CHECK, start);
+        return won;
+    }
+
+    /**
+     * A {@link #checkWinAt(int, int)} mérés nélküli törzse.
+     *
+     * @param row A mező sora (0 a legfelső sor).
+     * @param col A mező oszlopa.
+     * @return True, ha a mezőn lévő token egy nyerő vonal része.
+     */
+    private boolean winAt(final int row, final int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return false;
+        }
+        final int index = cellIndex(row, col);
+        if (playerBits[0].get(index)) {
+            return completesLine(playerBits[0], index);
+        }
+        if (playerBits[1].get(index)) {
+            return completesLine(playerBits[1], index);
         }
+        return false;
+    }
 
-        // Negatív lejtésű átló ellenőrzése (/)
-        for (int row = CONNECT_LENGTH - 1; row < DEFAULT_ROWS; row++) {
-            for (int col = 0; col <= DEFAULT_COLS - CONNECT_LENGTH; col++) {
-                if
-                (isWinningCombination(row, col, token, -1, 1)) {
-                    return true;
-                    // Találtunk egy átlós győzelmet (negatív lejtés)
-                }
-            }
+    /**
+     * Megvizsgálja, hogy a karakter nyerne-e, ha az oszlopba dobnák.
+     * A táblát nem módosítja.
+     *
+     * @param col   Az oszlop.
+     * @param token A karakter.
+     * @return True, ha a lépés szabályos és nyerő vonalat alkotna.
+     */
+    public boolean isWinningMove(final int col, final char token) {
+        if (col < 0 || col >= cols || heights[col] == rows) {
+            return false;
+        }
+        final int slot = slotOf(token, false);
+        if (slot < 0) {
+            return false; // Egyetlen token még nem alkot sort
+        }
+        final int index = col * columnBits + heights[col];
+        return completesLine(playerBits[slot], index);
+    }
+
+    /**
+     * Az oszlopban lévő tokenek száma.
+     *
+     * @param col Az oszlop.
+     * @return Az oszlop magassága.
+     */
+    public int getHeight(final int col) {
+        return heights[col];
+    }
+
+    /**
+     * A táblán lévő tokenek száma.
+     *
+     * @return A megtett lépések száma.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Megmutatja, hogy ismert-e a táblán lévő összes token lépéssorrendje.
+     * Szöveges betöltés után a sorrend ismeretlen.
+     *
+     * @return True, ha a lépéstörténet teljes.
+     */
+    public boolean hasMoveHistory() {
+        return historyComplete;
+    }
+
+    /**
+     * A lépések oszlopai a lejátszás sorrendjében.
+     *
+     * @return A lépések másolata.
+     * @throws IllegalStateException ha a lépéstörténet nem teljes.
+     */
+    public int[] getMoveHistory() {
+        if (!historyComplete) {
+            throw new IllegalStateException(
+                    "A tábla lépéssorrendje nem ismert.");
         }
-        return false; // Nincs átlós győzelem
+        return Arrays.copyOf(history, moveCount);
+    }
+
+    /**
+     * A tábla sorainak száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * A tábla oszlopainak száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * A győzelemhez szükséges sorhossz.
+     *
+     * @return Az összekötendő karakterek száma.
+     */
+    public int getConnectLength() {
+        return connectLength;
+    }
+
+    /**
+     * Megmutatja, hogy a tábla egyetlen {@code long} bitboardban
+     * tárolódik-e (ekkor érhető el a {@link #getTokenBits(char)} és a
+     * {@link #getMask()}).
+     *
+     * @return True, ha a tábla elfér 64 biten.
+     */
+    public boolean fitsInLong() {
+        return columnBits * cols <= Long.SIZE;
     }
 
     /**
      * A tábla aktuális állapotát adja vissza.
+     * A visszaadott tömb a bitboardból készült nézet; módosítása
+     * nem hat vissza a táblára. Más szálról olvasva a tábla nem
+     * szálbiztos; ilyenkor a {@link #snapshot()} pillanatképet kell
+     * átadni.
      *
      * @return Egy 2D karakter tömb, amely a táblát mutatja.
      */
     public char[][] getBoard() {
-        return board; // A tábla aktuális állapotának visszaadása
+        final char[][] view = new char[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                view[r][c] = cellAt(r, c);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Egy mező karakterét adja vissza a bitboard alapján.
+     *
+     * @param row A sor (0 a legfelső sor).
+     * @param col Az oszlop.
+     * @return A mezőn lévő karakter, vagy '.' ha üres.
+     */
+    public char cellAt(final int row, final int col) {
+        final int index = cellIndex(row, col);
+        if (playerBits[0].get(index)) {
+            return tokens[0];
+        }
+        if (playerBits[1].get(index)) {
+            return tokens[1];
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Az adott karakter tokenjeinek száma a táblán.
+     *
+     * @param token A játékos karaktere.
+     * @return A tokenek száma.
+     */
+    public int countTokens(final char token) {
+        final int slot = slotOf(token, false);
+        return slot < 0 ? 0 : playerBits[slot].count();
+    }
+
+    /**
+     * Az adott karakterhez tartozó bitboard.
+     *
+     * @param token A játékos karaktere.
+     * @return A karakter mezőinek bitmaszkja, vagy 0, ha nincs ilyen.
+     * @throws IllegalStateException ha a tábla nem fér el egy long-ban.
+     */
+    public long getTokenBits(final char token) {
+        if (!fitsInLong()) {
+            throw new IllegalStateException(
+                    "A tábla nem fér el egy long-ban.");
+        }
+        final int slot = slotOf(token, false);
+        return slot < 0 ? 0L : playerBits[slot].toLong();
+    }
+
+    /**
+     * Változtathatatlan pillanatkép a tábla aktuális állásáról. A
+     * pillanatkép bármennyi szálról zár nélkül olvasható, és a tábla
+     * későbbi lépései nem hatnak rá.
+     *
+     * @return A pillanatkép.
+     */
+    public BoardSnapshot snapshot() {
+        final int winner = hasAnyLine(0) ? 0 : hasAnyLine(1) ? 1 : -1;
+        return new BoardSnapshot(this,
+                new Bitboard[] {playerBits[0].copy(), playerBits[1].copy()},
+                tokens.clone(), heights.clone(), hash, mirrorHash, winner);
+    }
+
+    /**
+     * Megvizsgálja, hogy egy tokenhely bitjei közt van-e nyerő vonal.
+     *
+     * @param slot A tokenhely.
+     * @return True, ha bármely irányban megvan a sorhossz.
+     */
+    private boolean hasAnyLine(final int slot) {
+        final Bitboard bits = playerBits[slot];
+        return bits.hasLine(VERTICAL_SHIFT, connectLength)
+                || bits.hasLine(columnBits, connectLength)
+                || bits.hasLine(columnBits + 1, connectLength)
+                || bits.hasLine(columnBits - 1, connectLength);
+    }
+
+    /**
+     * Az összes foglalt mező bitmaszkja.
+     *
+     * @return A foglaltsági maszk.
+     * @throws IllegalStateException ha a tábla nem fér el egy long-ban.
+     */
+    public long getMask() {
+        return mask.toLong();
+    }
+
+    /**
+     * A játékos bitboardja.
+     *
+     * @param player A játékos.
+     * @return A játékos bitboardja, vagy null, ha nincs a táblán.
+     */
+    private Bitboard bitsOf(final Player player) {
+        final int slot = slotOf(player.getToken(), false);
+        return slot < 0 ? null : playerBits[slot];
+    }
+
+    /**
+     * Megkeresi (szükség esetén kiosztja) a karakter tokenhelyét.
+     *
+     * @param token  A karakter.
+     * @param assign Kiosztható-e új hely.
+     * @return A hely indexe, vagy -1 ha nincs (vagy nem osztható ki).
+     */
+    private int slotOf(final char token, final boolean assign) {
+        return slotOf(tokens, token, assign);
     }
 
     /**
-     * Segédmetódus a győzelmi kombináció ellenőrzéséhez.
+     * Megkeresi (szükség esetén kiosztja) a karakter helyét a tömbben.
      *
-     * @param rowStart   Kezdősor.
-     * @param colStart   Kezdőoszlop.
-     * @param token      A játékos tokenje.
-     * @param rowStep    Soronkénti lépés.
-     * @param colStep    Oszloponkénti lépés.
-     * @return True, ha a győzelmi kombináció megtalálható, különben false.
+     * @param slots  A tokenhelyek.
+     * @param token  A karakter.
+     * @param assign Kiosztható-e új hely.
+     * @return A hely indexe, vagy -1 ha nincs (vagy nem osztható ki).
+     */
+    private static int slotOf(final char[] slots,
+                              final char token,
+                              final boolean assign) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == token) {
+                return i;
+            }
+            if (slots[i] == UNASSIGNED) {
+                if (!assign) {
+                    return -1;
+                }
+                slots[i] = token;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Betöltés után újraszámolja a foglaltsági maszkot, az
+     * oszlopmagasságokat, a lépésszámot és a Zobrist-kulcsot. Az oszlop
+     * magassága a legfelső foglalt mező fölötti sor.
      */
-    private boolean isWinningCombination(final int rowStart,
-                                         final int colStart,
-                                         final char token,
-                                         final int rowStep,
-                                         final int colStep) {
-        for
-        (int i = 0; i < CONNECT_LENGTH; i++) {
-            if
-            (board[rowStart + i * rowStep][colStart + i * colStep] != token) {
-                return false; // Nincs egyezés
+    private void recomputeHeights() {
+        mask.clearAll();
+        moveCount = 0;
+        hash = 0L;
+        mirrorHash = 0L;
+        for (int c = 0; c < cols; c++) {
+            heights[c] = 0;
+            for (int r = 0; r < rows; r++) {
+                final int index = c * columnBits + r;
+                final int slot = playerBits[0].get(index) ? 0
+                        : playerBits[1].get(index) ? 1 : -1;
+                if (slot >= 0) {
+                    mask.set(index);
+                    heights[c] = r + 1;
+                    moveCount++;
+                    hash ^= zobrist(index, tokens[slot]);
+                    mirrorHash ^= zobrist(mirrorIndex(c, r), tokens[slot]);
+                }
             }
         }
-        return true; // Győzelmi kombináció megtalálva
+    }
+
+    /**
+     * Egy tokenhely karakterét a következő mezőre teszi, és a
+     * történetbe írja (a történet végét nem módosítja).
+     *
+     * @param col  Az oszlop (nem tele).
+     * @param slot A tokenhely.
+     */
+    private void place(final int col, final int slot) {
+        final int index = col * columnBits + heights[col];
+        playerBits[slot].set(index);
+        mask.set(index);
+        mirrorHash ^= zobrist(mirrorIndex(col, heights[col]),
+                tokens[slot]);
+        heights[col]++;
+        hash ^= zobrist(index, tokens[slot]);
+        history[moveCount] = col;
+        historySlots[moveCount] = (byte) slot;
+        moveCount++;
+    }
+
+    /**
+     * Egy mező és karakter Zobrist-kulcsa. Táblázat helyett a
+     * SplitMix64 keverőjét számolja, így bármekkora táblán működik.
+     *
+     * @param index A mező bitindexe.
+     * @param token A karakter.
+     * @return A kulcs.
+     */
+    static long zobrist(final int index, final char token) {
+        long z = (((long) index << Character.SIZE) | token) * MIX_GAMMA;
+        z = (z ^ (z >>> MIX_SHIFT_FIRST)) * MIX_FIRST;
+        z = (z ^ (z >>> MIX_SHIFT_SECOND)) * MIX_SECOND;
+        return z ^ (z >>> MIX_SHIFT_THIRD);
+    }
+
+    /**
+     * Megvizsgálja, hogy a mezőre tett token (a mezőt is beleértve)
+     * nyerő vonalat alkot-e a játékos bitboardján.
+     *
+     * @param bits  A játékos bitboardja.
+     * @param index A mező bitindexe.
+     * @return True, ha valamelyik irányban megvan a sorhossz.
+     */
+    private boolean completesLine(final Bitboard bits, final int index) {
+        return completesLine(bits, index, columnBits, columnBits * cols,
+                connectLength);
+    }
+
+    /**
+     * A {@link #completesLine(Bitboard, int)} a tábla méreteivel
+     * paraméterezve (a {@link BoardSnapshot} is ezt használja).
+     *
+     * @param bits          A játékos bitboardja.
+     * @param index         A mező bitindexe.
+     * @param bitsPerColumn Egy oszlop bitjeinek száma.
+     * @param size          A bitboard mérete.
+     * @param connect       A győzelemhez szükséges sorhossz.
+     * @return True, ha valamelyik irányban megvan a sorhossz.
+     */
+    static boolean completesLine(final Bitboard bits,
+                                 final int index,
+                                 final int bitsPerColumn,
+                                 final int size,
+                                 final int connect) {
+        return runLength(bits, index, VERTICAL_SHIFT, size) >= connect
+                || runLength(bits, index, bitsPerColumn, size) >= connect
+                || runLength(bits, index, bitsPerColumn + 1, size) >= connect
+                || runLength(bits, index, bitsPerColumn - 1, size) >= connect;
+    }
+
+    /**
+     * Az adott bitindexen átmenő összefüggő tokenek száma egy irányban.
+     * A kiinduló mezőt foglaltnak tekinti.
+     *
+     * @param bits  A játékos bitboardja.
+     * @param index A kiinduló mező bitindexe.
+     * @param shift Az irányhoz tartozó biteltolás.
+     * @param size  A bitboard mérete.
+     * @return Az összefüggő tokenek száma (a kiinduló mezővel együtt).
+     */
+    private static int runLength(final Bitboard bits,
+                                 final int index,
+                                 final int shift,
+                                 final int size) {
+        int count = 1;
+        for (int i = index + shift; i < size && bits.get(i); i += shift) {
+            count++;
+        }
+        for (int i = index - shift; i >= 0 && bits.get(i); i -= shift) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Egy mező bitindexe (a sorok a megjelenítés szerint, felülről
+     * számozva).
+     *
+     * @param row A sor (0 a legfelső sor).
+     * @param col Az oszlop.
+     * @return A mezőhöz tartozó bit indexe.
+     */
+    private int cellIndex(final int row, final int col) {
+        return col * columnBits + (rows - 1 - row);
+    }
+
+    /**
+     * Egy mező tükörképének bitindexe (a sorok alulról számozva).
+     *
+     * @param col    Az oszlop.
+     * @param height A sor alulról.
+     * @return A tükrözött oszlop azonos sorának bitindexe.
+     */
+    private int mirrorIndex(final int col, final int height) {
+        return (cols - 1 - col) * columnBits + height;
     }
 }
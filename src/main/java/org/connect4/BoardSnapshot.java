@@ -0,0 +1,372 @@
+package org.connect4;
+
+/**
+ * Egy tábla változtathatatlan pillanatképe. A mezőket a {@link Board}
+ * bitboardjaival azonos elrendezésben tárolja; létrehozás után egyik
+ * mezője sem változik, így bármennyi szál zár és másolás nélkül
+ * olvashatja. Lépéskor a {@link #play(int, char)} új pillanatképet ad,
+ * amely csak a lépő játékos bitboardját és az oszlopmagasságokat
+ * másolja.
+ *
+ * <p>Két pillanatkép egyenlő, ha a méreteik, a tokenjeik és a mezőik
+ * megegyeznek (a lépéssorrendtől függetlenül).</p>
+ */
+public final class BoardSnapshot {
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** A győzelemhez szükséges sorhossz. */
+    private final int connectLength;
+
+    /** Egy oszlop bitjeinek száma (a sorok és egy őrbit). */
+    private final int columnBits;
+
+    /** A két tokenhely bitboardja; létrehozás után nem módosul. */
+    private final Bitboard[] playerBits;
+
+    /** A két tokenhelyhez tartozó karakterek. */
+    private final char[] tokens;
+
+    /** Az oszlopok magassága. */
+    private final int[] heights;
+
+    /** A táblán lévő tokenek száma. */
+    private final int moveCount;
+
+    /** Az állás Zobrist-kulcsa ({@link Board#getHashKey()}). */
+    private final long hash;
+
+    /** A tükrözött állás Zobrist-kulcsa. */
+    private final long mirrorHash;
+
+    /** A nyerő vonalat alkotó tokenhely, vagy -1. */
+    private final int winner;
+
+    /**
+     * Pillanatkép egy tábla mezőiből. A tömböket átveszi, a hívó többé
+     * nem módosíthatja őket.
+     *
+     * @param board      A tábla (a méretekhez és a lépésszámhoz).
+     * @param bits       A két tokenhely bitboardjának másolata.
+     * @param slotTokens A tokenhelyek karakterei.
+     * @param columns    Az oszlopmagasságok.
+     * @param key        A Zobrist-kulcs.
+     * @param mirrorKey  A tükörkép Zobrist-kulcsa.
+     * @param winnerSlot A nyertes tokenhely, vagy -1.
+     */
+    BoardSnapshot(final Board board,
+                  final Bitboard[] bits,
+                  final char[] slotTokens,
+                  final int[] columns,
+                  final long key,
+                  final long mirrorKey,
+                  final int winnerSlot) {
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.connectLength = board.getConnectLength();
+        this.columnBits = rows + 1;
+        this.playerBits = bits;
+        this.tokens = slotTokens;
+        this.heights = columns;
+        this.moveCount = board.getMoveCount();
+        this.hash = key;
+        this.mirrorHash = mirrorKey;
+        this.winner = winnerSlot;
+    }
+
+    /**
+     * Az előző pillanatkép egy lépéssel később.
+     *
+     * @param previous   Az előző pillanatkép.
+     * @param bits       Az új bitboardok.
+     * @param slotTokens Az új tokenhelyek.
+     * @param columns    Az új oszlopmagasságok.
+     * @param key        Az új Zobrist-kulcs.
+     * @param mirrorKey  A tükörkép új Zobrist-kulcsa.
+     * @param winnerSlot A nyertes tokenhely, vagy -1.
+     */
+    private BoardSnapshot(final BoardSnapshot previous,
+                          final Bitboard[] bits,
+                          final char[] slotTokens,
+                          final int[] columns,
+                          final long key,
+                          final long mirrorKey,
+                          final int winnerSlot) {
+        this.rows = previous.rows;
+        this.cols = previous.cols;
+        this.connectLength = previous.connectLength;
+        this.columnBits = previous.columnBits;
+        this.playerBits = bits;
+        this.tokens = slotTokens;
+        this.heights = columns;
+        this.moveCount = previous.moveCount + 1;
+        this.hash = key;
+        this.mirrorHash = mirrorKey;
+        this.winner = winnerSlot;
+    }
+
+    /**
+     * Üres tábla pillanatképe.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param connect  A győzelemhez szükséges sorhossz.
+     * @return Az üres pillanatkép.
+     * @throws IllegalArgumentException ha a méretek érvénytelenek.
+     */
+    public static BoardSnapshot empty(final int rowCount,
+                                      final int colCount,
+                                      final int connect) {
+        return new Board(rowCount, colCount, connect).snapshot();
+    }
+
+    /**
+     * A sorok száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Az oszlopok száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * A győzelemhez szükséges sorhossz.
+     *
+     * @return Az összekötendő karakterek száma.
+     */
+    public int getConnectLength() {
+        return connectLength;
+    }
+
+    /**
+     * A táblán lévő tokenek száma.
+     *
+     * @return A megtett lépések száma.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Az oszlopban lévő tokenek száma.
+     *
+     * @param col Az oszlop.
+     * @return Az oszlop magassága.
+     */
+    public int getHeight(final int col) {
+        return heights[col];
+    }
+
+    /**
+     * Megvizsgálja, hogy az oszlopba lehet-e még dobni.
+     *
+     * @param col Az oszlop.
+     * @return True, ha az oszlop létezik és nincs tele.
+     */
+    public boolean canPlay(final int col) {
+        return col >= 0 && col < cols && heights[col] < rows;
+    }
+
+    /**
+     * Megmutatja, hogy a tábla megtelt-e.
+     *
+     * @return True, ha minden mező foglalt.
+     */
+    public boolean isFull() {
+        return moveCount == rows * cols;
+    }
+
+    /**
+     * Megmutatja, hogy valamelyik játékos nyert-e.
+     *
+     * @return True, ha a táblán van nyerő vonal.
+     */
+    public boolean hasWinner() {
+        return winner >= 0;
+    }
+
+    /**
+     * A nyertes karaktere.
+     *
+     * @return A nyerő vonal karaktere, vagy '.' ha nincs nyertes.
+     */
+    public char getWinner() {
+        return winner >= 0 ? tokens[winner] : Board.EMPTY;
+    }
+
+    /**
+     * Megmutatja, hogy a játszma véget ért-e (győzelem vagy tele tábla).
+     *
+     * @return True, ha már nem lehet lépni.
+     */
+    public boolean isOver() {
+        return hasWinner() || isFull();
+    }
+
+    /**
+     * Egy mező karaktere.
+     *
+     * @param row A sor (0 a legfelső sor).
+     * @param col Az oszlop.
+     * @return A mezőn lévő karakter, vagy '.' ha üres.
+     */
+    public char cellAt(final int row, final int col) {
+        final int index = col * columnBits + (rows - 1 - row);
+        if (playerBits[0].get(index)) {
+            return tokens[0];
+        }
+        if (playerBits[1].get(index)) {
+            return tokens[1];
+        }
+        return Board.EMPTY;
+    }
+
+    /**
+     * A tábla karaktertömbként, a {@link Board#getBoard()} alakjában.
+     *
+     * @return Új tömb; módosítása a pillanatképre nem hat.
+     */
+    public char[][] getBoard() {
+        final char[][] view = new char[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                view[r][c] = cellAt(r, c);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Az állás Zobrist-kulcsa; azonos a tábla {@link Board#getHashKey()}
+     * kulcsával.
+     *
+     * @return A kulcs.
+     */
+    public long getHashKey() {
+        return hash;
+    }
+
+    /**
+     * Az állás kanonikus kulcsa ({@link Board#getCanonicalKey()}).
+     *
+     * @return A kulcs és a tükörkép kulcsa közül a kisebb.
+     */
+    public long getCanonicalKey() {
+        return Math.min(hash, mirrorHash);
+    }
+
+    /**
+     * Az állás egy lépéssel később. Ez a pillanatkép nem változik.
+     *
+     * @param col   Az oszlop.
+     * @param token A lépő karakter.
+     * @return Az új pillanatkép.
+     * @throws IllegalStateException    ha a játszma már véget ért.
+     * @throws IllegalArgumentException ha az oszlop nem létezik, tele
+     *                                  van, vagy a karakter egy harmadik.
+     */
+    public BoardSnapshot play(final int col, final char token) {
+        if (isOver()) {
+            throw new IllegalStateException("A játszma már véget ért.");
+        }
+        if (!canPlay(col)) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen vagy tele lévő oszlop: " + col);
+        }
+        final char[] nextTokens = tokens.clone();
+        final int slot = slotOf(nextTokens, token);
+        if (slot < 0) {
+            throw new IllegalArgumentException(
+                    "A táblán már két másik karakter van: " + token);
+        }
+        final int height = heights[col];
+        final int index = col * columnBits + height;
+        final Bitboard[] nextBits = playerBits.clone();
+        nextBits[slot] = playerBits[slot].copy();
+        nextBits[slot].set(index);
+        final int[] nextHeights = heights.clone();
+        nextHeights[col] = height + 1;
+        final int mirrorIndex = (cols - 1 - col) * columnBits + height;
+        final boolean won = Board.completesLine(nextBits[slot], index,
+                columnBits, columnBits * cols, connectLength);
+        return new BoardSnapshot(this, nextBits, nextTokens, nextHeights,
+                hash ^ Board.zobrist(index, token),
+                mirrorHash ^ Board.zobrist(mirrorIndex, token),
+                won ? slot : -1);
+    }
+
+    /**
+     * Megkeresi (szükség esetén kiosztja) a karakter tokenhelyét.
+     *
+     * @param slots A tokenhelyek (módosítható másolat).
+     * @param token A karakter.
+     * @return A hely indexe, vagy -1 ha mindkét hely foglalt.
+     */
+    private static int slotOf(final char[] slots, final char token) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == token) {
+                return i;
+            }
+            if (slots[i] == Board.UNASSIGNED) {
+                slots[i] = token;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BoardSnapshot)) {
+            return false;
+        }
+        final BoardSnapshot that = (BoardSnapshot) other;
+        if (rows != that.rows || cols != that.cols
+                || connectLength != that.connectLength
+                || moveCount != that.moveCount || hash != that.hash) {
+            return false;
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (cellAt(r, c) != that.cellAt(r, c)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    /**
+     * Az állás a szöveges mentés alakjában (felső sor elöl).
+     *
+     * @return A sorok soremelésekkel elválasztva.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(rows * (cols + 1));
+        for (char[] row : getBoard()) {
+            text.append(row).append('\n');
+        }
+        return text.toString();
+    }
+}
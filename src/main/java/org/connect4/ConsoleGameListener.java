@@ -0,0 +1,79 @@
+package org.connect4;
+
+/**
+ * A játék konzolos nézete: minden lépés és visszavonás után kirajzolja
+ * a táblát, és kiírja a szabálytalan lépéseket és a játék végét.
+ */
+public final class ConsoleGameListener implements GameListener {
+    /**
+     * Kiírja a lépést és az új táblát.
+     *
+     * @param game   A játék.
+     * @param player A lépő játékos.
+     * @param col    A lépés oszlopa.
+     */
+    @Override
+    public void onMove(final Game game, final Player player,
+                       final int col) {
+        System.out.println("A(z) " + player.getName() + " ("
+                + player.getToken() + ") lépése: " + col);
+        game.getBoard().print();
+    }
+
+    /**
+     * Kiírja a visszavonást és az új táblát.
+     *
+     * @param game   A játék.
+     * @param player A visszavont lépés játékosa.
+     * @param col    A visszavont lépés oszlopa.
+     */
+    @Override
+    public void onUndo(final Game game, final Player player,
+                       final int col) {
+        System.out.println("Visszavonva: " + player.getName()
+                + " lépése (" + col + ")");
+        game.getBoard().print();
+    }
+
+    /**
+     * Kiírja a győztest.
+     *
+     * @param game   A játék.
+     * @param winner A győztes.
+     */
+    @Override
+    public void onWin(final Game game, final Player winner) {
+        System.out.println("A(z) " + winner.getName() + " nyert!");
+    }
+
+    /**
+     * Kiírja a döntetlent.
+     *
+     * @param game A játék.
+     */
+    @Override
+    public void onDraw(final Game game) {
+        System.out.println("Döntetlen!");
+    }
+
+    /**
+     * Kiírja, miért nem történt meg a lépés.
+     *
+     * @param game   A játék.
+     * @param player A lépni próbáló játékos.
+     * @param col    A kért oszlop.
+     * @param reason Az elutasítás oka.
+     */
+    @Override
+    public void onIllegalMove(final Game game, final Player player,
+                              final int col, final MoveResult reason) {
+        if (reason == MoveResult.COLUMN_FULL) {
+            System.out.println("A választott oszlop tele van! "
+                    + "Válassz másik oszlopot.");
+        } else if (reason == MoveResult.INVALID_COLUMN) {
+            System.out.println("Érvénytelen oszlop: " + col);
+        } else {
+            System.out.println("A játék már véget ért.");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.connect4;
+
+import java.io.InputStream;
+import java.util.Scanner;
+
+/**
+ * A konzolon ülő játékos lépésforrása. Oszlopot, illetve az
+ * {@code 'u'} (visszavonás) és {@code 'r'} (újralépés) parancsokat
+ * olvas; az {@code 's'} (mentés) parancsot maga kezeli, és utána
+ * újra lépést kér.
+ *
+ * <p>Egyetlen {@link Scanner} szolgálja ki az összes lépést. Ha a
+ * forrás nem kapott saját scannert, a {@code System.in} cseréjekor
+ * (pl. tesztekben) új scannert nyit rá.</p>
+ */
+public final class ConsoleMoveSource implements MoveSource {
+    /** A megadott scanner, vagy null, ha a {@code System.in}-t követi. */
+    private final Scanner fixedScanner;
+
+    /** A {@code System.in}-re nyitott scanner, vagy null. */
+    private Scanner systemScanner;
+
+    /** A bemenet, amelyre a {@link #systemScanner} nyílt. */
+    private InputStream systemInput;
+
+    /**
+     * Lépésforrás a mindenkori {@code System.in}-ről.
+     */
+    public ConsoleMoveSource() {
+        this(null);
+    }
+
+    /**
+     * Lépésforrás egy meglévő scannerről (pl. amelyről a menü is olvas,
+     * hogy a két olvasó ne pufferelje egymás elől a bemenetet).
+     *
+     * @param scanner A scanner, vagy null a {@code System.in}-hez.
+     */
+    public ConsoleMoveSource(final Scanner scanner) {
+        this.fixedScanner = scanner;
+    }
+
+    /**
+     * Megkérdi a játékost, mit szeretne.
+     *
+     * @param game A játék.
+     * @return A kiválasztott oszlop, vagy egy parancs jelzése.
+     */
+    @Override
+    public int nextMove(final Game game) {
+        final Player player = game.getCurrentPlayer();
+        final int cols = game.getBoard().getCols();
+        final Scanner scanner = scanner();
+        do {
+            System.out.print("A(z) "
+                    + player.getName() + " (" + player.getToken()
+                    + ") játékos, válassz egy oszlopot (0-"
+                    + (cols - 1) + "),"
+                    + "vagy írd be 's' a mentéshez, 'u' a visszavonáshoz, "
+                    + "'r' az újralépéshez: ");
+            final String input = scanner.nextLine().trim();
+
+            if (input.equalsIgnoreCase("s")) {
+                save(game, scanner);
+                continue;
+            }
+            if (input.equalsIgnoreCase("u")) {
+                if (!game.canUndo()) {
+                    System.out.println("Nincs visszavonható lépés.");
+                }
+                return Game.UNDO_COMMAND;
+            }
+            if (input.equalsIgnoreCase("r")) {
+                if (!game.canRedo()) {
+                    System.out.println("Nincs újra megtehető lépés.");
+                }
+                return Game.REDO_COMMAND;
+            }
+
+            try {
+                final int col = Integer.parseInt(input);
+                if (col >= 0 && col < cols) {
+                    return col;
+                }
+            } catch (NumberFormatException e) {
+                // Érvénytelen bemenet figyelmen kívül hagyása
+            }
+
+            System.out.println("Érvénytelen bemenet! "
+                    + "Válassz egy oszlopot 0-" + (cols - 1)
+                    + " között, "
+                    + "vagy írd be az 's', 'u' vagy 'r' betűt.");
+        } while (true);
+    }
+
+    /**
+     * Az aktuális játékállapot mentése: bekéri a fájlnevet, és elmenti
+     * a táblát a megadott fájlba.
+     *
+     * @param game    A játék.
+     * @param scanner A bemenet.
+     */
+    private static void save(final Game game, final Scanner scanner) {
+        System.out.print("Add meg a fájl nevét, ahová menteni "
+                + "szeretnéd a játékállapotot "
+                + "(pl. gamestate.txt vagy gamestate"
+                + GameRecordCodec.EXTENSION + "): ");
+        game.saveGameState(scanner.nextLine());
+    }
+
+    /**
+     * Az olvasáshoz használt scanner; a {@code System.in} cseréjekor
+     * újat nyit.
+     *
+     * @return A scanner.
+     */
+    private Scanner scanner() {
+        if (fixedScanner != null) {
+            return fixedScanner;
+        }
+        if (systemScanner == null || systemInput != System.in) {
+            systemInput = System.in;
+            systemScanner = new Scanner(systemInput);
+        }
+        return systemScanner;
+    }
+}
@@ -1,14 +1,52 @@
 package org.connect4;
 
-import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+
+import org.connect4.ai.MonteCarloSearch;
+import org.connect4.ai.OpeningBook;
+import org.connect4.ai.ParallelSearch;
+import org.connect4.ai.Ponderer;
+import org.connect4.ai.Position;
+import org.connect4.ai.SearchEngine;
+import org.connect4.ai.SearchResult;
+import org.connect4.ai.Searcher;
+import org.connect4.ai.TranspositionTable;
+import org.connect4.archive.GameArchive;
+import org.connect4.metrics.AiDecisionEvent;
+import org.connect4.metrics.FileOperationEvent;
+import org.connect4.metrics.Metrics;
+import org.connect4.metrics.Operation;
+import org.connect4.sim.MovePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A Connect 4 játékot reprezentálja, beleértve a játékosokat és a játékmenetet.
+ *
+ * <p>A játékmag konzol nélkül is vezérelhető: a {@link #play(int)} a
+ * lépés kimenetelét adja vissza, és a regisztrált {@link GameListener}
+ * figyelőket értesíti; a {@link #run(MoveSource, MoveSource)} két
+ * lépésforrással végigjátssza a játszmát. A konzolos felület
+ * ({@link #start()}) ezekre épülő adapter.</p>
  */
 public final class Game {
-    /** A játéktábla oszlopainek száma. */
-    private static final int TOTAL_COLUMNS = 7;
+    /** A visszavonás parancs jelzése egy {@link MoveSource} lépéseként. */
+    public static final int UNDO_COMMAND = -2;
+
+    /** Az újralépés parancs jelzése egy {@link MoveSource} lépéseként. */
+    public static final int REDO_COMMAND = -3;
+
+    /** A naplózó. */
+    private static final Logger LOG = LoggerFactory.getLogger(Game.class);
+
+    /** Üres figyelőlista. */
+    private static final GameListener[] NO_LISTENERS = new GameListener[0];
 
     /** AI ellen játszás választása. */
     private static final int AI_MODE = 2;
@@ -16,6 +54,38 @@ public final class Game {
     /** Játék betöltése fájlból választása. */
     private static final int LOAD_FROM_FILE_MODE = 3;
 
+    /** Rendszertulajdonság az AI keresőszálainak számához. */
+    private static final String THREADS_PROPERTY = "connect4.ai.threads";
+
+    /** Rendszertulajdonság az AI keresőjének kiválasztásához. */
+    private static final String ENGINE_PROPERTY = "connect4.ai.engine";
+
+    /** A Monte Carlo kereső neve az AI kereső tulajdonságában. */
+    private static final String MCTS_ENGINE = "mcts";
+
+    /** Rendszertulajdonság a háttérgondolkodás kikapcsolásához. */
+    private static final String PONDER_PROPERTY = "connect4.ai.ponder";
+
+    /** Rendszertulajdonság az automatikus mentés naplófájljához. */
+    private static final String AUTOSAVE_PROPERTY = "connect4.autosave";
+
+    /** Rendszertulajdonság a napló lemezre kényszerítési idejéhez (ms). */
+    private static final String AUTOSAVE_SYNC_PROPERTY =
+            "connect4.autosave.syncMillis";
+
+    /** Az automatikus mentés alapértelmezett naplófájlja. */
+    private static final String DEFAULT_AUTOSAVE_FILE =
+            "autosave" + MoveJournal.EXTENSION;
+
+    /** Rendszertulajdonság a befejezett játszmák archívumkönyvtárához. */
+    private static final String ARCHIVE_PROPERTY = "connect4.archive";
+
+    /** Az automatikus mentések közös háttérírója (lustán jön létre). */
+    private static JournalWriter autosaveWriter;
+
+    /** A befejezett játszmák közös archívuma (lustán nyílik meg). */
+    private static GameArchive archive;
+
     /** A játéktábla. */
     private final Board board;
 
@@ -28,12 +98,54 @@ public final class Game {
     /** Az éppen aktuális játékos. */
     private Player currentPlayer;
 
-    /** Véletlenszám-generátor az AI lépésekhez. */
-    private final Random random;
+    /** Keresőmotor az AI lépésekhez, vagy null. */
+    private Searcher engine;
+
+    /**
+     * Igaz, ha az alapértelmezett keresőt a játék kezeli: az első
+     * AI-lépés hozza létre, és a konzolos játék végén lezárul.
+     */
+    private boolean defaultEngine;
+
+    /** Nyitókönyv az AI első lépéseihez, vagy null. */
+    private OpeningBook openingBook;
+
+    /**
+     * Igaz, ha az alapértelmezett nyitókönyvet az első AI-lépés nyitja
+     * meg.
+     */
+    private boolean defaultBook;
 
     /** Megmutatja, hogy a játék AI ellen zajlik-e. */
     private final boolean isPlayingAgainstAI;
 
+    /** Háttérgondolkodás az ember lépése alatt, vagy null. */
+    private Ponderer ponderer;
+
+    /** Az automatikus mentés lépésnaplója, vagy null. */
+    private MoveJournal journal;
+
+    /**
+     * Az indításkor talált megszakadt játszma naplója, vagy null. Az új
+     * játszma nem írja felül, csak a folytatása.
+     */
+    private Path interruptedJournal;
+
+    /** A figyelők; módosításkor a tömb cserélődik. */
+    private GameListener[] listeners = NO_LISTENERS;
+
+    /** Véget ért-e a játék a {@link #play(int)} vagy {@link #run} alatt. */
+    private boolean over;
+
+    /** A győztes, vagy null (folyamatban lévő játék vagy döntetlen). */
+    private Player winner;
+
+    /** A konzolos lépésforrás a {@link #getPlayerInput()} hívásokhoz. */
+    private final ConsoleMoveSource console = new ConsoleMoveSource();
+
+    /** A játékosok stratégiáinak véletlenszám-generátora. */
+    private final SplittableRandom strategyRandom = new SplittableRandom();
+
     /**
      * Létrehoz egy új Game-t megadott játékosokkal és móddal.
      *
@@ -45,13 +157,165 @@ public final class Game {
             final Player player1,
             final Player player2,
             final boolean playAgainstAI) {
-        this.board = new Board();
+        this(player1, player2, playAgainstAI, null, null);
+        this.defaultEngine = true;
+        this.defaultBook = true;
+    }
+
+    /**
+     * Létrehoz egy új Game-t megadott játékosokkal, móddal és
+     * táblamérettel.
+     *
+     * @param player1 Az első játékos.
+     * @param player2 A második játékos.
+     * @param playAgainstAI Megmutatja, hogy a játék AI ellen zajlik-e.
+     * @param rows A tábla sorainak száma.
+     * @param cols A tábla oszlopainak száma.
+     * @param connectLength A győzelemhez szükséges sorhossz.
+     */
+    public Game(
+            final Player player1,
+            final Player player2,
+            final boolean playAgainstAI,
+            final int rows,
+            final int cols,
+            final int connectLength) {
+        this(player1, player2, playAgainstAI, null, null,
+                new Board(rows, cols, connectLength));
+        this.defaultEngine = true;
+        this.defaultBook = true;
+    }
+
+    /**
+     * Létrehoz egy új Game-t megadott játékosokkal, móddal és AI-val.
+     *
+     * @param player1 Az első játékos.
+     * @param player2 A második játékos.
+     * @param playAgainstAI Megmutatja, hogy a játék AI ellen zajlik-e.
+     * @param searchEngine Az AI lépéseit kereső motor.
+     */
+    public Game(
+            final Player player1,
+            final Player player2,
+            final boolean playAgainstAI,
+            final Searcher searchEngine) {
+        this(player1, player2, playAgainstAI, searchEngine, null);
+    }
+
+    /**
+     * Létrehoz egy új Game-t megadott játékosokkal, móddal, AI-val és
+     * nyitókönyvvel.
+     *
+     * @param player1 Az első játékos.
+     * @param player2 A második játékos.
+     * @param playAgainstAI Megmutatja, hogy a játék AI ellen zajlik-e.
+     * @param searchEngine Az AI lépéseit kereső motor.
+     * @param book A nyitókönyv, vagy null.
+     */
+    public Game(
+            final Player player1,
+            final Player player2,
+            final boolean playAgainstAI,
+            final Searcher searchEngine,
+            final OpeningBook book) {
+        this(player1, player2, playAgainstAI, searchEngine, book,
+                new Board());
+    }
+
+    /**
+     * Létrehoz egy új Game-t megadott játékosokkal, móddal, AI-val,
+     * nyitókönyvvel és táblával.
+     *
+     * @param player1 Az első játékos.
+     * @param player2 A második játékos.
+     * @param playAgainstAI Megmutatja, hogy a játék AI ellen zajlik-e.
+     * @param searchEngine Az AI lépéseit kereső motor.
+     * @param book A nyitókönyv, vagy null.
+     * @param gameBoard A játéktábla (tetszőleges mérettel).
+     */
+    public Game(
+            final Player player1,
+            final Player player2,
+            final boolean playAgainstAI,
+            final Searcher searchEngine,
+            final OpeningBook book,
+            final Board gameBoard) {
+        this.board = gameBoard;
         this.firstPlayer = player1;
         this.secondPlayer = player2;
         this.isPlayingAgainstAI = playAgainstAI;
         this.currentPlayer = player1;
-        this.random = new Random();
+        this.engine = searchEngine;
+        this.openingBook = book;
+    }
+    /**
+     * Az alapértelmezett AI kereső. A szálak számát a
+     * {@code connect4.ai.threads} rendszertulajdonság adja (alapból 1);
+     * egynél több szál esetén párhuzamos (Lazy SMP) keresés fut. A
+     * {@code connect4.ai.engine=mcts} tulajdonság alfa-béta helyett
+     * Monte Carlo fakeresőt választ.
+     *
+     * @return Az AI keresője.
+     */
+    static Searcher createDefaultSearcher() {
+        final int threads = Integer.getInteger(THREADS_PROPERTY, 1);
+        if (MCTS_ENGINE.equals(System.getProperty(ENGINE_PROPERTY))) {
+            return new MonteCarloSearch(threads,
+                    SearchEngine.DEFAULT_MOVE_TIME_MILLIS,
+                    MonteCarloSearch.UNLIMITED_PLAYOUTS, System.nanoTime());
+        }
+        if (threads > 1) {
+            return new ParallelSearch(threads,
+                    SearchEngine.DEFAULT_MOVE_TIME_MILLIS,
+                    SearchEngine.MAX_PLY,
+                    TranspositionTable.DEFAULT_SIZE_MB);
+        }
+        return new SearchEngine(SearchEngine.DEFAULT_MOVE_TIME_MILLIS);
+    }
+
+    /**
+     * Az AI keresője; az alapértelmezett keresőt az első hívás hozza
+     * létre, így az ember elleni játék nem foglal táblát és szálakat.
+     *
+     * @return A kereső, vagy null ha nincs.
+     */
+    private Searcher engine() {
+        if (engine == null && defaultEngine) {
+            engine = createDefaultSearcher();
+        }
+        return engine;
+    }
+
+    /**
+     * A nyitókönyv; az alapértelmezett könyvet az első hívás nyitja
+     * meg, így AI nélkül a játék nem nyúl a fájlrendszerhez.
+     *
+     * @return A nyitókönyv, vagy null ha nincs.
+     */
+    private OpeningBook openingBook() {
+        if (defaultBook) {
+            defaultBook = false;
+            openingBook = OpeningBook.openDefault();
+        }
+        return openingBook;
     }
+
+    /**
+     * Lezárja a játék által létrehozott alapértelmezett keresőt és
+     * szálkészletét; a következő AI-lépés újat hoz létre.
+     */
+    private void releaseDefaultEngine() {
+        if (!defaultEngine) {
+            return;
+        }
+        if (engine instanceof ParallelSearch) {
+            ((ParallelSearch) engine).close();
+        } else if (engine instanceof MonteCarloSearch) {
+            ((MonteCarloSearch) engine).close();
+        }
+        engine = null;
+    }
+
     /**
      * Első játékos public verzió, teszteléshez.
      * @return Az első játékos {@link Player}
@@ -137,8 +401,35 @@ public final class Game {
                 playAgainstAI
         );
 
+        final String autosave = System.getProperty(
+                AUTOSAVE_PROPERTY, DEFAULT_AUTOSAVE_FILE);
+        if (!autosave.isEmpty()) {
+            final Path autosavePath = Paths.get(autosave);
+            Path target = autosavePath;
+            if (Files.exists(autosavePath)) {
+                target = freshJournalPath(autosavePath);
+                game.interruptedJournal = autosavePath;
+                if (!loadFromFile) {
+                    System.out.println("Megszakadt játék található ("
+                            + autosave + "); a 3. menüponttal folytatható."
+                            + " Az új játék naplója: " + target);
+                }
+            }
+            game.enableAutosave(autosaveWriter().open(target));
+        }
+
+        final String archiveDir = System.getProperty(ARCHIVE_PROPERTY, "");
+        if (!archiveDir.isEmpty()) {
+            try {
+                game.addListener(archive(Paths.get(archiveDir)).recorder());
+            } catch (IOException e) {
+                System.out.println("A játszmaarchívum nem nyitható meg: "
+                        + e.getMessage());
+            }
+        }
+
         if (loadFromFile) {
-            if (!game.loadGameState()) {
+            if (!game.loadGameState(scanner)) {
                 System.out.println(
                         "A mentett játékállapot nem található. "
                                 + "Új játék indítása."
@@ -154,90 +445,400 @@ public final class Game {
 
 
     /**
-     * Elindítja a játék ciklust.
+     * Elindítja a játék ciklust a konzolon.
      */
     public void start() {
-        boolean gameWon = false;
+        start(console);
+    }
 
-        while (!gameWon && !board.isFull()) {
+    /**
+     * Elindítja a játék ciklust a konzolon, a megadott scannerről
+     * olvasva a lépéseket.
+     *
+     * @param scanner A bemenet.
+     */
+    public void start(final Scanner scanner) {
+        start(new ConsoleMoveSource(scanner));
+    }
+
+    /**
+     * A konzolos adapter: a {@link #run(MoveSource, MoveSource)} ciklus
+     * konzolos lépésforrással és nézettel.
+     *
+     * @param human A játékos(ok) lépésforrása.
+     */
+    private void start(final MoveSource human) {
+        final GameListener view = new ConsoleGameListener();
+        addListener(view);
+        if (isPlayingAgainstAI && Boolean.parseBoolean(
+                System.getProperty(PONDER_PROPERTY, "true"))) {
+            ponderer = Ponderer.forSearcher(engine(),
+                    SearchEngine.DEFAULT_MOVE_TIME_MILLIS);
+        }
+        final MoveSource player = ponderer == null
+                ? human : game -> ponderWhile(human);
+        try {
             board.print();
-            int col = getCurrentPlayerInput();
-            if (col == -1) {
-                saveGameState();
-                continue;
+            run(sourceOf(firstPlayer, player), sourceOf(secondPlayer,
+                    isPlayingAgainstAI ? Game::computeAIMove : human));
+        } finally {
+            removeListener(view);
+            if (ponderer != null) {
+                ponderer.close();
+                ponderer = null;
             }
+            releaseDefaultEngine();
+        }
+        if (Metrics.isEnabled()) {
+            Metrics.logSummary();
+        }
+    }
 
-            if (board.dropToken(col, currentPlayer.getToken())) {
-                gameWon = checkWin();
-                if (!gameWon) {
-                    switchPlayer();
-                }
+    /**
+     * A játékos lépésforrása: stratégiával rendelkező játékosnál a
+     * stratégia, egyébként a megadott forrás.
+     *
+     * @param player   A játékos.
+     * @param fallback A stratégia nélküli játékos forrása.
+     * @return A lépésforrás.
+     */
+    private static MoveSource sourceOf(final Player player,
+                                       final MoveSource fallback) {
+        return player.getStrategy() != null
+                ? Game::computeStrategyMove : fallback;
+    }
+
+    /**
+     * Az ember lépését kéri, közben a háttérben az AI gondolkodik az
+     * ember lehetséges lépései utáni állásokon.
+     *
+     * @param human Az ember lépésforrása.
+     * @return Az ember lépése vagy parancsa.
+     */
+    private int ponderWhile(final MoveSource human) {
+        if (Position.supports(board)) {
+            ponderer.start(
+                    Position.fromBoard(board, currentPlayer.getToken()));
+        }
+        try {
+            return human.nextMove(this);
+        } finally {
+            ponderer.stop();
+        }
+    }
+
+    /**
+     * Végigjátssza a játszmát: felváltva kér lépést a két forrástól, és
+     * a {@link #play(int)}-jel teszi meg. A szabálytalan lépés után
+     * ugyanattól a forrástól kér újat; a visszavonás és újralépés
+     * parancsokat végrehajtja. A táblán már meglévő (pl. betöltött)
+     * győzelmet vagy döntetlent azonnal eredménynek tekinti.
+     *
+     * @param first  Az első játékos lépésforrása.
+     * @param second A második játékos lépésforrása.
+     * @return {@link MoveResult#WIN} vagy {@link MoveResult#DRAW}.
+     */
+    public MoveResult run(final MoveSource first, final MoveSource second) {
+        final long start = Metrics.start();
+        if (!over) {
+            if (checkWinOnBoard()) {
+                finish(currentPlayer);
+            } else if (board.isFull()) {
+                finish(null);
+            }
+        }
+        while (!over) {
+            final MoveSource source = currentPlayer.equals(firstPlayer)
+                    ? first : second;
+            final int move = source.nextMove(this);
+            if (move == UNDO_COMMAND) {
+                undoMove();
+            } else if (move == REDO_COMMAND) {
+                redoMove();
+            } else {
+                play(move);
+            }
+        }
+        finishJournal();
+        Metrics.stop(Operation.GAME, start);
+        LOG.debug("Játszma vége: győztes={}, lépések={}",
+                winner != null ? winner.getName() : "-",
+                board.getMoveCount());
+        return winner != null ? MoveResult.WIN : MoveResult.DRAW;
+    }
+
+    /**
+     * Megteszi az aktuális játékos lépését. Konzolra nem ír: a
+     * kimenetelt a visszatérési érték és a figyelők jelzik. Győzelem
+     * után a győztes marad az aktuális játékos, egyébként a másik
+     * játékos következik.
+     *
+     * @param col Az oszlop.
+     * @return A lépés kimenetele; szabálytalan lépésnél a tábla nem
+     *         változik.
+     */
+    public MoveResult play(final int col) {
+        final MoveResult illegal;
+        if (over) {
+            illegal = MoveResult.GAME_OVER;
+        } else if (col < 0 || col >= board.getCols()) {
+            illegal = MoveResult.INVALID_COLUMN;
+        } else if (board.getHeight(col) == board.getRows()
+                || !board.makeMove(col, currentPlayer.getToken())) {
+            illegal = MoveResult.COLUMN_FULL;
+        } else {
+            recordMove(col);
+            return afterMove(col);
+        }
+        for (final GameListener listener : listeners) {
+            listener.onIllegalMove(this, currentPlayer, col, illegal);
+        }
+        return illegal;
+    }
+
+    /**
+     * Kiértékeli a táblára került lépést: értesíti a figyelőket, és
+     * győzelem vagy tele tábla esetén lezárja a játékot.
+     *
+     * @param col A lépés oszlopa.
+     * @return A lépés kimenetele.
+     */
+    private MoveResult afterMove(final int col) {
+        final Player mover = currentPlayer;
+        for (final GameListener listener : listeners) {
+            listener.onMove(this, mover, col);
+        }
+        if (checkWin(col)) {
+            finish(mover);
+            return MoveResult.WIN;
+        }
+        if (board.isFull()) {
+            finish(null);
+            return MoveResult.DRAW;
+        }
+        switchPlayer();
+        return MoveResult.APPLIED;
+    }
+
+    /**
+     * Lezárja a játékot, és értesíti a figyelőket. A napló megmarad,
+     * mert a befejezett játék visszavonással újra folytatható; csak a
+     * játék elhagyásakor ({@link #run} vége, {@link #restart()})
+     * törlődik.
+     *
+     * @param won A győztes, vagy null döntetlennél.
+     */
+    private void finish(final Player won) {
+        over = true;
+        winner = won;
+        for (final GameListener listener : listeners) {
+            if (won != null) {
+                listener.onWin(this, won);
+            } else {
+                listener.onDraw(this);
+            }
+        }
+    }
+
+    /**
+     * Új játszmát kezd ugyanazokkal a játékosokkal: üríti a táblát, és
+     * az első játékos lép. Az automatikus mentés naplóját lezárja (a
+     * befejezett játszmáé törlődik), és ugyanabba a fájlba új naplót
+     * nyit, amely az új játszma első lépésekor indul.
+     */
+    public void restart() {
+        if (journal != null) {
+            if (over) {
+                journal.finish();
             } else {
-                System.out.println("A választott oszlop tele van! "
-                        + "Válassz másik oszlopot.");
+                journal.close();
             }
+            journal = journal.reopen(journal.getPath());
         }
+        board.clear();
+        currentPlayer = firstPlayer;
+        over = false;
+        winner = null;
+    }
 
-        board.print();
-        System.out.println(gameWon ? "A(z) "
-                + currentPlayer.getName() + " nyert!" : "Döntetlen!");
+    /**
+     * Törli a befejezett játszma naplóját; a befejezett játszmát nem
+     * kell folytatni.
+     */
+    private void finishJournal() {
+        if (over && journal != null) {
+            journal.finish();
+            journal = null;
+        }
+    }
+
+    /**
+     * Megmutatja, hogy a játék véget ért-e a {@link #play(int)} vagy
+     * {@link #run(MoveSource, MoveSource)} alatt.
+     *
+     * @return True győzelem vagy döntetlen után.
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * A győztes.
+     *
+     * @return A győztes, vagy null, ha a játék tart vagy döntetlen lett.
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    /**
+     * Figyelőt regisztrál a játék eseményeire.
+     *
+     * @param listener A figyelő.
+     */
+    public void addListener(final GameListener listener) {
+        final GameListener[] next =
+                Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * Eltávolít egy figyelőt.
+     *
+     * @param listener A figyelő.
+     */
+    public void removeListener(final GameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                final GameListener[] next =
+                        new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, next, 0, i);
+                System.arraycopy(listeners, i + 1, next, i,
+                        next.length - i);
+                listeners = next;
+                return;
+            }
+        }
     }
 
     /**
      * Megkapja az aktuális játékos inputját.
      *
-     * @return A kiválasztott oszlop vagy -1 a mentéshez.
+     * @return A kiválasztott oszlop, vagy a {@link #UNDO_COMMAND},
+     * {@link #REDO_COMMAND} parancsok egyike.
      */
     public int getCurrentPlayerInput() {
+        if (currentPlayer.getStrategy() != null) {
+            return computeStrategyMove();
+        }
         if (!isPlayingAgainstAI || currentPlayer.equals(firstPlayer)) {
             return getPlayerInput();
         } else {
-            return getRandomAIInput();
+            return computeAIMove();
         }
     }
 
     /**
-     * Megkérdi a játékost mit szeretne.
+     * Megkérdi a játékost a konzolon, mit szeretne.
      *
-     * @return A kiválasztott oszlop.
+     * @return A kiválasztott oszlop, vagy egy parancs jelzése.
      */
     public int getPlayerInput() {
-        Scanner scanner = new Scanner(System.in);
-        String input;
-        do {
-            System.out.print("A(z) "
-                    + currentPlayer.getName() + " (" + currentPlayer.getToken()
-                    + ") játékos, válassz egy oszlopot (0-6),"
-                    + "vagy írd be 's' a mentéshez: ");
-            input = scanner.nextLine().trim();
-
-            if (input.equalsIgnoreCase("s")) {
-                return -1;
-            }
+        return console.nextMove(this);
+    }
 
-            try {
-                int col = Integer.parseInt(input);
-                if (col >= 0 && col < TOTAL_COLUMNS) {
-                    return col;
-                }
-            } catch (NumberFormatException e) {
-                // Érvénytelen bemenet figyelmen kívül hagyása
+    /**
+     * Az AI lépését határozza meg az aktuális játékos számára: előbb a
+     * nyitókönyvben keres, majd a háttérgondolkodás kész eredményét
+     * nézi meg, és csak ha egyik sem ad lépést, akkor indít keresést.
+     * A kereső által nem kezelt táblákon (nagy tábla vagy nem négyes
+     * sor), vagy ha nincs kereső, egylépéses taktikai szabállyal
+     * választ.
+     *
+     * @return A legjobbnak talált oszlop.
+     */
+    public int computeAIMove() {
+        final AiDecisionEvent event = AiDecisionEvent.start();
+        final Searcher searcher = engine();
+        if (searcher == null || !Position.supports(board)) {
+            return event.finish(AiDecisionEvent.TACTICAL,
+                    getTacticalAIInput(), null);
+        }
+        final Position position =
+                Position.fromBoard(board, currentPlayer.getToken());
+        final OpeningBook book = openingBook();
+        if (book != null) {
+            final int bookMove = book.lookup(position);
+            if (bookMove >= 0 && position.canPlay(bookMove)) {
+                LOG.debug("AI nyitókönyv: {}", bookMove);
+                return event.finish(AiDecisionEvent.BOOK, bookMove, null);
             }
+        }
+        if (ponderer != null) {
+            final SearchResult pondered = ponderer.take(position);
+            if (pondered != null && position.canPlay(pondered.getBestMove())) {
+                LOG.debug("AI háttérkeresés találat: {}", pondered);
+                return event.finish(AiDecisionEvent.PONDER,
+                        pondered.getBestMove(), pondered);
+            }
+        }
+        final SearchResult result = searcher.search(position);
+        LOG.debug("AI keresés: {}", result);
+        return event.finish(AiDecisionEvent.SEARCH,
+                result.getBestMove(), result);
+    }
 
-            System.out.println("Érvénytelen bemenet! "
-                    + "Válassz egy oszlopot 0-6 között, "
-                    + "vagy írd be az 's' betűt a mentéshez.");
-        } while (true);
+    /**
+     * Az aktuális játékos stratégiájának lépése. A stratégia nélküli
+     * játékosnál, vagy ha a stratégia nem kezeli a táblát (nagy tábla
+     * vagy nem négyes sor), egylépéses taktikai szabállyal választ.
+     *
+     * @return A választott oszlop.
+     */
+    public int computeStrategyMove() {
+        final MovePolicy strategy = currentPlayer.getStrategy();
+        if (strategy == null || !Position.supports(board)) {
+            return getTacticalAIInput();
+        }
+        return strategy.select(
+                Position.fromBoard(board, currentPlayer.getToken()),
+                strategyRandom);
     }
 
     /**
-     * Véletlenszerű oszlopot ad vissza az AI.
+     * Egylépéses taktikai AI: nyer, ha tud, blokkolja az ellenfél
+     * azonnali győzelmét, egyébként a középhez legközelebbi szabad
+     * oszlopot választja.
      *
-     * @return Egy véletlenszerű oszlopszám returnje.
+     * @return A választott oszlop.
      */
-    private int getRandomAIInput() {
-        System.out.println("Az AI lép...");
-        return random.nextInt(TOTAL_COLUMNS);
+    private int getTacticalAIInput() {
+        final char own = currentPlayer.getToken();
+        final char opponent = currentPlayer.equals(firstPlayer)
+                ? secondPlayer.getToken()
+                : firstPlayer.getToken();
+        final int cols = board.getCols();
+        int block = -1;
+        int center = -1;
+        for (int offset = 0; offset < cols; offset++) {
+            // Középről kifelé: c, c+1, c-1, c+2, ...
+            final int col = (cols - 1) / 2
+                    + ((offset & 1) == 0 ? -offset / 2 : (offset + 1) / 2);
+            if (board.getHeight(col) == board.getRows()) {
+                continue;
+            }
+            if (board.isWinningMove(col, own)) {
+                return col;
+            }
+            if (block < 0 && board.isWinningMove(col, opponent)) {
+                block = col;
+            }
+            if (center < 0) {
+                center = col;
+            }
+        }
+        return block >= 0 ? block : center;
     }
 
     /**
@@ -251,46 +852,339 @@ public final class Game {
     }
 
     /**
-     * Ellenőrzi a nyerési feltételt.
+     * Ellenőrzi a nyerési feltételt az utolsó lépés alapján.
+     * Csak a ledobott tokenen átmenő vonalakat vizsgálja.
      *
+     * @param col Az oszlop, ahová az utolsó token került.
      * @return Igaz, ha az aktuális játékos nyert ha nem, hamis.
      */
-    private boolean checkWin() {
-        return board.checkHorizontalWin(currentPlayer)
+    private boolean checkWin(final int col) {
+        final int row = board.getRows() - board.getHeight(col);
+        return board.checkWinAt(row, col);
+    }
+
+    /**
+     * A teljes táblán keres meglévő győzelmet (pl. betöltött állás esetén).
+     * Ha a másik játékosnak van nyerő vonala, ő lesz az aktuális játékos.
+     *
+     * @return Igaz, ha valamelyik játékos már nyert.
+     */
+    private boolean checkWinOnBoard() {
+        if (hasWinningLine(currentPlayer)) {
+            return true;
+        }
+        final Player other = currentPlayer.equals(firstPlayer)
+                ? secondPlayer
+                : firstPlayer;
+        if (hasWinningLine(other)) {
+            currentPlayer = other;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Megvizsgálja, hogy a játékosnak van-e nyerő vonala a táblán.
+     *
+     * @param player A vizsgált játékos.
+     * @return Igaz, ha a játékos nyert.
+     */
+    private boolean hasWinningLine(final Player player) {
+        return board.checkHorizontalWin(player)
                 ||
-                board.checkVerticalWin(currentPlayer)
+                board.checkVerticalWin(player)
                 ||
-                board.checkDiagonalWin(currentPlayer);
+                board.checkDiagonalWin(player);
     }
 
     /**
-     * Betölti a játékállapotot egy fájlból.
+     * Betölti a játékállapotot egy fájlból. A fájl nevét a menü
+     * scanneréből olvassa, így a már pufferelt bemenet nem vész el.
      *
+     * @param scanner Az inputhoz használt scanner.
      * @return Igaz, ha a sikeresen be lett töltve,
      * hamis ha nem sikerült.
      */
-    private boolean loadGameState() {
-        Scanner scanner = new Scanner(System.in);
+    private boolean loadGameState(final Scanner scanner) {
         System.out.print("Add meg a betöltendő fájl nevét "
-                + "(pl. gamestate.txt): ");
-        String fileName = scanner.nextLine();
+                + "(pl. gamestate.txt vagy gamestate"
+                + GameRecordCodec.EXTENSION
+                + (interruptedJournal != null
+                        ? "; üresen hagyva a megszakadt játék folytatódik"
+                        : "")
+                + "): ");
+        String fileName = scanner.hasNextLine()
+                ? scanner.nextLine().trim() : "";
+        if (fileName.isEmpty() && interruptedJournal != null) {
+            fileName = interruptedJournal.toString();
+        }
+
+        final boolean loaded = loadGameState(fileName);
+        if (loaded && journal != null && interruptedJournal != null
+                && fileName.equals(interruptedJournal.toString())) {
+            // A folytatott játszma a saját naplójába ír tovább
+            journal.close();
+            journal = journal.reopen(interruptedJournal);
+            interruptedJournal = null;
+        }
+        return loaded;
+    }
+
+    /**
+     * Betölti a játékállapotot egy megadott fájlból. A
+     * {@link GameRecordCodec#EXTENSION} kiterjesztésű fájlok bináris
+     * játszmák, a {@link MoveJournal#EXTENSION} kiterjesztésűek
+     * lépésnaplók (pl. egy megszakadt játék automatikus mentése): ezek a
+     * lépések visszajátszásával töltődnek be, és a lépésen lévő
+     * játékost is visszaállítják. Minden más fájl szöveges.
+     *
+     * @param fileName A fájl neve.
+     * @return Igaz, ha sikeresen be lett töltve.
+     */
+    boolean loadGameState(final String fileName) {
+        final boolean isJournal = fileName.endsWith(MoveJournal.EXTENSION);
+        if (!isJournal && !fileName.endsWith(GameRecordCodec.EXTENSION)) {
+            return board.loadStateFromFile(fileName);
+        }
+        final FileOperationEvent event = new FileOperationEvent(false,
+                fileName, isJournal ? FileOperationEvent.JOURNAL
+                        : FileOperationEvent.BINARY);
+        final GameRecord record;
+        try {
+            record = isJournal
+                    ? MoveJournal.recover(Paths.get(fileName))
+                    : GameRecordCodec.read(Paths.get(fileName));
+        } catch (IOException e) {
+            event.finish(false);
+            System.out.println("Hiba a(z) " + fileName
+                    + " fájl betöltésekor: " + e.getMessage());
+            return false;
+        }
+        event.finish(true);
+        final char starter = record.getFirstPlayer().getToken();
+        final char other = record.getSecondPlayer().getToken();
+        if (!isOwnToken(starter) || !isOwnToken(other)) {
+            System.out.println("A(z) " + fileName
+                    + " fájl játékosai nem egyeznek a jelenlegiekkel.");
+            return false;
+        }
+        try {
+            record.replayOnto(board);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Hiba a(z) " + fileName
+                    + " fájl betöltésekor: " + e.getMessage());
+            return false;
+        }
+        final char toMove = record.getPlayerToMove().getToken();
+        currentPlayer = firstPlayer.getToken() == toMove
+                ? firstPlayer : secondPlayer;
+        System.out.println("Játékállapot sikeresen betöltve a(z) "
+                + fileName + " fájlból.");
+        return true;
+    }
+
+    /**
+     * Az aktuális játékállapot mentése egy megadott fájlba. A
+     * {@link GameRecordCodec#EXTENSION} kiterjesztés bináris játszmát
+     * ír a teljes lépéstörténettel; minden más kiterjesztés szöveges.
+     *
+     * @param fileName A fájl neve.
+     */
+    void saveGameState(final String fileName) {
+        if (!fileName.endsWith(GameRecordCodec.EXTENSION)) {
+            board.saveStateToFile(fileName);
+            return;
+        }
+        final FileOperationEvent event = new FileOperationEvent(
+                true, fileName, FileOperationEvent.BINARY);
+        try {
+            GameRecordCodec.write(Paths.get(fileName),
+                    GameRecord.of(board, firstPlayer, secondPlayer));
+            event.finish(true);
+            System.out.println("A játékállapot mentésre került a(z) "
+                    + fileName + " fájlba.");
+        } catch (IOException | IllegalArgumentException e) {
+            event.finish(false);
+            System.out.println("Hiba történt a játékállapot mentésekor: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Megmutatja, hogy a {@link #undoMove()} visszavonna-e valamit.
+     *
+     * @return True, ha van visszavonható lépés (AI ellen kettő).
+     */
+    public boolean canUndo() {
+        return board.canUndo()
+                && board.getMoveCount() >= (isPlayingAgainstAI ? 2 : 1);
+    }
+
+    /**
+     * Megmutatja, hogy a {@link #redoMove()} újra megtenne-e valamit.
+     *
+     * @return True, ha van visszavont lépés.
+     */
+    public boolean canRedo() {
+        return board.canRedo();
+    }
+
+    /**
+     * Visszavonja az utolsó lépést; AI ellen az AI válaszát és a játékos
+     * lépését is, hogy ismét a játékos következzen. Ha a játékos
+     * nyerő lépése zárta a játékot, csak azt vonja vissza. A befejezett
+     * játékot újra folyamatban lévővé teszi.
+     *
+     * @return Igaz, ha történt visszavonás.
+     */
+    public boolean undoMove() {
+        if (!canUndo()) {
+            return false;
+        }
+        // Befejezett játékban a soron lévő játékos lépett utoljára
+        final boolean humanMovedLast =
+                over && currentPlayer.equals(firstPlayer);
+        final int plies = isPlayingAgainstAI && !humanMovedLast ? 2 : 1;
+        for (int i = 0; i < plies; i++) {
+            if (!over) {
+                switchPlayer(); // Győzelem után a győztes maradt soron
+            }
+            over = false;
+            winner = null;
+            final int col = board.unmakeMove();
+            if (journal != null && journal.isStarted()) {
+                journal.undo();
+            }
+            for (final GameListener listener : listeners) {
+                listener.onUndo(this, currentPlayer, col);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Újra megteszi a visszavont lépést (AI ellen a játékosét és az AI
+     * válaszát is). A lépés a {@link #play(int)}-hez hasonlóan értesíti
+     * a figyelőket, és befejezheti a játékot.
+     *
+     * @return Igaz, ha történt újralépés.
+     */
+    public boolean redoMove() {
+        if (over || !board.canRedo()) {
+            return false;
+        }
+        final int plies = isPlayingAgainstAI ? 2 : 1;
+        for (int i = 0; i < plies && !over && board.canRedo(); i++) {
+            final int col = board.redoMove();
+            recordMove(col);
+            afterMove(col);
+        }
+        return true;
+    }
 
-        return board.loadStateFromFile(fileName);
+    /**
+     * Bekapcsolja az automatikus mentést: minden lépés a megadott
+     * naplóba kerül, a háttérszál írja ki. A napló az első lépéskor
+     * indul a tábla akkori állásával, és a játék végén törlődik.
+     *
+     * @param moveJournal A lépésnapló.
+     */
+    void enableAutosave(final MoveJournal moveJournal) {
+        this.journal = moveJournal;
     }
 
     /**
-     * Az aktuális játékállapot mentése egy fájlba.
-     * Metódus megkérdezi a felhasználót egy fájlnevről, és elmenti a
-     * jelenlegi táblát és játékosinformációkat
-     * a megadott fájlba.
+     * Naplózza a megtett lépést, ha az automatikus mentés be van
+     * kapcsolva. Csak sorba állít, nem vár a lemezre.
+     *
+     * @param col A lépés oszlopa.
      */
-    private void saveGameState() {
-        Scanner scanner = new Scanner(System.in);
-        System.out.print("Add meg a fájl nevét, ahová menteni "
-                + "szeretnéd a játékállapotot "
-                + "(pl. gamestate.txt): ");
-        String fileName = scanner.nextLine();
+    private void recordMove(final int col) {
+        if (journal == null) {
+            return;
+        }
+        if (journal.isStarted()) {
+            journal.append(col);
+            return;
+        }
+        try {
+            journal.begin(GameRecord.of(board, firstPlayer, secondPlayer));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Az automatikus mentés kikapcsolva: {}",
+                    e.getMessage());
+            journal = null;
+        }
+    }
 
-        board.saveStateToFile(fileName);
+    /**
+     * Szabad naplófájl a megadott mellett: a név sorszámot kap (pl.
+     * {@code autosave-1.c4j}), így az új játszma nem írja felül a
+     * megszakadt játszma naplóját.
+     *
+     * @param path A foglalt naplófájl.
+     * @return Egy még nem létező naplófájl ugyanabban a könyvtárban.
+     */
+    static Path freshJournalPath(final Path path) {
+        final String name = path.getFileName().toString();
+        final String base = name.endsWith(MoveJournal.EXTENSION)
+                ? name.substring(0,
+                        name.length() - MoveJournal.EXTENSION.length())
+                : name;
+        Path candidate;
+        int index = 0;
+        do {
+            index++;
+            candidate = path.resolveSibling(
+                    base + "-" + index + MoveJournal.EXTENSION);
+        } while (Files.exists(candidate));
+        return candidate;
+    }
+
+    /**
+     * Az automatikus mentések közös háttérírója. A lemezre
+     * kényszerítések közti időt a {@code connect4.autosave.syncMillis}
+     * rendszertulajdonság adja (alapból minden csoport után). A
+     * program leállásakor egy leállítási horog lezárja, így a függő
+     * lépések akkor is lemezre kerülnek.
+     *
+     * @return A háttéríró.
+     */
+    static synchronized JournalWriter autosaveWriter() {
+        if (autosaveWriter == null) {
+            final JournalWriter writer = new JournalWriter(Long.getLong(
+                    AUTOSAVE_SYNC_PROPERTY, JournalWriter.SYNC_EVERY_BATCH));
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    writer::close, "connect4-journal-shutdown"));
+            autosaveWriter = writer;
+        }
+        return autosaveWriter;
+    }
+
+    /**
+     * A befejezett játszmák közös archívuma. Az írható szegmens a
+     * program végén lezáratlan maradhat; a következő megnyitás
+     * helyreállítja.
+     *
+     * @param dir Az archívum könyvtára.
+     * @return Az archívum.
+     * @throws IOException ha az archívum nem nyitható meg.
+     */
+    private static synchronized GameArchive archive(final Path dir)
+            throws IOException {
+        if (archive == null) {
+            archive = GameArchive.open(dir);
+        }
+        return archive;
+    }
+
+    /**
+     * Megmutatja, hogy a karakter valamelyik játékosé-e.
+     *
+     * @param token A karakter.
+     * @return True, ha az egyik játékos karaktere.
+     */
+    private boolean isOwnToken(final char token) {
+        return token == firstPlayer.getToken()
+                || token == secondPlayer.getToken();
     }
 }
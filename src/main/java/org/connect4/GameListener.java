@@ -0,0 +1,61 @@
+package org.connect4;
+
+/**
+ * Egy játék eseményeinek figyelője. Minden metódusnak üres az
+ * alapértelmezése, így csak a szükséges eseményeket kell megvalósítani.
+ *
+ * <p>Az eseményeket a lépést végző szál hívja, a lépés útján: a
+ * figyelő ne blokkoljon.</p>
+ */
+public interface GameListener {
+    /**
+     * Egy lépés a táblára került (újralépéskor is).
+     *
+     * @param game   A játék.
+     * @param player A lépő játékos.
+     * @param col    A lépés oszlopa.
+     */
+    default void onMove(final Game game, final Player player,
+                        final int col) {
+    }
+
+    /**
+     * Egy lépést visszavontak.
+     *
+     * @param game   A játék.
+     * @param player A visszavont lépés játékosa (most ismét ő lép).
+     * @param col    A visszavont lépés oszlopa.
+     */
+    default void onUndo(final Game game, final Player player,
+                        final int col) {
+    }
+
+    /**
+     * A játék győzelemmel ért véget.
+     *
+     * @param game   A játék.
+     * @param winner A győztes.
+     */
+    default void onWin(final Game game, final Player winner) {
+    }
+
+    /**
+     * A játék döntetlennel ért véget.
+     *
+     * @param game A játék.
+     */
+    default void onDraw(final Game game) {
+    }
+
+    /**
+     * Egy szabálytalan lépést elutasítottak; a tábla nem változott.
+     *
+     * @param game   A játék.
+     * @param player A lépni próbáló játékos.
+     * @param col    A kért oszlop.
+     * @param reason Az elutasítás oka.
+     */
+    default void onIllegalMove(final Game game, final Player player,
+                               final int col, final MoveResult reason) {
+    }
+}
@@ -0,0 +1,278 @@
+package org.connect4;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Egy játszma teljes leírása: a tábla mérete, a két játékos kezdési
+ * sorrendben, és a lépések oszlopai. A lépések visszajátszásával a
+ * tábla bármikor újraépíthető; a bináris alakot a
+ * {@link GameRecordCodec} kezeli.
+ */
+public final class GameRecord {
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** A győzelemhez szükséges sorhossz. */
+    private final int connectLength;
+
+    /** A kezdő játékos. */
+    private final Player firstPlayer;
+
+    /** A második játékos. */
+    private final Player secondPlayer;
+
+    /** A lépések oszlopai sorrendben. */
+    private final int[] moves;
+
+    /**
+     * Létrehoz egy játszmaleírást.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param connect  A győzelemhez szükséges sorhossz.
+     * @param starter  A kezdő játékos.
+     * @param other    A második játékos.
+     * @param moveList A lépések oszlopai (lemásolódik).
+     */
+    public GameRecord(final int rowCount,
+                      final int colCount,
+                      final int connect,
+                      final Player starter,
+                      final Player other,
+                      final int[] moveList) {
+        if (starter.getToken() == other.getToken()) {
+            throw new IllegalArgumentException(
+                    "A két játékos karaktere nem egyezhet meg.");
+        }
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.connectLength = connect;
+        this.firstPlayer = starter;
+        this.secondPlayer = other;
+        this.moves = moveList.clone();
+    }
+
+    /**
+     * Játszmaleírás egy tábláról. Ha a tábla lépéstörténete nem ismert
+     * (pl. szöveges betöltés után), egy szabályos lépéssorrendet állít
+     * helyre; ekkor az kezd, akinek több tokenje van (egyenlőségnél a
+     * {@code player1}).
+     *
+     * @param board   A tábla.
+     * @param player1 Az egyik játékos.
+     * @param player2 A másik játékos.
+     * @return A játszmaleírás.
+     * @throws IllegalArgumentException ha az állás szabályos, felváltva
+     *                                  tett lépésekkel nem érhető el.
+     */
+    public static GameRecord of(final Board board,
+                                final Player player1,
+                                final Player player2) {
+        final int[] moveList;
+        final Player starter;
+        if (board.hasMoveHistory()) {
+            moveList = board.getMoveHistory();
+            starter = moveList.length > 0
+                    && board.cellAt(board.getRows() - 1, moveList[0])
+                    == player2.getToken() ? player2 : player1;
+        } else {
+            starter = board.countTokens(player2.getToken())
+                    > board.countTokens(player1.getToken())
+                    ? player2 : player1;
+            final Player other = starter == player1 ? player2 : player1;
+            moveList = reconstructMoves(board,
+                    starter.getToken(), other.getToken());
+        }
+        final GameRecord record = new GameRecord(board.getRows(),
+                board.getCols(), board.getConnectLength(), starter,
+                starter == player1 ? player2 : player1, moveList);
+        if (!Arrays.deepEquals(record.toBoard().getBoard(),
+                board.getBoard())) {
+            throw new IllegalArgumentException(
+                    "Az állás nem érhető el szabályos lépésekkel.");
+        }
+        return record;
+    }
+
+    /**
+     * A sorok száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Az oszlopok száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * A győzelemhez szükséges sorhossz.
+     *
+     * @return A sorhossz.
+     */
+    public int getConnectLength() {
+        return connectLength;
+    }
+
+    /**
+     * A kezdő játékos.
+     *
+     * @return A kezdő játékos.
+     */
+    public Player getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    /**
+     * A második játékos.
+     *
+     * @return A második játékos.
+     */
+    public Player getSecondPlayer() {
+        return secondPlayer;
+    }
+
+    /**
+     * A lépések oszlopai sorrendben.
+     *
+     * @return A lépések másolata.
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+
+    /**
+     * A lépések száma.
+     *
+     * @return A lépések száma.
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * A következő lépést tevő játékos.
+     *
+     * @return A lépésen lévő játékos.
+     */
+    public Player getPlayerToMove() {
+        return (moves.length & 1) == 0 ? firstPlayer : secondPlayer;
+    }
+
+    /**
+     * Új táblát épít a lépések visszajátszásával.
+     *
+     * @return A tábla.
+     */
+    public Board toBoard() {
+        final Board board = new Board(rows, cols, connectLength);
+        replayOnto(board);
+        return board;
+    }
+
+    /**
+     * Kiüríti a táblát és visszajátssza rá a lépéseket.
+     *
+     * @param board Azonos méretű tábla.
+     * @throws IllegalArgumentException ha a tábla mérete eltér, vagy egy
+     *                                  lépés szabálytalan.
+     */
+    public void replayOnto(final Board board) {
+        if (board.getRows() != rows || board.getCols() != cols
+                || board.getConnectLength() != connectLength) {
+            throw new IllegalArgumentException(
+                    "A tábla mérete eltér a játszmáétól.");
+        }
+        board.clear();
+        for (int i = 0; i < moves.length; i++) {
+            final Player player = (i & 1) == 0 ? firstPlayer : secondPlayer;
+            if (!board.dropToken(moves[i], player.getToken())) {
+                throw new IllegalArgumentException(
+                        "Szabálytalan lépés a játszmában: " + moves[i]);
+            }
+        }
+    }
+
+    /**
+     * Helyreállít egy lépéssorrendet, amely felváltva, a gravitáció
+     * szerint rakja ki a tábla tokenjeit. Mélységi keresés, amely a már
+     * zsákutcának bizonyult oszlopmagasság-állapotokat megjegyzi.
+     *
+     * @param board  A tábla.
+     * @param first  A kezdő játékos karaktere.
+     * @param second A második játékos karaktere.
+     * @return A lépések oszlopai.
+     * @throws IllegalArgumentException ha nincs ilyen sorrend.
+     */
+    static int[] reconstructMoves(final Board board,
+                                  final char first,
+                                  final char second) {
+        final int total = board.getMoveCount();
+        if (board.countTokens(first) + board.countTokens(second) != total) {
+            throw new IllegalArgumentException(
+                    "A táblán ismeretlen karakter is van.");
+        }
+        final int[] moveList = new int[total];
+        final int[] heights = new int[board.getCols()];
+        final char[] turn = {first, second};
+        if (!order(board, turn, heights, moveList, 0, new HashSet<>())) {
+            throw new IllegalArgumentException(
+                    "Az állás nem érhető el szabályos lépésekkel.");
+        }
+        return moveList;
+    }
+
+    /**
+     * A sorrend-helyreállítás rekurzív lépése.
+     *
+     * @param board    A tábla.
+     * @param turn     A két játékos karaktere lépési sorrendben.
+     * @param heights  A már kirakott tokenek száma oszloponként.
+     * @param moveList A kirakott lépések.
+     * @param ply      A következő lépés sorszáma.
+     * @param failed   A zsákutcának bizonyult magasságállapotok.
+     * @return True, ha a maradék tokenek kirakhatók.
+     */
+    private static boolean order(final Board board,
+                                 final char[] turn,
+                                 final int[] heights,
+                                 final int[] moveList,
+                                 final int ply,
+                                 final Set<String> failed) {
+        if (ply == moveList.length) {
+            return true;
+        }
+        final String key = Arrays.toString(heights);
+        if (failed.contains(key)) {
+            return false;
+        }
+        final char token = turn[ply & 1];
+        final int bottomRow = board.getRows() - 1;
+        for (int col = 0; col < heights.length; col++) {
+            final int height = heights[col];
+            if (height < board.getHeight(col)
+                    && board.cellAt(bottomRow - height, col) == token) {
+                heights[col]++;
+                moveList[ply] = col;
+                if (order(board, turn, heights, moveList, ply + 1, failed)) {
+                    return true;
+                }
+                heights[col]--;
+            }
+        }
+        failed.add(key);
+        return false;
+    }
+}
@@ -0,0 +1,354 @@
+package org.connect4;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A játszmák verziózott bináris formátuma.
+ *
+ * <p>Felépítés (nagy endián): varázsszám ("C4GS"), verzió (1 bájt),
+ * sorok, oszlopok és sorhossz (2-2-2 bájt), a két játékos kezdési
+ * sorrendben (karakter 2 bájton, a név UTF-8 hossza 1 bájton, majd a
+ * név), a lépések száma (4 bájt), a lépésenkénti bitek száma (1 bájt,
+ * 7-8 oszlopnál 3, legfeljebb 16 oszlopnál 4), a lépések bitfolyamként
+ * tömörítve, végül az összes előző bájt CRC32C ellenőrzőösszege.
+ * Betöltéskor a fájl egyetlen olvasással kerül egy pufferbe, és a
+ * lépések visszajátszása ellenőrzi, hogy mind szabályos. A fej
+ * méreteit és lépésszámát a foglalás előtt a puffer hosszához és
+ * {@link #MAX_CELLS} mezőhöz méri.</p>
+ */
+public final class GameRecordCodec {
+    /** A fájlok ajánlott kiterjesztése. */
+    public static final String EXTENSION = ".c4g";
+
+    /** A fájl varázsszáma ("C4GS"). */
+    private static final int MAGIC = 0x43344753;
+
+    /** A formátum verziója. */
+    private static final int VERSION = 1;
+
+    /** Egy név UTF-8 bájtjainak maximális száma. */
+    private static final int MAX_NAME_BYTES = 0xFF;
+
+    /** A bájt bitjeinek maszkja. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** A legnagyobb tárolható méret (2 bájt). */
+    private static final int MAX_DIMENSION = Short.MAX_VALUE;
+
+    /**
+     * A betölthető tábla legnagyobb mezőszáma. A fej méreteiből
+     * foglalt tábla így egy hamisított fájl esetén sem meríti ki a
+     * memóriát.
+     */
+    static final int MAX_CELLS = 0x100000;
+
+    /** A fej rögzített mérete: varázsszám, verzió, három méret. */
+    private static final int FIXED_HEADER_BYTES =
+            Integer.BYTES + 1 + 3 * Short.BYTES;
+
+    /** Egy játékos rögzített mérete: karakter és névhossz. */
+    private static final int PLAYER_BYTES = Character.BYTES + 1;
+
+    /** A lépéslista fejének mérete: darabszám és bitszélesség. */
+    private static final int MOVES_HEADER_BYTES = Integer.BYTES + 1;
+
+    // Privát konstruktor
+    private GameRecordCodec() {
+        throw new UnsupportedOperationException(
+                "A segédosztály példányosítása nem engedélyezett"
+        );
+    }
+
+    /**
+     * Kiírja a játszmát egy fájlba.
+     *
+     * @param path   A célfájl.
+     * @param record A játszma.
+     * @throws IOException ha a fájl nem írható.
+     */
+    public static void write(final Path path, final GameRecord record)
+            throws IOException {
+        final ByteBuffer buffer = encode(record);
+        Files.write(path, buffer.array());
+    }
+
+    /**
+     * Beolvas egy játszmát egy fájlból.
+     *
+     * @param path A forrásfájl.
+     * @return A játszma.
+     * @throws IOException ha a fájl nem olvasható vagy hibás.
+     */
+    public static GameRecord read(final Path path) throws IOException {
+        return decode(readFully(path));
+    }
+
+    /**
+     * Egyetlen pufferbe olvassa a teljes fájlt.
+     *
+     * @param path A fájl.
+     * @return A fájl tartalma (a pozíció 0).
+     * @throws IOException ha a fájl nem olvasható vagy túl nagy.
+     */
+    static ByteBuffer readFully(final Path path) throws IOException {
+        try (FileChannel channel =
+                     FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("A fájl túl nagy: " + size);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                continue;
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * A játszma bináris alakja.
+     *
+     * @param record A játszma.
+     * @return A kódolt bájtok pufferben (a pozíció 0).
+     */
+    public static ByteBuffer encode(final GameRecord record) {
+        final byte[] firstName = nameBytes(record.getFirstPlayer());
+        final byte[] secondName = nameBytes(record.getSecondPlayer());
+        final int bits = bitsPerMove(record.getCols());
+        final int moveBytes = packedBytes(record.getMoveCount(), bits);
+        final ByteBuffer buffer = ByteBuffer.allocate(FIXED_HEADER_BYTES
+                + 2 * PLAYER_BYTES + firstName.length + secondName.length
+                + MOVES_HEADER_BYTES + moveBytes + Integer.BYTES);
+        buffer.putInt(MAGIC).put((byte) VERSION)
+                .putShort(dimension(record.getRows()))
+                .putShort(dimension(record.getCols()))
+                .putShort(dimension(record.getConnectLength()));
+        putPlayer(buffer, record.getFirstPlayer(), firstName);
+        putPlayer(buffer, record.getSecondPlayer(), secondName);
+        buffer.putInt(record.getMoveCount()).put((byte) bits);
+        packMoves(buffer, record.getMoves(), bits);
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Visszafejt egy bináris játszmát.
+     *
+     * @param buffer A kódolt bájtok (a pozíciótól a határig).
+     * @return A játszma.
+     * @throws IOException ha az adat hibás, sérült vagy szabálytalan.
+     */
+    public static GameRecord decode(final ByteBuffer buffer)
+            throws IOException {
+        final int start = buffer.position();
+        if (buffer.remaining() < FIXED_HEADER_BYTES + Integer.BYTES) {
+            throw new IOException("A játszmafájl túl rövid.");
+        }
+        final int end = buffer.limit() - Integer.BYTES;
+        final CRC32C crc = new CRC32C();
+        final ByteBuffer checked = buffer.duplicate();
+        checked.limit(end);
+        crc.update(checked);
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException("A játszmafájl ellenőrzőösszege hibás.");
+        }
+        final ByteBuffer body = buffer.duplicate();
+        body.position(start).limit(end);
+        try {
+            final GameRecord record = decodeBody(body);
+            if (body.hasRemaining()) {
+                throw new IOException("Fölösleges bájtok a játszmafájlban.");
+            }
+            buffer.position(buffer.limit());
+            return record;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("A játszmafájl csonka.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Érvénytelen játszma: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Az ellenőrzőösszeg nélküli tartalom visszafejtése.
+     *
+     * @param body A tartalom.
+     * @return A játszma.
+     * @throws IOException ha a fej hibás.
+     */
+    private static GameRecord decodeBody(final ByteBuffer body)
+            throws IOException {
+        if (body.getInt() != MAGIC) {
+            throw new IOException("Ismeretlen fájlformátum.");
+        }
+        final int version = body.get() & BYTE_MASK;
+        if (version != VERSION) {
+            throw new IOException("Nem támogatott verzió: " + version);
+        }
+        final int rows = body.getShort();
+        final int cols = body.getShort();
+        final int connect = body.getShort();
+        final Player first = getPlayer(body);
+        final Player second = getPlayer(body);
+        final int count = body.getInt();
+        final int bits = body.get() & BYTE_MASK;
+        if (rows < 1 || cols < 1 || rows * cols > MAX_CELLS
+                || count < 0 || count > rows * cols) {
+            throw new IOException("Érvénytelen méret vagy lépésszám.");
+        }
+        if (bits != bitsPerMove(cols)) {
+            throw new IOException("Érvénytelen lépésszélesség: " + bits);
+        }
+        if (packedBytes(count, bits) > body.remaining()) {
+            throw new IOException("A játszmafájl csonka.");
+        }
+        final int[] moves = unpackMoves(body, count, bits);
+        final GameRecord record =
+                new GameRecord(rows, cols, connect, first, second, moves);
+        record.toBoard(); // Ellenőrzés: minden lépés szabályos
+        return record;
+    }
+
+    /**
+     * A lépésenként szükséges bitek száma.
+     *
+     * @param cols Az oszlopok száma.
+     * @return A bitek száma (legalább 1).
+     */
+    static int bitsPerMove(final int cols) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(
+                cols - 1));
+    }
+
+    /**
+     * A tömörített lépéslista mérete bájtban.
+     *
+     * @param count A lépések száma.
+     * @param bits  A lépésenkénti bitek száma.
+     * @return A bájtok száma.
+     */
+    private static int packedBytes(final int count, final int bits) {
+        return (int) (((long) count * bits + Byte.SIZE - 1) / Byte.SIZE);
+    }
+
+    /**
+     * Bitfolyamként kiírja a lépéseket (a legalacsonyabb bittől).
+     *
+     * @param buffer A cél.
+     * @param moves  A lépések.
+     * @param bits   A lépésenkénti bitek száma.
+     */
+    private static void packMoves(final ByteBuffer buffer,
+                                  final int[] moves,
+                                  final int bits) {
+        long pending = 0L;
+        int pendingBits = 0;
+        for (int move : moves) {
+            pending |= (long) move << pendingBits;
+            pendingBits += bits;
+            while (pendingBits >= Byte.SIZE) {
+                buffer.put((byte) pending);
+                pending >>>= Byte.SIZE;
+                pendingBits -= Byte.SIZE;
+            }
+        }
+        if (pendingBits > 0) {
+            buffer.put((byte) pending);
+        }
+    }
+
+    /**
+     * Beolvassa a bitfolyamként tárolt lépéseket.
+     *
+     * @param buffer A forrás.
+     * @param count  A lépések száma.
+     * @param bits   A lépésenkénti bitek száma.
+     * @return A lépések.
+     */
+    private static int[] unpackMoves(final ByteBuffer buffer,
+                                     final int count,
+                                     final int bits) {
+        final int[] moves = new int[count];
+        final int moveMask = (1 << bits) - 1;
+        long pending = 0L;
+        int pendingBits = 0;
+        for (int i = 0; i < count; i++) {
+            while (pendingBits < bits) {
+                pending |= (long) (buffer.get() & BYTE_MASK) << pendingBits;
+                pendingBits += Byte.SIZE;
+            }
+            moves[i] = (int) (pending & moveMask);
+            pending >>>= bits;
+            pendingBits -= bits;
+        }
+        return moves;
+    }
+
+    /**
+     * Kiír egy játékost.
+     *
+     * @param buffer A cél.
+     * @param player A játékos.
+     * @param name   A név UTF-8 bájtjai.
+     */
+    private static void putPlayer(final ByteBuffer buffer,
+                                  final Player player,
+                                  final byte[] name) {
+        buffer.putChar(player.getToken()).put((byte) name.length).put(name);
+    }
+
+    /**
+     * Beolvas egy játékost.
+     *
+     * @param buffer A forrás.
+     * @return A játékos.
+     */
+    private static Player getPlayer(final ByteBuffer buffer) {
+        final char token = buffer.getChar();
+        final byte[] name = new byte[buffer.get() & BYTE_MASK];
+        buffer.get(name);
+        return new Player(new String(name, StandardCharsets.UTF_8), token);
+    }
+
+    /**
+     * A játékos nevének UTF-8 bájtjai.
+     *
+     * @param player A játékos.
+     * @return A bájtok.
+     * @throws IllegalArgumentException ha a név túl hosszú.
+     */
+    private static byte[] nameBytes(final Player player) {
+        final byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException(
+                    "A játékos neve túl hosszú: " + player.getName());
+        }
+        return name;
+    }
+
+    /**
+     * Egy méret két bájton.
+     *
+     * @param value A méret.
+     * @return A méret short-ként.
+     * @throws IllegalArgumentException ha nem fér el.
+     */
+    private static short dimension(final int value) {
+        if (value < 0 || value > MAX_DIMENSION) {
+            throw new IllegalArgumentException(
+                    "A méret nem tárolható: " + value);
+        }
+        return (short) value;
+    }
+}
@@ -0,0 +1,529 @@
+package org.connect4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lépésnaplókat író közös háttérszál.
+ *
+ * <p>A játszmák csak egy korlátos sorba teszik a kéréseket, így a lépés
+ * útján nincs lemezművelet. A szál egyszerre kiüríti a sort
+ * (csoportos véglegesítés): naplónként egyetlen írással adja ki az
+ * összegyűlt rekordokat, majd a beállított ütemezés szerint lemezre
+ * kényszeríti (fsync) az érintett fájlokat. Így akár több ezer
+ * egyidejű játszmát is egyetlen szál szolgál ki. Ha a sor megtelik, a
+ * beküldő addig vár, amíg a szál utol nem éri magát.</p>
+ */
+public final class JournalWriter implements AutoCloseable {
+    /** A napló-író naplója. */
+    private static final Logger LOG =
+            LoggerFactory.getLogger(JournalWriter.class);
+
+    /** Minden kiürített csoport után lemezre kényszerít. */
+    public static final long SYNC_EVERY_BATCH = 0L;
+
+    /** Csak {@link #flush()} és leállítás kényszerít lemezre. */
+    public static final long NO_SYNC = -1L;
+
+    /** A kérések sorának alapértelmezett kapacitása. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+
+    /** Egy csoportba vett kérések legnagyobb száma. */
+    private static final int MAX_BATCH = 4096;
+
+    /** A naplónkénti kimeneti puffer kezdőmérete. */
+    private static final int INITIAL_BUFFER_BYTES = 64;
+
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** Kérés: a napló fejlécének kiírása. */
+    private static final int HEADER = 0;
+
+    /** Kérés: egy lépés hozzáfűzése. */
+    private static final int MOVE = 1;
+
+    /** Kérés: a napló lezárása. */
+    private static final int CLOSE = 2;
+
+    /** Kérés: a napló lezárása és törlése. */
+    private static final int DELETE = 3;
+
+    /** Kérés: lemezre kényszerítés és visszajelzés. */
+    private static final int SYNC = 4;
+
+    /** Kérés: a szál leállítása. */
+    private static final int STOP = 5;
+
+    /** A beküldött kérések sora. */
+    private final BlockingQueue<Entry> queue;
+
+    /** A lemezre kényszerítések közti idő (ns), vagy negatív. */
+    private final long syncIntervalNanos;
+
+    /** A háttérszál. */
+    private final Thread thread;
+
+    /** Leállították-e már az írót. */
+    private volatile boolean stopped;
+
+    /** A nyitott naplók kimenetei (csak a háttérszál használja). */
+    private final Map<MoveJournal, Sink> sinks = new IdentityHashMap<>();
+
+    /** Kiírásra váró kimenetek (csak a háttérszál használja). */
+    private final List<Sink> dirty = new ArrayList<>();
+
+    /** Kiírt, de lemezre még nem kényszerített kimenetek. */
+    private final List<Sink> unsynced = new ArrayList<>();
+
+    /** Az aktuális csoport (csak a háttérszál használja). */
+    private final List<Entry> batch = new ArrayList<>(MAX_BATCH);
+
+    /** Az utolsó lemezre kényszerítés ideje (ns). */
+    private long lastSync = System.nanoTime();
+
+    /**
+     * Napló-író alapértelmezett sorkapacitással.
+     *
+     * @param syncIntervalMillis A lemezre kényszerítések közti idő (ms);
+     *                           {@link #SYNC_EVERY_BATCH} vagy
+     *                           {@link #NO_SYNC} is lehet.
+     */
+    public JournalWriter(final long syncIntervalMillis) {
+        this(syncIntervalMillis, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Napló-író.
+     *
+     * @param syncIntervalMillis A lemezre kényszerítések közti idő (ms);
+     *                           {@link #SYNC_EVERY_BATCH} vagy
+     *                           {@link #NO_SYNC} is lehet.
+     * @param queueCapacity      A kérések sorának kapacitása.
+     */
+    public JournalWriter(final long syncIntervalMillis,
+                         final int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "A sor kapacitása legalább 1: " + queueCapacity);
+        }
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.syncIntervalNanos = syncIntervalMillis < 0
+                ? NO_SYNC : syncIntervalMillis * NANOS_PER_MILLI;
+        this.thread = new Thread(this::run, "connect4-journal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Létrehoz egy naplót. A fájl csak a fejléc kiírásakor jön létre.
+     *
+     * @param path A naplófájl.
+     * @return A napló.
+     */
+    public MoveJournal open(final Path path) {
+        return new MoveJournal(this, path);
+    }
+
+    /**
+     * Megvárja, amíg a hívó szál által eddig beküldött összes kérés
+     * kiíródik és lemezre kerül.
+     */
+    public void flush() {
+        final CountDownLatch done = new CountDownLatch(1);
+        submit(new Entry(null, SYNC, 0, 0, null, done));
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Kiírja és lemezre kényszeríti a függő kéréseket, lezárja a
+     * nyitott naplókat (a fájlok megmaradnak), és leállítja a szálat.
+     */
+    @Override
+    public void close() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        try {
+            queue.put(new Entry(null, STOP, 0, 0, null, null));
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sorba állítja egy napló fejlécét.
+     *
+     * @param journal A napló.
+     * @param header  A fejléc bájtjai.
+     */
+    void submitHeader(final MoveJournal journal, final ByteBuffer header) {
+        submit(new Entry(journal, HEADER, 0, 0, header, null));
+    }
+
+    /**
+     * Sorba állít egy lépést.
+     *
+     * @param journal A napló.
+     * @param col     A lépés oszlopa.
+     * @param ply     A lépés sorszámának alsó 16 bitje.
+     */
+    void submitMove(final MoveJournal journal,
+                    final int col,
+                    final int ply) {
+        submit(new Entry(journal, MOVE, col, ply, null, null));
+    }
+
+    /**
+     * Sorba állítja egy napló lezárását.
+     *
+     * @param journal A napló.
+     * @param delete  Törölje-e a fájlt a lezárás után.
+     */
+    void submitClose(final MoveJournal journal, final boolean delete) {
+        submit(new Entry(journal, delete ? DELETE : CLOSE, 0, 0, null,
+                null));
+    }
+
+    /**
+     * Sorba állít egy kérést; csak akkor vár, ha a sor tele van.
+     *
+     * @param entry A kérés.
+     * @throws IllegalStateException ha az írót már leállították.
+     */
+    private void submit(final Entry entry) {
+        if (stopped) {
+            throw new IllegalStateException("A naplóíró le van állítva.");
+        }
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A háttérszál ciklusa: csoportonként kiüríti a sort.
+     */
+    private void run() {
+        boolean running = true;
+        while (running) {
+            batch.clear();
+            try {
+                final Entry first = unsynced.isEmpty()
+                        || syncIntervalNanos <= 0
+                        ? queue.take()
+                        : queue.poll(untilSync(), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            boolean syncNow = syncIntervalNanos == SYNC_EVERY_BATCH;
+            for (Entry entry : batch) {
+                switch (entry.kind) {
+                    case HEADER:
+                        openSink(entry);
+                        break;
+                    case MOVE:
+                        appendMove(entry);
+                        break;
+                    case CLOSE:
+                    case DELETE:
+                        closeSink(entry.journal, entry.kind == DELETE);
+                        break;
+                    case SYNC:
+                        syncNow = true;
+                        break;
+                    default:
+                        running = false;
+                        syncNow = true;
+                        break;
+                }
+            }
+            writeDirty();
+            if (syncNow || syncIntervalNanos > 0 && untilSync() <= 0) {
+                syncAll();
+            }
+            for (Entry entry : batch) {
+                if (entry.done != null) {
+                    entry.done.countDown();
+                }
+            }
+        }
+        for (MoveJournal journal : new ArrayList<>(sinks.keySet())) {
+            closeSink(journal, false);
+        }
+        for (Entry entry : queue) {
+            if (entry.done != null) {
+                entry.done.countDown(); // Leállítás közben érkezett
+            }
+        }
+    }
+
+    /**
+     * A következő esedékes lemezre kényszerítésig hátralévő idő.
+     *
+     * @return Az idő nanoszekundumban (nem pozitív, ha esedékes).
+     */
+    private long untilSync() {
+        return lastSync + syncIntervalNanos - System.nanoTime();
+    }
+
+    /**
+     * Kiírja a fejlécet egy ideiglenes fájlba, lemezre kényszeríti, majd
+     * atomikusan a napló helyére mozgatja; a csatorna nyitva marad a
+     * további lépésekhez.
+     *
+     * @param entry A fejléc kérése.
+     */
+    private void openSink(final Entry entry) {
+        final Path path = entry.journal.getPath();
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        final Sink sink = new Sink(path);
+        try {
+            sink.channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            while (entry.header.hasRemaining()) {
+                sink.channel.write(entry.header);
+            }
+            sink.channel.force(true);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            fail(sink, e);
+        }
+        sinks.put(entry.journal, sink);
+    }
+
+    /**
+     * Egy lépésrekordot tesz a napló kimeneti pufferébe.
+     *
+     * @param entry A lépés kérése.
+     */
+    private void appendMove(final Entry entry) {
+        final Sink sink = sinks.get(entry.journal);
+        if (sink == null || sink.failed) {
+            return;
+        }
+        if (sink.out.remaining() < MoveJournal.RECORD_BYTES) {
+            final ByteBuffer larger =
+                    ByteBuffer.allocate(sink.out.capacity() * 2);
+            sink.out.flip();
+            larger.put(sink.out);
+            sink.out = larger;
+        }
+        sink.out.putShort((short) entry.col).putShort((short) entry.ply);
+        if (!sink.dirty) {
+            sink.dirty = true;
+            dirty.add(sink);
+        }
+    }
+
+    /**
+     * Naplónként egyetlen írással kiadja az összegyűlt rekordokat.
+     */
+    private void writeDirty() {
+        for (Sink sink : dirty) {
+            writeOut(sink);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Kiírja egy napló kimeneti pufferét.
+     *
+     * @param sink A napló kimenete.
+     */
+    private void writeOut(final Sink sink) {
+        sink.dirty = false;
+        if (sink.failed || sink.out.position() == 0) {
+            return;
+        }
+        sink.out.flip();
+        try {
+            while (sink.out.hasRemaining()) {
+                sink.channel.write(sink.out);
+            }
+            if (!sink.unsynced) {
+                sink.unsynced = true;
+                unsynced.add(sink);
+            }
+        } catch (IOException e) {
+            fail(sink, e);
+        }
+        sink.out.clear();
+    }
+
+    /**
+     * Lemezre kényszeríti az összes kiírt naplót.
+     */
+    private void syncAll() {
+        for (Sink sink : unsynced) {
+            sink.unsynced = false;
+            if (!sink.failed) {
+                try {
+                    sink.channel.force(false);
+                } catch (IOException e) {
+                    fail(sink, e);
+                }
+            }
+        }
+        unsynced.clear();
+        lastSync = System.nanoTime();
+    }
+
+    /**
+     * Kiírja, lemezre kényszeríti és lezárja egy napló fájlját.
+     *
+     * @param journal A napló.
+     * @param delete  Törölje-e a fájlt.
+     */
+    private void closeSink(final MoveJournal journal, final boolean delete) {
+        final Sink sink = sinks.remove(journal);
+        if (sink == null) {
+            return;
+        }
+        writeOut(sink);
+        dirty.remove(sink);
+        unsynced.remove(sink);
+        try {
+            if (!sink.failed) {
+                sink.channel.force(false);
+            }
+            if (sink.channel != null) {
+                sink.channel.close();
+            }
+            if (delete) {
+                Files.deleteIfExists(sink.path);
+            }
+        } catch (IOException e) {
+            fail(sink, e);
+        }
+    }
+
+    /**
+     * Hibásnak jelöl egy naplót; a további kérései elvesznek.
+     *
+     * @param sink  A napló kimenete.
+     * @param cause A hiba.
+     */
+    private static void fail(final Sink sink, final IOException cause) {
+        if (!sink.failed) {
+            LOG.warn("Hiba a(z) {} lépésnapló írásakor: {}",
+                    sink.path, cause.getMessage());
+        }
+        sink.failed = true;
+        try {
+            if (sink.channel != null) {
+                sink.channel.close();
+            }
+        } catch (IOException e) {
+            // A csatorna már használhatatlan
+        }
+    }
+
+    /**
+     * Egy beküldött kérés.
+     */
+    private static final class Entry {
+        /** A napló, vagy null. */
+        private final MoveJournal journal;
+
+        /** A kérés fajtája. */
+        private final int kind;
+
+        /** A lépés oszlopa. */
+        private final int col;
+
+        /** A lépés sorszámának alsó 16 bitje. */
+        private final int ply;
+
+        /** A fejléc bájtjai, vagy null. */
+        private final ByteBuffer header;
+
+        /** A teljesülés jelzője, vagy null. */
+        private final CountDownLatch done;
+
+        /**
+         * Kérés.
+         *
+         * @param target   A napló, vagy null.
+         * @param type     A kérés fajtája.
+         * @param column   A lépés oszlopa.
+         * @param sequence A lépés sorszámának alsó 16 bitje.
+         * @param bytes    A fejléc bájtjai, vagy null.
+         * @param latch    A teljesülés jelzője, vagy null.
+         */
+        private Entry(final MoveJournal target,
+                      final int type,
+                      final int column,
+                      final int sequence,
+                      final ByteBuffer bytes,
+                      final CountDownLatch latch) {
+            this.journal = target;
+            this.kind = type;
+            this.col = column;
+            this.ply = sequence;
+            this.header = bytes;
+            this.done = latch;
+        }
+    }
+
+    /**
+     * Egy nyitott napló kimenete (csak a háttérszál használja).
+     */
+    private static final class Sink {
+        /** A naplófájl. */
+        private final Path path;
+
+        /** A fájl csatornája. */
+        private FileChannel channel;
+
+        /** Az összegyűlt, még ki nem írt rekordok. */
+        private ByteBuffer out = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+        /** Szerepel-e a kiírásra várók között. */
+        private boolean dirty;
+
+        /** Szerepel-e a lemezre kényszerítésre várók között. */
+        private boolean unsynced;
+
+        /** Történt-e írási hiba. */
+        private boolean failed;
+
+        /**
+         * Kimenet egy naplófájlhoz.
+         *
+         * @param file A naplófájl.
+         */
+        private Sink(final Path file) {
+            this.path = file;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.connect4;
+
+/**
+ * Legfeljebb 64 bites bitkészlet egyetlen {@code long}-ban.
+ * Ez a szabványos 6x7-es tábla gyors útja.
+ */
+final class LongBitboard implements Bitboard {
+    /** A bitek. */
+    private long bits;
+
+    @Override
+    public boolean get(final int index) {
+        return (bits & (1L << index)) != 0;
+    }
+
+    @Override
+    public void set(final int index) {
+        bits |= 1L << index;
+    }
+
+    @Override
+    public void clear(final int index) {
+        bits &= ~(1L << index);
+    }
+
+    @Override
+    public void clearAll() {
+        bits = 0L;
+    }
+
+    @Override
+    public int count() {
+        return Long.bitCount(bits);
+    }
+
+    @Override
+    public boolean hasLine(final int shift, final int length) {
+        if ((long) (length - 1) * shift >= Long.SIZE) {
+            return false; // A sor nem fér el; az eltolás körbefordulna
+        }
+        long line = bits;
+        for (int i = 1; i < length && line != 0; i++) {
+            line &= bits >>> (i * shift);
+        }
+        return line != 0;
+    }
+
+    @Override
+    public void copyFrom(final Bitboard other) {
+        bits = ((LongBitboard) other).bits;
+    }
+
+    @Override
+    public Bitboard copy() {
+        final LongBitboard copy = new LongBitboard();
+        copy.bits = bits;
+        return copy;
+    }
+
+    @Override
+    public long toLong() {
+        return bits;
+    }
+}
@@ -41,6 +41,6 @@ public final class Main {
         scanner.nextLine();
 
         Game game = Game.setupGame(choice, scanner);
-        game.start();
+        game.start(scanner);
     }
 }
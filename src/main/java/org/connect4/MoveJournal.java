@@ -0,0 +1,216 @@
+package org.connect4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Egy játszma előreíró lépésnaplója (write-ahead journal).
+ *
+ * <p>A fájl egy fejlécből (varázsszám, verzió, majd a kezdőállás
+ * {@link GameRecordCodec} szerinti, hosszal előtagolt alakja) és az
+ * utána hozzáfűzött lépésrekordokból áll. Egy rekord 4 bájt: az oszlop
+ * és a lépés sorszámának alsó 16 bitje. A visszavonást a
+ * {@link #UNDO_COLUMN} oszlop jelöli, a visszavont lépés sorszámával;
+ * az újra megtett lépés közönséges lépésrekord. A metódusok csak sorba
+ * állítják a kéréseket; a lemezre írást a közös {@link JournalWriter}
+ * háttérszála végzi, így a lépés útját nem lassítja.</p>
+ *
+ * <p>Egy naplót egyszerre egy szál írhat (a játszma szála).</p>
+ */
+public final class MoveJournal {
+    /** A naplófájlok ajánlott kiterjesztése. */
+    public static final String EXTENSION = ".c4j";
+
+    /** A napló varázsszáma ("C4MJ"). */
+    static final int MAGIC = 0x43344D4A;
+
+    /** A naplóformátum verziója. */
+    static final int VERSION = 1;
+
+    /** A visszavonási rekord oszlopa. */
+    static final int UNDO_COLUMN = -1;
+
+    /** Egy lépésrekord mérete bájtban. */
+    static final int RECORD_BYTES = 2 * Short.BYTES;
+
+    /** A fejléc rögzített része: varázsszám, verzió, hossz. */
+    static final int HEADER_PREFIX_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+
+    /** A 16 bites sorszám maszkja. */
+    private static final int PLY_MASK = 0xFFFF;
+
+    /** A bájt bitjeinek maszkja. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** A naplót író háttérszál. */
+    private final JournalWriter writer;
+
+    /** A naplófájl. */
+    private final Path path;
+
+    /** A következő lépés sorszáma (a kezdőállás lépéseivel együtt). */
+    private int ply = -1;
+
+    /** Lezárták-e már a naplót. */
+    private boolean closed;
+
+    /**
+     * Napló egy íróhoz és fájlhoz. A fájl csak az első íráskor jön létre.
+     *
+     * @param journalWriter A háttérben író szál.
+     * @param file          A naplófájl.
+     */
+    MoveJournal(final JournalWriter journalWriter, final Path file) {
+        this.writer = journalWriter;
+        this.path = file;
+    }
+
+    /**
+     * A naplófájl.
+     *
+     * @return A fájl útvonala.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Új, még el nem indult napló ugyanahhoz a háttérszálhoz.
+     *
+     * @param file A naplófájl.
+     * @return Az új napló.
+     */
+    MoveJournal reopen(final Path file) {
+        return writer.open(file);
+    }
+
+    /**
+     * Megmutatja, hogy a napló fejléce már sorba került-e.
+     *
+     * @return True, ha a {@link #begin(GameRecord)} már lefutott.
+     */
+    public boolean isStarted() {
+        return ply >= 0;
+    }
+
+    /**
+     * Elindítja a naplót egy kezdőállással. A fejléc egy ideiglenes
+     * fájlba íródik, és csak lemezre kényszerítés után cseréli le
+     * atomikusan a korábbi naplót.
+     *
+     * @param start A kezdőállás a lépéstörténettel.
+     * @throws IllegalStateException ha a napló már elindult vagy lezárult.
+     */
+    public void begin(final GameRecord start) {
+        if (isStarted() || closed) {
+            throw new IllegalStateException("A napló már elindult.");
+        }
+        final ByteBuffer record = GameRecordCodec.encode(start);
+        final ByteBuffer header = ByteBuffer.allocate(
+                HEADER_PREFIX_BYTES + record.remaining());
+        header.putInt(MAGIC).put((byte) VERSION)
+                .putInt(record.remaining()).put(record).flip();
+        ply = start.getMoveCount();
+        writer.submitHeader(this, header);
+    }
+
+    /**
+     * Sorba állít egy lépést. Nem vár a lemezre.
+     *
+     * @param col A lépés oszlopa.
+     * @throws IllegalStateException ha a napló nem indult el vagy lezárult.
+     */
+    public void append(final int col) {
+        if (!isStarted() || closed) {
+            throw new IllegalStateException("A napló nem írható.");
+        }
+        writer.submitMove(this, col, ply & PLY_MASK);
+        ply++;
+    }
+
+    /**
+     * Sorba állítja az utolsó lépés visszavonását. Nem vár a lemezre.
+     *
+     * @throws IllegalStateException ha a napló nem írható, vagy nincs
+     *                               visszavonható lépés.
+     */
+    public void undo() {
+        if (!isStarted() || closed || ply == 0) {
+            throw new IllegalStateException("A napló nem írható.");
+        }
+        ply--;
+        writer.submitMove(this, UNDO_COLUMN, ply & PLY_MASK);
+    }
+
+    /**
+     * Lezárja a naplót; a fájl megmarad (folytatható játszma).
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            writer.submitClose(this, false);
+        }
+    }
+
+    /**
+     * Lezárja és törli a naplót (a játszma véget ért).
+     */
+    public void finish() {
+        if (!closed) {
+            closed = true;
+            writer.submitClose(this, true);
+        }
+    }
+
+    /**
+     * Helyreállítja a naplóban rögzített játszmát. A fájl végén lévő
+     * csonka vagy szabálytalan rekordokat (pl. megszakadt írás után)
+     * figyelmen kívül hagyja.
+     *
+     * @param file A naplófájl.
+     * @return A játszma az utolsó épen rögzített lépésig.
+     * @throws IOException ha a fájl nem olvasható, vagy a fejléc hibás.
+     */
+    public static GameRecord recover(final Path file) throws IOException {
+        final ByteBuffer buffer = GameRecordCodec.readFully(file);
+        if (buffer.remaining() < HEADER_PREFIX_BYTES
+                || buffer.getInt() != MAGIC) {
+            throw new IOException("Érvénytelen lépésnapló: " + file);
+        }
+        final int version = buffer.get() & BYTE_MASK;
+        if (version != VERSION) {
+            throw new IOException("Nem támogatott naplóverzió: " + version);
+        }
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("A lépésnapló fejléce csonka.");
+        }
+        final ByteBuffer header = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        final GameRecord start = GameRecordCodec.decode(header);
+
+        final Board board = start.toBoard();
+        while (buffer.remaining() >= RECORD_BYTES) {
+            final int col = buffer.getShort();
+            final int recordPly = buffer.getShort() & PLY_MASK;
+            final int count = board.getMoveCount();
+            if (col == UNDO_COLUMN && count > 0
+                    && recordPly == ((count - 1) & PLY_MASK)) {
+                board.unmakeMove();
+                continue;
+            }
+            if (recordPly != (count & PLY_MASK) || col < 0
+                    || col >= board.getCols()
+                    || board.getHeight(col) == board.getRows()) {
+                break; // Csonka vagy sérült rekord: itt a napló vége
+            }
+            final Player player = (count & 1) == 0
+                    ? start.getFirstPlayer() : start.getSecondPlayer();
+            board.makeMove(col, player.getToken());
+        }
+        return new GameRecord(start.getRows(), start.getCols(),
+                start.getConnectLength(), start.getFirstPlayer(),
+                start.getSecondPlayer(), board.getMoveHistory());
+    }
+}
@@ -0,0 +1,48 @@
+package org.connect4;
+
+/**
+ * Egy {@link Game#play(int)} vagy {@link SharedGame} lépés kimenetele.
+ */
+public enum MoveResult {
+    /** A lépés megtörtént, a játék folytatódik. */
+    APPLIED,
+
+    /** A lépés megtörtént, és a lépő játékos nyert. */
+    WIN,
+
+    /** A lépés megtörtént, és a tábla megtelt: döntetlen. */
+    DRAW,
+
+    /** A lépés nem történt meg: nincs ilyen oszlop. */
+    INVALID_COLUMN,
+
+    /** A lépés nem történt meg: az oszlop tele van. */
+    COLUMN_FULL,
+
+    /** A lépés nem történt meg: a játék már véget ért. */
+    GAME_OVER,
+
+    /**
+     * A lépés nem történt meg: egy elavult állásra épült, mert közben
+     * egy másik lépés került a táblára ({@link SharedGame}).
+     */
+    STALE;
+
+    /**
+     * Megmutatja, hogy a lépés megtörtént-e.
+     *
+     * @return True, ha a lépés a táblára került.
+     */
+    public boolean isApplied() {
+        return this == APPLIED || this == WIN || this == DRAW;
+    }
+
+    /**
+     * Megmutatja, hogy a lépés befejezte-e a játékot.
+     *
+     * @return True győzelem és döntetlen esetén.
+     */
+    public boolean endsGame() {
+        return this == WIN || this == DRAW;
+    }
+}
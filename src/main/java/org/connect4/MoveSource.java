@@ -0,0 +1,20 @@
+package org.connect4;
+
+/**
+ * Egy játékos lépéseinek forrása a {@link Game#run(MoveSource,
+ * MoveSource)} ciklushoz: konzol, AI, hálózat vagy előre rögzített
+ * lépéssor.
+ */
+@FunctionalInterface
+public interface MoveSource {
+    /**
+     * A lépésen lévő játékos következő lépése. A forrás blokkolhat,
+     * amíg a lépés meg nem érkezik.
+     *
+     * @param game A játék; a lépő játékos a
+     *             {@link Game#getCurrentPlayer()}.
+     * @return Az oszlop, vagy a {@link Game#UNDO_COMMAND},
+     *         {@link Game#REDO_COMMAND} parancsok egyike.
+     */
+    int nextMove(Game game);
+}
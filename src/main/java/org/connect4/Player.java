@@ -1,8 +1,11 @@
 package org.connect4;
 
+import org.connect4.sim.MovePolicy;
+
 /**
  * A Connect 4 játékban egy játékost képvisel.
- * Ez az osztály tárolja a játékos nevét és karaterjét.
+ * Ez az osztály tárolja a játékos nevét és karaterjét, valamint
+ * gépi játékosnál a lépéseit választó stratégiát.
  */
 public final class Player {
     /**
@@ -15,6 +18,11 @@ public final class Player {
      */
     private final char mToken;
 
+    /**
+     * A játékos stratégiája, vagy null (ember vagy a játék AI-ja).
+     */
+    private final MovePolicy mStrategy;
+
     /**
      * Létrehoz egy új játékost a megadott névvel és karakter.
      *
@@ -22,8 +30,23 @@ public final class Player {
      * @param token A játékos által használt token.
      */
     public Player(final String name, final char token) {
+        this(name, token, null);
+    }
+
+    /**
+     * Létrehoz egy gépi játékost, amelynek lépéseit a stratégia
+     * választja.
+     *
+     * @param name A játékos neve.
+     * @param token A játékos által használt token.
+     * @param strategy A lépésválasztó stratégia, vagy null.
+     */
+    public Player(final String name,
+                  final char token,
+                  final MovePolicy strategy) {
         this.mName = name;
         this.mToken = token;
+        this.mStrategy = strategy;
     }
 
     /**
@@ -43,4 +66,14 @@ public final class Player {
     public char getToken() {
         return mToken;
     }
+
+    /**
+     * Visszaadja a játékos stratégiáját.
+     *
+     * @return A lépésválasztó stratégia, vagy null, ha a lépést a
+     *         konzol vagy a játék beépített AI-ja adja.
+     */
+    public MovePolicy getStrategy() {
+        return mStrategy;
+    }
 }
@@ -0,0 +1,190 @@
+package org.connect4;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Több szál által közösen olvasott és léptetett játszma, zár nélkül.
+ * Az aktuális állás egy {@link AtomicReference} mögötti
+ * {@link BoardSnapshot}: az olvasók (nézők, elemzők, a játékciklus) egy
+ * volatile olvasással jutnak hozzá, másolás nélkül. A lépés új
+ * pillanatképet készít, és összehasonlítás-és-csere (CAS) művelettel
+ * teszi közzé.
+ *
+ * <p>Az egymással versenyző lépések kimenetele determinisztikus: a
+ * {@link #commit(BoardSnapshot, int)} csak akkor lép, ha a játszma még
+ * abban az állásban van, amelyet a hívó látott. Az ugyanarra az
+ * állásra épülő lépések közül pontosan egy kerül a táblára, a többi
+ * {@link MoveResult#STALE} választ kap, és egyik sem kerül egy általa
+ * nem látott állás tetejére. A lépő karaktert a lépésszám párossága
+ * határozza meg.</p>
+ */
+public final class SharedGame {
+    /** A kezdő játékos karaktere. */
+    private final char firstToken;
+
+    /** A második játékos karaktere. */
+    private final char secondToken;
+
+    /** A kezdőállás (az újrakezdéshez). */
+    private final BoardSnapshot start;
+
+    /** Az aktuális állás. */
+    private final AtomicReference<BoardSnapshot> state;
+
+    /** A versengés miatt elvesztett CAS kísérletek száma. */
+    private final LongAdder conflicts = new LongAdder();
+
+    /**
+     * Közös játszma alapértelmezett méretű üres táblán.
+     *
+     * @param first  A kezdő játékos.
+     * @param second A második játékos.
+     * @throws IllegalArgumentException ha a két karakter azonos.
+     */
+    public SharedGame(final Player first, final Player second) {
+        this(first, second, BoardSnapshot.empty(Board.DEFAULT_ROWS,
+                Board.DEFAULT_COLS, Board.DEFAULT_CONNECT_LENGTH));
+    }
+
+    /**
+     * Közös játszma egy kezdőállásból.
+     *
+     * @param first   A kezdő játékos.
+     * @param second  A második játékos.
+     * @param initial A kezdőállás (páros lépésszámnál a kezdő lép).
+     * @throws IllegalArgumentException ha a két karakter azonos.
+     */
+    public SharedGame(final Player first,
+                      final Player second,
+                      final BoardSnapshot initial) {
+        if (first.getToken() == second.getToken()) {
+            throw new IllegalArgumentException(
+                    "A két játékos karakterének különböznie kell.");
+        }
+        this.firstToken = first.getToken();
+        this.secondToken = second.getToken();
+        this.start = initial;
+        this.state = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Az aktuális állás. Zár és másolás nélküli, bármely szálról
+     * hívható.
+     *
+     * @return A pillanatkép.
+     */
+    public BoardSnapshot current() {
+        return state.get();
+    }
+
+    /**
+     * Az adott állásban lépő játékos karaktere.
+     *
+     * @param snapshot Az állás.
+     * @return A lépésszám párossága szerinti karakter.
+     */
+    public char tokenToMove(final BoardSnapshot snapshot) {
+        return (snapshot.getMoveCount() & 1) == 0 ? firstToken : secondToken;
+    }
+
+    /**
+     * Lép, ha a játszma még a hívó által látott állásban van. Nem
+     * ismétel: ha közben más lépett, {@link MoveResult#STALE} a válasz,
+     * és a hívó az új állás ismeretében dönthet újra.
+     *
+     * @param expected A hívó által látott pillanatkép
+     *                 ({@link #current()}).
+     * @param col      Az oszlop.
+     * @return A lépés kimenetele.
+     */
+    public MoveResult commit(final BoardSnapshot expected, final int col) {
+        final BoardSnapshot seen = state.get();
+        if (seen != expected) {
+            return MoveResult.STALE;
+        }
+        final MoveResult rejected = check(seen, col);
+        if (rejected != null) {
+            return rejected;
+        }
+        final BoardSnapshot next = seen.play(col, tokenToMove(seen));
+        if (!state.compareAndSet(seen, next)) {
+            conflicts.increment();
+            return MoveResult.STALE;
+        }
+        return outcome(next);
+    }
+
+    /**
+     * Lép a mindenkori aktuális állásban: versengés esetén az új
+     * álláson újra próbálja, amíg a lépés szabályos.
+     *
+     * @param col Az oszlop.
+     * @return A lépés kimenetele (soha nem {@link MoveResult#STALE}).
+     */
+    public MoveResult play(final int col) {
+        while (true) {
+            final BoardSnapshot seen = state.get();
+            final MoveResult rejected = check(seen, col);
+            if (rejected != null) {
+                return rejected;
+            }
+            final BoardSnapshot next = seen.play(col, tokenToMove(seen));
+            if (state.compareAndSet(seen, next)) {
+                return outcome(next);
+            }
+            conflicts.increment();
+        }
+    }
+
+    /**
+     * Visszaállítja a kezdőállást (új játszma ugyanezekkel a
+     * játékosokkal).
+     */
+    public void restart() {
+        state.set(start);
+    }
+
+    /**
+     * A versengés miatt elvesztett CAS kísérletek száma.
+     *
+     * @return Az ütközések száma a létrehozás óta.
+     */
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    /**
+     * Megvizsgálja, hogy a lépés megtehető-e az állásban.
+     *
+     * @param snapshot Az állás.
+     * @param col      Az oszlop.
+     * @return Az elutasítás oka, vagy null ha a lépés szabályos.
+     */
+    private static MoveResult check(final BoardSnapshot snapshot,
+                                    final int col) {
+        if (snapshot.isOver()) {
+            return MoveResult.GAME_OVER;
+        }
+        if (col < 0 || col >= snapshot.getCols()) {
+            return MoveResult.INVALID_COLUMN;
+        }
+        if (!snapshot.canPlay(col)) {
+            return MoveResult.COLUMN_FULL;
+        }
+        return null;
+    }
+
+    /**
+     * A megtett lépés kimenetele az új állás alapján.
+     *
+     * @param next Az új állás.
+     * @return Győzelem, döntetlen vagy folytatás.
+     */
+    private static MoveResult outcome(final BoardSnapshot next) {
+        if (next.hasWinner()) {
+            return MoveResult.WIN;
+        }
+        return next.isFull() ? MoveResult.DRAW : MoveResult.APPLIED;
+    }
+}
@@ -0,0 +1,121 @@
+package org.connect4;
+
+import java.util.Arrays;
+
+/**
+ * Tetszőleges méretű bitkészlet {@code long} szavak tömbjében, a 64
+ * bitnél nagyobb táblákhoz. A sorkereséshez használt munkatömb a
+ * példányé, így a vizsgálat nem foglal objektumot (és nem szálbiztos).
+ */
+final class WordsBitboard implements Bitboard {
+    /** Egy szó bitjeinek számához tartozó eltolás (64 = 2^6). */
+    private static final int WORD_SHIFT = 6;
+
+    /** A szón belüli bitindex maszkja. */
+    private static final int BIT_MASK = Long.SIZE - 1;
+
+    /** A bitek szavanként. */
+    private final long[] words;
+
+    /** Munkatömb a sorkereséshez. */
+    private final long[] line;
+
+    /**
+     * Üres bitkészlet.
+     *
+     * @param size A bitek száma.
+     */
+    WordsBitboard(final int size) {
+        this.words = new long[(size + BIT_MASK) >>> WORD_SHIFT];
+        this.line = new long[words.length];
+    }
+
+    @Override
+    public boolean get(final int index) {
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    @Override
+    public void set(final int index) {
+        words[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+    @Override
+    public void clear(final int index) {
+        words[index >>> WORD_SHIFT] &= ~(1L << index);
+    }
+
+    @Override
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+
+    @Override
+    public int count() {
+        int total = 0;
+        for (long word : words) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    @Override
+    public boolean hasLine(final int shift, final int length) {
+        System.arraycopy(words, 0, line, 0, words.length);
+        for (int i = 1; i < length; i++) {
+            if (!andShifted(i * shift)) {
+                return false;
+            }
+        }
+        for (long word : line) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void copyFrom(final Bitboard other) {
+        final long[] source = ((WordsBitboard) other).words;
+        System.arraycopy(source, 0, words, 0, words.length);
+    }
+
+    @Override
+    public Bitboard copy() {
+        final WordsBitboard copy = new WordsBitboard(words.length * Long.SIZE);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    @Override
+    public long toLong() {
+        throw new IllegalStateException(
+                "A tábla nem fér el egy long-ban.");
+    }
+
+    /**
+     * A munkatömböt ÉS-eli a bitek jobbra tolt változatával.
+     *
+     * @param distance Az eltolás bitben.
+     * @return False, ha a munkatömb kiürült.
+     */
+    private boolean andShifted(final int distance) {
+        final int wordShift = distance >>> WORD_SHIFT;
+        final int bitShift = distance & BIT_MASK;
+        boolean any = false;
+        for (int w = 0; w < line.length; w++) {
+            final int source = w + wordShift;
+            long shifted = 0L;
+            if (source < words.length) {
+                shifted = words[source] >>> bitShift;
+                if (bitShift != 0 && source + 1 < words.length) {
+                    shifted |= words[source + 1] << (Long.SIZE - bitShift);
+                }
+            }
+            line[w] &= shifted;
+            any |= line[w] != 0;
+        }
+        return any;
+    }
+}
@@ -0,0 +1,98 @@
+package org.connect4.ai;
+
+/**
+ * Egy kötegelt elemzés közös kerete: teljes idő vagy teljes
+ * csomópontszám, és opcionálisan mélységkorlát. A keret az egész
+ * kötegre vonatkozik; a {@link BatchAnalyzer} a még hátralévő
+ * állások között egyenletesen osztja szét.
+ */
+public final class AnalysisBudget {
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** A teljes időkeret nanoszekundumban, vagy Long.MAX_VALUE. */
+    private final long timeNanos;
+
+    /** A teljes csomópontkeret, vagy Long.MAX_VALUE. */
+    private final long nodes;
+
+    /** A keresési mélység korlátja. */
+    private final int depth;
+
+    /**
+     * Létrehoz egy keretet.
+     *
+     * @param nanos    Az időkeret.
+     * @param maxNodes A csomópontkeret.
+     * @param maxDepth A mélységkorlát.
+     */
+    private AnalysisBudget(final long nanos, final long maxNodes,
+                           final int maxDepth) {
+        if (nanos <= 0 || maxNodes <= 0 || maxDepth <= 0) {
+            throw new IllegalArgumentException(
+                    "Az elemzési keretnek pozitívnak kell lennie.");
+        }
+        this.timeNanos = nanos;
+        this.nodes = maxNodes;
+        this.depth = maxDepth;
+    }
+
+    /**
+     * Időkeret a teljes kötegre.
+     *
+     * @param millis Az idő ezredmásodpercben.
+     * @return A keret.
+     */
+    public static AnalysisBudget ofMillis(final long millis) {
+        return new AnalysisBudget(Math.multiplyExact(millis, NANOS_PER_MILLI),
+                Long.MAX_VALUE, SearchEngine.MAX_PLY);
+    }
+
+    /**
+     * Csomópontkeret a teljes kötegre (idő szerint korlátlan).
+     *
+     * @param maxNodes A csomópontok száma.
+     * @return A keret.
+     */
+    public static AnalysisBudget ofNodes(final long maxNodes) {
+        return new AnalysisBudget(Long.MAX_VALUE, maxNodes,
+                SearchEngine.MAX_PLY);
+    }
+
+    /**
+     * Ugyanez a keret mélységkorláttal.
+     *
+     * @param maxDepth A legnagyobb keresési mélység.
+     * @return Az új keret.
+     */
+    public AnalysisBudget withDepth(final int maxDepth) {
+        return new AnalysisBudget(timeNanos, nodes, maxDepth);
+    }
+
+    /**
+     * A teljes időkeret.
+     *
+     * @return Nanoszekundum, vagy Long.MAX_VALUE, ha nincs időkorlát.
+     */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /**
+     * A teljes csomópontkeret.
+     *
+     * @return A csomópontok száma, vagy Long.MAX_VALUE.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * A mélységkorlát.
+     *
+     * @return A legnagyobb keresési mélység.
+     */
+    public int getDepth() {
+        return depth;
+    }
+}
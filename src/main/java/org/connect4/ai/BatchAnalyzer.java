@@ -0,0 +1,389 @@
+package org.connect4.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.connect4.Board;
+
+/**
+ * Állások kötegelt elemzése: minden állásra oszloponkénti értékeket és
+ * legjobb lépést ad egy közös idő- vagy csomópontkereten belül.
+ *
+ * <p>Az azonos és egymás tükörképét adó állásokat csak egyszer elemzi
+ * (a kisebb kulcsú, kanonikus alakjukban), az eredményt tükrözve
+ * osztja vissza. A kanonikus állásokon a szálkészlet szálai
+ * osztoznak: mindegyik a következő még el nem kezdett állást veszi
+ * sorra, saját {@link SearchEngine}-nel, de egyetlen közös
+ * {@link TranspositionTable}-lel, amely a hívások között is megmarad.
+ * A keret a hátralévő állások között egyenletesen oszlik el, így a
+ * korán végzett állások maradéka a későbbieké lesz; ha a keret
+ * elfogyott, a hátralévő állások lépéseit már csak a
+ * {@link ThreatEvaluator} statikus értékelése rangsorolja.</p>
+ *
+ * <p>Egy példány egyszerre egy köteget elemez.</p>
+ */
+public final class BatchAnalyzer implements AutoCloseable {
+    /** Az alapértelmezett időkeret a parancssori használathoz (ms). */
+    public static final long DEFAULT_MILLIS = 1_000L;
+
+    /** A szálak keresőinek névleges gondolkodási ideje (nem használt). */
+    private static final long UNUSED_MOVE_TIME_MILLIS = 1L;
+
+    /** A szálak száma. */
+    private final int threads;
+
+    /** A közös transzpozíciós tábla. */
+    private final TranspositionTable table;
+
+    /** A segédszálakat futtató végrehajtó, vagy null egy szálnál. */
+    private final ExecutorService executor;
+
+    /**
+     * Kötegelt elemző.
+     *
+     * @param threadCount A szálak száma (a hívó szállal együtt).
+     * @param tableSizeMb A közös tábla mérete megabájtban.
+     */
+    public BatchAnalyzer(final int threadCount, final int tableSizeMb) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy szál szükséges: " + threadCount);
+        }
+        this.threads = threadCount;
+        this.table = new TranspositionTable(tableSizeMb);
+        this.executor = threadCount > 1
+                ? Executors.newFixedThreadPool(threadCount - 1, runnable -> {
+                    final Thread thread =
+                            new Thread(runnable, "connect4-analysis");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * A közös transzpozíciós tábla.
+     *
+     * @return A tábla.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Táblák elemzése. A lépő játékost a tokenek száma határozza meg
+     * (lásd {@link PositionSolver#toPosition(Board)}).
+     *
+     * @param boards A táblák.
+     * @param budget A közös keret.
+     * @return Az elemzések a táblák sorrendjében.
+     */
+    public List<PositionAnalysis> analyzeBoards(final List<Board> boards,
+                                                final AnalysisBudget budget) {
+        final List<Position> positions = new ArrayList<>(boards.size());
+        for (final Board board : boards) {
+            positions.add(PositionSolver.toPosition(board));
+        }
+        return analyzePositions(positions, budget);
+    }
+
+    /**
+     * Tömör kulcsokkal ({@link Position#key()}) megadott állások
+     * elemzése.
+     *
+     * @param rows   A sorok száma.
+     * @param cols   Az oszlopok száma.
+     * @param keys   Az állások kulcsai.
+     * @param budget A közös keret.
+     * @return Az elemzések a kulcsok sorrendjében.
+     */
+    public List<PositionAnalysis> analyzeKeys(final int rows,
+                                              final int cols,
+                                              final long[] keys,
+                                              final AnalysisBudget budget) {
+        final List<Position> positions = new ArrayList<>(keys.length);
+        for (final long key : keys) {
+            positions.add(Position.fromKey(rows, cols, key));
+        }
+        return analyzePositions(positions, budget);
+    }
+
+    /**
+     * Állások elemzése.
+     *
+     * @param positions Az állások (azonos méretűek).
+     * @param budget    A közös keret.
+     * @return Az elemzések az állások sorrendjében.
+     * @throws IllegalArgumentException ha az állások mérete eltér.
+     */
+    public List<PositionAnalysis> analyzePositions(
+            final List<Position> positions, final AnalysisBudget budget) {
+        if (positions.isEmpty()) {
+            return List.of();
+        }
+        final Position firstPosition = positions.get(0);
+        final Map<Long, Integer> unique = new HashMap<>();
+        final List<Position> work = new ArrayList<>();
+        final int[] slots = new int[positions.size()];
+        final boolean[] mirrored = new boolean[positions.size()];
+        for (int i = 0; i < slots.length; i++) {
+            final Position position = positions.get(i);
+            if (position.getRows() != firstPosition.getRows()
+                    || position.getCols() != firstPosition.getCols()) {
+                throw new IllegalArgumentException(
+                        "A köteg állásainak azonos méretűnek kell lenniük.");
+            }
+            mirrored[i] = position.isMirrorCanonical();
+            final Position canonical =
+                    mirrored[i] ? position.mirror() : position;
+            final Integer known = unique.putIfAbsent(
+                    position.canonicalKey(), work.size());
+            if (known == null) {
+                slots[i] = work.size();
+                work.add(canonical);
+            } else {
+                slots[i] = known;
+            }
+        }
+
+        final PositionAnalysis[] results = run(work, budget);
+        final List<PositionAnalysis> analyses =
+                new ArrayList<>(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            final PositionAnalysis result = results[slots[i]];
+            analyses.add(mirrored[i] ? result.mirror() : result);
+        }
+        return analyses;
+    }
+
+    /**
+     * Leállítja a segédszálakat.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Szétosztja a kanonikus állásokat a szálak között.
+     *
+     * @param work   A kanonikus állások.
+     * @param budget A közös keret.
+     * @return Az elemzések a kanonikus állások sorrendjében.
+     */
+    private PositionAnalysis[] run(final List<Position> work,
+                                   final AnalysisBudget budget) {
+        final PositionAnalysis[] results = new PositionAnalysis[work.size()];
+        final Share share = new Share(budget, work.size(), threads);
+        final List<Future<?>> helpers = new ArrayList<>(threads - 1);
+        for (int t = 1; t < threads; t++) {
+            helpers.add(executor.submit(
+                    () -> analyzeAll(work, results, share, budget)));
+        }
+        analyzeAll(work, results, share, budget);
+        for (final Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                        "Az elemzés megszakadt.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(
+                        "Hiba az elemzés közben: " + e.getCause(), e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Egy szál munkája: sorra veszi a még el nem kezdett állásokat.
+     *
+     * @param work    A kanonikus állások.
+     * @param results Az eredmények tömbje.
+     * @param share   A keret közös állapota.
+     * @param budget  A közös keret.
+     */
+    private void analyzeAll(final List<Position> work,
+                            final PositionAnalysis[] results,
+                            final Share share,
+                            final AnalysisBudget budget) {
+        final SearchEngine engine = new SearchEngine(
+                UNUSED_MOVE_TIME_MILLIS, budget.getDepth(), table);
+        int i;
+        while ((i = share.next.getAndIncrement()) < results.length) {
+            results[i] = analyze(engine, work.get(i), share,
+                    results.length - i);
+        }
+    }
+
+    /**
+     * Egy állás elemzése: minden szabályos lépés utáni állást a rá eső
+     * kerettel keres.
+     *
+     * @param engine    A szál keresője.
+     * @param position  Az állás.
+     * @param share     A keret közös állapota.
+     * @param remaining A még el nem kezdett állások száma (ezzel együtt).
+     * @return Az elemzés.
+     */
+    private PositionAnalysis analyze(final SearchEngine engine,
+                                     final Position position,
+                                     final Share share,
+                                     final int remaining) {
+        final int cols = position.getCols();
+        final int[] scores = new int[cols];
+        Arrays.fill(scores, PositionAnalysis.ILLEGAL);
+        int children = 0;
+        for (int col = 0; col < cols; col++) {
+            if (position.canPlay(col)) {
+                children++;
+            }
+        }
+        if (children == 0) {
+            return new PositionAnalysis(scores, 0, 0L);
+        }
+        final long timeSlice = share.timeSlice(remaining) / children;
+        final long nodeSlice = share.nodeSlice(remaining) / children;
+        long nodes = 0L;
+        int depth = SearchEngine.MAX_PLY;
+        for (int col = 0; col < cols; col++) {
+            if (!position.canPlay(col)) {
+                continue;
+            }
+            nodes++;
+            if (position.isWinningMove(col)) {
+                scores[col] = SearchEngine.MATE_SCORE - 1;
+                continue;
+            }
+            final Position child = new Position(position);
+            child.play(col);
+            if (child.isFull()) {
+                scores[col] = 0; // Döntetlen
+                continue;
+            }
+            if (timeSlice == 0L || nodeSlice == 0L) {
+                // Elfogyott a keret: csak a statikus értékelés marad
+                scores[col] = -ThreatEvaluator.evaluate(child);
+                depth = 1;
+                continue;
+            }
+            final SearchResult result =
+                    engine.searchWithin(child, timeSlice, nodeSlice);
+            scores[col] = -result.getScore();
+            nodes += result.getNodes();
+            depth = Math.min(depth, result.getDepth() + 1);
+        }
+        share.nodesLeft.addAndGet(-nodes);
+        return new PositionAnalysis(scores, depth, nodes);
+    }
+
+    /**
+     * A parancssori belépési pont: állásfájlok elemzése egy hívásban.
+     *
+     * @param args Az időkeret (ms) és az állásfájlok.
+     */
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            System.out.println(
+                    "Használat: BatchAnalyzer <ms> <állásfájl>...");
+            return;
+        }
+        final long millis = args[0].isEmpty()
+                ? DEFAULT_MILLIS : Long.parseLong(args[0]);
+        final List<Board> boards = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            final Board board = new Board();
+            if (board.loadStateFromFile(args[i])) {
+                boards.add(board);
+                names.add(args[i]);
+            }
+        }
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(
+                Runtime.getRuntime().availableProcessors(),
+                TranspositionTable.DEFAULT_SIZE_MB)) {
+            final List<PositionAnalysis> analyses = analyzer.analyzeBoards(
+                    boards, AnalysisBudget.ofMillis(millis));
+            for (int i = 0; i < analyses.size(); i++) {
+                System.out.println(names.get(i) + ": " + analyses.get(i));
+            }
+        }
+    }
+
+    /**
+     * Egy köteg keretének közös, szálbiztos állapota.
+     */
+    private static final class Share {
+        /** A következő el nem kezdett állás indexe. */
+        private final AtomicInteger next = new AtomicInteger();
+
+        /** A még fel nem használt csomópontkeret. */
+        private final AtomicLong nodesLeft;
+
+        /** A köteg kezdete (System.nanoTime szerint). */
+        private final long start;
+
+        /** A teljes időkeret. */
+        private final long timeNanos;
+
+        /** A párhuzamosan dolgozó szálak száma. */
+        private final int workers;
+
+        /**
+         * Új köteg keretállapota.
+         *
+         * @param budget      A keret.
+         * @param count       A kanonikus állások száma.
+         * @param threadCount A szálak száma.
+         */
+        Share(final AnalysisBudget budget, final int count,
+              final int threadCount) {
+            this.nodesLeft = new AtomicLong(budget.getNodes());
+            this.start = System.nanoTime();
+            this.timeNanos = budget.getTimeNanos();
+            this.workers = Math.min(threadCount, Math.max(1, count));
+        }
+
+        /**
+         * Egy állásra jutó idő: a hátralévő idő a hátralévő állások
+         * között, a párhuzamosan dolgozó szálak számával szorozva.
+         *
+         * @param remaining A még el nem kezdett állások száma.
+         * @return Az időkeret nanoszekundumban.
+         */
+        long timeSlice(final int remaining) {
+            if (timeNanos == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            final long left = timeNanos - (System.nanoTime() - start);
+            final long parallel = Math.min(workers, remaining);
+            return left <= 0 ? 0L : left / remaining * parallel;
+        }
+
+        /**
+         * Egy állásra jutó csomópontkeret.
+         *
+         * @param remaining A még el nem kezdett állások száma.
+         * @return A csomópontkeret.
+         */
+        long nodeSlice(final int remaining) {
+            final long left = nodesLeft.get();
+            if (left == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            return left <= 0 ? 0L : left / remaining;
+        }
+    }
+}
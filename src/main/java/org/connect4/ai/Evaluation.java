@@ -0,0 +1,16 @@
+package org.connect4.ai;
+
+/**
+ * A {@link SearchEngine} statikus értékelése a keresés levelein.
+ */
+public enum Evaluation {
+    /** Csak a középső oszlopok birtoklását jutalmazza. */
+    CENTER,
+
+    /**
+     * Fenyegetésalapú értékelés ({@link ThreatEvaluator}): nyitott
+     * kettesek és hármasok, a fenyegetések sorparitása és a középső
+     * mezők birtoklása, lépésenként növekményesen frissítve.
+     */
+    THREATS
+}
@@ -0,0 +1,224 @@
+package org.connect4.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo fakereső (MCTS) UCT kiválasztással.
+ * A keresés idő- és lejátszáskorláttal is határolható; a lejátszások
+ * taktikusan véletlenszerűek (a lépő nyer, ha tud, és nem ad azonnali
+ * győzelmet az ellenfélnek).
+ *
+ * <p>Több szál esetén gyökérpárhuzamos: minden szál saját fát épít saját
+ * maggal, a végén a gyökérlépések statisztikái összeadódnak, és a
+ * legtöbbet látogatott lépés nyer. Az eredmény {@link SearchResult}
+ * csomópontszáma a lejátszások száma, értéke a legjobb lépés várható
+ * eredménye ezrelékben (-1000: biztos vereség, 1000: biztos győzelem),
+ * mélysége pedig a legmélyebb fa mélysége.</p>
+ */
+public final class MonteCarloSearch implements Searcher, AutoCloseable {
+    /** Az alapértelmezett csomópontkapacitás fánként. */
+    public static final int DEFAULT_NODES = 1_048_576;
+
+    /** Lejátszáskorlát nélküli keresés. */
+    public static final long UNLIMITED_PLAYOUTS = Long.MAX_VALUE;
+
+    /** Az érték skálája (ezrelék). */
+    static final int SCORE_SCALE = 1000;
+
+    /** A szálankénti magok lépésköze. */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** A még nem látogatott lépés várható eredménye. */
+    private static final double UNKNOWN_EXPECTATION = 0.5;
+
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** A szálak fái; a 0. a hívó szálé. */
+    private final MonteCarloTree[] trees;
+
+    /** Gondolkodási idő lépésenként, nanoszekundumban. */
+    private final long moveTimeNanos;
+
+    /** A lejátszások maximális száma keresésenként (összesen). */
+    private final long maxPlayouts;
+
+    /** A segédszálakat futtató végrehajtó, vagy null egy szálnál. */
+    private final ExecutorService executor;
+
+    /**
+     * Egyszálú, csak időkorlátos kereső.
+     *
+     * @param moveTime Gondolkodási idő lépésenként (ms).
+     */
+    public MonteCarloSearch(final long moveTime) {
+        this(1, moveTime, UNLIMITED_PLAYOUTS, System.nanoTime());
+    }
+
+    /**
+     * Kereső az alapértelmezett fakapacitással.
+     *
+     * @param threads   A szálak (fák) száma.
+     * @param moveTime  Gondolkodási idő lépésenként (ms).
+     * @param playouts  A lejátszások maximális száma keresésenként.
+     * @param seed      A véletlenszám-generátorok magja.
+     */
+    public MonteCarloSearch(final int threads,
+                            final long moveTime,
+                            final long playouts,
+                            final long seed) {
+        this(threads, moveTime, playouts, seed, DEFAULT_NODES);
+    }
+
+    /**
+     * Kereső megadott fakapacitással.
+     *
+     * @param threads   A szálak (fák) száma.
+     * @param moveTime  Gondolkodási idő lépésenként (ms).
+     * @param playouts  A lejátszások maximális száma keresésenként.
+     * @param seed      A véletlenszám-generátorok magja.
+     * @param nodes     A csomópontok maximális száma fánként.
+     */
+    public MonteCarloSearch(final int threads,
+                            final long moveTime,
+                            final long playouts,
+                            final long seed,
+                            final int nodes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy szál szükséges: " + threads);
+        }
+        if (playouts < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy lejátszás szükséges: " + playouts);
+        }
+        // A gyakorlatilag korlátlan időkeret ne csorduljon túl
+        this.moveTimeNanos = moveTime > Long.MAX_VALUE / NANOS_PER_MILLI
+                ? Long.MAX_VALUE : moveTime * NANOS_PER_MILLI;
+        this.maxPlayouts = playouts;
+        this.trees = new MonteCarloTree[threads];
+        for (int i = 0; i < threads; i++) {
+            trees[i] = new MonteCarloTree(nodes, seed + i * SEED_GAMMA);
+        }
+        this.executor = threads > 1
+                ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                    final Thread thread =
+                            new Thread(runnable, "connect4-mcts");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * A szálak (fák) száma.
+     *
+     * @return A szálak száma.
+     */
+    public int getThreads() {
+        return trees.length;
+    }
+
+    @Override
+    public SearchResult search(final Position root) {
+        final long start = System.nanoTime();
+        final int cols = root.getCols();
+        if (root.isFull() || root.isLastMoveWin()) {
+            return new SearchResult(-1, 0, 0, 0, System.nanoTime() - start);
+        }
+        for (int col = 0; col < cols; col++) {
+            if (root.canPlay(col) && root.isWinningMove(col)) {
+                return new SearchResult(col, SCORE_SCALE, 1, 0,
+                        System.nanoTime() - start);
+            }
+        }
+
+        final long deadline = start + moveTimeNanos;
+        for (MonteCarloTree tree : trees) {
+            tree.resetCancel();
+        }
+        final List<Future<?>> helpers = new ArrayList<>(trees.length - 1);
+        for (int i = 1; i < trees.length; i++) {
+            final MonteCarloTree tree = trees[i];
+            final long budget = share(i);
+            helpers.add(executor.submit(
+                    () -> tree.search(root, deadline, budget)));
+        }
+        trees[0].search(root, deadline, share(0));
+        for (Future<?> helper : helpers) {
+            await(helper);
+        }
+
+        final long[] visits = new long[cols];
+        final double[] values = new double[cols];
+        long playouts = 0;
+        int depth = 0;
+        for (MonteCarloTree tree : trees) {
+            tree.addRootStatistics(visits, values);
+            playouts += tree.getPlayouts();
+            depth = Math.max(depth, tree.getMaxDepth());
+        }
+        int best = -1;
+        for (int col : SearchEngine.centerOrder(cols)) {
+            if (root.canPlay(col)
+                    && (best < 0 || visits[col] > visits[best])) {
+                best = col;
+            }
+        }
+        final double expected = visits[best] == 0
+                ? UNKNOWN_EXPECTATION : values[best] / visits[best];
+        final int score = (int) Math.round((2 * expected - 1) * SCORE_SCALE);
+        return new SearchResult(best, score, depth, playouts,
+                System.nanoTime() - start);
+    }
+
+    @Override
+    public void cancel() {
+        for (MonteCarloTree tree : trees) {
+            tree.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Egy fa része a lejátszási keretből (legalább 1).
+     *
+     * @param index A fa sorszáma.
+     * @return A fa lejátszásainak maximális száma.
+     */
+    private long share(final int index) {
+        if (maxPlayouts == UNLIMITED_PLAYOUTS) {
+            return UNLIMITED_PLAYOUTS;
+        }
+        final long base = maxPlayouts / trees.length;
+        final long extra = index < maxPlayouts % trees.length ? 1 : 0;
+        return Math.max(1L, base + extra);
+    }
+
+    /**
+     * Megvárja egy segédszál befejeződését.
+     *
+     * @param helper A segédszál jövőbeli eredménye.
+     */
+    private static void await(final Future<?> helper) {
+        try {
+            helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package org.connect4.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Egyetlen szál Monte Carlo keresőfája.
+ * A csomópontok előre lefoglalt primitív tömbökben élnek (a gyermekek
+ * egy csomópont kibontásakor egymás után kerülnek a tömbök végére), így
+ * a keresés objektumot nem foglal. Egy csomópont értéke annak a
+ * játékosnak a szemszögéből értendő, aki a csomóponthoz vezető lépést
+ * tette: győzelem 1, döntetlen 0,5, vereség 0.
+ */
+final class MonteCarloTree {
+    /** Az UCT felfedezési állandója (gyök 2). */
+    private static final double EXPLORATION = 1.4142135623730951;
+
+    /** A határidő ellenőrzései közötti lejátszások száma (maszk). */
+    private static final long CHECK_MASK = 63L;
+
+    /** Döntetlen jutalma. */
+    private static final double DRAW_REWARD = 0.5;
+
+    /** Csomópontállapot: a játszma folytatódik. */
+    private static final byte ONGOING = 0;
+
+    /** Csomópontállapot: a csomóponthoz vezető lépés nyert. */
+    private static final byte WIN = 1;
+
+    /** Csomópontállapot: a csomóponthoz vezető lépés után döntetlen. */
+    private static final byte DRAW = 2;
+
+    /** A csomópontok első gyermekének indexe (-1: nincs kibontva). */
+    private final int[] firstChild;
+
+    /** A csomópontok gyermekeinek száma. */
+    private final byte[] childCount;
+
+    /** A csomóponthoz vezető lépés oszlopa. */
+    private final byte[] move;
+
+    /** A csomópontok állapota. */
+    private final byte[] terminal;
+
+    /** A csomópontok látogatásainak száma. */
+    private final int[] visits;
+
+    /** A csomópontok összesített jutalma. */
+    private final double[] value;
+
+    /** A kiválasztás útvonala a gyökértől. */
+    private final int[] path = new int[SearchEngine.MAX_PLY + 1];
+
+    /** A lejátszások véletlenszám-generátora. */
+    private final SplittableRandom random;
+
+    /** A gyökérállás. */
+    private Position root;
+
+    /** A kiválasztáshoz és lejátszáshoz használt munkaállás. */
+    private Position work;
+
+    /** A foglalt csomópontok száma. */
+    private int size;
+
+    /** A fában elért legnagyobb mélység. */
+    private int maxDepth;
+
+    /** Az utolsó keresés lejátszásainak száma. */
+    private long playouts;
+
+    /** Megszakítási jelzés. */
+    private volatile boolean cancelled;
+
+    /**
+     * Üres fa.
+     *
+     * @param capacity A csomópontok maximális száma.
+     * @param seed     A véletlenszám-generátor magja.
+     */
+    MonteCarloTree(final int capacity, final long seed) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "A fa kapacitása legalább 1: " + capacity);
+        }
+        this.firstChild = new int[capacity];
+        this.childCount = new byte[capacity];
+        this.move = new byte[capacity];
+        this.terminal = new byte[capacity];
+        this.visits = new int[capacity];
+        this.value = new double[capacity];
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Jelzi a futó keresésnek, hogy álljon le.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Törli a megszakítási jelzést.
+     */
+    void resetCancel() {
+        cancelled = false;
+    }
+
+    /**
+     * Az utolsó keresés lejátszásainak száma.
+     *
+     * @return A lejátszások száma.
+     */
+    long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Az utolsó keresésben elért legnagyobb famélység.
+     *
+     * @return A mélység.
+     */
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Új fát épít az állásból a határidőig vagy a lejátszási keretig.
+     * Legalább egy lejátszás mindig lefut.
+     *
+     * @param position    A gyökérállás (nem módosul).
+     * @param deadline    A határidő {@link System#nanoTime()} szerint.
+     * @param maxPlayouts A lejátszások maximális száma.
+     */
+    void search(final Position position,
+                final long deadline,
+                final long maxPlayouts) {
+        prepare(position);
+        size = 1;
+        clearNode(0);
+        maxDepth = 0;
+        playouts = 0;
+        while (playouts < maxPlayouts) {
+            if (playouts > 0 && (playouts & CHECK_MASK) == 0
+                    && (cancelled || System.nanoTime() - deadline >= 0)) {
+                break;
+            }
+            iterate();
+            playouts++;
+        }
+    }
+
+    /**
+     * Hozzáadja a gyökér gyermekeinek statisztikáit oszloponként.
+     *
+     * @param visitTotals A látogatások összege oszloponként.
+     * @param valueTotals A jutalmak összege oszloponként.
+     */
+    void addRootStatistics(final long[] visitTotals,
+                           final double[] valueTotals) {
+        final int first = firstChild[0];
+        if (first < 0) {
+            return;
+        }
+        for (int c = first; c < first + childCount[0]; c++) {
+            visitTotals[move[c]] += visits[c];
+            valueTotals[move[c]] += value[c];
+        }
+    }
+
+    /**
+     * Egy kiválasztás–kibontás–lejátszás–visszaterjesztés kör.
+     */
+    private void iterate() {
+        work.copyFrom(root);
+        int node = 0;
+        int depth = 0;
+        path[0] = 0;
+        while (firstChild[node] >= 0 && terminal[node] == ONGOING) {
+            node = select(node);
+            work.play(move[node]);
+            path[++depth] = node;
+        }
+        if (terminal[node] == ONGOING
+                && (visits[node] > 0 || node == 0) && expand(node)) {
+            node = firstChild[node] + random.nextInt(childCount[node]);
+            work.play(move[node]);
+            path[++depth] = node;
+        }
+
+        double reward;
+        if (terminal[node] == WIN) {
+            reward = 1.0;
+        } else if (terminal[node] == DRAW) {
+            reward = DRAW_REWARD;
+        } else {
+            reward = playout();
+        }
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        for (int i = depth; i >= 0; i--) {
+            visits[path[i]]++;
+            value[path[i]] += reward;
+            reward = 1.0 - reward; // Váltás a másik játékos szemszögére
+        }
+    }
+
+    /**
+     * UCT szerinti gyermekválasztás; a még nem látogatott gyermek
+     * elsőbbséget kap.
+     *
+     * @param node A kibontott csomópont.
+     * @return A kiválasztott gyermek.
+     */
+    private int select(final int node) {
+        final int first = firstChild[node];
+        final int end = first + childCount[node];
+        final double logVisits = Math.log(visits[node]);
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int c = first; c < end; c++) {
+            if (visits[c] == 0) {
+                return c;
+            }
+            final double uct = value[c] / visits[c]
+                    + EXPLORATION * Math.sqrt(logVisits / visits[c]);
+            if (uct > bestValue) {
+                bestValue = uct;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Kibontja a csomópontot: minden szabályos lépéshez gyermeket hoz
+     * létre a munkaállás alapján.
+     *
+     * @param node A csomópont (a munkaállás ennek felel meg).
+     * @return False, ha a fa megtelt, vagy nincs szabályos lépés.
+     */
+    private boolean expand(final int node) {
+        final int count = Long.bitCount(work.possible());
+        if (count == 0 || size + count > firstChild.length) {
+            return false;
+        }
+        final boolean fills = work.getMoveCount() + 1
+                == work.getRows() * work.getCols();
+        firstChild[node] = size;
+        childCount[node] = (byte) count;
+        for (int col = 0; col < work.getCols(); col++) {
+            if (!work.canPlay(col)) {
+                continue;
+            }
+            final int child = size++;
+            clearNode(child);
+            move[child] = (byte) col;
+            if (work.isWinningMove(col)) {
+                terminal[child] = WIN;
+            } else if (fills) {
+                terminal[child] = DRAW;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Véletlen lejátszás a munkaállásból a játszma végéig. A lépő nyer,
+     * ha teheti, egyébként az azonnal nem vesztő lépések közül választ.
+     *
+     * @return A jutalom annak szemszögéből, aki utoljára lépett a
+     *         munkaállásba.
+     */
+    private double playout() {
+        boolean lastMoverToMove = false;
+        while (true) {
+            if (work.isFull()) {
+                return DRAW_REWARD;
+            }
+            if (work.canWinNext()) {
+                return lastMoverToMove ? 1.0 : 0.0;
+            }
+            final long safe = work.possibleNonLosingMoves();
+            if (safe == 0) {
+                return lastMoverToMove ? 0.0 : 1.0; // Az ellenfél nyer
+            }
+            long remaining = safe;
+            for (int skip = random.nextInt(Long.bitCount(safe));
+                 skip > 0; skip--) {
+                remaining &= remaining - 1;
+            }
+            work.play(work.columnOf(Long.lowestOneBit(remaining)));
+            lastMoverToMove = !lastMoverToMove;
+        }
+    }
+
+    /**
+     * Alaphelyzetbe állít egy csomópontot.
+     *
+     * @param node A csomópont.
+     */
+    private void clearNode(final int node) {
+        firstChild[node] = -1;
+        childCount[node] = 0;
+        move[node] = 0;
+        terminal[node] = ONGOING;
+        visits[node] = 0;
+        value[node] = 0.0;
+    }
+
+    /**
+     * Előkészíti a gyökér- és a munkaállást; méretváltáskor újakat hoz
+     * létre.
+     *
+     * @param position A gyökérállás.
+     */
+    private void prepare(final Position position) {
+        if (root == null || root.getRows() != position.getRows()
+                || root.getCols() != position.getCols()) {
+            root = new Position(position);
+            work = new Position(position);
+        } else {
+            root.copyFrom(position);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.connect4.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memóriába leképezett nyitókönyv.
+ * A fájl egy rövid fejlécből és kulcs szerint rendezett rekordokból áll
+ * (8 bájt állásკulcs, 1 bájt legjobb oszlop). Megnyitáskor a fájl
+ * {@link FileChannel#map} segítségével képeződik le, nincs beolvasás vagy
+ * deszerializálás; a keresés bináris kereséssel közvetlenül a leképezett
+ * bájtokon fut.
+ *
+ * <p>Fejléc: varázsszám, verzió, sorok, oszlopok, lefedett lépésszám és
+ * a rekordok száma, mind 4 bájtos egész.</p>
+ *
+ * <p>A rekordok kulcsa a {@link Position#canonicalKey()} kanonikus kulcs,
+ * a lépés a kanonikus alakra vonatkozik; egy állás és a tükörképe így
+ * egyetlen rekordon osztozik.</p>
+ */
+public final class OpeningBook {
+    /** Az alapértelmezett könyvfájl neve. */
+    public static final String DEFAULT_FILE = "opening.book";
+
+    /** Rendszertulajdonság a könyvfájl elérési útjához. */
+    public static final String PATH_PROPERTY = "connect4.ai.book";
+
+    /** A fájl varázsszáma ("C4OB"). */
+    private static final int MAGIC = 0x43344F42;
+
+    /** A fájlformátum verziója (2: kanonikus kulcsok). */
+    private static final int VERSION = 2;
+
+    /** A fejléc mérete bájtban (hat darab 4 bájtos egész). */
+    private static final int HEADER_BYTES = 24;
+
+    /** Egy rekord mérete bájtban. */
+    private static final int RECORD_BYTES = Long.BYTES + 1;
+
+    /** A leképezett fájltartalom. */
+    private final ByteBuffer buffer;
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** A könyv által lefedett lépésszám. */
+    private final int plies;
+
+    /** A rekordok száma. */
+    private final int size;
+
+    /**
+     * Könyv egy már leképezett pufferből.
+     *
+     * @param mapped A fájl tartalma.
+     * @throws IOException ha a fejléc hibás.
+     */
+    private OpeningBook(final ByteBuffer mapped) throws IOException {
+        this.buffer = mapped;
+        if (mapped.capacity() < HEADER_BYTES
+                || mapped.getInt(0) != MAGIC
+                || mapped.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Érvénytelen nyitókönyv fájl.");
+        }
+        int offset = 2 * Integer.BYTES;
+        this.rows = mapped.getInt(offset);
+        offset += Integer.BYTES;
+        this.cols = mapped.getInt(offset);
+        offset += Integer.BYTES;
+        this.plies = mapped.getInt(offset);
+        offset += Integer.BYTES;
+        this.size = mapped.getInt(offset);
+        if ((long) size * RECORD_BYTES + HEADER_BYTES > mapped.capacity()) {
+            throw new IOException("Csonka nyitókönyv fájl.");
+        }
+    }
+
+    /**
+     * Megnyitja és leképezi a könyvfájlt.
+     *
+     * @param path A könyvfájl.
+     * @return A megnyitott könyv.
+     * @throws IOException ha a fájl nem olvasható vagy hibás.
+     */
+    public static OpeningBook open(final Path path) throws IOException {
+        try (FileChannel channel =
+                     FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer mapped = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OpeningBook(mapped);
+        }
+    }
+
+    /**
+     * Megnyitja az alapértelmezett könyvet, ha létezik.
+     * Az elérési utat a {@code connect4.ai.book} rendszertulajdonság
+     * adja, alapból {@value #DEFAULT_FILE}.
+     *
+     * @return A könyv, vagy null ha nincs (vagy hibás) könyvfájl.
+     */
+    public static OpeningBook openDefault() {
+        final Path path =
+                Paths.get(System.getProperty(PATH_PROPERTY, DEFAULT_FILE));
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return open(path);
+        } catch (IOException e) {
+            System.out.println("A nyitókönyv nem tölthető be: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Kiírja a könyvet. A rekordokat kulcs szerint rendezi.
+     *
+     * @param path      A célfájl.
+     * @param rowCount  A sorok száma.
+     * @param colCount  Az oszlopok száma.
+     * @param plyCount  A lefedett lépésszám.
+     * @param keys      Az állások kulcsai (egyediek).
+     * @param moves     A kulcsokhoz tartozó legjobb oszlopok.
+     * @throws IOException ha a fájl nem írható.
+     */
+    public static void write(final Path path,
+                             final int rowCount,
+                             final int colCount,
+                             final int plyCount,
+                             final long[] keys,
+                             final byte[] moves) throws IOException {
+        final int count = keys.length;
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order,
+                (a, b) -> Long.compare(keys[a], keys[b]));
+
+        final ByteBuffer out =
+                ByteBuffer.allocate(HEADER_BYTES + count * RECORD_BYTES);
+        out.putInt(MAGIC).putInt(VERSION).putInt(rowCount)
+                .putInt(colCount).putInt(plyCount).putInt(count);
+        for (Integer i : order) {
+            out.putLong(keys[i]).put(moves[i]);
+        }
+        out.flip();
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    /**
+     * Kikeresi az állás könyvlépését a kanonikus kulcs alapján; ha a
+     * rekord a tükörképé, a lépést visszatükrözi.
+     *
+     * @param position Az állás.
+     * @return A könyv szerinti legjobb oszlop, vagy -1 ha nincs benne.
+     */
+    public int lookup(final Position position) {
+        if (position.getRows() != rows || position.getCols() != cols
+                || position.getMoveCount() >= plies) {
+            return -1;
+        }
+        final int move = lookup(position.canonicalKey());
+        return move >= 0 && position.isMirrorCanonical()
+                ? cols - 1 - move : move;
+    }
+
+    /**
+     * Kikeresi a kulcshoz tartozó könyvlépést bináris kereséssel.
+     *
+     * @param key Az állás kulcsa.
+     * @return A legjobb oszlop, vagy -1 ha a kulcs nincs a könyvben.
+     */
+    public int lookup(final long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int offset = HEADER_BYTES + mid * RECORD_BYTES;
+            final long stored = buffer.getLong(offset);
+            if (stored < key) {
+                low = mid + 1;
+            } else if (stored > key) {
+                high = mid - 1;
+            } else {
+                return buffer.get(offset + Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A könyv által lefedett lépésszám.
+     *
+     * @return A lépések száma, ameddig a könyv érvényes.
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * A könyvben lévő állások száma.
+     *
+     * @return A rekordok száma.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,173 @@
+package org.connect4.ai;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Nyitókönyv előállítása: az üres táblából az első N lépésben elérhető
+ * összes (még nem eldőlt) állást megkeresi, mindegyikre lefuttat egy
+ * keresést, és az eredményt {@link OpeningBook} fájlba írja. A
+ * tükörképek közül csak az egyiket keresi meg, kanonikus kulccsal.
+ *
+ * <p>Használat: {@code OpeningBookBuilder [fájl] [lépésszám] [mélység]
+ * [szálak]}.</p>
+ */
+public final class OpeningBookBuilder {
+    /** Az alapértelmezett lefedett lépésszám. */
+    private static final int DEFAULT_PLIES = 6;
+
+    /** Az alapértelmezett keresési mélység állásonként. */
+    private static final int DEFAULT_DEPTH = 16;
+
+    /** Gondolkodási idő állásonként (ms). */
+    private static final long MOVE_TIME_MILLIS = 60_000L;
+
+    /** A közös tábla mérete megabájtban. */
+    private static final int TABLE_MB = 256;
+
+    /** A harmadik parancssori argumentum indexe. */
+    private static final int DEPTH_ARG = 2;
+
+    /** A negyedik parancssori argumentum indexe. */
+    private static final int THREADS_ARG = 3;
+
+    /** Az előrehaladás kiírásának gyakorisága (állásban). */
+    private static final int PROGRESS_INTERVAL = 1_000;
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** A lefedett lépésszám. */
+    private final int plies;
+
+    /** A felkeresett állások kanonikus kulcsai. */
+    private final Set<Long> visited = new HashSet<>();
+
+    /** A gyűjtött állások lépő játékosának bitjei. */
+    private long[] currents = new long[PROGRESS_INTERVAL];
+
+    /** A gyűjtött állások foglaltsági maszkjai. */
+    private long[] masks = new long[PROGRESS_INTERVAL];
+
+    /** A gyűjtött állások száma. */
+    private int count;
+
+    /**
+     * Könyvépítő a megadott táblamérethez és mélységhez.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param plyCount A lefedett lépésszám.
+     */
+    public OpeningBookBuilder(final int rowCount,
+                              final int colCount,
+                              final int plyCount) {
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.plies = plyCount;
+    }
+
+    /**
+     * A könyvépítés belépési pontja.
+     *
+     * @param args Fájlnév, lépésszám, mélység és szálszám (opcionális).
+     * @throws IOException ha a fájl nem írható.
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path path = Paths.get(
+                args.length > 0 ? args[0] : OpeningBook.DEFAULT_FILE);
+        final int plyCount = args.length > 1
+                ? Integer.parseInt(args[1]) : DEFAULT_PLIES;
+        final int depth = args.length > DEPTH_ARG
+                ? Integer.parseInt(args[DEPTH_ARG]) : DEFAULT_DEPTH;
+        final int threads = args.length > THREADS_ARG
+                ? Integer.parseInt(args[THREADS_ARG])
+                : Runtime.getRuntime().availableProcessors();
+
+        final OpeningBookBuilder builder = new OpeningBookBuilder(
+                Position.DEFAULT_ROWS, Position.DEFAULT_COLS, plyCount);
+        try (ParallelSearch search = new ParallelSearch(
+                threads, MOVE_TIME_MILLIS, depth, TABLE_MB)) {
+            final int written = builder.build(path, search);
+            System.out.println(written + " állás kiírva: " + path);
+        }
+    }
+
+    /**
+     * Összegyűjti az állásokat, mindegyikre keres, és kiírja a könyvet.
+     *
+     * @param path     A célfájl.
+     * @param searcher Az állásonkénti kereső.
+     * @return A könyvbe írt állások száma.
+     * @throws IOException ha a fájl nem írható.
+     */
+    public int build(final Path path, final Searcher searcher)
+            throws IOException {
+        collect(new Position(rows, cols));
+        final long[] keys = new long[count];
+        final byte[] moves = new byte[count];
+        int written = 0;
+        for (int i = 0; i < count; i++) {
+            final Position position =
+                    Position.of(rows, cols, currents[i], masks[i]);
+            final SearchResult result = searcher.search(position);
+            if (result.getBestMove() < 0) {
+                continue;
+            }
+            final int move = result.getBestMove();
+            keys[written] = position.canonicalKey();
+            moves[written] = (byte) (position.isMirrorCanonical()
+                    ? cols - 1 - move : move);
+            written++;
+            if (written % PROGRESS_INTERVAL == 0) {
+                System.out.println(written + "/" + count + " állás kész");
+            }
+        }
+        OpeningBook.write(path, rows, cols, plies,
+                Arrays.copyOf(keys, written), Arrays.copyOf(moves, written));
+        return written;
+    }
+
+    /**
+     * Bejárja a lépésszámon belül elérhető, még el nem dőlt állásokat.
+     *
+     * @param position Az aktuális állás (a hívás végére visszaáll).
+     */
+    private void collect(final Position position) {
+        if (position.getMoveCount() >= plies || position.isFull()
+                || !visited.add(position.canonicalKey())) {
+            return;
+        }
+        add(position);
+        for (int col = 0; col < cols; col++) {
+            if (!position.canPlay(col) || position.isWinningMove(col)) {
+                continue;
+            }
+            position.play(col);
+            collect(position);
+            position.undo(col);
+        }
+    }
+
+    /**
+     * Eltárol egy állást a kereséshez.
+     *
+     * @param position Az állás.
+     */
+    private void add(final Position position) {
+        if (count == currents.length) {
+            currents = Arrays.copyOf(currents, count * 2);
+            masks = Arrays.copyOf(masks, count * 2);
+        }
+        currents[count] = position.getCurrent();
+        masks[count] = position.getMask();
+        count++;
+    }
+}
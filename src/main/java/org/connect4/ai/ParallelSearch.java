@@ -0,0 +1,143 @@
+package org.connect4.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Többszálú (Lazy SMP) kereső.
+ * Minden szál ugyanazt a gyökérállást keresi a saját
+ * {@link SearchEngine} példányával, de egyetlen, zárolás nélkül megosztott
+ * {@link TranspositionTable}-lel; a szálak így egymás eredményeiből
+ * vágnak. Amikor a fő szál befejezi a keresést, a segédszálak leállnak.
+ *
+ * <p>A szálak démonszálak; a {@link #close()} azonnal leállítja őket.</p>
+ */
+public final class ParallelSearch implements Searcher, AutoCloseable {
+    /** A szálak keresői; a 0. a fő szál. */
+    private final SearchEngine[] engines;
+
+    /** A közös transzpozíciós tábla. */
+    private final TranspositionTable table;
+
+    /** A segédszálakat futtató végrehajtó. */
+    private final ExecutorService executor;
+
+    /**
+     * Párhuzamos kereső.
+     *
+     * @param threads        A kereső szálak száma.
+     * @param moveTimeMillis Gondolkodási idő lépésenként (ms).
+     * @param depthLimit     A maximális keresési mélység.
+     * @param tableSizeMb    A közös tábla mérete megabájtban.
+     */
+    public ParallelSearch(final int threads,
+                          final long moveTimeMillis,
+                          final int depthLimit,
+                          final int tableSizeMb) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy szál szükséges: " + threads);
+        }
+        this.table = new TranspositionTable(tableSizeMb);
+        this.engines = new SearchEngine[threads];
+        for (int i = 0; i < threads; i++) {
+            engines[i] = new SearchEngine(moveTimeMillis, depthLimit, table);
+        }
+        this.executor = threads > 1
+                ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                    final Thread thread =
+                            new Thread(runnable, "connect4-search");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * A kereső szálak száma.
+     *
+     * @return A szálak száma.
+     */
+    public int getThreads() {
+        return engines.length;
+    }
+
+    /**
+     * A szálak által megosztott transzpozíciós tábla.
+     *
+     * @return A közös tábla.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public SearchResult search(final Position root) {
+        final long start = System.nanoTime();
+        for (SearchEngine engine : engines) {
+            engine.resetCancel();
+        }
+        final List<Future<SearchResult>> helpers =
+                new ArrayList<>(engines.length - 1);
+        for (int i = 1; i < engines.length; i++) {
+            final SearchEngine engine = engines[i];
+            final int helper = i;
+            helpers.add(executor.submit(() -> engine.search(root, helper)));
+        }
+
+        SearchResult best = engines[0].search(root, 0);
+        long nodes = best.getNodes();
+        for (int i = 1; i < engines.length; i++) {
+            engines[i].cancel();
+        }
+        for (Future<SearchResult> helper : helpers) {
+            final SearchResult result = await(helper);
+            if (result == null) {
+                continue;
+            }
+            nodes += result.getNodes();
+            if (result.getDepth() > best.getDepth()
+                    && result.getBestMove() >= 0) {
+                best = result; // Egy segédszál mélyebbre jutott
+            }
+        }
+        return new SearchResult(best.getBestMove(), best.getScore(),
+                best.getDepth(), nodes, System.nanoTime() - start);
+    }
+
+    @Override
+    public void cancel() {
+        for (SearchEngine engine : engines) {
+            engine.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Megvárja egy segédszál eredményét.
+     *
+     * @param helper A segédszál jövőbeli eredménye.
+     * @return Az eredmény, vagy null ha a szál hibával állt le.
+     */
+    private static SearchResult await(final Future<SearchResult> helper) {
+        try {
+            return helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+}
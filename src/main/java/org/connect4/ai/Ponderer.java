@@ -0,0 +1,270 @@
+package org.connect4.ai;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Háttérben gondolkodó kereső az ellenfél (ember) gondolkodási idejére.
+ *
+ * <p>A {@link #start(Position)} az ellenfél lépése előtti állást kapja,
+ * és egy démonszálon sorra keresi az ellenfél szabályos válaszai utáni
+ * állásokat (a számára statikusan legjobbnak tűnővel kezdve), körről
+ * körre kétszeres időszelettel. A keresés a fő kereső transzpozíciós
+ * tábláját tölti, így az ellenfél tényleges lépése utáni keresés a
+ * táblából folytatódik. A {@link #stop()} megszakítja a gondolkodást,
+ * és megvárja a szál leállását; a {@link #take(Position)} a tényleges
+ * állásra kész eredményt adja vissza, ha az legalább egy rendes lépés
+ * idejével készült (ez a „ponder hit”).</p>
+ *
+ * <p>A metódusokat egy szál (a játszma szála) hívhatja.</p>
+ */
+public final class Ponderer implements AutoCloseable {
+    /** Az első kör időszelete a rendes gondolkodási idő hányadaként. */
+    private static final int FIRST_SLICE_DIVISOR = 4;
+
+    /** A leállás megvárásának lépésköze ezredmásodpercben. */
+    private static final long STOP_POLL_MILLIS = 1L;
+
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** Naplózó. */
+    private static final Logger LOG = LoggerFactory.getLogger(Ponderer.class);
+
+    /** A gondolkodó kereső (a fő kereső táblájával). */
+    private final SearchEngine engine;
+
+    /** A rendes gondolkodási idő nanoszekundumban. */
+    private final long moveTimeNanos;
+
+    /** A gondolkodást futtató démonszál. */
+    private final ExecutorService executor;
+
+    /** A befejezett keresések az állás kulcsa szerint. */
+    private final Map<Long, Pondered> results = new ConcurrentHashMap<>();
+
+    /** A futó gondolkodás, vagy null. */
+    private Future<?> task;
+
+    /** Leállítási kérés a gondolkodó szálnak. */
+    private volatile boolean stopping;
+
+    /**
+     * Gondolkodó kereső.
+     *
+     * @param transpositions A fő kereső táblája, vagy null.
+     * @param moveTimeMillis A rendes gondolkodási idő lépésenként (ms);
+     *                       ennél rövidebb keresés nem ad ponder hitet.
+     */
+    public Ponderer(final TranspositionTable transpositions,
+                    final long moveTimeMillis) {
+        this.engine = new SearchEngine(moveTimeMillis, SearchEngine.MAX_PLY,
+                transpositions);
+        this.moveTimeNanos = moveTimeMillis > Long.MAX_VALUE / NANOS_PER_MILLI
+                ? Long.MAX_VALUE : moveTimeMillis * NANOS_PER_MILLI;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "connect4-ponder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gondolkodó kereső a megadott kereső táblájával. Csak az alfa-béta
+     * keresők táblája osztható meg; más keresőhöz null-t ad.
+     *
+     * @param searcher       A fő kereső.
+     * @param moveTimeMillis A rendes gondolkodási idő lépésenként (ms).
+     * @return A gondolkodó kereső, vagy null.
+     */
+    public static Ponderer forSearcher(final Searcher searcher,
+                                       final long moveTimeMillis) {
+        if (searcher instanceof SearchEngine) {
+            return new Ponderer(((SearchEngine) searcher).getTable(),
+                    moveTimeMillis);
+        }
+        if (searcher instanceof ParallelSearch) {
+            return new Ponderer(((ParallelSearch) searcher).getTable(),
+                    moveTimeMillis);
+        }
+        return null;
+    }
+
+    /**
+     * Elindítja a gondolkodást; a korábbit előbb leállítja, és elveti
+     * az eredményeit.
+     *
+     * @param root Az állás az ellenfél lépése előtt, az ő szemszögéből.
+     */
+    public void start(final Position root) {
+        stop();
+        results.clear();
+        stopping = false;
+        final Position position = new Position(root);
+        task = executor.submit(() -> ponder(position));
+    }
+
+    /**
+     * Megmutatja, hogy fut-e gondolkodás.
+     *
+     * @return True, ha a gondolkodás elindult és még nem állt le.
+     */
+    public boolean isPondering() {
+        return task != null && !task.isDone();
+    }
+
+    /**
+     * Leállítja a gondolkodást, és megvárja a szál leállását. A kész
+     * eredmények megmaradnak.
+     */
+    public void stop() {
+        if (task == null) {
+            return;
+        }
+        stopping = true;
+        boolean interrupted = false;
+        while (!task.isDone()) {
+            // Ismételt kérés: egy éppen induló keresés törölné a korábbit
+            engine.cancel();
+            try {
+                task.get(STOP_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                continue;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                LOG.warn("A háttérgondolkodás hibával állt le", e.getCause());
+            }
+        }
+        task = null;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Leállítja a gondolkodást, és visszaadja a tényleges állásra kész
+     * eredményt, ha az elég alapos: a keresés legalább egy rendes lépés
+     * idejét kapta, vagy az időszelete előtt befejeződött. Az eredmények
+     * ezután törlődnek.
+     *
+     * @param position Az állás az ellenfél lépése után.
+     * @return A keresés eredménye, vagy null.
+     */
+    public SearchResult take(final Position position) {
+        stop();
+        final Pondered pondered = results.get(position.key());
+        results.clear();
+        if (pondered == null
+                || (pondered.slice < moveTimeNanos
+                && pondered.result.getElapsedNanos() >= pondered.slice)) {
+            return null;
+        }
+        return pondered.result;
+    }
+
+    /**
+     * Leállítja a gondolkodást és a szálat.
+     */
+    @Override
+    public void close() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A gondolkodó szál munkája: körönként kétszeres időszelettel keresi
+     * az ellenfél válaszai utáni állásokat, amíg le nem állítják, vagy
+     * minden állás ki nem értékelődik.
+     *
+     * @param root Az állás az ellenfél lépése előtt.
+     */
+    private void ponder(final Position root) {
+        final Position[] replies = replies(root);
+        long slice = Math.max(1L, moveTimeNanos / FIRST_SLICE_DIVISOR);
+        boolean open = replies.length > 0;
+        while (open && !stopping) {
+            open = false;
+            for (final Position reply : replies) {
+                if (stopping) {
+                    return;
+                }
+                final SearchResult result =
+                        engine.searchWithin(reply, slice, Long.MAX_VALUE);
+                if (stopping) {
+                    return; // A megszakított keresés nem teljes értékű
+                }
+                results.put(reply.key(), new Pondered(result, slice));
+                open |= result.getElapsedNanos() >= slice;
+            }
+            slice = slice > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : slice * 2;
+        }
+    }
+
+    /**
+     * Az ellenfél szabályos, a játszmát be nem fejező válaszai utáni
+     * állások, a számára statikusan legjobbnak tűnővel kezdve.
+     *
+     * @param root Az állás az ellenfél lépése előtt.
+     * @return A válaszok utáni állások.
+     */
+    private static Position[] replies(final Position root) {
+        final int cols = root.getCols();
+        final Position[] replies = new Position[cols];
+        final int[] scores = new int[cols];
+        int count = 0;
+        for (final int col : SearchEngine.centerOrder(cols)) {
+            if (!root.canPlay(col) || root.isWinningMove(col)) {
+                continue;
+            }
+            final Position reply = new Position(root);
+            reply.play(col);
+            if (reply.isFull()) {
+                continue;
+            }
+            // Beszúrásos rendezés az ellenfél szemszögéből vett érték szerint
+            final int score = -ThreatEvaluator.evaluate(reply);
+            int i = count++;
+            while (i > 0 && scores[i - 1] < score) {
+                replies[i] = replies[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            replies[i] = reply;
+            scores[i] = score;
+        }
+        return Arrays.copyOf(replies, count);
+    }
+
+    /**
+     * Egy befejezett háttérkeresés és az időszelete.
+     */
+    private static final class Pondered {
+        /** A keresés eredménye. */
+        private final SearchResult result;
+
+        /** A keresés időszelete nanoszekundumban. */
+        private final long slice;
+
+        /**
+         * Befejezett háttérkeresés.
+         *
+         * @param searchResult Az eredmény.
+         * @param sliceNanos   Az időszelet.
+         */
+        Pondered(final SearchResult searchResult, final long sliceNanos) {
+            this.result = searchResult;
+            this.slice = sliceNanos;
+        }
+    }
+}
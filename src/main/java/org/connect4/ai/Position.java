@@ -0,0 +1,607 @@
+package org.connect4.ai;
+
+import org.connect4.Board;
+
+/**
+ * Keresésre optimalizált bitboard állás.
+ * A {@link Board} elrendezését használja (oszloponként alulról felfelé,
+ * oszlopok fölött egy őrbit), de a lépésen lévő játékos szemszögéből:
+ * {@code current} a lépő játékos tokenjei, {@code mask} az összes foglalt
+ * mező. Lépés és visszavonás konstans idejű, allokáció nélkül.
+ */
+public final class Position {
+    /** A szabványos tábla sorainak száma. */
+    public static final int DEFAULT_ROWS = 6;
+
+    /** A szabványos tábla oszlopainak száma. */
+    public static final int DEFAULT_COLS = 7;
+
+    /** A győzelemhez szükséges összekötendő tokenek száma. */
+    private static final int CONNECT_LENGTH = 4;
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** Egy oszlop bitjeinek száma (a sorok és egy őrbit). */
+    private final int columnBits;
+
+    /** Az összes oszlop legalsó mezőjének maszkja. */
+    private final long bottomRow;
+
+    /** A teljes tábla játszható mezőinek maszkja. */
+    private final long boardMask;
+
+    /** A lépésen lévő játékos tokenjei. */
+    private long current;
+
+    /** Az összes foglalt mező. */
+    private long mask;
+
+    /** A lépésen lévő játékos tokenjei a tükrözött táblán. */
+    private long mirrorCurrent;
+
+    /** Az összes foglalt mező a tükrözött táblán. */
+    private long mirrorMask;
+
+    /** A táblán lévő tokenek száma. */
+    private int moves;
+
+    /**
+     * Üres állás a megadott méretekkel.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @throws IllegalArgumentException ha a tábla nem fér el egy long-ban.
+     */
+    public Position(final int rowCount, final int colCount) {
+        if (rowCount < 1 || colCount < 1
+                || (rowCount + 1) * colCount > Long.SIZE) {
+            throw new IllegalArgumentException(
+                    "A tábla nem fér el egy bitboardban: "
+                            + rowCount + "x" + colCount);
+        }
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.columnBits = rowCount + 1;
+        long bottom = 0L;
+        for (int c = 0; c < colCount; c++) {
+            bottom |= 1L << (c * columnBits);
+        }
+        this.bottomRow = bottom;
+        this.boardMask = bottom * ((1L << rowCount) - 1);
+    }
+
+    /**
+     * Másoló konstruktor.
+     *
+     * @param other A másolandó állás.
+     */
+    public Position(final Position other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.columnBits = other.columnBits;
+        this.bottomRow = other.bottomRow;
+        this.boardMask = other.boardMask;
+        this.current = other.current;
+        this.mask = other.mask;
+        this.mirrorCurrent = other.mirrorCurrent;
+        this.mirrorMask = other.mirrorMask;
+        this.moves = other.moves;
+    }
+
+    /**
+     * Állás készítése bitboardokból.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param own      A lépő játékos tokenjei.
+     * @param occupied Az összes foglalt mező.
+     * @return Az állás.
+     */
+    public static Position of(final int rowCount,
+                              final int colCount,
+                              final long own,
+                              final long occupied) {
+        final Position position = new Position(rowCount, colCount);
+        position.current = own;
+        position.mask = occupied;
+        position.moves = Long.bitCount(occupied);
+        position.mirrorCurrent = position.reverseColumns(own);
+        position.mirrorMask = position.reverseColumns(occupied);
+        return position;
+    }
+
+    /**
+     * Állás visszaállítása a {@link #key()} tömör kulcsából. Egy oszlop
+     * kulcsrésze {@code saját + (2^h - 1)}, ahol h az oszlop
+     * magassága; ez egyértelműen meghatározza a magasságot és a lépő
+     * játékos tokenjeit.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param key      A kulcs.
+     * @return Az állás.
+     * @throws IllegalArgumentException ha a kulcs nem érvényes állás.
+     */
+    public static Position fromKey(final int rowCount,
+                                   final int colCount,
+                                   final long key) {
+        final Position position = new Position(rowCount, colCount);
+        final int bits = position.columnBits;
+        final long columnMask = lowBits(bits);
+        if (colCount * bits < Long.SIZE && key >>> (colCount * bits) != 0) {
+            throw new IllegalArgumentException("Érvénytelen kulcs: " + key);
+        }
+        long own = 0L;
+        long occupied = 0L;
+        for (int c = 0; c < colCount; c++) {
+            final long value = (key >>> (c * bits)) & columnMask;
+            final int height = Long.SIZE - 1
+                    - Long.numberOfLeadingZeros(value + 1);
+            if (height > rowCount) {
+                throw new IllegalArgumentException(
+                        "Érvénytelen kulcs: " + key);
+            }
+            final long filled = (1L << height) - 1;
+            own |= (value - filled) << (c * bits);
+            occupied |= filled << (c * bits);
+        }
+        return of(rowCount, colCount, own, occupied);
+    }
+
+    /**
+     * Megmutatja, hogy a tábla átalakítható-e állássá: elfér egy
+     * bitboardban, és a győzelemhez négyes sor kell.
+     *
+     * @param board A játéktábla.
+     * @return True, ha az AI kezelni tudja a táblát.
+     */
+    public static boolean supports(final Board board) {
+        return board.fitsInLong()
+                && board.getConnectLength() == CONNECT_LENGTH;
+    }
+
+    /**
+     * Állás készítése egy játéktáblából.
+     *
+     * @param board        A játéktábla.
+     * @param tokenToMove  A lépésen lévő játékos karaktere.
+     * @return Az állás a lépő játékos szemszögéből.
+     * @throws IllegalArgumentException ha a táblát az AI nem támogatja.
+     */
+    public static Position fromBoard(final Board board,
+                                     final char tokenToMove) {
+        if (!supports(board)) {
+            throw new IllegalArgumentException(
+                    "Az AI csak 64 bitbe férő, négyes sorú táblát kezel.");
+        }
+        final Position position =
+                new Position(board.getRows(), board.getCols());
+        position.current = board.getTokenBits(tokenToMove);
+        position.mask = board.getMask();
+        position.moves = board.getMoveCount();
+        position.mirrorCurrent = position.reverseColumns(position.current);
+        position.mirrorMask = position.reverseColumns(position.mask);
+        return position;
+    }
+
+    /**
+     * A sorok száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Az oszlopok száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * A táblán lévő tokenek száma.
+     *
+     * @return A megtett lépések száma.
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Igaz, ha minden mező foglalt.
+     *
+     * @return True, ha a tábla tele van.
+     */
+    public boolean isFull() {
+        return moves == rows * cols;
+    }
+
+    /**
+     * A lépésen lévő játékos tokenjei.
+     *
+     * @return A lépő játékos bitboardja.
+     */
+    public long getCurrent() {
+        return current;
+    }
+
+    /**
+     * Az összes foglalt mező.
+     *
+     * @return A foglaltsági maszk.
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Az állás egyedi 64 bites kulcsa.
+     * Az őrbitnek köszönhetően {@code current + mask} egyértelmű.
+     *
+     * @return Az állás kulcsa.
+     */
+    public long key() {
+        return current + mask;
+    }
+
+    /**
+     * A tükörkép kulcsa: a {@link #mirror()} állás {@link #key()}
+     * értéke, új objektum nélkül.
+     *
+     * @return A tükrözött állás kulcsa.
+     */
+    public long mirrorKey() {
+        return mirrorCurrent + mirrorMask;
+    }
+
+    /**
+     * Az állás kanonikus kulcsa: a kulcs és a tükörkép kulcsa közül a
+     * kisebb. Az állás és tükörképe azonos kanonikus kulcsot kap, így a
+     * gyorsítótárak és a nyitókönyv egy bejegyzéssel fedik le mindkettőt.
+     * A tükrözött bitboardok lépésenként frissülnek, ezért a hívás
+     * konstans idejű.
+     *
+     * @return A kanonikus kulcs.
+     */
+    public long canonicalKey() {
+        return Math.min(key(), mirrorKey());
+    }
+
+    /**
+     * Megmutatja, hogy a kanonikus kulcs a tükörképé-e. Ilyenkor a
+     * kanonikus kulcs alatt tárolt c. oszlop ebben az állásban a
+     * {@code cols - 1 - c}. oszlopnak felel meg.
+     *
+     * @return True, ha a tükörkép kulcsa kisebb.
+     */
+    public boolean isMirrorCanonical() {
+        return mirrorKey() < key();
+    }
+
+    /**
+     * Az állás tükörképe a függőleges középtengelyre (az oszlopok
+     * sorrendje megfordul). A tükrözött állás értéke azonos, a c. oszlop
+     * lépése a tükörképben a {@code cols - 1 - c}. oszlopé.
+     *
+     * @return Az új, tükrözött állás.
+     */
+    public Position mirror() {
+        final Position mirrored = new Position(rows, cols);
+        mirrored.current = mirrorCurrent;
+        mirrored.mask = mirrorMask;
+        mirrored.mirrorCurrent = current;
+        mirrored.mirrorMask = mask;
+        mirrored.moves = moves;
+        return mirrored;
+    }
+
+    /**
+     * Megvizsgálja, hogy az oszlopba lehet-e még dobni.
+     *
+     * @param col Az oszlop.
+     * @return True, ha az oszlop nincs tele.
+     */
+    public boolean canPlay(final int col) {
+        return (mask & topMask(col)) == 0;
+    }
+
+    /**
+     * Átmásolja egy azonos méretű állás tartalmát (objektumfoglalás
+     * nélkül).
+     *
+     * @param other A másolandó állás.
+     * @throws IllegalArgumentException ha a két tábla mérete eltér.
+     */
+    public void copyFrom(final Position other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException(
+                    "Eltérő táblaméret: " + other.rows + "x" + other.cols);
+        }
+        current = other.current;
+        mask = other.mask;
+        mirrorCurrent = other.mirrorCurrent;
+        mirrorMask = other.mirrorMask;
+        moves = other.moves;
+    }
+
+    /**
+     * Visszaállítja az üres táblát (objektumfoglalás nélkül).
+     */
+    public void reset() {
+        current = 0L;
+        mask = 0L;
+        mirrorCurrent = 0L;
+        mirrorMask = 0L;
+        moves = 0;
+    }
+
+    /**
+     * Token ledobása a lépésen lévő játékos nevében, majd térváltás.
+     * Az oszlopnak játszhatónak kell lennie. A tükrözött bitboardok a
+     * tükörkép oszlopába dobva frissülnek.
+     *
+     * @param col Az oszlop.
+     */
+    public void play(final int col) {
+        current ^= mask;
+        mask |= mask + bottomMask(col);
+        mirrorCurrent ^= mirrorMask;
+        mirrorMask |= mirrorMask + bottomMask(cols - 1 - col);
+        moves++;
+    }
+
+    /**
+     * Az oszlopba utoljára dobott token visszavonása.
+     *
+     * @param col Az oszlop, ahová az utolsó lépés történt.
+     */
+    public void undo(final int col) {
+        final long top = Long.highestOneBit(mask & columnMask(col));
+        mask ^= top;
+        current ^= mask;
+        final long mirrorTop =
+                Long.highestOneBit(mirrorMask & columnMask(cols - 1 - col));
+        mirrorMask ^= mirrorTop;
+        mirrorCurrent ^= mirrorMask;
+        moves--;
+    }
+
+    /**
+     * Megvizsgálja, hogy a lépésen lévő játékos nyer-e az oszlopba dobva.
+     *
+     * @param col Egy játszható oszlop.
+     * @return True, ha a lépés azonnal nyer.
+     */
+    public boolean isWinningMove(final int col) {
+        final long cell = (mask + bottomMask(col)) & columnMask(col);
+        return hasAlignment(current | cell);
+    }
+
+    /**
+     * Megvizsgálja, hogy az előző lépést tevő játékos nyert-e.
+     *
+     * @return True, ha az ellenfélnek (az utoljára lépőnek) van sora.
+     */
+    public boolean isLastMoveWin() {
+        return hasAlignment(current ^ mask);
+    }
+
+    /**
+     * Az oszlopban lévő tokenek száma.
+     *
+     * @param col Az oszlop.
+     * @return Az oszlop magassága.
+     */
+    public int height(final int col) {
+        return Long.bitCount(mask & columnMask(col));
+    }
+
+    /**
+     * Megvizsgálja, van-e a bitboardon nyerő sor.
+     *
+     * @param bits A vizsgált bitboard.
+     * @return True, ha van CONNECT_LENGTH hosszú sor.
+     */
+    public boolean hasAlignment(final long bits) {
+        return hasLine(bits, 1)
+                || hasLine(bits, columnBits)
+                || hasLine(bits, columnBits + 1)
+                || hasLine(bits, columnBits - 1);
+    }
+
+    /**
+     * Az oszlop összes játszható mezőjének maszkja.
+     *
+     * @param col Az oszlop.
+     * @return Az oszlop maszkja.
+     */
+    public long columnMask(final int col) {
+        return ((1L << rows) - 1) << (col * columnBits);
+    }
+
+    /**
+     * A most játszható mezők (oszloponként a legalsó üres mező).
+     *
+     * @return A lehetséges lépések bitmaszkja.
+     */
+    public long possible() {
+        return (mask + bottomRow) & boardMask;
+    }
+
+    /**
+     * Azok az üres mezők, amelyekre a lépő játékos nyerne.
+     *
+     * @return A lépő játékos nyerő mezőinek maszkja.
+     */
+    public long winningPositions() {
+        return winningPositions(current);
+    }
+
+    /**
+     * Azok az üres mezők, amelyekre az ellenfél nyerne.
+     *
+     * @return Az ellenfél nyerő mezőinek maszkja.
+     */
+    public long opponentWinningPositions() {
+        return winningPositions(current ^ mask);
+    }
+
+    /**
+     * Igaz, ha a lépő játékos a következő lépéssel nyerhet.
+     *
+     * @return True, ha van azonnal nyerő lépés.
+     */
+    public boolean canWinNext() {
+        return (winningPositions() & possible()) != 0;
+    }
+
+    /**
+     * A lehetséges lépések közül azok, amelyek után az ellenfél nem nyer
+     * azonnal. Ha az ellenfélnek két fenyegetése is van, üres.
+     * Csak akkor értelmes, ha a lépő játékos nem nyerhet azonnal.
+     *
+     * @return A nem vesztes lépések bitmaszkja.
+     */
+    public long possibleNonLosingMoves() {
+        long candidates = possible();
+        final long threats = opponentWinningPositions();
+        final long forced = candidates & threats;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) {
+                return 0L; // Két fenyegetés ellen nincs védekezés
+            }
+            candidates = forced;
+        }
+        return candidates & ~(threats >>> 1); // Fenyegetés alá nem lépünk
+    }
+
+    /**
+     * Egy lépés heurisztikus értéke: a lépés után keletkező saját
+     * nyerő mezők száma.
+     *
+     * @param move A lépés bitje.
+     * @return A lépés után fennálló fenyegetések száma.
+     */
+    public int moveScore(final long move) {
+        return Long.bitCount(winningPositions(current | move));
+    }
+
+    /**
+     * A lépés bitjéhez tartozó oszlop.
+     *
+     * @param move A lépés bitje.
+     * @return Az oszlop indexe.
+     */
+    public int columnOf(final long move) {
+        return Long.numberOfTrailingZeros(move) / columnBits;
+    }
+
+    /**
+     * Azok az üres mezők, amelyekkel a bitboard négyest alkotna.
+     *
+     * @param bits Egy játékos bitboardja.
+     * @return A nyerő üres mezők maszkja.
+     */
+    private long winningPositions(final long bits) {
+        final long result = gaps(bits, 1)
+                | gaps(bits, columnBits)
+                | gaps(bits, columnBits - 1)
+                | gaps(bits, columnBits + 1);
+        return result & (boardMask ^ mask);
+    }
+
+    /**
+     * Megfordítja egy bitboard oszlopainak sorrendjét.
+     *
+     * @param bits A bitboard.
+     * @return A tükrözött bitboard.
+     */
+    private long reverseColumns(final long bits) {
+        final long columnMask = lowBits(columnBits);
+        long reversed = 0L;
+        for (int c = 0; c < cols; c++) {
+            final long column = (bits >>> (c * columnBits)) & columnMask;
+            reversed |= column << ((cols - 1 - c) * columnBits);
+        }
+        return reversed;
+    }
+
+    /**
+     * Az alsó {@code count} bitet tartalmazó maszk; a teljes 64 bites
+     * oszlopnál (63 soros tábla) sem fordul körbe.
+     *
+     * @param count A bitek száma (1..64).
+     * @return A maszk.
+     */
+    private static long lowBits(final int count) {
+        return count == Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    /**
+     * Az oszlop legalsó mezőjének bitje.
+     *
+     * @param col Az oszlop.
+     * @return Az alsó mező bitje.
+     */
+    private long bottomMask(final int col) {
+        return 1L << (col * columnBits);
+    }
+
+    /**
+     * Az oszlop legfelső mezőjének bitje.
+     *
+     * @param col Az oszlop.
+     * @return A felső mező bitje.
+     */
+    private long topMask(final int col) {
+        return 1L << (col * columnBits + rows - 1);
+    }
+
+    /**
+     * Azok a mezők, amelyek egy irányban három tokennel négyest
+     * alkotnának (a hármas bármelyik oldalán vagy a hézagban).
+     *
+     * @param bits  A bitboard.
+     * @param shift Az irányhoz tartozó biteltolás.
+     * @return A kiegészítő mezők maszkja (foglaltságra nem szűrve).
+     */
+    private static long gaps(final long bits, final int shift) {
+        final int far = (CONNECT_LENGTH - 1) * shift;
+        if (far >= Long.SIZE) {
+            return 0L; // A sor nem fér el; az eltolás körbefordulna
+        }
+        long pair = (bits << shift) & (bits << (2 * shift));
+        long result = pair & (bits << far);
+        result |= pair & (bits >>> shift);
+        pair = (bits >>> shift) & (bits >>> (2 * shift));
+        result |= pair & (bits << shift);
+        result |= pair & (bits >>> far);
+        return result;
+    }
+
+    /**
+     * Megvizsgálja, van-e összefüggő sor az adott irányban.
+     *
+     * @param bits  A vizsgált bitboard.
+     * @param shift Az irányhoz tartozó biteltolás.
+     * @return True, ha van CONNECT_LENGTH hosszú sor.
+     */
+    private static boolean hasLine(final long bits, final int shift) {
+        if ((CONNECT_LENGTH - 1) * shift >= Long.SIZE) {
+            return false; // A sor nem fér el; az eltolás körbefordulna
+        }
+        long line = bits;
+        for (int i = 1; i < CONNECT_LENGTH; i++) {
+            line &= bits >>> (i * shift);
+        }
+        return line != 0;
+    }
+}
@@ -0,0 +1,117 @@
+package org.connect4.ai;
+
+import java.util.Arrays;
+
+/**
+ * Egy állás elemzése: oszloponkénti értékek és a legjobb lépés, a
+ * lépő játékos szemszögéből (a {@link SearchEngine} skáláján: a
+ * {@link SearchEngine#MATE_SCORE} közeli érték kikényszerített
+ * győzelem).
+ */
+public final class PositionAnalysis {
+    /** A nem játszható oszlopok értéke. */
+    public static final int ILLEGAL = Integer.MIN_VALUE;
+
+    /** Oszloponkénti értékek. */
+    private final int[] scores;
+
+    /** A legjobb oszlop, vagy -1, ha nincs szabályos lépés. */
+    private final int bestMove;
+
+    /** A legkisebb teljesen befejezett keresési mélység. */
+    private final int depth;
+
+    /** Az elemzés csomópontjainak száma. */
+    private final long nodes;
+
+    /**
+     * Létrehoz egy elemzést.
+     *
+     * @param columnScores Az oszloponkénti értékek (nem másolódik).
+     * @param reached      A legkisebb elért mélység.
+     * @param visited      A csomópontok száma.
+     */
+    PositionAnalysis(final int[] columnScores, final int reached,
+                     final long visited) {
+        this.scores = columnScores;
+        this.depth = reached;
+        this.nodes = visited;
+        int best = -1;
+        for (int c = 0; c < columnScores.length; c++) {
+            if (columnScores[c] != ILLEGAL
+                    && (best < 0 || columnScores[c] > columnScores[best])) {
+                best = c;
+            }
+        }
+        this.bestMove = best;
+    }
+
+    /**
+     * Az elemzés tükörképe (a tükrözött álláshoz).
+     *
+     * @return Az oszlopok fordított sorrendjével készült elemzés.
+     */
+    PositionAnalysis mirror() {
+        final int[] mirrored = new int[scores.length];
+        for (int c = 0; c < scores.length; c++) {
+            mirrored[scores.length - 1 - c] = scores[c];
+        }
+        return new PositionAnalysis(mirrored, depth, nodes);
+    }
+
+    /**
+     * Oszloponkénti értékek.
+     *
+     * @return Az értékek másolata; a nem játszható oszlopoké
+     *         {@link #ILLEGAL}.
+     */
+    public int[] getScores() {
+        return scores.clone();
+    }
+
+    /**
+     * Egy oszlop értéke.
+     *
+     * @param col Az oszlop.
+     * @return Az érték, vagy {@link #ILLEGAL}.
+     */
+    public int getScore(final int col) {
+        return scores[col];
+    }
+
+    /**
+     * A legjobb oszlop (egyenlő értéknél a kisebb indexű).
+     *
+     * @return Az oszlop, vagy -1, ha nincs szabályos lépés.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * A legkisebb teljesen befejezett keresési mélység az oszlopok közt.
+     *
+     * @return A mélység (0, ha a keret egy iterációra sem volt elég).
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Az elemzés csomópontjainak száma (duplikált állásoknál a közös
+     * elemzésé).
+     *
+     * @return A csomópontok száma.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return "legjobb " + bestMove + ", értékek "
+                + Arrays.toString(scores).replace(
+                        String.valueOf(ILLEGAL), "-")
+                + ", mélység " + depth;
+    }
+}
@@ -0,0 +1,80 @@
+package org.connect4.ai;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.connect4.Board;
+
+/**
+ * Parancssori állásértékelő: egy mentett játékállást (pl.
+ * {@code gamestate.txt}) tökéletes játék szerint megold, és az
+ * eredményt a megoldás-adatbázisban is eltárolja.
+ *
+ * <p>Használat: {@code PositionSolver <állásfájl> [adatbázis]}. A lépő
+ * játékost a tokenek száma határozza meg: az 'X' kezd.</p>
+ */
+public final class PositionSolver {
+    /** Az alapértelmezett adatbázisfájl. */
+    public static final String DEFAULT_DATABASE = "solved.db";
+
+    /** A kezdő játékos karaktere. */
+    private static final char FIRST_TOKEN = 'X';
+
+    /** A második játékos karaktere. */
+    private static final char SECOND_TOKEN = 'O';
+
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    // Privát konstruktor
+    private PositionSolver() {
+        throw new UnsupportedOperationException(
+                "A segédosztály példányosítása nem engedélyezett"
+        );
+    }
+
+    /**
+     * A megoldó belépési pontja.
+     *
+     * @param args Az állásfájl és opcionálisan az adatbázis neve.
+     * @throws IOException ha az adatbázis nem nyitható meg.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println(
+                    "Használat: PositionSolver <állásfájl> [adatbázis]");
+            return;
+        }
+        final Board board = new Board();
+        if (!board.loadStateFromFile(args[0])) {
+            return;
+        }
+        final String databaseFile =
+                args.length > 1 ? args[1] : DEFAULT_DATABASE;
+        try (SolvedDatabase database = SolvedDatabase.open(
+                Paths.get(databaseFile), board.getRows(), board.getCols())) {
+            final Solver solver =
+                    new Solver(Solver.DEFAULT_TABLE_MB, database);
+            final long start = System.nanoTime();
+            final Solution solution = solver.analyze(toPosition(board));
+            final double millis =
+                    (System.nanoTime() - start) / NANOS_PER_MILLI;
+            System.out.printf("%s%n%d csomópont, %.1f ms%n",
+                    solution, solver.getNodes(), millis);
+        }
+    }
+
+    /**
+     * A tábla állása a lépésen lévő játékos szemszögéből.
+     * Ha a két játékos tokenjeinek száma egyenlő, az 'X' lép.
+     *
+     * @param board A tábla.
+     * @return Az állás.
+     */
+    public static Position toPosition(final Board board) {
+        final int first = board.countTokens(FIRST_TOKEN);
+        final int second = board.countTokens(SECOND_TOKEN);
+        final char toMove = first > second ? SECOND_TOKEN : FIRST_TOKEN;
+        return Position.fromBoard(board, toMove);
+    }
+}
@@ -0,0 +1,585 @@
+package org.connect4.ai;
+
+/**
+ * Negamax keresőmotor alfa-béta vágással.
+ * Középről kifelé rendezi a lépéseket, iteratívan mélyít, és egy
+ * szigorú lépésenkénti határidőig keres; a határidő lejártakor (vagy
+ * {@link #cancel()} hívásra) az utolsó befejezett iteráció legjobb
+ * lépését adja vissza. A leveleket alapértelmezetten a növekményes
+ * {@link ThreatEvaluator} értékeli.
+ *
+ * <p>Egy példány egyszerre csak egy keresést futtathat; a
+ * {@link #cancel()} bármely szálból hívható.</p>
+ */
+public final class SearchEngine implements Searcher {
+    /** Alapértelmezett gondolkodási idő lépésenként, ezredmásodpercben. */
+    public static final long DEFAULT_MOVE_TIME_MILLIS = 50L;
+
+    /** A győzelem értéke; a közelebbi győzelem többet ér. */
+    public static final int MATE_SCORE = 10_000;
+
+    /** A leghosszabb lehetséges játszma lépésszáma (64 bites tábla). */
+    public static final int MAX_PLY = Long.SIZE;
+
+    /** Határidő-ellenőrzés gyakorisága (csomópontban, kettő hatványa). */
+    private static final long CHECK_INTERVAL_MASK = 1023L;
+
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** Az alfa-béta ablak határa. */
+    private static final int INFINITY = MATE_SCORE + 1;
+
+    /** Gondolkodási idő nanoszekundumban. */
+    private final long moveTimeNanos;
+
+    /** A maximális keresési mélység. */
+    private final int maxDepth;
+
+    /** Transzpozíciós tábla, vagy null ha a kereső nem használ táblát. */
+    private TranspositionTable table;
+
+    /**
+     * Az első kereséskor lefoglalandó tábla mérete (MB), vagy 0, ha a
+     * kereső kész táblát kapott vagy nem használ táblát.
+     */
+    private int lazyTableMegabytes;
+
+    /** Megszakítási kérés másik szálból. */
+    private volatile boolean cancelled;
+
+    /** Igaz, ha a futó keresést le kell állítani. */
+    private boolean aborted;
+
+    /** A futó keresés határideje (System.nanoTime szerint). */
+    private long deadline;
+
+    /** A futó keresés csomópontszámlálója. */
+    private long nodes;
+
+    /** A futó keresés csomópontkorlátja. */
+    private long nodeLimit = Long.MAX_VALUE;
+
+    /** Középről kifelé rendezett oszlopsorrend. */
+    private int[] order = new int[0];
+
+    /** Oszlopmaszkok az értékeléshez. */
+    private long[] columnMasks = new long[0];
+
+    /** Oszlopsúlyok az értékeléshez (a középső oszlop a legértékesebb). */
+    private int[] columnWeights = new int[0];
+
+    /** A levelek statikus értékelése. */
+    private final Evaluation evaluation;
+
+    /** A fenyegetésalapú értékelő, vagy null a középértékelésnél. */
+    private ThreatEvaluator evaluator;
+
+    /**
+     * Kereső alapértelmezett mélységkorláttal és alapméretű
+     * transzpozíciós táblával. A táblát csak az első keresés (vagy
+     * {@link #getTable()} hívás) foglalja le, így a soha nem kereső
+     * példány olcsó.
+     *
+     * @param moveTimeMillis Gondolkodási idő lépésenként (ms).
+     */
+    public SearchEngine(final long moveTimeMillis) {
+        this(moveTimeMillis, MAX_PLY, null);
+        this.lazyTableMegabytes = TranspositionTable.DEFAULT_SIZE_MB;
+    }
+
+    /**
+     * Kereső időkorláttal és mélységkorláttal, transzpozíciós tábla nélkül.
+     *
+     * @param moveTimeMillis Gondolkodási idő lépésenként (ms).
+     * @param depthLimit     A maximális keresési mélység.
+     */
+    public SearchEngine(final long moveTimeMillis, final int depthLimit) {
+        this(moveTimeMillis, depthLimit, null);
+    }
+
+    /**
+     * Kereső időkorláttal, mélységkorláttal és transzpozíciós táblával.
+     *
+     * @param moveTimeMillis Gondolkodási idő lépésenként (ms).
+     * @param depthLimit     A maximális keresési mélység.
+     * @param transpositions A használt tábla, vagy null.
+     */
+    public SearchEngine(final long moveTimeMillis,
+                        final int depthLimit,
+                        final TranspositionTable transpositions) {
+        this(moveTimeMillis, depthLimit, transpositions, Evaluation.THREATS);
+    }
+
+    /**
+     * Kereső megadott statikus értékeléssel.
+     *
+     * @param moveTimeMillis Gondolkodási idő lépésenként (ms).
+     * @param depthLimit     A maximális keresési mélység.
+     * @param transpositions A használt tábla, vagy null.
+     * @param leafEvaluation A levelek értékelése.
+     */
+    public SearchEngine(final long moveTimeMillis,
+                        final int depthLimit,
+                        final TranspositionTable transpositions,
+                        final Evaluation leafEvaluation) {
+        if (moveTimeMillis <= 0 || depthLimit <= 0) {
+            throw new IllegalArgumentException(
+                    "Az időkorlátnak és a mélységnek pozitívnak kell lennie.");
+        }
+        // A gyakorlatilag korlátlan időkeret ne csorduljon túl
+        this.moveTimeNanos = moveTimeMillis > Long.MAX_VALUE / NANOS_PER_MILLI
+                ? Long.MAX_VALUE : moveTimeMillis * NANOS_PER_MILLI;
+        this.maxDepth = depthLimit;
+        this.table = transpositions;
+        this.evaluation = leafEvaluation;
+    }
+
+    /**
+     * A kereső transzpozíciós táblája; a késleltetett táblát szükség
+     * esetén most foglalja le.
+     *
+     * @return A tábla, vagy null ha a kereső nem használ táblát.
+     */
+    public TranspositionTable getTable() {
+        allocateTable();
+        return table;
+    }
+
+    /**
+     * Lefoglalja a késleltetett transzpozíciós táblát, ha még nem
+     * történt meg.
+     */
+    private void allocateTable() {
+        if (lazyTableMegabytes > 0) {
+            table = new TranspositionTable(lazyTableMegabytes);
+            lazyTableMegabytes = 0;
+        }
+    }
+
+    /**
+     * A levelek statikus értékelése.
+     *
+     * @return Az értékelés fajtája.
+     */
+    public Evaluation getEvaluation() {
+        return evaluation;
+    }
+
+    /**
+     * A futó keresés megszakítása. Bármely szálból hívható; a keresés
+     * a következő ellenőrzési pontnál leáll.
+     */
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public SearchResult search(final Position root) {
+        resetCancel();
+        return search(root, 0);
+    }
+
+    /**
+     * Törli a korábbi megszakítási kérést. A párhuzamos kereső a
+     * segédszálak indítása előtt hívja, hogy egy korai
+     * {@link #cancel()} ne vesszen el.
+     */
+    void resetCancel() {
+        cancelled = false;
+    }
+
+    /**
+     * Keresés egy Lazy SMP segédszál szerepében. A segédszálak más
+     * gyökérsorrenddel és eltolt mélységekkel keresnek, hogy a közös
+     * transzpozíciós táblát különböző részfákkal töltsék fel.
+     *
+     * @param root   A vizsgált állás.
+     * @param helper A szál sorszáma (0: fő szál).
+     * @return A keresés eredménye.
+     */
+    SearchResult search(final Position root, final int helper) {
+        return search(root, helper, moveTimeNanos, Long.MAX_VALUE);
+    }
+
+    /**
+     * Keresés a példány időkorlátja helyett egy hívásra szóló idő- és
+     * csomópontkerettel; a kötegelt elemzés így osztja szét a közös
+     * keretet az állások között.
+     *
+     * @param root      A vizsgált állás.
+     * @param timeNanos Az időkeret nanoszekundumban.
+     * @param maxNodes  A csomópontkeret.
+     * @return A keresés eredménye.
+     */
+    SearchResult searchWithin(final Position root, final long timeNanos,
+                              final long maxNodes) {
+        resetCancel();
+        return search(root, 0, timeNanos, maxNodes);
+    }
+
+    /**
+     * Keresés megadott idő- és csomópontkerettel.
+     *
+     * @param root      A vizsgált állás.
+     * @param helper    A szál sorszáma (0: fő szál).
+     * @param timeNanos Az időkeret nanoszekundumban.
+     * @param maxNodes  A csomópontkeret.
+     * @return A keresés eredménye.
+     */
+    private SearchResult search(final Position root, final int helper,
+                                final long timeNanos, final long maxNodes) {
+        final long start = System.nanoTime();
+        deadline = start + timeNanos;
+        nodeLimit = maxNodes;
+        aborted = false;
+        nodes = 0L;
+        allocateTable();
+        prepare(root);
+
+        final Position position = new Position(root);
+        final int cols = position.getCols();
+        final int[] rootOrder = order.clone();
+        rotate(rootOrder, helper);
+        int bestMove = -1;
+        int bestScore = 0;
+        int reached = 0;
+
+        for (int col : rootOrder) {
+            if (position.canPlay(col)) {
+                if (bestMove < 0) {
+                    bestMove = col;
+                }
+                if (position.isWinningMove(col)) {
+                    return new SearchResult(col, MATE_SCORE - 1, 1, 1,
+                            System.nanoTime() - start);
+                }
+            }
+        }
+
+        final int remaining =
+                position.getRows() * cols - position.getMoveCount();
+        final int depthLimit = Math.min(maxDepth, remaining);
+        for (int depth = 1 + (helper & 1); depth <= depthLimit; depth++) {
+            int alpha = -INFINITY;
+            int iterationMove = -1;
+            int iterationScore = -INFINITY;
+            for (int col : rootOrder) {
+                if (!position.canPlay(col)) {
+                    continue;
+                }
+                play(position, col);
+                final int score =
+                        -negamax(position, depth - 1, -INFINITY, -alpha, 1);
+                undo(position, col);
+                if (aborted) {
+                    break;
+                }
+                if (score > iterationScore) {
+                    iterationScore = score;
+                    iterationMove = col;
+                    alpha = Math.max(alpha, score);
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            bestMove = iterationMove;
+            bestScore = iterationScore;
+            reached = depth;
+            moveToFront(rootOrder, bestMove);
+            if (Math.abs(bestScore) > MATE_SCORE - MAX_PLY) {
+                break; // Kikényszerített eredmény, nincs mit mélyíteni
+            }
+        }
+        return new SearchResult(bestMove, bestScore, reached, nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Negamax alfa-béta vágással.
+     *
+     * @param position Az állás (a hívás végére visszaáll).
+     * @param depth    A hátralévő mélység.
+     * @param alpha    Az alsó korlát.
+     * @param beta     A felső korlát.
+     * @param ply      A gyökértől mért távolság.
+     * @return Az állás értéke a lépő játékos szemszögéből.
+     */
+    private int negamax(final Position position,
+                        final int depth,
+                        final int alpha,
+                        final int beta,
+                        final int ply) {
+        if ((++nodes & CHECK_INTERVAL_MASK) == 0 || nodes >= nodeLimit) {
+            checkDeadline();
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (position.isFull()) {
+            return 0; // Döntetlen
+        }
+        for (int col : order) {
+            if (position.canPlay(col) && position.isWinningMove(col)) {
+                return MATE_SCORE - ply - 1;
+            }
+        }
+        if (depth == 0) {
+            return evaluate(position);
+        }
+
+        int lower = alpha;
+        int upper = beta;
+        int tableMove = -1;
+        // A tükörképek közös bejegyzést kapnak; a lépés a kanonikus
+        // alakban tárolódik, ezért tükrözött kulcsnál átfordítjuk.
+        final long key = position.canonicalKey();
+        final boolean mirrored = position.isMirrorCanonical();
+        if (table != null) {
+            final long entry = table.probe(key);
+            if (entry != 0) {
+                tableMove = mirrorMove(TranspositionTable.move(entry),
+                        mirrored);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    final int stored =
+                            fromTable(TranspositionTable.score(entry), ply);
+                    final int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT) {
+                        return stored;
+                    } else if (bound == TranspositionTable.LOWER) {
+                        lower = Math.max(lower, stored);
+                    } else {
+                        upper = Math.min(upper, stored);
+                    }
+                    if (lower >= upper) {
+                        return stored;
+                    }
+                }
+            }
+        }
+
+        final int originalLower = lower;
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = -1; i < order.length; i++) {
+            final int col = i < 0 ? tableMove : order[i];
+            if (col < 0 || (i >= 0 && col == tableMove)
+                    || !position.canPlay(col)) {
+                continue;
+            }
+            play(position, col);
+            final int score =
+                    -negamax(position, depth - 1, -upper, -lower, ply + 1);
+            undo(position, col);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = col;
+                if (score > lower) {
+                    lower = score;
+                    if (lower >= upper) {
+                        break; // Béta-vágás
+                    }
+                }
+            }
+        }
+
+        if (table != null) {
+            final int bound;
+            if (best <= originalLower) {
+                bound = TranspositionTable.UPPER;
+            } else if (best >= upper) {
+                bound = TranspositionTable.LOWER;
+            } else {
+                bound = TranspositionTable.EXACT;
+            }
+            table.store(key, bound, depth, toTable(best, ply),
+                    mirrorMove(bestMove, mirrored));
+        }
+        return best;
+    }
+
+    /**
+     * Egy oszlop a tükörképben; a -1 (nincs lépés) változatlan marad.
+     *
+     * @param col      Az oszlop vagy -1.
+     * @param mirrored Tükrözni kell-e.
+     * @return A tükrözött oszlop, ha kell.
+     */
+    private int mirrorMove(final int col, final boolean mirrored) {
+        // A lépéssorrend hossza az oszlopok száma
+        return mirrored && col >= 0 ? order.length - 1 - col : col;
+    }
+
+    /**
+     * Győzelmi érték átváltása a táblába: a csomóponttól mért távolság.
+     *
+     * @param score Az érték a gyökértől mért távolsággal.
+     * @param ply   A csomópont távolsága a gyökértől.
+     * @return A táblában tárolandó érték.
+     */
+    private static int toTable(final int score, final int ply) {
+        if (score > MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score < -MATE_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Győzelmi érték visszaváltása a táblából.
+     *
+     * @param score A táblában tárolt érték.
+     * @param ply   A csomópont távolsága a gyökértől.
+     * @return Az érték a gyökértől mért távolsággal.
+     */
+    private static int fromTable(final int score, final int ply) {
+        if (score > MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score < -MATE_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Lépés az állásban és a növekményes értékelőben.
+     *
+     * @param position Az állás.
+     * @param col      Egy játszható oszlop.
+     */
+    private void play(final Position position, final int col) {
+        position.play(col);
+        if (evaluator != null) {
+            evaluator.play(col);
+        }
+    }
+
+    /**
+     * Lépés visszavonása az állásban és a növekményes értékelőben.
+     *
+     * @param position Az állás.
+     * @param col      Az utolsó lépés oszlopa.
+     */
+    private void undo(final Position position, final int col) {
+        position.undo(col);
+        if (evaluator != null) {
+            evaluator.undo(col);
+        }
+    }
+
+    /**
+     * Statikus értékelés: fenyegetésalapú esetben a növekményesen
+     * frissített {@link ThreatEvaluator} értéke, egyébként a középső
+     * oszlopok birtoklása.
+     *
+     * @param position Az értékelendő állás.
+     * @return Az érték a lépő játékos szemszögéből.
+     */
+    private int evaluate(final Position position) {
+        if (evaluator != null) {
+            return evaluator.score();
+        }
+        final long own = position.getCurrent();
+        final long opponent = own ^ position.getMask();
+        int score = 0;
+        for (int c = 0; c < columnMasks.length; c++) {
+            score += columnWeights[c]
+                    * (Long.bitCount(own & columnMasks[c])
+                    - Long.bitCount(opponent & columnMasks[c]));
+        }
+        return score;
+    }
+
+    /**
+     * Ellenőrzi a határidőt, a csomópontkeretet és a megszakítási kérést.
+     */
+    private void checkDeadline() {
+        if (cancelled || nodes >= nodeLimit
+                || System.nanoTime() - deadline >= 0) {
+            aborted = true;
+        }
+    }
+
+    /**
+     * Előkészíti a tábla méretétől függő segédtömböket, és a
+     * növekményes értékelőt a gyökérállásra állítja.
+     *
+     * @param position A keresendő állás.
+     */
+    private void prepare(final Position position) {
+        final int cols = position.getCols();
+        if (evaluation == Evaluation.THREATS && (evaluator == null
+                || evaluator.getRows() != position.getRows()
+                || evaluator.getCols() != cols)) {
+            evaluator = new ThreatEvaluator(position.getRows(), cols);
+        }
+        if (evaluator != null) {
+            evaluator.reset(position);
+        }
+        if (order.length == cols) {
+            return;
+        }
+        order = centerOrder(cols);
+        columnMasks = new long[cols];
+        columnWeights = new int[cols];
+        for (int c = 0; c < cols; c++) {
+            columnMasks[c] = position.columnMask(c);
+            columnWeights[c] = cols / 2 - Math.abs(c - cols / 2) + 1;
+        }
+    }
+
+    /**
+     * Középről kifelé haladó oszlopsorrend.
+     *
+     * @param cols Az oszlopok száma.
+     * @return Az oszlopindexek sorrendje.
+     */
+    static int[] centerOrder(final int cols) {
+        final int[] result = new int[cols];
+        for (int i = 0; i < cols; i++) {
+            final int offset = (i + 1) / 2;
+            result[i] = (cols - 1) / 2 + (i % 2 == 1 ? offset : -offset);
+        }
+        return result;
+    }
+
+    /**
+     * A sorrend balra forgatása (a segédszálak változatosságához).
+     *
+     * @param moves    A lépéssorrend.
+     * @param distance A forgatás mértéke.
+     */
+    private static void rotate(final int[] moves, final int distance) {
+        final int shift = distance % moves.length;
+        if (shift == 0) {
+            return;
+        }
+        final int[] copy = moves.clone();
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = copy[(i + shift) % moves.length];
+        }
+    }
+
+    /**
+     * Az oszlopot a sorrend elejére mozgatja, a többi sorrendje marad.
+     *
+     * @param moves A lépéssorrend.
+     * @param col   Az előre mozgatandó oszlop.
+     */
+    private static void moveToFront(final int[] moves, final int col) {
+        int i = 0;
+        while (moves[i] != col) {
+            i++;
+        }
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = col;
+    }
+}
@@ -0,0 +1,109 @@
+package org.connect4.ai;
+
+/**
+ * Egy keresés eredménye: a legjobb lépés és a keresés statisztikái.
+ */
+public final class SearchResult {
+    /** Nanoszekundum egy másodpercben. */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** A legjobb oszlop, vagy -1 ha nincs szabályos lépés. */
+    private final int bestMove;
+
+    /** A legjobb lépés értéke a lépő játékos szemszögéből. */
+    private final int score;
+
+    /** A legmélyebb teljesen befejezett iteráció mélysége. */
+    private final int depth;
+
+    /** A meglátogatott csomópontok száma. */
+    private final long nodes;
+
+    /** A keresés ideje nanoszekundumban. */
+    private final long elapsedNanos;
+
+    /**
+     * Létrehoz egy keresési eredményt.
+     *
+     * @param move     A legjobb oszlop.
+     * @param value    A lépés értéke.
+     * @param reached  Az elért mélység.
+     * @param visited  A meglátogatott csomópontok száma.
+     * @param nanos    Az eltelt idő nanoszekundumban.
+     */
+    public SearchResult(final int move,
+                        final int value,
+                        final int reached,
+                        final long visited,
+                        final long nanos) {
+        this.bestMove = move;
+        this.score = value;
+        this.depth = reached;
+        this.nodes = visited;
+        this.elapsedNanos = nanos;
+    }
+
+    /**
+     * A legjobb oszlop.
+     *
+     * @return Az oszlop indexe, vagy -1 ha nincs szabályos lépés.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * A legjobb lépés értéke.
+     *
+     * @return Az érték a lépő játékos szemszögéből.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * A legmélyebb befejezett iteráció.
+     *
+     * @return A keresési mélység.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * A meglátogatott csomópontok száma.
+     *
+     * @return A csomópontok száma.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * A keresés ideje.
+     *
+     * @return Az eltelt idő nanoszekundumban.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Keresési sebesség.
+     *
+     * @return Csomópont per másodperc.
+     */
+    public long getNodesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0L;
+        }
+        return (long) (nodes * NANOS_PER_SECOND / elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "lépés " + bestMove + ", érték " + score
+                + ", mélység " + depth + ", " + nodes + " csomópont, "
+                + getNodesPerSecond() + " csomópont/s";
+    }
+}
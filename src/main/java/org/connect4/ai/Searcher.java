@@ -0,0 +1,20 @@
+package org.connect4.ai;
+
+/**
+ * Lépéskereső közös felülete: egy állásból a legjobb lépést adja.
+ */
+public interface Searcher {
+    /**
+     * Megkeresi a legjobb lépést a megadott állásban.
+     * A kapott állás nem módosul.
+     *
+     * @param root A vizsgált állás, a lépő játékos szemszögéből.
+     * @return A keresés eredménye.
+     */
+    SearchResult search(Position root);
+
+    /**
+     * A futó keresés megszakítása. Bármely szálból hívható.
+     */
+    void cancel();
+}
@@ -0,0 +1,100 @@
+package org.connect4.ai;
+
+/**
+ * Egy állás játékelméleti értéke tökéletes játék mellett.
+ * Az érték a lépő játékos szemszögéből értendő: pozitív esetén nyer,
+ * negatív esetén veszít, nulla esetén döntetlen. A nyertes a lehető
+ * leghamarabb nyer, a vesztes a lehető legtovább húzza a játszmát.
+ */
+public final class Solution {
+    /** Az érték (lásd {@link Solver#solve(Position)}). */
+    private final int score;
+
+    /** A játszma végéig hátralévő lépések száma, döntetlennél 0. */
+    private final int distance;
+
+    /** A legjobb oszlop, vagy -1 ha nem ismert. */
+    private final int bestMove;
+
+    /**
+     * Létrehoz egy megoldást.
+     *
+     * @param value     Az érték.
+     * @param plies     A győzelemig/vereségig hátralévő lépések száma.
+     * @param move      A legjobb oszlop, vagy -1.
+     */
+    public Solution(final int value, final int plies, final int move) {
+        this.score = value;
+        this.distance = plies;
+        this.bestMove = move;
+    }
+
+    /**
+     * Igaz, ha a lépő játékos nyer.
+     *
+     * @return True győzelem esetén.
+     */
+    public boolean isWin() {
+        return score > 0;
+    }
+
+    /**
+     * Igaz, ha a lépő játékos veszít.
+     *
+     * @return True vereség esetén.
+     */
+    public boolean isLoss() {
+        return score < 0;
+    }
+
+    /**
+     * Igaz, ha az állás döntetlen.
+     *
+     * @return True döntetlen esetén.
+     */
+    public boolean isDraw() {
+        return score == 0;
+    }
+
+    /**
+     * Az érték a lépő játékos szemszögéből.
+     *
+     * @return A megoldó értéke.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * A döntő (nyerő) lépésig hátralévő lépések száma, mindkét fél
+     * lépéseit számolva; döntetlennél 0.
+     *
+     * @return A távolság lépésekben.
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * A legjobb oszlop.
+     *
+     * @return Az oszlop, vagy -1 ha nem ismert.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    @Override
+    public String toString() {
+        final String outcome;
+        if (isWin()) {
+            outcome = "győzelem " + distance + " lépésben";
+        } else if (isLoss()) {
+            outcome = "vereség " + distance + " lépésben";
+        } else {
+            outcome = "döntetlen";
+        }
+        return outcome + " (érték " + score + ", legjobb lépés "
+                + bestMove + ")";
+    }
+}
@@ -0,0 +1,295 @@
+package org.connect4.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Megoldott állások lemezen tárolt adatbázisa.
+ * A fájl egy fejlécből és hozzáfűzött rekordokból áll (8 bájt
+ * állás-kulcs, 1 bájt érték). Megnyitáskor a rekordok egy primitív
+ * tömbökre épülő nyílt címzésű indexbe kerülnek; minden új megoldás
+ * azonnal a fájl végére íródik, így az adatbázis futásról futásra nő.
+ * A fájl végén lévő csonka rekordot (pl. megszakadt írás után) a
+ * betöltés figyelmen kívül hagyja.
+ *
+ * <p>A kulcsok kanonikusak ({@link Position#canonicalKey()}); a régebbi,
+ * nyers kulcsú (1-es verziójú) fájlokat újra kell építeni.</p>
+ */
+public final class SolvedDatabase implements AutoCloseable {
+    /** Jelzi, hogy a kulcs nincs az adatbázisban. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    /** A fájl varázsszáma ("C4SD"). */
+    private static final int MAGIC = 0x43345344;
+
+    /** A fájlformátum verziója (2: kanonikus kulcsok). */
+    private static final int VERSION = 2;
+
+    /** A fejléc mérete bájtban (négy darab 4 bájtos egész). */
+    private static final int HEADER_BYTES = 16;
+
+    /** Egy rekord mérete bájtban. */
+    private static final int RECORD_BYTES = Long.BYTES + 1;
+
+    /** Az érték eltolása a tárolásnál (0 jelöli az üres helyet). */
+    private static final int SCORE_OFFSET = 100;
+
+    /** A tárolható legkisebb érték (az eltolt 0 az üres hely). */
+    private static final int MIN_SCORE = 1 - SCORE_OFFSET;
+
+    /** A kezdeti indexkapacitás. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** A betöltés olvasópufferébe férő rekordok száma. */
+    private static final int READ_BUFFER_RECORDS = 8192;
+
+    /** A Fibonacci-hasítás szorzója. */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /** A fájl csatornája, hozzáfűzéshez. */
+    private final FileChannel channel;
+
+    /** Egy rekord kiírásához használt puffer. */
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** Az index kulcsai. */
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /** Az index eltolt értékei (0: üres hely). */
+    private byte[] scores = new byte[INITIAL_CAPACITY];
+
+    /** A tárolt állások száma. */
+    private int size;
+
+    /**
+     * Adatbázis egy megnyitott csatornán.
+     *
+     * @param fileChannel A fájl csatornája.
+     * @param rowCount    A sorok száma.
+     * @param colCount    Az oszlopok száma.
+     */
+    private SolvedDatabase(final FileChannel fileChannel,
+                           final int rowCount,
+                           final int colCount) {
+        this.channel = fileChannel;
+        this.rows = rowCount;
+        this.cols = colCount;
+    }
+
+    /**
+     * Megnyitja (vagy létrehozza) az adatbázist és betölti az indexet.
+     *
+     * @param path     Az adatbázisfájl.
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @return A megnyitott adatbázis.
+     * @throws IOException ha a fájl nem olvasható, vagy más táblaméreté.
+     */
+    public static SolvedDatabase open(final Path path,
+                                      final int rowCount,
+                                      final int colCount)
+            throws IOException {
+        final FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        final SolvedDatabase database =
+                new SolvedDatabase(channel, rowCount, colCount);
+        try {
+            database.load();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return database;
+    }
+
+    /**
+     * Kikeresi egy állás értékét.
+     *
+     * @param key Az állás kulcsa.
+     * @return Az érték, vagy {@link #NOT_FOUND}.
+     */
+    public synchronized int get(final long key) {
+        int index = index(key, keys.length);
+        while (scores[index] != 0) {
+            if (keys[index] == key) {
+                return Byte.toUnsignedInt(scores[index]) - SCORE_OFFSET;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Eltárol egy megoldott állást, és a fájl végére írja.
+     * Már ismert kulcsot nem ír újra.
+     *
+     * @param key   Az állás kulcsa.
+     * @param score Az érték.
+     * @throws IOException ha az írás nem sikerül.
+     * @throws IllegalArgumentException ha az érték nem fér a rekordba.
+     */
+    public synchronized void put(final long key, final int score)
+            throws IOException {
+        if (score < MIN_SCORE || score > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Az érték nem tárolható: " + score);
+        }
+        if (!insert(key, score)) {
+            return;
+        }
+        record.clear();
+        record.putLong(key).put((byte) score).flip();
+        while (record.hasRemaining()) {
+            channel.write(record, channel.size());
+        }
+    }
+
+    /**
+     * A tárolt állások száma.
+     *
+     * @return Az adatbázis mérete.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Az adatbázis sorainak száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Az adatbázis oszlopainak száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    /**
+     * Beolvassa vagy létrehozza a fejlécet, majd betölti a rekordokat.
+     *
+     * @throws IOException ha a fájl hibás.
+     */
+    private void load() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (channel.size() == 0) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return;
+        }
+        while (header.hasRemaining()
+                && channel.read(header, header.position()) >= 0) {
+            continue;
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC
+                || header.getInt() != VERSION) {
+            throw new IOException("Érvénytelen megoldás-adatbázis.");
+        }
+        if (header.getInt() != rows || header.getInt() != cols) {
+            throw new IOException("Az adatbázis más táblamérethez készült.");
+        }
+
+        final long records = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+        final long end = HEADER_BYTES + records * RECORD_BYTES;
+        final ByteBuffer buffer = ByteBuffer.allocate(
+                READ_BUFFER_RECORDS * RECORD_BYTES);
+        long offset = HEADER_BYTES;
+        while (offset < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_BYTES) {
+                insert(buffer.getLong(), buffer.get());
+            }
+            offset += buffer.limit();
+        }
+        channel.truncate(end); // Csonka rekord levágása
+    }
+
+    /**
+     * Beszúr egy kulcsot az indexbe.
+     *
+     * @param key   Az állás kulcsa.
+     * @param score Az érték.
+     * @return True, ha a kulcs új volt.
+     */
+    private boolean insert(final long key, final int score) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int index = index(key, keys.length);
+        while (scores[index] != 0) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+        keys[index] = key;
+        scores[index] = (byte) (score + SCORE_OFFSET);
+        size++;
+        return true;
+    }
+
+    /**
+     * Megduplázza az index kapacitását.
+     */
+    private void grow() {
+        final long[] oldKeys = keys;
+        final byte[] oldScores = scores;
+        keys = new long[oldKeys.length * 2];
+        scores = new byte[oldScores.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldScores[i] != 0) {
+                int index = index(oldKeys[i], keys.length);
+                while (scores[index] != 0) {
+                    index = (index + 1) & (keys.length - 1);
+                }
+                keys[index] = oldKeys[i];
+                scores[index] = oldScores[i];
+            }
+        }
+    }
+
+    /**
+     * A kulcs kezdőhelye az indexben.
+     *
+     * @param key      Az állás kulcsa.
+     * @param capacity Az index kapacitása (kettő hatványa).
+     * @return A kezdőhely.
+     */
+    private static int index(final long key, final int capacity) {
+        return (int) ((key * HASH_MULTIPLIER) >>> Integer.SIZE)
+                & (capacity - 1);
+    }
+}
@@ -0,0 +1,342 @@
+package org.connect4.ai;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Tökéletes játékot feltételező megoldó.
+ * Null-ablakos negamax keresés alfa-béta vágással, a vesztes lépések
+ * előzetes kiszűrésével, fenyegetésszám szerinti lépésrendezéssel és
+ * korlátokat tároló transzpozíciós táblával.
+ *
+ * <p>Az érték a lépő játékos szemszögéből: ha a lépő a saját k-adik
+ * tokenjével (a táblán lévőkkel együtt számolva) nyer, az érték
+ * {@code (mezők + 1 - lépésszám) / 2} a nyerő lépés előtt; vereségnél
+ * ennek ellentettje, döntetlennél 0. Egy {@link SolvedDatabase}
+ * megadásával a kiszámolt gyökérértékek lemezre kerülnek, és ismételt
+ * kérdéskor onnan jönnek.</p>
+ */
+public final class Solver {
+    /** Alapértelmezett táblaméret megabájtban. */
+    public static final int DEFAULT_TABLE_MB = 64;
+
+    /** A transzpozíciós tábla. */
+    private final TranspositionTable table;
+
+    /** A megoldott állások adatbázisa, vagy null. */
+    private final SolvedDatabase database;
+
+    /** A meglátogatott csomópontok száma. */
+    private long nodes;
+
+    /** Lépéspufferek mélységenként (a rendezéshez). */
+    private long[][] moveBuffer = new long[0][];
+
+    /** Lépésértékek mélységenként (a rendezéshez). */
+    private int[][] scoreBuffer = new int[0][];
+
+    /** Középről kifelé rendezett oszlopsorrend. */
+    private int[] order = new int[0];
+
+    /**
+     * Megoldó adatbázis nélkül.
+     *
+     * @param tableSizeMb A transzpozíciós tábla mérete megabájtban.
+     */
+    public Solver(final int tableSizeMb) {
+        this(tableSizeMb, null);
+    }
+
+    /**
+     * Megoldó lemezen tárolt adatbázissal.
+     *
+     * @param tableSizeMb A transzpozíciós tábla mérete megabájtban.
+     * @param solved      A megoldott állások adatbázisa, vagy null.
+     */
+    public Solver(final int tableSizeMb, final SolvedDatabase solved) {
+        this.table = new TranspositionTable(tableSizeMb);
+        this.database = solved;
+    }
+
+    /**
+     * A meglátogatott csomópontok száma az utolsó számláló-törlés óta.
+     *
+     * @return A csomópontok száma.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Nullázza a csomópontszámlálót.
+     */
+    public void resetNodes() {
+        nodes = 0L;
+    }
+
+    /**
+     * Az állás pontos értéke a lépő játékos szemszögéből.
+     *
+     * @param position Az állás (nem módosul).
+     * @return Az érték (lásd az osztály leírását).
+     */
+    public int solve(final Position position) {
+        final int cells = position.getRows() * position.getCols();
+        final int moves = position.getMoveCount();
+        if (position.isLastMoveWin()) {
+            return -(cells + 2 - moves) / 2; // Az ellenfél már nyert
+        }
+        if (position.isFull()) {
+            return 0;
+        }
+        if (position.canWinNext()) {
+            return (cells + 1 - moves) / 2;
+        }
+        if (database != null) {
+            final int stored = database.get(position.canonicalKey());
+            if (stored != SolvedDatabase.NOT_FOUND) {
+                return stored;
+            }
+        }
+
+        prepare(position);
+        final Position work = new Position(position);
+        int min = -(cells - moves) / 2;
+        int max = (cells + 1 - moves) / 2;
+        while (min < max) {
+            int med = min + (max - min) / 2;
+            if (med <= 0 && min / 2 < med) {
+                med = min / 2;
+            } else if (med >= 0 && max / 2 > med) {
+                med = max / 2;
+            }
+            final int result = negamax(work, med, med + 1);
+            if (result <= med) {
+                max = result;
+            } else {
+                min = result;
+            }
+        }
+        remember(position.canonicalKey(), min);
+        return min;
+    }
+
+    /**
+     * Az állás teljes elemzése: érték, távolság és legjobb lépés.
+     * A legjobb lépéshez minden gyermekállást megold.
+     *
+     * @param position Az állás (nem módosul).
+     * @return A megoldás.
+     */
+    public Solution analyze(final Position position) {
+        final int score = solve(position);
+        final int distance = distance(position, score);
+        if (position.isLastMoveWin() || position.isFull()) {
+            return new Solution(score, distance, -1);
+        }
+        final Position work = new Position(position);
+        int bestMove = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int col : SearchEngine.centerOrder(work.getCols())) {
+            if (!work.canPlay(col)) {
+                continue;
+            }
+            if (work.isWinningMove(col)) {
+                bestMove = col;
+                break;
+            }
+            work.play(col);
+            final int childScore = -solve(work);
+            work.undo(col);
+            if (childScore > bestScore) {
+                bestScore = childScore;
+                bestMove = col;
+            }
+        }
+        return new Solution(score, distance, bestMove);
+    }
+
+    /**
+     * A döntő lépésig hátralévő lépések száma egy értékből.
+     *
+     * @param position Az állás.
+     * @param score    Az állás értéke.
+     * @return A távolság lépésekben, döntetlennél 0.
+     */
+    static int distance(final Position position, final int score) {
+        final int cells = position.getRows() * position.getCols();
+        final int moves = position.getMoveCount();
+        if (score == 0 || position.isLastMoveWin()) {
+            return 0;
+        }
+        if (score > 0) {
+            return winDistance(cells, moves, score);
+        }
+        return 1 + winDistance(cells, moves + 1, -score);
+    }
+
+    /**
+     * A lépő játékos nyerő lépéséig hátralévő lépések száma.
+     *
+     * @param cells A mezők száma.
+     * @param moves A táblán lévő tokenek száma.
+     * @param score A (pozitív) érték.
+     * @return A távolság lépésekben (a nyerő lépéssel együtt).
+     */
+    private static int winDistance(final int cells,
+                                   final int moves,
+                                   final int score) {
+        final int span = cells + 1 - moves;
+        final int exact = 2 * score + (span & 1);
+        return span - exact + 1;
+    }
+
+    /**
+     * Null-ablakos negamax. Feltételezi, hogy a lépő nem nyerhet azonnal.
+     *
+     * @param position Az állás (a hívás végére visszaáll).
+     * @param alpha    Az alsó korlát.
+     * @param beta     A felső korlát.
+     * @return Az érték, vagy a túllépett korlát.
+     */
+    private int negamax(final Position position,
+                        final int alpha,
+                        final int beta) {
+        nodes++;
+        final int cells = position.getRows() * position.getCols();
+        final int moves = position.getMoveCount();
+        final long next = position.possibleNonLosingMoves();
+        if (next == 0) {
+            return -(cells - moves) / 2; // Minden lépés veszít
+        }
+        if (moves >= cells - 2) {
+            return 0; // Döntetlen
+        }
+
+        int lower = alpha;
+        int upper = beta;
+        final int min = -(cells - 2 - moves) / 2;
+        if (lower < min) {
+            lower = min;
+            if (lower >= upper) {
+                return lower;
+            }
+        }
+        final int max = (cells - 1 - moves) / 2;
+        if (upper > max) {
+            upper = max;
+            if (lower >= upper) {
+                return upper;
+            }
+        }
+
+        final long key = position.canonicalKey();
+        final long entry = table.probe(key);
+        if (entry != 0) {
+            final int stored = TranspositionTable.score(entry);
+            if (TranspositionTable.bound(entry) == TranspositionTable.LOWER) {
+                if (lower < stored) {
+                    lower = stored;
+                    if (lower >= upper) {
+                        return lower;
+                    }
+                }
+            } else if (upper > stored) {
+                upper = stored;
+                if (lower >= upper) {
+                    return upper;
+                }
+            }
+        }
+
+        final long[] candidates = moveBuffer[moves];
+        final int[] values = scoreBuffer[moves];
+        int count = 0;
+        for (int i = order.length - 1; i >= 0; i--) {
+            final long move = next & position.columnMask(order[i]);
+            if (move != 0) {
+                count = insertSorted(candidates, values, count,
+                        move, position.moveScore(move));
+            }
+        }
+
+        final int remaining = cells - moves;
+        for (int i = 0; i < count; i++) {
+            final int col = position.columnOf(candidates[i]);
+            position.play(col);
+            final int score = -negamax(position, -upper, -lower);
+            position.undo(col);
+            if (score >= upper) {
+                table.store(key, TranspositionTable.LOWER, remaining,
+                        score, col);
+                return score;
+            }
+            if (score > lower) {
+                lower = score;
+            }
+        }
+        table.store(key, TranspositionTable.UPPER, remaining, lower, -1);
+        return lower;
+    }
+
+    /**
+     * Beszúr egy lépést a csökkenő érték szerint rendezett listába.
+     * Egyenlő értéknél a korábban beszúrt lépés kerül hátrébb, így
+     * a fordított sorrendű beszúrás a középső oszlopokat teszi előre.
+     *
+     * @param moves  A lépések.
+     * @param values A lépések értékei.
+     * @param count  A lista jelenlegi hossza.
+     * @param move   Az új lépés.
+     * @param value  Az új lépés értéke.
+     * @return A lista új hossza.
+     */
+    private static int insertSorted(final long[] moves,
+                                    final int[] values,
+                                    final int count,
+                                    final long move,
+                                    final int value) {
+        int pos = count;
+        while (pos > 0 && values[pos - 1] <= value) {
+            moves[pos] = moves[pos - 1];
+            values[pos] = values[pos - 1];
+            pos--;
+        }
+        moves[pos] = move;
+        values[pos] = value;
+        return count + 1;
+    }
+
+    /**
+     * Előkészíti a tábla méretétől függő pufferokat.
+     *
+     * @param position A megoldandó állás.
+     */
+    private void prepare(final Position position) {
+        final int cols = position.getCols();
+        final int cells = position.getRows() * cols;
+        if (order.length == cols && moveBuffer.length == cells + 1) {
+            return;
+        }
+        order = SearchEngine.centerOrder(cols);
+        moveBuffer = new long[cells + 1][cols];
+        scoreBuffer = new int[cells + 1][cols];
+    }
+
+    /**
+     * Eltárolja a gyökérértéket az adatbázisban, ha van.
+     *
+     * @param key   Az állás kulcsa.
+     * @param score Az érték.
+     */
+    private void remember(final long key, final int score) {
+        if (database == null) {
+            return;
+        }
+        try {
+            database.put(key, score);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package org.connect4.ai;
+
+import java.util.Arrays;
+
+/**
+ * Növekményes, fenyegetésalapú statikus értékelés.
+ *
+ * <p>Az értékelés a tábla összes négyes ablakán (vízszintes,
+ * függőleges és két átlós) összegzett pontszám. Egy ablak csak akkor
+ * számít, ha egyetlen játékos tokenjei vannak benne: egy token
+ * {@value #ONE_WEIGHT}, kettő {@value #TWO_WEIGHT}, három (nyitott
+ * hármas, azaz fenyegetés) {@value #THREE_WEIGHT} pontot ér. A
+ * fenyegetés {@value #PARITY_BONUS} pont többletet kap, ha az üres
+ * mezője a tulajdonosa számára kedvező paritású sorban van (a kezdőnek
+ * alulról a páratlan, a másodiknak a páros sorokban). Mivel a középső
+ * mezők több ablakhoz tartoznak, a középső tokenek birtoklása külön
+ * tag nélkül is többet ér.</p>
+ *
+ * <p>Lépéskor és visszavonáskor csak az érintett mezőn átmenő ablakok
+ * (legfeljebb 16) pontszáma változik, így az értékelés nem igényel
+ * teljes újraszámolást. Az elrendezés a {@link Position} bitjeivel
+ * egyezik. Egy példányt egyszerre egy szál használhat.</p>
+ */
+public final class ThreatEvaluator {
+    /** Egyetlen tokent tartalmazó ablak értéke. */
+    public static final int ONE_WEIGHT = 1;
+
+    /** Két azonos tokent tartalmazó ablak értéke. */
+    public static final int TWO_WEIGHT = 3;
+
+    /** Három azonos tokent tartalmazó ablak (fenyegetés) értéke. */
+    public static final int THREE_WEIGHT = 9;
+
+    /** A kedvező sorparitású fenyegetés többletértéke. */
+    public static final int PARITY_BONUS = 6;
+
+    /** A győzelemhez szükséges összekötendő tokenek száma. */
+    private static final int CONNECT_LENGTH = 4;
+
+    /** A négy irány (oszlop, sor) lépésközei. */
+    private static final int[][] DIRECTIONS = {
+            {1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** Egy oszlop bitjeinek száma (a sorok és egy őrbit). */
+    private final int columnBits;
+
+    /** A páros indexű (alulról páratlan) sorok mezői. */
+    private final long evenRows;
+
+    /** A tábla összes ablaka. */
+    private final long[] windows;
+
+    /** Mezőnként (bitindex szerint) a rajta átmenő ablakok maszkjai. */
+    private final long[][] cellWindows;
+
+    /** Az oszlopok magassága. */
+    private final int[] heights;
+
+    /** A kezdő játékos tokenjei. */
+    private long first;
+
+    /** A második játékos tokenjei. */
+    private long second;
+
+    /** A táblán lévő tokenek száma. */
+    private int moves;
+
+    /** Az értékelés a kezdő játékos szemszögéből. */
+    private int score;
+
+    /**
+     * Értékelő üres táblához.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @throws IllegalArgumentException ha a tábla nem fér el egy long-ban.
+     */
+    public ThreatEvaluator(final int rowCount, final int colCount) {
+        if (rowCount < 1 || colCount < 1
+                || (rowCount + 1) * colCount > Long.SIZE) {
+            throw new IllegalArgumentException(
+                    "A tábla nem fér el egy bitboardban: "
+                            + rowCount + "x" + colCount);
+        }
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.columnBits = rowCount + 1;
+        this.heights = new int[colCount];
+        this.cellWindows = new long[colCount * columnBits][];
+        long even = 0L;
+        for (int c = 0; c < colCount; c++) {
+            for (int r = 0; r < rowCount; r += 2) {
+                even |= bit(c, r);
+            }
+        }
+        this.evenRows = even;
+        this.windows = buildWindows();
+    }
+
+    /**
+     * Az értékelő állapotát az állásra állítja (teljes újraszámolás).
+     *
+     * @param position Az állás.
+     * @throws IllegalArgumentException ha az állás mérete eltér.
+     */
+    public void reset(final Position position) {
+        if (position.getRows() != rows || position.getCols() != cols) {
+            throw new IllegalArgumentException(
+                    "Az állás mérete eltér az értékelőétől.");
+        }
+        moves = position.getMoveCount();
+        final long toMove = position.getCurrent();
+        final long other = toMove ^ position.getMask();
+        first = (moves & 1) == 0 ? toMove : other;
+        second = (moves & 1) == 0 ? other : toMove;
+        for (int c = 0; c < cols; c++) {
+            heights[c] = position.height(c);
+        }
+        score = 0;
+        for (final long window : windows) {
+            score += windowScore(window);
+        }
+    }
+
+    /**
+     * Token ledobása a lépésen lévő játékos nevében; a
+     * {@link Position#play(int)} párja.
+     *
+     * @param col Egy játszható oszlop.
+     */
+    public void play(final int col) {
+        final int cell = col * columnBits + heights[col]++;
+        final long[] touched = cellWindows[cell];
+        int delta = 0;
+        for (final long window : touched) {
+            delta -= windowScore(window);
+        }
+        if ((moves & 1) == 0) {
+            first |= 1L << cell;
+        } else {
+            second |= 1L << cell;
+        }
+        moves++;
+        for (final long window : touched) {
+            delta += windowScore(window);
+        }
+        score += delta;
+    }
+
+    /**
+     * Az oszlopba utoljára dobott token visszavonása; a
+     * {@link Position#undo(int)} párja.
+     *
+     * @param col Az oszlop, ahová az utolsó lépés történt.
+     */
+    public void undo(final int col) {
+        final int cell = col * columnBits + --heights[col];
+        final long[] touched = cellWindows[cell];
+        int delta = 0;
+        for (final long window : touched) {
+            delta -= windowScore(window);
+        }
+        moves--;
+        first &= ~(1L << cell);
+        second &= ~(1L << cell);
+        for (final long window : touched) {
+            delta += windowScore(window);
+        }
+        score += delta;
+    }
+
+    /**
+     * Az értékelés a lépésen lévő játékos szemszögéből.
+     *
+     * @return A pozitív érték a lépő játékosnak kedvez.
+     */
+    public int score() {
+        return (moves & 1) == 0 ? score : -score;
+    }
+
+    /**
+     * A sorok száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Az oszlopok száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * A táblán lévő tokenek száma.
+     *
+     * @return A lépések száma.
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Egy állás értékelése nulláról, növekményes állapot nélkül.
+     *
+     * @param position Az állás.
+     * @return Az érték a lépésen lévő játékos szemszögéből.
+     */
+    public static int evaluate(final Position position) {
+        final ThreatEvaluator evaluator =
+                new ThreatEvaluator(position.getRows(), position.getCols());
+        evaluator.reset(position);
+        return evaluator.score();
+    }
+
+    /**
+     * Egy ablak pontszáma a kezdő játékos szemszögéből.
+     *
+     * @param window Az ablak mezői.
+     * @return A pontszám.
+     */
+    private int windowScore(final long window) {
+        final long own = first & window;
+        final long other = second & window;
+        if (own != 0 && other != 0) {
+            return 0;
+        }
+        if (own != 0) {
+            return tokenScore(Long.bitCount(own),
+                    window & ~own & evenRows);
+        }
+        if (other != 0) {
+            return -tokenScore(Long.bitCount(other),
+                    window & ~other & ~evenRows);
+        }
+        return 0;
+    }
+
+    /**
+     * Egy csak egy játékos tokenjeit tartalmazó ablak értéke.
+     *
+     * @param count     A tokenek száma az ablakban (1-4).
+     * @param favorable Az ablak üres, a tulajdonosnak kedvező paritású
+     *                  mezői.
+     * @return Az érték.
+     */
+    private static int tokenScore(final int count, final long favorable) {
+        switch (count) {
+            case 1:
+                return ONE_WEIGHT;
+            case 2:
+                return TWO_WEIGHT;
+            default:
+                return favorable != 0
+                        ? THREE_WEIGHT + PARITY_BONUS : THREE_WEIGHT;
+        }
+    }
+
+    /**
+     * Előállítja az összes ablakot, és mezőnként összegyűjti őket.
+     *
+     * @return Az összes ablak.
+     */
+    private long[] buildWindows() {
+        final int[] counts = new int[cellWindows.length];
+        final long[] all = new long[cols * rows * DIRECTIONS.length];
+        int total = 0;
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                for (final int[] direction : DIRECTIONS) {
+                    final long window = window(c, r, direction);
+                    if (window != 0) {
+                        all[total++] = window;
+                    }
+                }
+            }
+        }
+        for (int w = 0; w < total; w++) {
+            for (long cells = all[w]; cells != 0; cells &= cells - 1) {
+                counts[Long.numberOfTrailingZeros(cells)]++;
+            }
+        }
+        for (int i = 0; i < cellWindows.length; i++) {
+            cellWindows[i] = new long[counts[i]];
+            counts[i] = 0;
+        }
+        for (int w = 0; w < total; w++) {
+            for (long cells = all[w]; cells != 0; cells &= cells - 1) {
+                final int i = Long.numberOfTrailingZeros(cells);
+                cellWindows[i][counts[i]++] = all[w];
+            }
+        }
+        return Arrays.copyOf(all, total);
+    }
+
+    /**
+     * Egy mezőből induló ablak.
+     *
+     * @param col       A kezdő oszlop.
+     * @param row       A kezdő sor.
+     * @param direction Az irány lépésközei.
+     * @return Az ablak maszkja, vagy 0 ha kilóg a tábláról.
+     */
+    private long window(final int col, final int row, final int[] direction) {
+        final int endCol = col + (CONNECT_LENGTH - 1) * direction[0];
+        final int endRow = row + (CONNECT_LENGTH - 1) * direction[1];
+        if (endCol >= cols || endRow < 0 || endRow >= rows) {
+            return 0L;
+        }
+        long window = 0L;
+        for (int i = 0; i < CONNECT_LENGTH; i++) {
+            window |= bit(col + i * direction[0], row + i * direction[1]);
+        }
+        return window;
+    }
+
+    /**
+     * Egy mező bitje.
+     *
+     * @param col Az oszlop.
+     * @param row A sor (alulról).
+     * @return A mező bitje.
+     */
+    private long bit(final int col, final int row) {
+        return 1L << (col * columnBits + row);
+    }
+}
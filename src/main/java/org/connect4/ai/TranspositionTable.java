@@ -0,0 +1,267 @@
+package org.connect4.ai;
+
+import java.util.Arrays;
+
+/**
+ * Fix méretű transzpozíciós tábla a kereséshez.
+ * A bejegyzések két primitív {@code long} tömbben élnek (kulcs és
+ * tömörített adat), így a tábla nem hoz létre objektumokat és nem
+ * dobozol. Ütközéskor a mélyebb keresés eredménye marad meg.
+ *
+ * <p>A tábla zárolás nélkül megosztható több kereső szál között: a
+ * kulcstömbben a kulcs és az adat kizáró vagyja áll, így egy félig
+ * felülírt (szakadt) bejegyzés egyszerűen nem egyezik a kulccsal, és
+ * hiánynak számít. A számlálók párhuzamos használatnál közelítőek.</p>
+ *
+ * <p>Egy adatszó felépítése: 0-15. bit az érték (előjeles), 16-23. bit a
+ * mélység, 24-31. bit a legjobb lépés + 1 (0: nincs), 32-33. bit a
+ * korlát típusa, 34. bit az érvényességi jelző.</p>
+ */
+public final class TranspositionTable {
+    /** Pontos érték. */
+    public static final int EXACT = 0;
+
+    /** Alsó korlát (béta-vágás történt). */
+    public static final int LOWER = 1;
+
+    /** Felső korlát (egyik lépés sem érte el az alfát). */
+    public static final int UPPER = 2;
+
+    /** Alapértelmezett táblaméret megabájtban. */
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    /** Bájt egy megabájtban. */
+    private static final long BYTES_PER_MB = 1_048_576L;
+
+    /** Egy bejegyzés mérete bájtban (kulcs és adat). */
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    /** A Fibonacci-hasítás szorzója. */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /** Az érték mezőjének maszkja. */
+    private static final long SCORE_MASK = 0xFFFFL;
+
+    /** Egy bájtnyi mező maszkja. */
+    private static final long BYTE_MASK = 0xFFL;
+
+    /** A korlát mezőjének maszkja. */
+    private static final long BOUND_MASK = 0x3L;
+
+    /** A mélység mező eltolása. */
+    private static final int DEPTH_SHIFT = 16;
+
+    /** A lépés mező eltolása. */
+    private static final int MOVE_SHIFT = 24;
+
+    /** A korlát mező eltolása. */
+    private static final int BOUND_SHIFT = 32;
+
+    /** Az érvényességi jelző. */
+    private static final long VALID = 0x4_0000_0000L;
+
+    /** A tárolt kulcsok, az adattal kizáró vagyolva. */
+    private final long[] keys;
+
+    /** A tárolt tömörített adatok (0: üres hely). */
+    private final long[] entries;
+
+    /** Az index maszkja (a méret kettő hatványa). */
+    private final int indexMask;
+
+    /** A hasítás eltolása. */
+    private final int hashShift;
+
+    /** Sikeres keresések száma. */
+    private long hits;
+
+    /** Sikertelen keresések száma. */
+    private long misses;
+
+    /** Olyan keresések száma, ahol a helyet más állás foglalta. */
+    private long collisions;
+
+    /**
+     * Tábla a megadott memóriamérettel.
+     * A bejegyzések száma a méretbe férő legnagyobb kettő hatvány.
+     *
+     * @param sizeMb A tábla mérete megabájtban.
+     */
+    public TranspositionTable(final int sizeMb) {
+        if (sizeMb <= 0) {
+            throw new IllegalArgumentException(
+                    "A tábla méretének pozitívnak kell lennie: " + sizeMb);
+        }
+        final long wanted = sizeMb * BYTES_PER_MB / ENTRY_BYTES;
+        final int bits = Math.min(Integer.SIZE - 2,
+                Long.SIZE - 1 - Long.numberOfLeadingZeros(wanted));
+        final int size = 1 << bits;
+        this.keys = new long[size];
+        this.entries = new long[size];
+        this.indexMask = size - 1;
+        this.hashShift = Long.SIZE - bits;
+    }
+
+    /**
+     * Kikeresi az állás bejegyzését.
+     *
+     * @param key Az állás kulcsa.
+     * @return A tömörített adat, vagy 0 ha nincs bejegyzés.
+     */
+    public long probe(final long key) {
+        final int index = index(key);
+        final long data = entries[index];
+        if (data != 0 && (keys[index] ^ data) == key) {
+            hits++;
+            return data;
+        }
+        misses++;
+        if (data != 0) {
+            collisions++;
+        }
+        return 0L;
+    }
+
+    /**
+     * Eltárol egy keresési eredményt. Más állás bejegyzését csak akkor
+     * írja felül, ha az új eredmény legalább olyan mély.
+     *
+     * @param key   Az állás kulcsa.
+     * @param bound A korlát típusa ({@link #EXACT}, {@link #LOWER},
+     *              {@link #UPPER}).
+     * @param depth A keresési mélység.
+     * @param score Az érték.
+     * @param move  A legjobb lépés, vagy -1.
+     */
+    public void store(final long key,
+                      final int bound,
+                      final int depth,
+                      final int score,
+                      final int move) {
+        final int index = index(key);
+        final long old = entries[index];
+        if (old != 0 && (keys[index] ^ old) != key && depth(old) > depth) {
+            return; // A mélyebb bejegyzés marad
+        }
+        final long data = pack(bound, depth, score, move);
+        keys[index] = key ^ data;
+        entries[index] = data;
+    }
+
+    /**
+     * Kiüríti a táblát és nullázza a számlálókat.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, 0L);
+        hits = 0L;
+        misses = 0L;
+        collisions = 0L;
+    }
+
+    /**
+     * A bejegyzések száma.
+     *
+     * @return A tábla kapacitása.
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Sikeres keresések száma.
+     *
+     * @return A találatok száma.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Sikertelen keresések száma.
+     *
+     * @return A hiányzó bejegyzések száma.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Olyan keresések száma, ahol a helyet más állás foglalta.
+     *
+     * @return Az ütközések száma.
+     */
+    public long getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * A korlát típusa egy adatszóból.
+     *
+     * @param data A tömörített adat.
+     * @return A korlát típusa.
+     */
+    public static int bound(final long data) {
+        return (int) ((data >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    /**
+     * A keresési mélység egy adatszóból.
+     *
+     * @param data A tömörített adat.
+     * @return A mélység.
+     */
+    public static int depth(final long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    /**
+     * Az érték egy adatszóból.
+     *
+     * @param data A tömörített adat.
+     * @return Az érték.
+     */
+    public static int score(final long data) {
+        return (short) (data & SCORE_MASK);
+    }
+
+    /**
+     * A legjobb lépés egy adatszóból.
+     *
+     * @param data A tömörített adat.
+     * @return Az oszlop, vagy -1 ha nincs.
+     */
+    public static int move(final long data) {
+        return (int) ((data >>> MOVE_SHIFT) & BYTE_MASK) - 1;
+    }
+
+    /**
+     * Egy bejegyzés adatainak tömörítése.
+     *
+     * @param bound A korlát típusa.
+     * @param depth A mélység.
+     * @param score Az érték.
+     * @param move  A lépés, vagy -1.
+     * @return A tömörített adat.
+     */
+    static long pack(final int bound,
+                     final int depth,
+                     final int score,
+                     final int move) {
+        return VALID
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (move + 1) << MOVE_SHIFT)
+                | ((long) depth << DEPTH_SHIFT)
+                | (score & SCORE_MASK);
+    }
+
+    /**
+     * A kulcshoz tartozó index.
+     *
+     * @param key Az állás kulcsa.
+     * @return Az index a tömbökben.
+     */
+    int index(final long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> hashShift) & indexMask;
+    }
+}
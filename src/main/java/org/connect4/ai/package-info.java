@@ -0,0 +1,5 @@
+/**
+ * This package contains the Connect 4 AI, including the bitboard
+ * Position and the alpha-beta SearchEngine.
+ */
+package org.connect4.ai;
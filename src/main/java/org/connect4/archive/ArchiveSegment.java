@@ -0,0 +1,294 @@
+package org.connect4.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntPredicate;
+
+import org.connect4.Board;
+import org.connect4.GameRecord;
+import org.connect4.GameRecordCodec;
+
+/**
+ * Egy lezárt, csak olvasható archívumszegmens, memóriába leképezve.
+ *
+ * <p>A fájl (big-endian): fejléc (varázsszám, verzió, az első játszma
+ * azonosítója), majd játszmánként egy bejegyzés (hossz, a
+ * {@link GameRecordCodec} szerinti kódolt játszma, kimenetel bájt). A
+ * lezáráskor a végére kerül a lábléc: a bejegyzések kezdőpozíciói, a
+ * kimenetelek, a rendezett állásindex és egy rögzített méretű zárórész
+ * (pozíciók, darabszámok, varázsszám). Az állásindex egy eleme a
+ * {@link #key(Board)} felső bitjei és a szegmensen belüli játszmaszám
+ * összefésülve, így egyetlen rendezett long tömbben bináris kereséssel
+ * található meg.</p>
+ */
+final class ArchiveSegment {
+    /** A szegmensfájl varázsszáma ("C4AR"). */
+    static final int MAGIC = 0x43344152;
+
+    /** A lábléc zárórészének varázsszáma ("C4AF"). */
+    static final int FOOTER_MAGIC = 0x43344146;
+
+    /** A formátum verziója. */
+    static final int VERSION = 1;
+
+    /** A fejléc mérete: varázsszám, verzió, első azonosító. */
+    static final int HEADER_BYTES = Integer.BYTES + 1 + Long.BYTES;
+
+    /** A zárórész mérete: két pozíció, két darabszám, varázsszám. */
+    static final int TRAILER_BYTES = 2 * Long.BYTES + 3 * Integer.BYTES;
+
+    /** A játszmaszám bitjei az indexelemben. */
+    static final int GAME_BITS = 20;
+
+    /** A játszmaszám maszkja az indexelemben. */
+    static final long GAME_MASK = (1L << GAME_BITS) - 1;
+
+    /** Az aranymetszésből származó keverőkonstans a méretekhez. */
+    private static final long DIMENSION_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** A méretek összefésülésének szorzója. */
+    private static final int DIMENSION_PRIME = 31;
+
+    /** A bájt bitjeinek maszkja. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** A leképezett fájl. */
+    private final ByteBuffer data;
+
+    /** Az első játszma azonosítója. */
+    private final long firstId;
+
+    /** A játszmák száma. */
+    private final int count;
+
+    /** A kezdőpozíciók táblájának helye. */
+    private final long offsetsAt;
+
+    /** A kimenetelek helye. */
+    private final long outcomesAt;
+
+    /** Az állásindex helye. */
+    private final long indexAt;
+
+    /** Az állásindex elemeinek száma. */
+    private final int indexCount;
+
+    /**
+     * Létrehoz egy szegmenst egy leképezett fájlból.
+     *
+     * @param buffer    A fájl tartalma.
+     * @param first     Az első játszma azonosítója.
+     * @param games     A játszmák száma.
+     * @param offsets   A kezdőpozíciók helye.
+     * @param index     Az állásindex helye.
+     * @param entries   Az állásindex elemeinek száma.
+     */
+    private ArchiveSegment(final ByteBuffer buffer, final long first,
+                           final int games, final long offsets,
+                           final long index, final int entries) {
+        this.data = buffer;
+        this.firstId = first;
+        this.count = games;
+        this.offsetsAt = offsets;
+        this.outcomesAt = offsets + (long) games * Long.BYTES;
+        this.indexAt = index;
+        this.indexCount = entries;
+    }
+
+    /**
+     * Megnyit egy lezárt szegmenst.
+     *
+     * @param file A szegmensfájl.
+     * @return A szegmens.
+     * @throws IOException ha a fájl nem olvasható, hibás, vagy nincs
+     *                     lezárva (lásd {@link #isSealed(Path)}).
+     */
+    static ArchiveSegment open(final Path file) throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Túl nagy szegmens: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        final long first = readHeader(buffer, file);
+        final int size = buffer.limit();
+        if (size < HEADER_BYTES + TRAILER_BYTES
+                || buffer.getInt(size - Integer.BYTES) != FOOTER_MAGIC) {
+            throw new IOException("Lezáratlan szegmens: " + file);
+        }
+        final int trailer = size - TRAILER_BYTES;
+        final long offsets = buffer.getLong(trailer);
+        final int games = buffer.getInt(trailer + Long.BYTES);
+        final long index = buffer.getLong(trailer + Long.BYTES
+                + Integer.BYTES);
+        final int entries = buffer.getInt(trailer + 2 * Long.BYTES
+                + Integer.BYTES);
+        if (games < 0 || entries < 0 || offsets < HEADER_BYTES
+                || index != offsets + (long) games * (Long.BYTES + 1)
+                || index + (long) entries * Long.BYTES != trailer) {
+            throw new IOException("Hibás szegmenslábléc: " + file);
+        }
+        return new ArchiveSegment(buffer, first, games, offsets, index,
+                entries);
+    }
+
+    /**
+     * Megmutatja, hogy a fájl lezárt szegmens-e (van-e épen lábléce).
+     *
+     * @param file A szegmensfájl.
+     * @return True, ha a lábléc zárórésze ép.
+     * @throws IOException ha a fájl nem olvasható.
+     */
+    static boolean isSealed(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                return false;
+            }
+            final ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(magic, size - Integer.BYTES);
+            return magic.getInt(0) == FOOTER_MAGIC;
+        }
+    }
+
+    /**
+     * Ellenőrzi a fejlécet.
+     *
+     * @param buffer A fájl tartalma.
+     * @param file   A fájl (a hibaüzenethez).
+     * @return Az első játszma azonosítója.
+     * @throws IOException ha a fejléc hibás.
+     */
+    static long readHeader(final ByteBuffer buffer, final Path file)
+            throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Érvénytelen archívumszegmens: " + file);
+        }
+        final int version = buffer.get(Integer.BYTES) & BYTE_MASK;
+        if (version != VERSION) {
+            throw new IOException("Nem támogatott szegmensverzió: "
+                    + version);
+        }
+        return buffer.getLong(Integer.BYTES + 1);
+    }
+
+    /**
+     * Egy állás indexkulcsa: a tábla Zobrist-kulcsa a méretekkel
+     * keverve, hogy eltérő méretű táblák állásai ne ütközzenek.
+     *
+     * @param board A tábla.
+     * @return A kulcs.
+     */
+    static long key(final Board board) {
+        final long dimensions = ((long) board.getRows() * DIMENSION_PRIME
+                + board.getCols()) * DIMENSION_PRIME
+                + board.getConnectLength();
+        return board.getHashKey() ^ (dimensions * DIMENSION_GAMMA);
+    }
+
+    /**
+     * Egy indexelem: a kulcs felső bitjei és a játszma sorszáma.
+     *
+     * @param key  Az állás kulcsa.
+     * @param game A játszma sorszáma a szegmensen belül.
+     * @return Az indexelem.
+     */
+    static long entry(final long key, final int game) {
+        return (key & ~GAME_MASK) | game;
+    }
+
+    /**
+     * Az első játszma azonosítója.
+     *
+     * @return Az azonosító.
+     */
+    long getFirstId() {
+        return firstId;
+    }
+
+    /**
+     * A játszmák száma.
+     *
+     * @return A darabszám.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Egy játszma kimenetele.
+     *
+     * @param game A játszma sorszáma a szegmensen belül.
+     * @return A kimenetel.
+     */
+    GameOutcome outcome(final int game) {
+        return GameOutcome.fromCode(
+                data.get((int) (outcomesAt + game)) & BYTE_MASK);
+    }
+
+    /**
+     * Beolvas egy játszmát.
+     *
+     * @param game A játszma sorszáma a szegmensen belül.
+     * @return A játszma.
+     * @throws IOException ha a bejegyzés sérült.
+     */
+    GameRecord record(final int game) throws IOException {
+        final int offset = (int) data.getLong(
+                (int) (offsetsAt + (long) game * Long.BYTES));
+        final int length = data.getInt(offset);
+        return GameRecordCodec.decode(
+                data.slice(offset + Integer.BYTES, length));
+    }
+
+    /**
+     * Végigmegy azokon a játszmákon, amelyek indexében szerepel a
+     * kulcs (a kulcs felső bitjeinek egyezése alapján).
+     *
+     * @param key     Az állás kulcsa.
+     * @param visitor A játszma sorszámát kapja; false esetén leáll.
+     * @return False, ha a látogató leállította a bejárást.
+     */
+    boolean forEach(final long key, final IntPredicate visitor) {
+        final long low = key & ~GAME_MASK;
+        final long high = low | GAME_MASK;
+        int from = 0;
+        int to = indexCount;
+        while (from < to) {
+            final int mid = (from + to) >>> 1;
+            if (indexEntry(mid) < low) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        for (int i = from; i < indexCount; i++) {
+            final long entry = indexEntry(i);
+            if (entry > high) {
+                break;
+            }
+            if (!visitor.test((int) (entry & GAME_MASK))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Az állásindex egy eleme.
+     *
+     * @param i Az elem sorszáma.
+     * @return Az indexelem.
+     */
+    private long indexEntry(final int i) {
+        return data.getLong((int) (indexAt + (long) i * Long.BYTES));
+    }
+}
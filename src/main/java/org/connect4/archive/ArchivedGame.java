@@ -0,0 +1,64 @@
+package org.connect4.archive;
+
+import org.connect4.GameRecord;
+
+/**
+ * Egy archivált játszma: azonosító, lépéssor és kimenetel.
+ */
+public final class ArchivedGame {
+    /** Az archívumon belüli azonosító. */
+    private final long id;
+
+    /** A játszma. */
+    private final GameRecord record;
+
+    /** A kimenetel. */
+    private final GameOutcome outcome;
+
+    /**
+     * Létrehoz egy archivált játszmát.
+     *
+     * @param gameId     Az azonosító.
+     * @param gameRecord A játszma.
+     * @param result     A kimenetel.
+     */
+    ArchivedGame(final long gameId, final GameRecord gameRecord,
+                 final GameOutcome result) {
+        this.id = gameId;
+        this.record = gameRecord;
+        this.outcome = result;
+    }
+
+    /**
+     * Az archívumon belüli azonosító (a hozzáfűzés sorszáma).
+     *
+     * @return Az azonosító.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * A játszma.
+     *
+     * @return A játszma lépéssora és játékosai.
+     */
+    public GameRecord getRecord() {
+        return record;
+    }
+
+    /**
+     * A kimenetel.
+     *
+     * @return A kimenetel.
+     */
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + outcome + " (" + record.getMoveCount()
+                + " lépés)";
+    }
+}
@@ -0,0 +1,530 @@
+package org.connect4.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.connect4.Board;
+import org.connect4.Game;
+import org.connect4.GameListener;
+import org.connect4.GameRecord;
+import org.connect4.GameRecordCodec;
+import org.connect4.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Befejezett játszmák csak hozzáfűzhető archívuma egy könyvtárban.
+ *
+ * <p>A játszmák tömörített lépéssorként szegmensfájlokba kerülnek
+ * ({@code segment-000001.c4a}, ...). Egy szegmens legfeljebb
+ * {@link #MAX_SEGMENT_GAMES} játszmát tart; ha megtelik, lezárul: a
+ * végére kerül a lábléc a bejegyzések helyével és egy rendezett
+ * állásindexszel, amely minden állás kulcsából (a tábla Zobrist-kulcsa
+ * a méretekkel keverve) a rajta átmenő játszmákra mutat. A lezárt
+ * szegmensek memóriába leképezve, bináris kereséssel válaszolnak, így
+ * egy állás keresése szegmensenként néhány tucat memóriaolvasás.</p>
+ *
+ * <p>Megnyitáskor a lezáratlan (pl. összeomlás miatt félbemaradt)
+ * szegmensek ép bejegyzései újraindexelődnek, a csonka vég levágódik.
+ * A metódusok szálbiztosak.</p>
+ */
+public final class GameArchive implements AutoCloseable {
+    /** A szegmensfájlok kiterjesztése. */
+    public static final String EXTENSION = ".c4a";
+
+    /** Egy szegmens legnagyobb játszmaszáma (az indexelem korlátja). */
+    public static final int MAX_SEGMENT_GAMES = 1 << ArchiveSegment.GAME_BITS;
+
+    /** Egy szegmens alapértelmezett játszmaszáma. */
+    public static final int DEFAULT_SEGMENT_GAMES = MAX_SEGMENT_GAMES >> 2;
+
+    /** A szegmensfájlok névelőtagja. */
+    private static final String PREFIX = "segment-";
+
+    /** A szegmensfájlok nevének formátuma. */
+    private static final String NAME_FORMAT = PREFIX + "%06d" + EXTENSION;
+
+    /** A naplózó. */
+    private static final Logger LOG =
+            LoggerFactory.getLogger(GameArchive.class);
+
+    /** Az archívum könyvtára. */
+    private final Path directory;
+
+    /** Egy szegmens játszmaszáma. */
+    private final int segmentGames;
+
+    /** A lezárt szegmensek, azonosító szerint növekvő sorrendben. */
+    private final List<ArchiveSegment> segments = new ArrayList<>();
+
+    /** Az írható szegmens, vagy null. */
+    private SegmentWriter active;
+
+    /** A következő játszma azonosítója. */
+    private long nextId;
+
+    /** A következő szegmensfájl sorszáma. */
+    private int nextSegment = 1;
+
+    /** Az állások kulcsainak munkatömbje. */
+    private long[] keys = new long[0];
+
+    /** Lezárták-e az archívumot. */
+    private boolean closed;
+
+    /**
+     * Létrehoz egy archívumot.
+     *
+     * @param dir   A könyvtár.
+     * @param games Egy szegmens játszmaszáma.
+     */
+    private GameArchive(final Path dir, final int games) {
+        this.directory = dir;
+        this.segmentGames = games;
+    }
+
+    /**
+     * Megnyit (szükség esetén létrehoz) egy archívumot az alapértelmezett
+     * szegmensmérettel.
+     *
+     * @param dir A könyvtár.
+     * @return Az archívum.
+     * @throws IOException ha a könyvtár vagy egy szegmens nem olvasható.
+     */
+    public static GameArchive open(final Path dir) throws IOException {
+        return open(dir, DEFAULT_SEGMENT_GAMES);
+    }
+
+    /**
+     * Megnyit (szükség esetén létrehoz) egy archívumot.
+     *
+     * @param dir   A könyvtár.
+     * @param games Egy szegmens játszmaszáma (1 és
+     *              {@link #MAX_SEGMENT_GAMES} között).
+     * @return Az archívum.
+     * @throws IOException ha a könyvtár vagy egy szegmens nem olvasható.
+     */
+    public static GameArchive open(final Path dir, final int games)
+            throws IOException {
+        if (games < 1 || games > MAX_SEGMENT_GAMES) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen szegmensméret: " + games);
+        }
+        Files.createDirectories(dir);
+        final GameArchive archive = new GameArchive(dir, games);
+        final List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(GameArchive::isSegmentFile).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            archive.load(files.get(i), i == files.size() - 1);
+        }
+        return archive;
+    }
+
+    /**
+     * Hozzáfűz egy befejezett játszmát. Az írás a fájlba azonnal
+     * megtörténik; a lemezre kényszerítést a {@link #flush()} végzi.
+     *
+     * @param record A játszma.
+     * @return A játszma azonosítója.
+     * @throws IOException              ha az írás nem sikerül.
+     * @throws IllegalArgumentException ha a játszma szabálytalan vagy
+     *                                  nem fejeződött be.
+     */
+    public synchronized long append(final GameRecord record)
+            throws IOException {
+        ensureOpen();
+        final Board board = replay(record);
+        final GameOutcome outcome = GameOutcome.of(record, board);
+        if (active == null) {
+            active = new SegmentWriter(directory.resolve(
+                    String.format(NAME_FORMAT, nextSegment)), nextId);
+            nextSegment++;
+        }
+        active.append(record, outcome, keys, record.getMoveCount() + 1);
+        if (active.getCount() == segmentGames) {
+            segments.add(active.seal());
+            active = null;
+        }
+        return nextId++;
+    }
+
+    /**
+     * Beolvas egy archivált játszmát.
+     *
+     * @param id Az azonosító.
+     * @return A játszma.
+     * @throws IOException              ha a bejegyzés sérült.
+     * @throws IllegalArgumentException ha nincs ilyen azonosító.
+     */
+    public synchronized ArchivedGame get(final long id) throws IOException {
+        ensureOpen();
+        if (active != null && id >= active.getFirstId() && id < nextId) {
+            final int game = (int) (id - active.getFirstId());
+            return new ArchivedGame(id, active.record(game),
+                    active.outcome(game));
+        }
+        for (final ArchiveSegment segment : segments) {
+            final long game = id - segment.getFirstId();
+            if (game >= 0 && game < segment.getCount()) {
+                return new ArchivedGame(id, segment.record((int) game),
+                        segment.outcome((int) game));
+            }
+        }
+        throw new IllegalArgumentException("Nincs ilyen játszma: " + id);
+    }
+
+    /**
+     * Az archivált játszmák száma.
+     *
+     * @return A darabszám.
+     */
+    public synchronized long size() {
+        long total = active != null ? active.getCount() : 0;
+        for (final ArchiveSegment segment : segments) {
+            total += segment.getCount();
+        }
+        return total;
+    }
+
+    /**
+     * Megkeresi azokat a játszmákat, amelyek átmentek a tábla
+     * állásán (azonos méret, azonos tokenek, azonos lépésszám). A
+     * jelölteket a lépések visszajátszásával ellenőrzi, így
+     * kulcsütközés nem okozhat téves találatot.
+     *
+     * @param position Az állás.
+     * @param limit    A legtöbb visszaadott játszma.
+     * @return A játszmák azonosító szerinti sorrendben.
+     * @throws IOException ha egy bejegyzés sérült.
+     */
+    public synchronized List<ArchivedGame> find(final Board position,
+                                                final int limit)
+            throws IOException {
+        ensureOpen();
+        final long key = ArchiveSegment.key(position);
+        final char[][] cells = position.getBoard();
+        final List<ArchivedGame> found = new ArrayList<>();
+        if (limit <= 0) {
+            return found;
+        }
+        try {
+            for (final ArchiveSegment segment : segments) {
+                final boolean more = segment.forEach(key, game -> {
+                    final GameRecord record = read(segment, game);
+                    if (reaches(record, position, key, cells)) {
+                        found.add(new ArchivedGame(
+                                segment.getFirstId() + game, record,
+                                segment.outcome(game)));
+                    }
+                    return found.size() < limit;
+                });
+                if (!more) {
+                    return found;
+                }
+            }
+            if (active != null) {
+                active.forEach(key, game -> {
+                    final GameRecord record = read(active, game);
+                    if (reaches(record, position, key, cells)) {
+                        found.add(new ArchivedGame(
+                                active.getFirstId() + game, record,
+                                active.outcome(game)));
+                    }
+                    return found.size() < limit;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return found;
+    }
+
+    /**
+     * Megszámolja kimenetel szerint az álláson átment játszmákat. Csak
+     * az indexet és a kimeneteleket olvassa, a játszmákat nem: a kulcs
+     * felső 44 bitje alapján dönt, így kulcsütközés elvileg (elhanyagolható
+     * eséllyel) téves találatot adhat.
+     *
+     * @param position Az állás.
+     * @return Kimenetelenként a játszmák száma.
+     */
+    public synchronized Map<GameOutcome, Long> countOutcomes(
+            final Board position) {
+        ensureOpen();
+        final long key = ArchiveSegment.key(position);
+        final long[] counts = new long[GameOutcome.values().length];
+        for (final ArchiveSegment segment : segments) {
+            segment.forEach(key, game -> {
+                counts[segment.outcome(game).ordinal()]++;
+                return true;
+            });
+        }
+        if (active != null) {
+            active.forEach(key, game -> {
+                counts[active.outcome(game).ordinal()]++;
+                return true;
+            });
+        }
+        final Map<GameOutcome, Long> result =
+                new EnumMap<>(GameOutcome.class);
+        for (final GameOutcome outcome : GameOutcome.values()) {
+            result.put(outcome, counts[outcome.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * A lemezre kényszeríti az eddig hozzáfűzött játszmákat.
+     *
+     * @throws IOException ha a kényszerítés nem sikerül.
+     */
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        if (active != null) {
+            active.force();
+        }
+    }
+
+    /**
+     * Lezárja az írható szegmenst, és bezárja az archívumot.
+     *
+     * @throws IOException ha a lezárás nem sikerül.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (active != null) {
+            segments.add(active.seal());
+            active = null;
+        }
+    }
+
+    /**
+     * Figyelő, amely minden győzelemmel vagy döntetlennel véget ért
+     * játszmát az archívumba fűz. Írási hiba esetén figyelmeztetést
+     * naplóz, a játékot nem szakítja meg.
+     *
+     * @return A figyelő.
+     */
+    public GameListener recorder() {
+        return new GameListener() {
+            @Override
+            public void onWin(final Game game, final Player winner) {
+                archive(game);
+            }
+
+            @Override
+            public void onDraw(final Game game) {
+                archive(game);
+            }
+        };
+    }
+
+    /**
+     * Archiválja a játék állását.
+     *
+     * @param game A befejezett játék.
+     */
+    private void archive(final Game game) {
+        try {
+            append(GameRecord.of(game.getBoard(), game.getFirstPlayer(),
+                    game.getSecondPlayer()));
+        } catch (IOException | IllegalArgumentException
+                 | IllegalStateException e) {
+            LOG.warn("A játszma archiválása nem sikerült: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Betölt egy szegmensfájlt: a lezártat leképezi, a lezáratlant
+     * helyreállítja (az utolsót írhatóként folytatja, a többit lezárja).
+     *
+     * @param file A szegmensfájl.
+     * @param last Az utolsó szegmens-e.
+     * @throws IOException ha a fájl nem olvasható vagy hibás.
+     */
+    private void load(final Path file, final boolean last)
+            throws IOException {
+        final String name = file.getFileName().toString();
+        nextSegment = Math.max(nextSegment, Integer.parseInt(name.substring(
+                PREFIX.length(), name.length() - EXTENSION.length())) + 1);
+        if (ArchiveSegment.isSealed(file)) {
+            final ArchiveSegment segment = ArchiveSegment.open(file);
+            segments.add(segment);
+            nextId = segment.getFirstId() + segment.getCount();
+            return;
+        }
+        final ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        final long first = ArchiveSegment.readHeader(data, file);
+        final List<GameRecord> records = new ArrayList<>();
+        final List<Integer> offsets = new ArrayList<>();
+        int at = ArchiveSegment.HEADER_BYTES;
+        while (data.limit() - at > Integer.BYTES) {
+            final int length = data.getInt(at);
+            if (length <= 0
+                    || length >= data.limit() - at - Integer.BYTES) {
+                break; // Csonka bejegyzés: itt a szegmens vége
+            }
+            final int end = at + Integer.BYTES + length;
+            if (GameOutcome.fromCode(
+                    Byte.toUnsignedInt(data.get(end))) == null) {
+                break;
+            }
+            try {
+                records.add(GameRecordCodec.decode(
+                        data.slice(at + Integer.BYTES, length)));
+            } catch (IOException e) {
+                break;
+            }
+            offsets.add(at);
+            at = end + 1;
+        }
+        final SegmentWriter writer = new SegmentWriter(file, first, at);
+        for (int i = 0; i < records.size(); i++) {
+            final GameRecord record = records.get(i);
+            final Board board = replay(record);
+            writer.restore(offsets.get(i), GameOutcome.of(record, board),
+                    keys, record.getMoveCount() + 1);
+        }
+        LOG.info("Lezáratlan archívumszegmens helyreállítva: {} ({} játszma)",
+                file, records.size());
+        nextId = first + writer.getCount();
+        if (last && writer.getCount() < segmentGames) {
+            active = writer;
+        } else {
+            segments.add(writer.seal());
+        }
+    }
+
+    /**
+     * Visszajátssza a játszmát, és a {@link #keys} tömbbe gyűjti az
+     * állások kulcsait (a kezdőállással együtt).
+     *
+     * @param record A játszma.
+     * @return A végállás.
+     * @throws IllegalArgumentException ha egy lépés szabálytalan.
+     */
+    private Board replay(final GameRecord record) {
+        final Board board = new Board(record.getRows(), record.getCols(),
+                record.getConnectLength());
+        final int[] moves = record.getMoves();
+        if (keys.length < moves.length + 1) {
+            keys = new long[moves.length + 1];
+        }
+        keys[0] = ArchiveSegment.key(board);
+        for (int i = 0; i < moves.length; i++) {
+            final Player player = (i & 1) == 0
+                    ? record.getFirstPlayer() : record.getSecondPlayer();
+            if (!board.makeMove(moves[i], player.getToken())) {
+                throw new IllegalArgumentException(
+                        "Szabálytalan lépés a játszmában: " + moves[i]);
+            }
+            keys[i + 1] = ArchiveSegment.key(board);
+        }
+        return board;
+    }
+
+    /**
+     * Megmutatja, hogy a játszma átment-e az álláson.
+     *
+     * @param record   A játszma.
+     * @param position Az állás.
+     * @param key      Az állás kulcsa.
+     * @param cells    Az állás mezői.
+     * @return True, ha a játszma azonos lépésszámnál pontosan ezt az
+     *         állást érte el.
+     */
+    private static boolean reaches(final GameRecord record,
+                                   final Board position, final long key,
+                                   final char[][] cells) {
+        final int ply = position.getMoveCount();
+        if (record.getRows() != position.getRows()
+                || record.getCols() != position.getCols()
+                || record.getConnectLength() != position.getConnectLength()
+                || record.getMoveCount() < ply) {
+            return false;
+        }
+        final Board board = new Board(record.getRows(), record.getCols(),
+                record.getConnectLength());
+        final int[] moves = record.getMoves();
+        for (int i = 0; i < ply; i++) {
+            final Player player = (i & 1) == 0
+                    ? record.getFirstPlayer() : record.getSecondPlayer();
+            board.makeMove(moves[i], player.getToken());
+        }
+        return ArchiveSegment.key(board) == key
+                && Arrays.deepEquals(board.getBoard(), cells);
+    }
+
+    /**
+     * Beolvas egy játszmát egy lezárt szegmensből.
+     *
+     * @param segment A szegmens.
+     * @param game    A játszma sorszáma.
+     * @return A játszma.
+     * @throws UncheckedIOException ha a bejegyzés sérült.
+     */
+    private static GameRecord read(final ArchiveSegment segment,
+                                   final int game) {
+        try {
+            return segment.record(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Visszaolvas egy játszmát az írható szegmensből.
+     *
+     * @param writer  A szegmens.
+     * @param game    A játszma sorszáma.
+     * @return A játszma.
+     * @throws UncheckedIOException ha az olvasás nem sikerül.
+     */
+    private static GameRecord read(final SegmentWriter writer,
+                                   final int game) {
+        try {
+            return writer.record(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Megmutatja, hogy a fájl szegmensfájl-e.
+     *
+     * @param file A fájl.
+     * @return True, ha a neve szegmensfájlra utal.
+     */
+    private static boolean isSegmentFile(final Path file) {
+        final String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(EXTENSION)
+                && name.length() == String.format(NAME_FORMAT, 0).length();
+    }
+
+    /**
+     * Ellenőrzi, hogy az archívum nyitva van-e.
+     *
+     * @throws IllegalStateException ha az archívumot lezárták.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Az archívum le van zárva.");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.connect4.archive;
+
+import org.connect4.Board;
+import org.connect4.GameRecord;
+
+/**
+ * Egy befejezett játszma kimenetele.
+ */
+public enum GameOutcome {
+    /** A kezdő játékos nyert. */
+    FIRST_PLAYER_WIN,
+
+    /** A második játékos nyert. */
+    SECOND_PLAYER_WIN,
+
+    /** Döntetlen (tele tábla). */
+    DRAW;
+
+    /** A kimenetelek sorszám szerint. */
+    private static final GameOutcome[] VALUES = values();
+
+    /**
+     * A kimenetel a tárolt kódjából.
+     *
+     * @param code A kód (a sorszám).
+     * @return A kimenetel, vagy null, ha a kód ismeretlen.
+     */
+    static GameOutcome fromCode(final int code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+
+    /**
+     * A lejátszott játszma kimenetele: az utolsó lépés nyert-e, vagy
+     * megtelt-e a tábla.
+     *
+     * @param record A játszma.
+     * @param board  A játszma végállása.
+     * @return A kimenetel.
+     * @throws IllegalArgumentException ha a játszma nem fejeződött be.
+     */
+    static GameOutcome of(final GameRecord record, final Board board) {
+        final int count = record.getMoveCount();
+        if (count > 0) {
+            final int col = record.getMoves()[count - 1];
+            final int row = board.getRows() - board.getHeight(col);
+            if (board.checkWinAt(row, col)) {
+                return (count & 1) == 1 ? FIRST_PLAYER_WIN : SECOND_PLAYER_WIN;
+            }
+        }
+        if (board.isFull()) {
+            return DRAW;
+        }
+        throw new IllegalArgumentException("A játszma nem fejeződött be.");
+    }
+}
@@ -0,0 +1,285 @@
+package org.connect4.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+import org.connect4.GameRecord;
+import org.connect4.GameRecordCodec;
+
+/**
+ * Az archívum írható (még lezáratlan) szegmense. A bejegyzések azonnal
+ * a fájl végére íródnak; a pozíciók, a kimenetelek és az állásindex a
+ * memóriában gyűlnek, és csak a {@link #seal()} írja ki őket
+ * láblécként. Lezárás előtti összeomlás után a bejegyzések a fájlból
+ * helyreállíthatók.
+ */
+final class SegmentWriter {
+    /** A tömbök kezdeti mérete. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** A szegmensfájl. */
+    private final Path path;
+
+    /** A fájl csatornája. */
+    private final FileChannel channel;
+
+    /** Az első játszma azonosítója. */
+    private final long firstId;
+
+    /** A következő bejegyzés helye. */
+    private long position;
+
+    /** A bejegyzések kezdőpozíciói. */
+    private long[] offsets = new long[INITIAL_CAPACITY];
+
+    /** A kimenetelek kódjai. */
+    private byte[] outcomes = new byte[INITIAL_CAPACITY];
+
+    /** A játszmák száma. */
+    private int count;
+
+    /** Az állásindex (rendezetlen). */
+    private long[] index = new long[INITIAL_CAPACITY];
+
+    /** Az állásindex elemeinek száma. */
+    private int indexCount;
+
+    /**
+     * Új, üres szegmensfájlt hoz létre a fejléccel.
+     *
+     * @param file  A szegmensfájl (nem létezhet).
+     * @param first Az első játszma azonosítója.
+     * @throws IOException ha a fájl nem hozható létre.
+     */
+    SegmentWriter(final Path file, final long first) throws IOException {
+        this.path = file;
+        this.firstId = first;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.READ);
+        final ByteBuffer header = ByteBuffer.allocate(
+                ArchiveSegment.HEADER_BYTES);
+        header.putInt(ArchiveSegment.MAGIC)
+                .put((byte) ArchiveSegment.VERSION).putLong(first).flip();
+        writeFully(header);
+    }
+
+    /**
+     * Folytat egy lezáratlan szegmensfájlt: levágja a végéről a csonka
+     * bejegyzést, és a következő bejegyzés a helyére kerül. Az ép
+     * bejegyzéseket a hívó a {@link #restore} hívásokkal indexeli újra.
+     *
+     * @param file  A szegmensfájl.
+     * @param first Az első játszma azonosítója.
+     * @param end   Az utolsó ép bejegyzés vége.
+     * @throws IOException ha a fájl nem nyitható meg.
+     */
+    SegmentWriter(final Path file, final long first, final long end)
+            throws IOException {
+        this.path = file;
+        this.firstId = first;
+        this.channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.READ);
+        channel.truncate(end);
+        this.position = end;
+    }
+
+    /**
+     * Hozzáfűz egy játszmát.
+     *
+     * @param record  A játszma.
+     * @param outcome A kimenetel.
+     * @param keys    A játszma állásainak kulcsai (az első n elem).
+     * @param n       A kulcsok száma.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    void append(final GameRecord record, final GameOutcome outcome,
+                final long[] keys, final int n) throws IOException {
+        final ByteBuffer encoded = GameRecordCodec.encode(record);
+        final ByteBuffer entry = ByteBuffer.allocate(
+                Integer.BYTES + encoded.remaining() + 1);
+        entry.putInt(encoded.remaining()).put(encoded)
+                .put((byte) outcome.ordinal()).flip();
+        final long offset = position;
+        writeFully(entry);
+        restore(offset, outcome, keys, n);
+    }
+
+    /**
+     * Indexel egy, a fájlban már meglévő bejegyzést.
+     *
+     * @param offset  A bejegyzés kezdőpozíciója.
+     * @param outcome A kimenetel.
+     * @param keys    A játszma állásainak kulcsai (az első n elem).
+     * @param n       A kulcsok száma.
+     */
+    void restore(final long offset, final GameOutcome outcome,
+                 final long[] keys, final int n) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            outcomes = Arrays.copyOf(outcomes, count * 2);
+        }
+        offsets[count] = offset;
+        outcomes[count] = (byte) outcome.ordinal();
+        if (indexCount + n > index.length) {
+            index = Arrays.copyOf(index,
+                    Math.max(index.length * 2, indexCount + n));
+        }
+        for (int i = 0; i < n; i++) {
+            index[indexCount++] = ArchiveSegment.entry(keys[i], count);
+        }
+        count++;
+    }
+
+    /**
+     * Az első játszma azonosítója.
+     *
+     * @return Az azonosító.
+     */
+    long getFirstId() {
+        return firstId;
+    }
+
+    /**
+     * A játszmák száma.
+     *
+     * @return A darabszám.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Egy játszma kimenetele.
+     *
+     * @param game A játszma sorszáma a szegmensen belül.
+     * @return A kimenetel.
+     */
+    GameOutcome outcome(final int game) {
+        return GameOutcome.fromCode(outcomes[game]);
+    }
+
+    /**
+     * Visszaolvas egy játszmát a fájlból.
+     *
+     * @param game A játszma sorszáma a szegmensen belül.
+     * @return A játszma.
+     * @throws IOException ha az olvasás nem sikerül.
+     */
+    GameRecord record(final int game) throws IOException {
+        final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(length, offsets[game]);
+        final ByteBuffer encoded = ByteBuffer.allocate(length.getInt(0));
+        readFully(encoded, offsets[game] + Integer.BYTES);
+        return GameRecordCodec.decode(encoded.flip());
+    }
+
+    /**
+     * Végigmegy azokon a játszmákon, amelyek indexében szerepel a kulcs.
+     * A lezáratlan index rendezetlen, ezért lineáris keresés.
+     *
+     * @param key     Az állás kulcsa.
+     * @param visitor A játszma sorszámát kapja; false esetén leáll.
+     * @return False, ha a látogató leállította a bejárást.
+     */
+    boolean forEach(final long key, final IntPredicate visitor) {
+        final long high = key & ~ArchiveSegment.GAME_MASK;
+        for (int i = 0; i < indexCount; i++) {
+            final long entry = index[i];
+            if ((entry & ~ArchiveSegment.GAME_MASK) == high
+                    && !visitor.test((int) (entry
+                    & ArchiveSegment.GAME_MASK))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A lemezre kényszeríti az eddigi bejegyzéseket.
+     *
+     * @throws IOException ha a kényszerítés nem sikerül.
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Kiírja a láblécet (rendezett indexszel), lemezre kényszeríti és
+     * bezárja a fájlt, majd csak olvasható szegmensként nyitja meg.
+     *
+     * @return A lezárt szegmens.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    ArchiveSegment seal() throws IOException {
+        final long[] sorted = Arrays.copyOf(index, indexCount);
+        Arrays.sort(sorted);
+        final long offsetsAt = position;
+        final long indexAt = offsetsAt + (long) count * (Long.BYTES + 1);
+        final ByteBuffer footer = ByteBuffer.allocate(Math.toIntExact(
+                (long) count * (Long.BYTES + 1)
+                        + (long) indexCount * Long.BYTES
+                        + ArchiveSegment.TRAILER_BYTES));
+        for (int i = 0; i < count; i++) {
+            footer.putLong(offsets[i]);
+        }
+        footer.put(outcomes, 0, count);
+        for (final long entry : sorted) {
+            footer.putLong(entry);
+        }
+        footer.putLong(offsetsAt).putInt(count)
+                .putLong(indexAt).putInt(indexCount)
+                .putInt(ArchiveSegment.FOOTER_MAGIC).flip();
+        try {
+            writeFully(footer);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+        return ArchiveSegment.open(path);
+    }
+
+    /**
+     * Lezárás nélkül bezárja a fájlt (a bejegyzések helyreállíthatók).
+     *
+     * @throws IOException ha a bezárás nem sikerül.
+     */
+    void abandon() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Kiír egy puffert a fájl végére.
+     *
+     * @param buffer A kiírandó bájtok.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Teljesen megtölt egy puffert a fájl adott helyéről.
+     *
+     * @param buffer A cél.
+     * @param from   A fájlpozíció.
+     * @throws IOException ha a fájl rövidebb, vagy az olvasás hibás.
+     */
+    private void readFully(final ByteBuffer buffer, final long from)
+            throws IOException {
+        long at = from;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, at);
+            if (read < 0) {
+                throw new IOException("Csonka archívumbejegyzés.");
+            }
+            at += read;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the append-only archive of finished games:
+ * segment files of packed move sequences with a footer index from
+ * position hash to the games that reached that position.
+ */
+package org.connect4.archive;
@@ -0,0 +1,80 @@
+package org.connect4.bulk;
+
+/**
+ * Egy elutasított rekord diagnosztikája: hol van, mi a hiba, és
+ * részletesen mit talált az importáló.
+ */
+public final class ImportDiagnostic {
+    /** A rekord sorszáma a dumpban (0-tól). */
+    private final long index;
+
+    /** A rekord helye (szövegnél sorszám, binárisnál bájteltolás). */
+    private final long location;
+
+    /** A hiba fajtája. */
+    private final PositionError error;
+
+    /** A részletes üzenet. */
+    private final String message;
+
+    /**
+     * Diagnosztika.
+     *
+     * @param recordIndex    A rekord sorszáma.
+     * @param recordLocation A rekord helye (sor vagy bájteltolás).
+     * @param kind           A hiba fajtája.
+     * @param detail         A részletes üzenet.
+     */
+    public ImportDiagnostic(final long recordIndex,
+                            final long recordLocation,
+                            final PositionError kind,
+                            final String detail) {
+        this.index = recordIndex;
+        this.location = recordLocation;
+        this.error = kind;
+        this.message = detail;
+    }
+
+    /**
+     * A rekord sorszáma a dumpban.
+     *
+     * @return A sorszám (0-tól).
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * A rekord helye: szöveges dumpnál a tábla első sorának száma
+     * (1-től), binárisnál a rekord bájteltolása.
+     *
+     * @return A hely.
+     */
+    public long getLocation() {
+        return location;
+    }
+
+    /**
+     * A hiba fajtája.
+     *
+     * @return A hibafajta.
+     */
+    public PositionError getError() {
+        return error;
+    }
+
+    /**
+     * A részletes üzenet.
+     *
+     * @return Az üzenet.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + index + " @" + location + " "
+                + error.getDescription() + ": " + message;
+    }
+}
@@ -0,0 +1,26 @@
+package org.connect4.bulk;
+
+/**
+ * Az importálás eredményeinek fogadója. A metódusok az importálást
+ * indító szálon, a dump sorrendjében hívódnak; az alapértelmezett
+ * megvalósítások nem csinálnak semmit.
+ */
+public interface ImportListener {
+    /**
+     * Egy érvényes állás.
+     *
+     * @param index A rekord sorszáma (0-tól).
+     * @param key   Az állás tömör kulcsa a lépő játékos szemszögéből
+     *              ({@link org.connect4.ai.Position#key()}).
+     */
+    default void onPosition(final long index, final long key) {
+    }
+
+    /**
+     * Egy elutasított rekord.
+     *
+     * @param diagnostic A hiba leírása.
+     */
+    default void onError(final ImportDiagnostic diagnostic) {
+    }
+}
@@ -0,0 +1,112 @@
+package org.connect4.bulk;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Egy importálás összesítése.
+ */
+public final class ImportSummary {
+    /** Nanoszekundum egy másodpercben. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** Bájt egy megabájtban. */
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    /** Az elfogadott állások száma. */
+    private final long accepted;
+
+    /** Hibafajtánként az elutasított rekordok száma. */
+    private final Map<PositionError, Long> errors;
+
+    /** A beolvasott bájtok száma. */
+    private final long bytes;
+
+    /** Az importálás ideje nanoszekundumban. */
+    private final long elapsedNanos;
+
+    /**
+     * Összesítés.
+     *
+     * @param acceptedCount Az elfogadott állások száma.
+     * @param errorCounts   Hibafajtánként az elutasított rekordok.
+     * @param byteCount     A beolvasott bájtok száma.
+     * @param nanos         Az importálás ideje.
+     */
+    ImportSummary(final long acceptedCount,
+                  final Map<PositionError, Long> errorCounts,
+                  final long byteCount, final long nanos) {
+        this.accepted = acceptedCount;
+        this.errors = Collections.unmodifiableMap(
+                new EnumMap<>(errorCounts));
+        this.bytes = byteCount;
+        this.elapsedNanos = nanos;
+    }
+
+    /**
+     * Az elfogadott állások száma.
+     *
+     * @return Az állások száma.
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Az elutasított rekordok száma.
+     *
+     * @return A rekordok száma.
+     */
+    public long getRejected() {
+        long total = 0L;
+        for (final long count : errors.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Hibafajtánként az elutasított rekordok száma (csak az előfordult
+     * fajták).
+     *
+     * @return Módosíthatatlan nézet.
+     */
+    public Map<PositionError, Long> getErrors() {
+        return errors;
+    }
+
+    /**
+     * A beolvasott bájtok száma.
+     *
+     * @return A bájtok száma.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Az importálás ideje.
+     *
+     * @return Az idő nanoszekundumban.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Az átviteli sebesség.
+     *
+     * @return Megabájt másodpercenként.
+     */
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0L ? 0.0
+                : bytes / BYTES_PER_MB / (elapsedNanos / NANOS_PER_SECOND);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d elfogadott, %d elutasított %s, %.1f MB/s",
+                accepted, getRejected(), errors, getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,116 @@
+package org.connect4.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bináris állásdump írása.
+ *
+ * <p>A formátum egy 7 bájtos fejléc (varázsszám "C4PB", verzió, sorok
+ * és oszlopok száma), majd állásonként egy 16 bájtos rekord: a kezdő
+ * ('X') és a második ('O') játékos tokenjei egy-egy big-endian
+ * long-ban, a {@link org.connect4.ai.Position} bitelrendezésében. A
+ * rekordokat a {@link PositionImporter} ellenőrzi, a fájl írásakor
+ * nincs ellenőrzés.</p>
+ */
+public final class PositionDumpWriter implements AutoCloseable {
+    /** A dump varázsszáma ("C4PB"). */
+    static final int MAGIC = 0x43345042;
+
+    /** A formátum verziója. */
+    static final int VERSION = 1;
+
+    /** A fejléc mérete bájtban. */
+    static final int HEADER_BYTES = Integer.BYTES + 1 + 1 + 1;
+
+    /** Egy rekord mérete bájtban. */
+    static final int RECORD_BYTES = 2 * Long.BYTES;
+
+    /** Az írási puffer mérete bájtban. */
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    /** A célfájl csatornája. */
+    private final FileChannel channel;
+
+    /** Az írási puffer. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /**
+     * Író egy megnyitott csatornához.
+     *
+     * @param target A célfájl csatornája.
+     */
+    private PositionDumpWriter(final FileChannel target) {
+        this.channel = target;
+    }
+
+    /**
+     * Létrehozza (felülírja) a dumpot, és kiírja a fejlécet.
+     *
+     * @param file A célfájl.
+     * @param rows A sorok száma.
+     * @param cols Az oszlopok száma.
+     * @return Az író.
+     * @throws IOException ha a fájl nem hozható létre.
+     */
+    public static PositionDumpWriter create(final Path file, final int rows,
+                                            final int cols)
+            throws IOException {
+        if (rows < 1 || cols < 1 || (rows + 1) * cols > Long.SIZE) {
+            throw new IllegalArgumentException(
+                    "A tábla nem fér el egy bitboardban: " + rows + "x" + cols);
+        }
+        final PositionDumpWriter writer = new PositionDumpWriter(
+                FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE));
+        writer.buffer.putInt(MAGIC).put((byte) VERSION)
+                .put((byte) rows).put((byte) cols);
+        return writer;
+    }
+
+    /**
+     * Egy állás hozzáfűzése.
+     *
+     * @param first  A kezdő játékos tokenjei.
+     * @param second A második játékos tokenjei.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    public void write(final long first, final long second)
+            throws IOException {
+        if (buffer.remaining() < RECORD_BYTES) {
+            flush();
+        }
+        buffer.putLong(first).putLong(second);
+    }
+
+    /**
+     * Kiírja a puffert, és lezárja a fájlt.
+     *
+     * @throws IOException ha az írás nem sikerül.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * A puffer kiírása a csatornára.
+     *
+     * @throws IOException ha az írás nem sikerül.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
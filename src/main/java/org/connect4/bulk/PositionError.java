@@ -0,0 +1,42 @@
+package org.connect4.bulk;
+
+/**
+ * Egy importált állás hibájának fajtája.
+ */
+public enum PositionError {
+    /** Formai hiba: rossz sorhossz, ismeretlen karakter, csonka rekord. */
+    MALFORMED("formai hiba"),
+
+    /** Ugyanazon a mezőn mindkét játékos tokenje áll (bináris dump). */
+    OVERLAP("átfedő tokenek"),
+
+    /** A gravitáció megsértése: token lebeg egy üres mező fölött. */
+    FLOATING_TOKEN("lebegő token"),
+
+    /** A tokenek száma nem jöhet ki felváltott lépésekből ('X' kezd). */
+    TOKEN_BALANCE("lehetetlen tokenarány"),
+
+    /** Valamelyik játékosnak már van négyes sora. */
+    ALREADY_WON("már eldőlt állás");
+
+    /** A hiba rövid leírása. */
+    private final String description;
+
+    /**
+     * Hibafajta leírással.
+     *
+     * @param text A rövid leírás.
+     */
+    PositionError(final String text) {
+        this.description = text;
+    }
+
+    /**
+     * A hiba rövid leírása.
+     *
+     * @return A leírás.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,807 @@
+package org.connect4.bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.connect4.ai.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Nagy állásdumpok folyamatos (streaming) importálása.
+ *
+ * <p>Két formátumot olvas: a {@link PositionDumpWriter} bináris dumpját
+ * (a varázsszámról ismeri fel), és a szöveges dumpot, amelyben minden
+ * tábla {@code rows} nem üres, {@code cols} hosszú sor a
+ * {@link org.connect4.Board#saveStateToFile(String)} formájában
+ * (felül a legfelső sor, 'X', 'O' és '.'). A táblák közötti üres
+ * sorokat kihagyja; a tábla közepén álló üres sor a táblát csonkaként
+ * zárja le, így a hibás tábla után a beolvasás újra szinkronba kerül.
+ * A fájlt rögzített méretű, memóriába leképezett ablakokban olvassa; a
+ * hívó szál csak a rekordhatárokat keresi meg, a feldolgozást és az
+ * ellenőrzést ({@link PositionValidator}) kötegenként a szálkészlet
+ * végzi. Egyszerre legfeljebb szálanként két köteg van úton, így a
+ * memóriaigény a fájl méretétől független.</p>
+ *
+ * <p>Az eredményeket az {@link ImportListener} a hívó szálon, a dump
+ * sorrendjében kapja: az érvényes állások tömör kulcsát
+ * ({@link Position#key()}, a lépő játékos szemszögéből), a hibás
+ * rekordokra pedig diagnosztikát. Egy példány egyszerre egy importot
+ * futtat.</p>
+ */
+public final class PositionImporter implements AutoCloseable {
+    /** A kezdő játékos karaktere a szöveges dumpban. */
+    public static final char FIRST_TOKEN = 'X';
+
+    /** A második játékos karaktere a szöveges dumpban. */
+    public static final char SECOND_TOKEN = 'O';
+
+    /** Az üres mező karaktere a szöveges dumpban. */
+    public static final char EMPTY = '.';
+
+    /** Az alapértelmezett leképezett ablak mérete bájtban. */
+    static final int DEFAULT_WINDOW_BYTES = 16 * 1024 * 1024;
+
+    /** Egy köteg legfeljebb ennyi rekordot tartalmaz. */
+    private static final int BATCH_RECORDS = 4096;
+
+    /** Szálanként legfeljebb ennyi köteg lehet úton. */
+    private static final int IN_FLIGHT_PER_THREAD = 2;
+
+    /** A parancssorból kiírt diagnosztikák legnagyobb száma. */
+    private static final int MAX_PRINTED_ERRORS = 20;
+
+    /** Minden bájt legalsó bitje. */
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    /** Minden bájt alsó hét bitje. */
+    private static final long SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /** Egy bájt bitjei. */
+    private static final long BYTE_MASK = 0xFFL;
+
+    /** Minden bájt legfelső bitje. */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /** Naplózó. */
+    private static final Logger LOG =
+            LoggerFactory.getLogger(PositionImporter.class);
+
+    /** Az állások ellenőrzője. */
+    private final PositionValidator validator;
+
+    /** A feldolgozó szálak száma. */
+    private final int threads;
+
+    /** A leképezett ablak mérete bájtban. */
+    private final int windowBytes;
+
+    /** A feldolgozó szálkészlet. */
+    private final ExecutorService executor;
+
+    /**
+     * A soron belüli karakterek bájtjainak legfelső bitjei egy
+     * little-endian long-ban, vagy 0, ha egy sor a sorvégjellel nem fér
+     * el 8 bájtban (ekkor nincs gyors út).
+     */
+    private final long lineMask;
+
+    /**
+     * Importáló a megadott táblamérethez.
+     *
+     * @param rows        A sorok száma.
+     * @param cols        Az oszlopok száma.
+     * @param threadCount A feldolgozó szálak száma.
+     */
+    public PositionImporter(final int rows, final int cols,
+                            final int threadCount) {
+        this(rows, cols, threadCount, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Importáló megadott ablakmérettel (a tesztek kis ablakkal
+     * ellenőrzik az ablakhatárokat).
+     *
+     * @param rows        A sorok száma.
+     * @param cols        Az oszlopok száma.
+     * @param threadCount A feldolgozó szálak száma.
+     * @param window      A leképezett ablak mérete bájtban.
+     */
+    PositionImporter(final int rows, final int cols, final int threadCount,
+                     final int window) {
+        if (threadCount < 1 || window < PositionDumpWriter.RECORD_BYTES) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen szálszám vagy ablakméret: "
+                            + threadCount + ", " + window);
+        }
+        this.validator = new PositionValidator(rows, cols);
+        this.threads = threadCount;
+        this.windowBytes = window;
+        this.lineMask = cols < Long.BYTES
+                ? HIGH_BITS & ((1L << (cols * Byte.SIZE)) - 1) : 0L;
+        this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "connect4-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Egy dump importálása; a formátumot a fájl eleje dönti el.
+     *
+     * @param file     A dump.
+     * @param listener Az eredmények fogadója.
+     * @return Az összesítés.
+     * @throws IOException ha a fájl nem olvasható, vagy a bináris
+     *                     fejléc hibás.
+     */
+    public ImportSummary importFile(final Path file,
+                                    final ImportListener listener)
+            throws IOException {
+        final long start = System.nanoTime();
+        try (FileChannel channel =
+                     FileChannel.open(file, StandardOpenOption.READ)) {
+            final Pipeline pipeline = new Pipeline(listener);
+            try {
+                if (isBinary(channel)) {
+                    readBinary(channel, pipeline);
+                } else {
+                    readText(channel, pipeline);
+                }
+                pipeline.drain();
+            } finally {
+                pipeline.cancel();
+            }
+            final ImportSummary summary = new ImportSummary(
+                    pipeline.accepted, pipeline.errors, channel.size(),
+                    System.nanoTime() - start);
+            LOG.debug("Import {}: {}", file, summary);
+            return summary;
+        }
+    }
+
+    /**
+     * Leállítja a feldolgozó szálakat.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Megmutatja, hogy a fájl bináris dump-e.
+     *
+     * @param channel A fájl csatornája.
+     * @return True, ha a fájl a bináris varázsszámmal kezdődik.
+     * @throws IOException ha a fájl nem olvasható.
+     */
+    private static boolean isBinary(final FileChannel channel)
+            throws IOException {
+        if (channel.size() < PositionDumpWriter.HEADER_BYTES) {
+            return false;
+        }
+        final ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        while (magic.hasRemaining()
+                && channel.read(magic, magic.position()) > 0) {
+            continue;
+        }
+        return magic.getInt(0) == PositionDumpWriter.MAGIC;
+    }
+
+    /**
+     * A bináris dump kötegekre bontása.
+     *
+     * @param channel  A fájl csatornája.
+     * @param pipeline A kötegek sora.
+     * @throws IOException ha a fejléc hibás, vagy a fájl nem olvasható.
+     */
+    private void readBinary(final FileChannel channel,
+                            final Pipeline pipeline) throws IOException {
+        final ByteBuffer header =
+                channel.map(FileChannel.MapMode.READ_ONLY, 0L,
+                        PositionDumpWriter.HEADER_BYTES);
+        header.getInt();
+        final int version = Byte.toUnsignedInt(header.get());
+        final int rows = Byte.toUnsignedInt(header.get());
+        final int cols = Byte.toUnsignedInt(header.get());
+        if (version != PositionDumpWriter.VERSION) {
+            throw new IOException("Nem támogatott dumpverzió: " + version);
+        }
+        if (rows != validator.getRows() || cols != validator.getCols()) {
+            throw new IOException("A dump táblamérete " + rows + "x" + cols
+                    + ", az importálóé " + validator.getRows() + "x"
+                    + validator.getCols());
+        }
+        final long size = channel.size();
+        final long records = (size - PositionDumpWriter.HEADER_BYTES)
+                / PositionDumpWriter.RECORD_BYTES;
+        final long windowRecords =
+                windowBytes / PositionDumpWriter.RECORD_BYTES;
+        long index = 0L;
+        while (index < records) {
+            final long offset = PositionDumpWriter.HEADER_BYTES
+                    + index * PositionDumpWriter.RECORD_BYTES;
+            final int count = (int) Math.min(windowRecords, records - index);
+            final ByteBuffer window = channel.map(
+                    FileChannel.MapMode.READ_ONLY, offset,
+                    (long) count * PositionDumpWriter.RECORD_BYTES);
+            for (int done = 0; done < count; done += BATCH_RECORDS) {
+                final int batch = Math.min(BATCH_RECORDS, count - done);
+                final ByteBuffer slice = window.slice(
+                        done * PositionDumpWriter.RECORD_BYTES,
+                        batch * PositionDumpWriter.RECORD_BYTES);
+                final long first = index + done;
+                pipeline.submit(() -> parseBinary(slice, first));
+            }
+            index += count;
+        }
+        final long trailing = size - PositionDumpWriter.HEADER_BYTES
+                - records * PositionDumpWriter.RECORD_BYTES;
+        if (trailing > 0) {
+            final Batch batch = new Batch(records, 1);
+            batch.reject(new ImportDiagnostic(records, size - trailing,
+                    PositionError.MALFORMED,
+                    "csonka rekord: " + trailing + " bájt"));
+            pipeline.submitDone(batch);
+        }
+    }
+
+    /**
+     * Egy bináris köteg feldolgozása.
+     *
+     * @param slice A köteg rekordjai.
+     * @param first Az első rekord sorszáma.
+     * @return A köteg eredménye.
+     */
+    private Batch parseBinary(final ByteBuffer slice, final long first) {
+        final int count = slice.limit() / PositionDumpWriter.RECORD_BYTES;
+        final Batch batch = new Batch(first, count);
+        for (int i = 0; i < count; i++) {
+            final int at = i * PositionDumpWriter.RECORD_BYTES;
+            final long firstBits = slice.getLong(at);
+            final long secondBits = slice.getLong(at + Long.BYTES);
+            final PositionError error =
+                    validator.validate(firstBits, secondBits);
+            if (error == null) {
+                batch.accept(validator.key(firstBits, secondBits));
+            } else {
+                batch.reject(new ImportDiagnostic(first + i,
+                        PositionDumpWriter.HEADER_BYTES + (first + i)
+                                * PositionDumpWriter.RECORD_BYTES,
+                        error, validator.explain(error, firstBits,
+                        secondBits)));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * A szöveges dump kötegekre bontása a táblahatárok mentén. A hívó
+     * szál csak a sorvégeket keresi; egy ablak végén félbemaradt tábla
+     * a következő ablak elejére kerül.
+     *
+     * @param channel  A fájl csatornája.
+     * @param pipeline A kötegek sora.
+     * @throws IOException ha a fájl nem olvasható.
+     */
+    private void readText(final FileChannel channel,
+                          final Pipeline pipeline) throws IOException {
+        final int rows = validator.getRows();
+        final long size = channel.size();
+        long position = 0L;
+        long index = 0L;
+        long line = 1L;
+        long window = windowBytes;
+        while (position < size) {
+            final int length = (int) Math.min(window, size - position);
+            final boolean last = position + length == size;
+            final ByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position, length);
+            int batchStart = 0;
+            long batchIndex = index;
+            long batchLine = line;
+            int boards = 0;
+            int filled = 0;
+            int lineStart = 0;
+            int boardEnd = 0;
+            long boardEndLine = line;
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            final int cols = validator.getCols();
+            for (int i = 0; i < length; i++) {
+                if (i == lineStart && isPlainLine(buffer, i, length)) {
+                    i += cols; // Gyors út: a sorvégjelre ugrik
+                }
+                if (buffer.get(i) != '\n') {
+                    continue;
+                }
+                line++;
+                final boolean blank = isBlank(buffer, lineStart, i);
+                // Üres sor a félbemaradt táblát lezárja (csonka tábla)
+                if ((blank && filled > 0) || (!blank && ++filled == rows)) {
+                    filled = 0;
+                    boards++;
+                    boardEnd = i + 1;
+                    boardEndLine = line;
+                    if (boards == BATCH_RECORDS) {
+                        submitText(pipeline, buffer, batchStart, boardEnd,
+                                batchIndex, batchLine);
+                        batchStart = boardEnd;
+                        batchIndex += boards;
+                        batchLine = line;
+                        boards = 0;
+                    }
+                }
+                lineStart = i + 1;
+            }
+            if (last) {
+                if (batchStart < length) {
+                    submitText(pipeline, buffer, batchStart, length,
+                            batchIndex, batchLine);
+                }
+                return;
+            }
+            if (boardEnd == 0) {
+                // Egyetlen tábla sem fért az ablakba: nagyobb ablak kell
+                window = Math.min(window * 2, Integer.MAX_VALUE);
+                line = batchLine;
+                continue;
+            }
+            if (batchStart < boardEnd) {
+                submitText(pipeline, buffer, batchStart, boardEnd,
+                        batchIndex, batchLine);
+            }
+            position += boardEnd;
+            index = batchIndex + boards;
+            line = boardEndLine;
+            window = windowBytes;
+        }
+    }
+
+    /**
+     * Egy szöveges köteg beküldése.
+     *
+     * @param pipeline  A kötegek sora.
+     * @param buffer    Az ablak.
+     * @param from      A köteg eleje az ablakban.
+     * @param to        A köteg vége az ablakban (kizárólagos).
+     * @param first     Az első tábla sorszáma.
+     * @param firstLine Az első sor száma.
+     * @throws IOException ha egy korábbi köteg hibával zárult.
+     */
+    private void submitText(final Pipeline pipeline, final ByteBuffer buffer,
+                            final int from, final int to, final long first,
+                            final long firstLine) throws IOException {
+        final ByteBuffer slice = buffer.slice(from, to - from);
+        pipeline.submit(() -> parseText(slice, first, firstLine));
+    }
+
+    /**
+     * Egy szöveges köteg feldolgozása.
+     *
+     * @param slice     A köteg bájtjai.
+     * @param first     Az első tábla sorszáma.
+     * @param firstLine Az első sor száma.
+     * @return A köteg eredménye.
+     */
+    private Batch parseText(final ByteBuffer slice, final long first,
+                            final long firstLine) {
+        final int rows = validator.getRows();
+        final int cols = validator.getCols();
+        final int limit = slice.limit();
+        final Batch batch = new Batch(first, BATCH_RECORDS);
+        long line = firstLine;
+        long boardLine = firstLine;
+        long firstBits = 0L;
+        long secondBits = 0L;
+        String problem = null;
+        int row = 0;
+        int start = 0;
+        slice.order(ByteOrder.LITTLE_ENDIAN);
+        while (start < limit) {
+            if (problem == null && isPlainLine(slice, start, limit)) {
+                // Gyors út: a sor nyolc bájtja egyszerre, bitműveletekkel
+                final long word = slice.getLong(start);
+                final long xs = matchBytes(word, FIRST_TOKEN) & lineMask;
+                final long os = matchBytes(word, SECOND_TOKEN) & lineMask;
+                if ((xs | os | (matchBytes(word, EMPTY) & lineMask))
+                        == lineMask) {
+                    if (row == 0) {
+                        boardLine = line;
+                        firstBits = 0L;
+                        secondBits = 0L;
+                    }
+                    final long cells = validator.rowMask(rows - 1 - row);
+                    firstBits |=
+                            Long.expand(Long.compress(xs, lineMask), cells);
+                    secondBits |=
+                            Long.expand(Long.compress(os, lineMask), cells);
+                    if (++row == rows) {
+                        finishBoard(batch, boardLine, firstBits, secondBits,
+                                null);
+                        row = 0;
+                    }
+                    line++;
+                    start += cols + 1;
+                    continue;
+                }
+            }
+            int end = start;
+            while (end < limit && slice.get(end) != '\n') {
+                end++;
+            }
+            final int next = end + 1;
+            if (end > start && slice.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == start && row > 0) {
+                batch.reject(truncated(batch, boardLine, row));
+                row = 0;
+            } else if (end > start) {
+                if (row == 0) {
+                    boardLine = line;
+                    firstBits = 0L;
+                    secondBits = 0L;
+                    problem = null;
+                }
+                if (problem == null) {
+                    if (end - start != cols) {
+                        problem = line + ". sor hossza " + (end - start)
+                                + ", várt " + cols;
+                    } else {
+                        for (int c = 0; c < cols && problem == null; c++) {
+                            final char ch = (char) slice.get(start + c);
+                            final long bit = validator.bit(c, rows - 1 - row);
+                            if (ch == FIRST_TOKEN) {
+                                firstBits |= bit;
+                            } else if (ch == SECOND_TOKEN) {
+                                secondBits |= bit;
+                            } else if (ch != EMPTY) {
+                                problem = "ismeretlen karakter '" + ch
+                                        + "' a(z) " + line + ". sorban";
+                            }
+                        }
+                    }
+                }
+                if (++row == rows) {
+                    finishBoard(batch, boardLine, firstBits, secondBits,
+                            problem);
+                    row = 0;
+                }
+            }
+            line++;
+            start = next;
+        }
+        if (row > 0) {
+            batch.reject(truncated(batch, boardLine, row));
+        }
+        return batch;
+    }
+
+    /**
+     * Egy félbemaradt tábla diagnosztikája.
+     *
+     * @param batch     A köteg.
+     * @param boardLine A tábla első sorának száma.
+     * @param read      A beolvasott sorok száma.
+     * @return A diagnosztika.
+     */
+    private ImportDiagnostic truncated(final Batch batch,
+                                       final long boardLine, final int read) {
+        return new ImportDiagnostic(batch.first + batch.count, boardLine,
+                PositionError.MALFORMED, "csonka tábla: " + read + " sor "
+                + validator.getRows() + " helyett");
+    }
+
+    /**
+     * Egy beolvasott tábla ellenőrzése és rögzítése a kötegben.
+     *
+     * @param batch      A köteg.
+     * @param boardLine  A tábla első sorának száma.
+     * @param firstBits  A kezdő játékos tokenjei.
+     * @param secondBits A második játékos tokenjei.
+     * @param problem    A formai hiba leírása, vagy null.
+     */
+    private void finishBoard(final Batch batch, final long boardLine,
+                             final long firstBits, final long secondBits,
+                             final String problem) {
+        if (problem != null) {
+            batch.reject(new ImportDiagnostic(batch.first + batch.count,
+                    boardLine, PositionError.MALFORMED, problem));
+            return;
+        }
+        final PositionError error = validator.validate(firstBits, secondBits);
+        if (error == null) {
+            batch.accept(validator.key(firstBits, secondBits));
+        } else {
+            batch.reject(new ImportDiagnostic(batch.first + batch.count,
+                    boardLine, error,
+                    validator.explain(error, firstBits, secondBits)));
+        }
+    }
+
+    /**
+     * Megmutatja, hogy a sor a gyors úton dolgozható fel: a sorvégjellel
+     * együtt belefér egy long-ba, az első {@code cols} bájtja között
+     * nincs sorvégjel, utána pedig LF áll.
+     *
+     * @param buffer Az ablak vagy köteg (little-endian).
+     * @param from   A sor eleje.
+     * @param limit  Az olvasható bájtok vége.
+     * @return True, ha a gyors út alkalmazható.
+     */
+    private boolean isPlainLine(final ByteBuffer buffer, final int from,
+                                final int limit) {
+        if (lineMask == 0L || from + Long.BYTES > limit) {
+            return false;
+        }
+        final long word = buffer.getLong(from);
+        final int cols = validator.getCols();
+        return (word >>> (cols * Byte.SIZE) & BYTE_MASK) == '\n'
+                && (matchBytes(word, '\n') & lineMask) == 0;
+    }
+
+    /**
+     * A long azon bájtjai, amelyek egyenlők a megadottal: az egyező
+     * bájtok legfelső bitje 1, minden más bit 0 (hamis találat nélkül).
+     *
+     * @param word A nyolc bájt.
+     * @param b    A keresett bájt.
+     * @return Az egyezések maszkja.
+     */
+    private static long matchBytes(final long word, final char b) {
+        final long v = word ^ (LOW_BITS * b);
+        final long t = (v & SEVEN_BITS) + SEVEN_BITS;
+        return ~(t | v | SEVEN_BITS);
+    }
+
+    /**
+     * Megmutatja, hogy a sor üres-e (a sorvégi CR-t nem számítva).
+     *
+     * @param buffer Az ablak.
+     * @param from   A sor eleje.
+     * @param to     A sorvége jel helye.
+     * @return True, ha a sor üres.
+     */
+    private static boolean isBlank(final ByteBuffer buffer, final int from,
+                                   final int to) {
+        return to == from || (to == from + 1 && buffer.get(from) == '\r');
+    }
+
+    /**
+     * A parancssori belépési pont: egy dump importálása és az
+     * összesítés kiírása; opcionálisan a kulcsokat bináris fájlba írja
+     * (állásonként egy big-endian long).
+     *
+     * @param args A dump és opcionálisan a kulcsfájl.
+     * @throws IOException ha a fájlok nem olvashatók vagy írhatók.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println(
+                    "Használat: PositionImporter <dump> [kulcsfájl]");
+            return;
+        }
+        final OutputStream out = args.length > 1
+                ? Files.newOutputStream(Paths.get(args[1])) : null;
+        try (PositionImporter importer = new PositionImporter(
+                Position.DEFAULT_ROWS, Position.DEFAULT_COLS,
+                Runtime.getRuntime().availableProcessors());
+             DataOutputStream keys = out == null ? null
+                     : new DataOutputStream(new BufferedOutputStream(out))) {
+            final int[] printed = {0};
+            final ImportSummary summary = importer.importFile(
+                    Paths.get(args[0]), new ImportListener() {
+                        @Override
+                        public void onPosition(final long index,
+                                               final long key) {
+                            if (keys != null) {
+                                try {
+                                    keys.writeLong(key);
+                                } catch (IOException e) {
+                                    throw new IllegalStateException(e);
+                                }
+                            }
+                        }
+
+                        @Override
+                        public void onError(final ImportDiagnostic error) {
+                            if (printed[0]++ < MAX_PRINTED_ERRORS) {
+                                System.out.println(error);
+                            }
+                        }
+                    });
+            System.out.println(summary);
+        }
+    }
+
+    /**
+     * Egy feldolgozott köteg: az elfogadott kulcsok és a
+     * diagnosztikák, a rekordok sorrendjében.
+     */
+    private static final class Batch {
+        /** Az első rekord sorszáma. */
+        private final long first;
+
+        /** Az elfogadott állások kulcsai. */
+        private long[] keys;
+
+        /** Az elfogadott állások száma. */
+        private int accepted;
+
+        /** A feldolgozott rekordok száma. */
+        private int count;
+
+        /** Az elutasított rekordok diagnosztikái sorszám szerint. */
+        private final List<ImportDiagnostic> rejected = new ArrayList<>();
+
+        /**
+         * Üres köteg.
+         *
+         * @param firstIndex Az első rekord sorszáma.
+         * @param capacity   A várható rekordszám.
+         */
+        Batch(final long firstIndex, final int capacity) {
+            this.first = firstIndex;
+            this.keys = new long[capacity];
+        }
+
+        /**
+         * Elfogadott rekord.
+         *
+         * @param key Az állás kulcsa.
+         */
+        void accept(final long key) {
+            if (accepted == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[accepted++] = key;
+            count++;
+        }
+
+        /**
+         * Elutasított rekord.
+         *
+         * @param diagnostic A hiba leírása.
+         */
+        void reject(final ImportDiagnostic diagnostic) {
+            rejected.add(diagnostic);
+            count++;
+        }
+
+        /**
+         * Átadja a köteg eredményeit a rekordok sorrendjében.
+         *
+         * @param listener A fogadó.
+         */
+        void dispatch(final ImportListener listener) {
+            int key = 0;
+            int error = 0;
+            for (long index = first; index < first + count; index++) {
+                if (error < rejected.size()
+                        && rejected.get(error).getIndex() == index) {
+                    listener.onError(rejected.get(error++));
+                } else {
+                    listener.onPosition(index, keys[key++]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A kötegek korlátos sora: a beküldött kötegeket a szálkészlet
+     * dolgozza fel, az eredményeket pedig beküldési sorrendben adja át.
+     */
+    private final class Pipeline {
+        /** Az úton lévő kötegek beküldési sorrendben. */
+        private final Deque<Future<Batch>> pending = new ArrayDeque<>();
+
+        /** Az eredmények fogadója. */
+        private final ImportListener listener;
+
+        /** Az eddig elfogadott állások száma. */
+        private long accepted;
+
+        /** Hibafajtánként az eddig elutasított rekordok. */
+        private final Map<PositionError, Long> errors =
+                new EnumMap<>(PositionError.class);
+
+        /**
+         * Új sor.
+         *
+         * @param target Az eredmények fogadója.
+         */
+        Pipeline(final ImportListener target) {
+            this.listener = target;
+        }
+
+        /**
+         * Beküld egy köteget; ha túl sok van úton, előbb a legrégebbit
+         * megvárja és átadja.
+         *
+         * @param work A köteg feldolgozása.
+         * @throws IOException ha egy korábbi köteg hibával zárult.
+         */
+        void submit(final Callable<Batch> work) throws IOException {
+            if (pending.size() >= threads * IN_FLIGHT_PER_THREAD) {
+                deliver(pending.poll());
+            }
+            pending.add(executor.submit(work));
+        }
+
+        /**
+         * Egy már feldolgozott köteg beállítása a sorba.
+         *
+         * @param batch A köteg.
+         */
+        void submitDone(final Batch batch) {
+            pending.add(CompletableFuture.completedFuture(batch));
+        }
+
+        /**
+         * Az összes úton lévő köteg megvárása és átadása.
+         *
+         * @throws IOException ha egy köteg hibával zárult.
+         */
+        void drain() throws IOException {
+            while (!pending.isEmpty()) {
+                deliver(pending.poll());
+            }
+        }
+
+        /**
+         * A még úton lévő kötegek elvetése (hiba után).
+         */
+        void cancel() {
+            for (final Future<Batch> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+
+        /**
+         * Egy köteg megvárása és átadása.
+         *
+         * @param future A köteg.
+         * @throws IOException ha a köteg feldolgozása hibával zárult.
+         */
+        private void deliver(final Future<Batch> future) throws IOException {
+            final Batch batch;
+            try {
+                batch = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Az importálás megszakadt.", e);
+            } catch (ExecutionException e) {
+                throw new IOException(
+                        "Hiba az importálás közben: " + e.getCause(), e);
+            }
+            accepted += batch.accepted;
+            for (final ImportDiagnostic diagnostic : batch.rejected) {
+                errors.merge(diagnostic.getError(), 1L, Long::sum);
+            }
+            batch.dispatch(listener);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.connect4.bulk;
+
+import org.connect4.ai.Position;
+
+/**
+ * Egy két bitboarddal (a kezdő 'X' és a második 'O' játékos tokenjei,
+ * a {@link Position} elrendezésében) megadott állás ellenőrzése:
+ * táblán belüli bitek, átfedés, gravitáció, tokenarány és eldőlt
+ * állás. Bitműveletekkel, allokáció nélkül dolgozik; szálbiztos.
+ */
+public final class PositionValidator {
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** Egy oszlop bitjeinek száma (a sorok és egy őrbit). */
+    private final int columnBits;
+
+    /** Az összes oszlop legalsó mezőjének maszkja. */
+    private final long bottomRow;
+
+    /** A tábla mezőinek maszkja. */
+    private final long boardMask;
+
+    /** Üres állás a négyesvizsgálathoz (állapotát nem módosítja). */
+    private final Position geometry;
+
+    /**
+     * Ellenőrző a megadott táblamérethez.
+     *
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @throws IllegalArgumentException ha a tábla nem fér el egy long-ban.
+     */
+    public PositionValidator(final int rowCount, final int colCount) {
+        this.geometry = new Position(rowCount, colCount);
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.columnBits = rowCount + 1;
+        long bottom = 0L;
+        for (int c = 0; c < colCount; c++) {
+            bottom |= 1L << (c * columnBits);
+        }
+        this.bottomRow = bottom;
+        this.boardMask = bottom * ((1L << rowCount) - 1);
+    }
+
+    /**
+     * A sorok száma.
+     *
+     * @return A sorok száma.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Az oszlopok száma.
+     *
+     * @return Az oszlopok száma.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Egy mező bitje.
+     *
+     * @param col Az oszlop.
+     * @param row A sor alulról (0-tól).
+     * @return A mező bitje.
+     */
+    public long bit(final int col, final int row) {
+        return 1L << (col * columnBits + row);
+    }
+
+    /**
+     * Egy sor összes mezőjének maszkja (oszloponként egy bit).
+     *
+     * @param row A sor alulról (0-tól).
+     * @return A sor maszkja.
+     */
+    public long rowMask(final int row) {
+        return bottomRow << row;
+    }
+
+    /**
+     * Az állás első hibája.
+     *
+     * @param first  A kezdő játékos tokenjei.
+     * @param second A második játékos tokenjei.
+     * @return A hiba fajtája, vagy null, ha az állás szabályos.
+     */
+    public PositionError validate(final long first, final long second) {
+        if (((first | second) & ~boardMask) != 0) {
+            return PositionError.MALFORMED;
+        }
+        if ((first & second) != 0) {
+            return PositionError.OVERLAP;
+        }
+        final long mask = first | second;
+        if (((mask + bottomRow) & mask) != 0) {
+            return PositionError.FLOATING_TOKEN;
+        }
+        final int balance = Long.bitCount(first) - Long.bitCount(second);
+        if (balance != 0 && balance != 1) {
+            return PositionError.TOKEN_BALANCE;
+        }
+        if (geometry.hasAlignment(first) || geometry.hasAlignment(second)) {
+            return PositionError.ALREADY_WON;
+        }
+        return null;
+    }
+
+    /**
+     * A hiba részletes, emberi olvasásra szánt leírása.
+     *
+     * @param error  A {@link #validate(long, long)} által adott hiba.
+     * @param first  A kezdő játékos tokenjei.
+     * @param second A második játékos tokenjei.
+     * @return A leírás.
+     */
+    public String explain(final PositionError error,
+                          final long first, final long second) {
+        final long mask = first | second;
+        switch (error) {
+            case MALFORMED:
+                return "táblán kívüli bit: 0x"
+                        + Long.toHexString(mask & ~boardMask);
+            case OVERLAP:
+                return "közös mezők: 0x" + Long.toHexString(first & second);
+            case FLOATING_TOKEN:
+                final long floating = (mask + bottomRow) & mask;
+                return "lebegő token a(z) "
+                        + Long.numberOfTrailingZeros(floating) / columnBits
+                        + ". oszlopban";
+            case TOKEN_BALANCE:
+                return "X: " + Long.bitCount(first)
+                        + ", O: " + Long.bitCount(second);
+            default:
+                return geometry.hasAlignment(first)
+                        ? "az X négyese kész" : "az O négyese kész";
+        }
+    }
+
+    /**
+     * Egy szabályos állás tömör kulcsa a lépő játékos szemszögéből: ha a
+     * tokenek száma egyenlő, az 'X' lép.
+     *
+     * @param first  A kezdő játékos tokenjei.
+     * @param second A második játékos tokenjei.
+     * @return A {@link Position#key()} szerinti kulcs.
+     */
+    public long key(final long first, final long second) {
+        final long own = Long.bitCount(first) == Long.bitCount(second)
+                ? first : second;
+        return own + (first | second);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the bulk position importer: streaming readers
+ * for large text and binary position dumps, parallel legality checks
+ * and compact position keys with per-record diagnostics.
+ */
+package org.connect4.bulk;
@@ -0,0 +1,96 @@
+package org.connect4.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.connect4.ai.SearchResult;
+
+/**
+ * Flight Recorder esemény az AI egy döntéséről. Az esemény időtartama
+ * a döntés ideje; a {@link Operation#AI_MOVE} hisztogramot is táplálja.
+ *
+ * <p>Használat: {@code AiDecisionEvent e = AiDecisionEvent.start();
+ * ...; return e.finish(forrás, oszlop, eredmény);}</p>
+ */
+@Name("org.connect4.AiDecision")
+@Label("AI Decision")
+@Category({"Connect4", "AI"})
+@Description("Az AI egy lépésválasztása")
+public final class AiDecisionEvent extends Event {
+    /** A döntés forrása: nyitókönyv. */
+    public static final String BOOK = "book";
+
+    /** A döntés forrása: keresés. */
+    public static final String SEARCH = "search";
+
+    /** A döntés forrása: az ember lépése alatti háttérkeresés. */
+    public static final String PONDER = "ponder";
+
+    /** A döntés forrása: egylépéses taktikai szabály. */
+    public static final String TACTICAL = "tactical";
+
+    /** A választott oszlop. */
+    @Label("Column")
+    private int column;
+
+    /** A döntés forrása. */
+    @Label("Source")
+    private String source;
+
+    /** A keresés mélysége (csak keresésnél). */
+    @Label("Depth")
+    private int depth;
+
+    /** A bejárt csomópontok (csak keresésnél). */
+    @Label("Nodes")
+    private long nodes;
+
+    /** A lépés értéke (csak keresésnél). */
+    @Label("Score")
+    private int score;
+
+    /** A késleltetésmérés kezdete (nem kerül a felvételbe). */
+    private transient long metricsStart;
+
+    /**
+     * Elindít egy döntésmérést.
+     *
+     * @return Az esemény.
+     */
+    public static AiDecisionEvent start() {
+        final AiDecisionEvent event = new AiDecisionEvent();
+        event.metricsStart = Metrics.start();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Lezárja a mérést, és ha a Flight Recorder rögzíti az eseményt,
+     * kitölti és elküldi.
+     *
+     * @param from   A döntés forrása ({@link #BOOK}, {@link #SEARCH},
+     *               {@link #PONDER}, {@link #TACTICAL}).
+     * @param col    A választott oszlop.
+     * @param result A keresés eredménye, vagy null.
+     * @return A választott oszlop.
+     */
+    public int finish(final String from, final int col,
+                      final SearchResult result) {
+        end();
+        Metrics.stop(Operation.AI_MOVE, metricsStart);
+        if (shouldCommit()) {
+            column = col;
+            source = from;
+            if (result != null) {
+                depth = result.getDepth();
+                nodes = result.getNodes();
+                score = result.getScore();
+            }
+            commit();
+        }
+        return col;
+    }
+}
@@ -0,0 +1,85 @@
+package org.connect4.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder esemény egy játékállapot mentéséről vagy
+ * betöltéséről. Az esemény időtartama a fájlművelet ideje; a
+ * {@link Operation#SAVE} vagy {@link Operation#LOAD} hisztogramot is
+ * táplálja.
+ */
+@Name("org.connect4.FileOperation")
+@Label("Game File Operation")
+@Category({"Connect4", "Persistence"})
+@Description("Egy játékállapot mentése vagy betöltése")
+public final class FileOperationEvent extends Event {
+    /** Szöveges táblafájl. */
+    public static final String TEXT = "text";
+
+    /** Bináris játszmafájl. */
+    public static final String BINARY = "binary";
+
+    /** Lépésnapló. */
+    public static final String JOURNAL = "journal";
+
+    /** A fájl. */
+    @Label("Path")
+    private String path;
+
+    /** A fájl formátuma. */
+    @Label("Format")
+    private String format;
+
+    /** Mentés volt-e (különben betöltés). */
+    @Label("Save")
+    private boolean save;
+
+    /** Sikerült-e a művelet. */
+    @Label("Success")
+    private boolean success;
+
+    /** A mért művelet. */
+    private final transient Operation operation;
+
+    /** A késleltetésmérés kezdete (nem kerül a felvételbe). */
+    private final transient long metricsStart;
+
+    /**
+     * Elindít egy fájlművelet-mérést.
+     *
+     * @param isSave  True mentésnél, false betöltésnél.
+     * @param file    A fájl neve.
+     * @param kind    A formátum ({@link #TEXT}, {@link #BINARY},
+     *                {@link #JOURNAL}).
+     */
+    public FileOperationEvent(final boolean isSave, final String file,
+                              final String kind) {
+        this.save = isSave;
+        this.path = file;
+        this.format = kind;
+        this.operation = isSave ? Operation.SAVE : Operation.LOAD;
+        this.metricsStart = Metrics.start();
+        begin();
+    }
+
+    /**
+     * Lezárja a mérést, és ha a Flight Recorder rögzíti, elküldi az
+     * eseményt.
+     *
+     * @param succeeded Sikerült-e a művelet.
+     * @return A {@code succeeded} érték.
+     */
+    public boolean finish(final boolean succeeded) {
+        end();
+        Metrics.stop(operation, metricsStart);
+        if (shouldCommit()) {
+            success = succeeded;
+            commit();
+        }
+        return succeeded;
+    }
+}
@@ -0,0 +1,173 @@
+package org.connect4.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zárolásmentes, logaritmikus késleltetési hisztogram. Minden kettő
+ * hatvány tartomány négy egyenlő részre oszlik, így a percentilisek
+ * hibája legfeljebb 25%, a tárolás pedig rögzített méretű: a rögzítés
+ * nem foglal memóriát, és több szálból is hívható.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    /** A kettőhatvány-tartományok felosztásának bitjei. */
+    private static final int SUB_BITS = 2;
+
+    /** Egy kettőhatvány-tartomány rekeszeinek száma. */
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /** A legnagyobb kitevő egy nemnegatív long értékben. */
+    private static final int MAX_EXPONENT = Long.SIZE - 2;
+
+    /** A rekeszek száma. */
+    private static final int BUCKETS =
+            (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    /** A medián kvantilise. */
+    private static final double MEDIAN = 0.5;
+
+    /** A 99. percentilis kvantilise. */
+    private static final double P99 = 0.99;
+
+    /** A rekeszek darabszámai. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /** A mérések száma. */
+    private final LongAdder count = new LongAdder();
+
+    /** A mért idők összege. */
+    private final LongAdder total = new LongAdder();
+
+    /** A legnagyobb mért idő. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Rögzít egy mért időt.
+     *
+     * @param nanos Az idő nanoszekundumban (negatív érték 0-nak számít).
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    @Override
+    public long getMeanNanos() {
+        final long n = count.sum();
+        return n == 0 ? 0L : total.sum() / n;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return percentile(MEDIAN);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(P99);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        total.reset();
+        max.set(0L);
+    }
+
+    /**
+     * Egy kvantilis becslése: annak a rekesznek a felső határa, ahol a
+     * halmozott darabszám eléri a kvantilist (de legfeljebb a maximum).
+     *
+     * @param quantile A kvantilis (0 és 1 között).
+     * @return A becsült idő nanoszekundumban (0, ha nincs mérés).
+     */
+    public long percentile(final double quantile) {
+        long seen = 0;
+        long n = 0;
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0L;
+        }
+        final long target = Math.max(1L, (long) Math.ceil(quantile * n));
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Rövid, egysoros összefoglaló.
+     *
+     * @return A darabszám, az átlag, a medián, a 99. percentilis és a
+     *         maximum.
+     */
+    @Override
+    public String toString() {
+        return "count=" + getCount() + " mean=" + getMeanNanos()
+                + "ns p50=" + getP50Nanos() + "ns p99=" + getP99Nanos()
+                + "ns max=" + getMaxNanos() + "ns";
+    }
+
+    /**
+     * Az értéket tartalmazó rekesz indexe.
+     *
+     * @param value A nemnegatív érték.
+     * @return A rekesz indexe.
+     */
+    static int bucketOf(final long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BITS))
+                & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * A rekesz legnagyobb értéke.
+     *
+     * @param bucket A rekesz indexe.
+     * @return A rekeszbe eső legnagyobb érték.
+     */
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_COUNT - 1;
+        final long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,53 @@
+package org.connect4.metrics;
+
+/**
+ * Egy művelet késleltetési statisztikái JMX-en keresztül.
+ */
+public interface LatencyHistogramMXBean {
+    /**
+     * A mért műveletek száma.
+     *
+     * @return A darabszám.
+     */
+    long getCount();
+
+    /**
+     * A mért idők összege.
+     *
+     * @return Az összeg nanoszekundumban.
+     */
+    long getTotalNanos();
+
+    /**
+     * A mért idők átlaga.
+     *
+     * @return Az átlag nanoszekundumban (0, ha nincs mérés).
+     */
+    long getMeanNanos();
+
+    /**
+     * A leghosszabb mért idő.
+     *
+     * @return A maximum nanoszekundumban.
+     */
+    long getMaxNanos();
+
+    /**
+     * A mért idők mediánja (legfeljebb 25%-os hibával).
+     *
+     * @return A medián nanoszekundumban.
+     */
+    long getP50Nanos();
+
+    /**
+     * A mért idők 99. percentilise (legfeljebb 25%-os hibával).
+     *
+     * @return A 99. percentilis nanoszekundumban.
+     */
+    long getP99Nanos();
+
+    /**
+     * Törli az eddigi méréseket.
+     */
+    void reset();
+}
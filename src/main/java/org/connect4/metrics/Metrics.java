@@ -0,0 +1,154 @@
+package org.connect4.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A műveletek késleltetésének mérése. Alapból ki van kapcsolva; a
+ * {@code connect4.metrics=true} rendszertulajdonság vagy a
+ * {@link #setEnabled(boolean)} kapcsolja be. Bekapcsoláskor minden
+ * {@link Operation} hisztogramja megjelenik JMX-en
+ * ({@code org.connect4:type=Metrics,name=<művelet>}).
+ *
+ * <p>Használat: {@code long t = Metrics.start(); ...;
+ * Metrics.stop(Operation.MOVE, t);}. Kikapcsolt állapotban a
+ * {@link #start()} egy mezőolvasás, a {@link #stop(Operation, long)}
+ * egy összehasonlítás: nincs időlekérdezés és foglalás.</p>
+ */
+public final class Metrics {
+    /** A mérést bekapcsoló rendszertulajdonság. */
+    public static final String ENABLED_PROPERTY = "connect4.metrics";
+
+    /** A JMX nevek közös előtagja. */
+    static final String DOMAIN = "org.connect4:type=Metrics,name=";
+
+    /** A naplózó. */
+    private static final Logger LOG = LoggerFactory.getLogger(Metrics.class);
+
+    /** A műveletek hisztogramjai, sorszám szerint. */
+    private static final LatencyHistogram[] HISTOGRAMS =
+            new LatencyHistogram[Operation.values().length];
+
+    /** Be van-e kapcsolva a mérés. */
+    private static volatile boolean enabled;
+
+    /** Regisztrálva vannak-e a JMX beanek. */
+    private static boolean registered;
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+        setEnabled(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    // Privát konstruktor
+    private Metrics() {
+        throw new UnsupportedOperationException(
+                "A segédosztály példányosítása nem engedélyezett"
+        );
+    }
+
+    /**
+     * Megmutatja, hogy a mérés be van-e kapcsolva.
+     *
+     * @return True, ha a mérések rögzítődnek.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Be- vagy kikapcsolja a mérést. Az első bekapcsoláskor a
+     * hisztogramok regisztrálódnak a platform MBean szerveren.
+     *
+     * @param on True a bekapcsoláshoz.
+     */
+    public static synchronized void setEnabled(final boolean on) {
+        if (on && !registered) {
+            registered = true;
+            register();
+        }
+        enabled = on;
+    }
+
+    /**
+     * Egy mérés kezdete.
+     *
+     * @return A kezdés ideje, vagy 0, ha a mérés ki van kapcsolva.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Egy mérés vége: rögzíti a {@link #start()} óta eltelt időt. Ha a
+     * mérés a kezdéskor ki volt kapcsolva, nem csinál semmit.
+     *
+     * @param operation A mért művelet.
+     * @param startNanos A {@link #start()} visszatérési értéke.
+     */
+    public static void stop(final Operation operation,
+                            final long startNanos) {
+        if (startNanos != 0L) {
+            HISTOGRAMS[operation.ordinal()]
+                    .record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Egy művelet hisztogramja.
+     *
+     * @param operation A művelet.
+     * @return A hisztogram.
+     */
+    public static LatencyHistogram get(final Operation operation) {
+        return HISTOGRAMS[operation.ordinal()];
+    }
+
+    /**
+     * Törli az összes mérést.
+     */
+    public static void reset() {
+        for (final LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Naplózza (INFO szinten) a mért műveletek összefoglalóját,
+     * műveletenként egy sorban. A mérés nélküli műveleteket kihagyja.
+     */
+    public static void logSummary() {
+        for (final Operation operation : Operation.values()) {
+            final LatencyHistogram histogram = get(operation);
+            if (histogram.getCount() > 0) {
+                LOG.info("op={} {}", operation, histogram);
+            }
+        }
+    }
+
+    /**
+     * Regisztrálja a hisztogramokat a platform MBean szerveren.
+     */
+    private static void register() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final Operation operation : Operation.values()) {
+            try {
+                final ObjectName name = new ObjectName(DOMAIN + operation);
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(get(operation), name);
+                }
+            } catch (JMException e) {
+                LOG.warn("A(z) {} mérés JMX regisztrációja nem sikerült: {}",
+                        operation, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.connect4.metrics;
+
+/**
+ * A mért műveletek.
+ */
+public enum Operation {
+    /** Egy korong ledobása a táblára. */
+    MOVE,
+
+    /** Egy győzelemvizsgálat (egy mezőn átmenő vagy teljes táblás). */
+    WIN_CHECK,
+
+    /** Az AI egy döntése (nyitókönyv, keresés vagy taktikai szabály). */
+    AI_MOVE,
+
+    /** Egy játékállapot mentése fájlba. */
+    SAVE,
+
+    /** Egy játékállapot betöltése fájlból. */
+    LOAD,
+
+    /** Egy teljes játszma a {@code Game.run} ciklusban. */
+    GAME
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the optional runtime instrumentation: latency
+ * histograms exposed over JMX, custom Flight Recorder events for AI
+ * decisions and file operations, and log summaries.
+ */
+package org.connect4.metrics;
@@ -0,0 +1,151 @@
+package org.connect4.net;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Egy kliens kapcsolata a szerveren. Az olvasás a kapcsolat saját
+ * (virtuális) szálán történik; az írást bármelyik szál végezheti, ezért
+ * zár védi. {@code synchronized} helyett {@link ReentrantLock}, hogy a
+ * blokkoló írás ne rögzítse a virtuális szálat a hordozószálához.
+ */
+final class Connection {
+    /** A kapcsolat foglalata. */
+    private final Socket socket;
+
+    /** A bemenet. */
+    private final DataInputStream in;
+
+    /** A kimenet. */
+    private final DataOutputStream out;
+
+    /** Az írás zárja. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /** A kliens neve (a belépés után). */
+    private volatile String name = "";
+
+    /** A folyamatban lévő játszma, vagy null. */
+    private volatile Match match;
+
+    /**
+     * Kapcsolat egy elfogadott foglalaton.
+     *
+     * @param clientSocket A foglalat.
+     * @throws IOException ha a folyamok nem nyithatók meg.
+     */
+    Connection(final Socket clientSocket) throws IOException {
+        this.socket = clientSocket;
+        clientSocket.setTcpNoDelay(true);
+        this.in = new DataInputStream(
+                new BufferedInputStream(clientSocket.getInputStream()));
+        this.out = new DataOutputStream(
+                new BufferedOutputStream(clientSocket.getOutputStream()));
+    }
+
+    /**
+     * A bemenet (csak a kapcsolat saját szála olvashatja).
+     *
+     * @return A bemenet.
+     */
+    DataInputStream input() {
+        return in;
+    }
+
+    /**
+     * A kliens neve.
+     *
+     * @return A név.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Beállítja a kliens nevét.
+     *
+     * @param clientName A név.
+     */
+    void setName(final String clientName) {
+        this.name = clientName;
+    }
+
+    /**
+     * A folyamatban lévő játszma.
+     *
+     * @return A játszma, vagy null.
+     */
+    Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Beállítja a folyamatban lévő játszmát.
+     *
+     * @param current A játszma, vagy null.
+     */
+    void setMatch(final Match current) {
+        this.match = current;
+    }
+
+    /**
+     * Elküld egy egybájtos adatú üzenetet. Írási hibánál lezárja a
+     * kapcsolatot; az olvasó szál ezt a bemenet végeként észleli.
+     *
+     * @param type  Az üzenet típusa.
+     * @param value Az adat.
+     */
+    void send(final int type, final int value) {
+        writeLock.lock();
+        try {
+            Protocol.write(out, type, value);
+        } catch (IOException e) {
+            close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Elküldi a kezdési üzenetet.
+     *
+     * @param seat A kliens helye (0: kezd).
+     * @param rows A sorok száma.
+     * @param cols Az oszlopok száma.
+     */
+    void sendStart(final int seat, final int rows, final int cols) {
+        writeLock.lock();
+        try {
+            Protocol.writeStart(out, seat, rows, cols);
+        } catch (IOException e) {
+            close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Megmutatja, hogy a kapcsolat már bontva van-e.
+     *
+     * @return True, ha a foglalat le van zárva.
+     */
+    boolean isClosed() {
+        return socket.isClosed();
+    }
+
+    /**
+     * Lezárja a kapcsolatot.
+     */
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // A foglalat már használhatatlan
+        }
+    }
+}
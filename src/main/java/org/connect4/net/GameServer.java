@@ -0,0 +1,409 @@
+package org.connect4.net;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.connect4.ai.Position;
+import org.connect4.sim.MovePolicy;
+import org.connect4.sim.SelfPlaySimulator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hálózati játékszerver sok egyidejű játszmához.
+ *
+ * <p>Kapcsolatonként egy virtuális szál fut, így több ezer kliens is
+ * elfér néhány hordozószálon, és a kód egyszerű, blokkoló I/O marad.
+ * A {@link Protocol#MODE_MATCH} módban belépő klienseket érkezési
+ * sorrendben párosítja (az első kezd), a {@link Protocol#MODE_AI}
+ * módúak azonnal a szerver AI-ja ellen játszanak.</p>
+ */
+public final class GameServer implements AutoCloseable {
+    /** A szerver naplója. */
+    private static final Logger LOG = LoggerFactory.getLogger(GameServer.class);
+
+    /** Az alapértelmezett port. */
+    public static final int DEFAULT_PORT = 4444;
+
+    /** A várakozó kapcsolatkérések sorának hossza. */
+    private static final int BACKLOG = 1024;
+
+    /** A játszmánkénti magok lépésköze. */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** Az állapotjelentések közti idő (ms). */
+    private static final long REPORT_MILLIS = 5000L;
+
+    /** Az első sikertelen fogadás utáni várakozás (ms). */
+    private static final long MIN_ACCEPT_BACKOFF_MILLIS = 10L;
+
+    /** A leghosszabb várakozás ismétlődő fogadási hibáknál (ms). */
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000L;
+
+    /** A kért port (0: szabad port). */
+    private final int requestedPort;
+
+    /** A tábla sorainak száma. */
+    private final int rows;
+
+    /** A tábla oszlopainak száma. */
+    private final int cols;
+
+    /** Az AI stratégiájának gyártója. */
+    private final Supplier<? extends MovePolicy> aiPolicy;
+
+    /** A következő játszma magja. */
+    private final AtomicLong nextSeed;
+
+    /** A megtett lépések száma. */
+    private final AtomicLong moves = new AtomicLong();
+
+    /** A befejezett játszmák száma. */
+    private final AtomicLong finished = new AtomicLong();
+
+    /** Az elindított játszmák száma. */
+    private final AtomicLong started = new AtomicLong();
+
+    /** A nyitott kapcsolatok. */
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    /** A párosítás zárja. */
+    private final ReentrantLock matchmaking = new ReentrantLock();
+
+    /** Ellenfélre váró kliens, vagy null. */
+    private Connection waiting;
+
+    /** A kapcsolatok szálai. */
+    private ExecutorService executor;
+
+    /** A szerver foglalata. */
+    private ServerSocket serverSocket;
+
+    /**
+     * Szerver alapméretű (6x7) táblával.
+     *
+     * @param port   A port (0: szabad port).
+     * @param policy Az AI stratégiájának gyártója (játszmánként egy).
+     * @param seed   Az AI véletlenszámainak magja.
+     */
+    public GameServer(final int port,
+                      final Supplier<? extends MovePolicy> policy,
+                      final long seed) {
+        this(port, Position.DEFAULT_ROWS, Position.DEFAULT_COLS, policy,
+                seed);
+    }
+
+    /**
+     * Szerver megadott táblamérettel.
+     *
+     * @param port     A port (0: szabad port).
+     * @param rowCount A sorok száma.
+     * @param colCount Az oszlopok száma.
+     * @param policy   Az AI stratégiájának gyártója (játszmánként egy).
+     * @param seed     Az AI véletlenszámainak magja.
+     * @throws IllegalArgumentException ha a tábla nem fér el egy
+     *                                  bitboardban.
+     */
+    public GameServer(final int port,
+                      final int rowCount,
+                      final int colCount,
+                      final Supplier<? extends MovePolicy> policy,
+                      final long seed) {
+        new Position(rowCount, colCount); // A méret ellenőrzése
+        this.requestedPort = port;
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.aiPolicy = policy;
+        this.nextSeed = new AtomicLong(seed);
+    }
+
+    /**
+     * A szerver belépési pontja.
+     *
+     * @param args A port és az AI stratégiájának neve
+     *             ({@code random} vagy {@code tactical}).
+     * @throws IOException          ha a port nem nyitható meg.
+     * @throws InterruptedException ha a szálat megszakítják.
+     */
+    public static void main(final String[] args)
+            throws IOException, InterruptedException {
+        final int port = args.length > 0
+                ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final Supplier<MovePolicy> policy = SelfPlaySimulator.policy(
+                args.length > 1 ? args[1] : "tactical");
+        try (GameServer server =
+                     new GameServer(port, policy, System.nanoTime())) {
+            server.start();
+            System.out.println("A szerver fut a(z) " + server.getPort()
+                    + " porton.");
+            while (true) {
+                Thread.sleep(REPORT_MILLIS);
+                System.out.printf("%d kapcsolat, %d aktív játszma, "
+                                + "%d befejezett, %d lépés%n",
+                        server.getConnections(), server.getActiveMatches(),
+                        server.getFinishedGames(), server.getMoves());
+            }
+        }
+    }
+
+    /**
+     * Megnyitja a portot és elkezdi fogadni a klienseket.
+     *
+     * @throws IOException ha a port nem nyitható meg.
+     * @throws IllegalStateException ha a szerver már fut.
+     */
+    public void start() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("A szerver már fut.");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(requestedPort), BACKLOG);
+        executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("connect4-conn-", 0).factory());
+        executor.execute(this::acceptLoop);
+    }
+
+    /**
+     * A ténylegesen megnyitott port.
+     *
+     * @return A port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * A nyitott kapcsolatok száma.
+     *
+     * @return A kapcsolatok száma.
+     */
+    public int getConnections() {
+        return connections.size();
+    }
+
+    /**
+     * A folyamatban lévő játszmák száma.
+     *
+     * @return Az aktív játszmák száma.
+     */
+    public long getActiveMatches() {
+        return started.get() - finished.get();
+    }
+
+    /**
+     * A befejezett játszmák száma.
+     *
+     * @return A játszmák száma.
+     */
+    public long getFinishedGames() {
+        return finished.get();
+    }
+
+    /**
+     * Az összes játszmában megtett lépések száma.
+     *
+     * @return A lépések száma.
+     */
+    public long getMoves() {
+        return moves.get();
+    }
+
+    /**
+     * Leállítja a szervert és bontja az összes kapcsolatot.
+     *
+     * @throws IOException ha a foglalat nem zárható le.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverSocket == null) {
+            return;
+        }
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Egy lépés feljegyzése a statisztikában.
+     */
+    void recordMove() {
+        moves.incrementAndGet();
+    }
+
+    /**
+     * Egy befejezett játszma feljegyzése a statisztikában.
+     */
+    void recordFinished() {
+        finished.incrementAndGet();
+    }
+
+    /**
+     * Fogadja a klienseket, mindegyiket saját virtuális szálon. Tartós
+     * hibánál (például elfogyott fájlleírók) egyre hosszabban vár, így
+     * nem pörgeti a processzort és nem árasztja el a naplót.
+     */
+    private void acceptLoop() {
+        long backoff = 0L;
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+                backoff = 0L;
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                backoff = Math.min(MAX_ACCEPT_BACKOFF_MILLIS,
+                        Math.max(MIN_ACCEPT_BACKOFF_MILLIS, 2 * backoff));
+                LOG.warn("Hiba a kapcsolat fogadásakor, újra {} ms múlva: {}",
+                        backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Egy kliens kiszolgálása a kapcsolat bontásáig.
+     *
+     * @param socket A kliens foglalata.
+     */
+    private void serve(final Socket socket) {
+        Connection connection = null;
+        try {
+            connection = new Connection(socket);
+            connections.add(connection);
+            final DataInputStream in = connection.input();
+            while (true) {
+                final int type = in.readUnsignedByte();
+                if (type == Protocol.HELLO) {
+                    final int mode = in.readUnsignedByte();
+                    connection.setName(Protocol.readName(in));
+                    join(connection, mode);
+                } else if (type == Protocol.MOVE) {
+                    final int col = in.readUnsignedByte();
+                    final Match match = connection.getMatch();
+                    if (match == null) {
+                        connection.send(Protocol.INVALID,
+                                Protocol.REASON_NOT_YOUR_TURN);
+                    } else {
+                        match.play(connection, col);
+                    }
+                } else {
+                    break; // Ismeretlen üzenet: a kapcsolat bontása
+                }
+            }
+        } catch (EOFException e) {
+            // A kliens bontotta a kapcsolatot
+        } catch (IOException e) {
+            // A kapcsolat megszakadt
+        } finally {
+            if (connection != null) {
+                disconnect(connection);
+            } else {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Játszmába lépteti a klienst: AI ellen azonnal, egyébként párosítja.
+     * Egy már játszó kliens új belépését figyelmen kívül hagyja.
+     *
+     * @param connection A kliens.
+     * @param mode       A kért mód.
+     */
+    private void join(final Connection connection, final int mode) {
+        if (connection.getMatch() != null) {
+            connection.send(Protocol.INVALID, Protocol.REASON_NOT_YOUR_TURN);
+            return;
+        }
+        if (mode == Protocol.MODE_AI) {
+            startMatch(connection, null);
+            return;
+        }
+        final Connection opponent;
+        matchmaking.lock();
+        try {
+            if (waiting == null || waiting == connection) {
+                waiting = connection;
+                return;
+            }
+            opponent = waiting;
+            waiting = null;
+        } finally {
+            matchmaking.unlock();
+        }
+        startMatch(opponent, connection);
+    }
+
+    /**
+     * Elindít egy játszmát.
+     *
+     * @param first  A kezdő kliens.
+     * @param second A második kliens, vagy null (AI).
+     */
+    private void startMatch(final Connection first,
+                            final Connection second) {
+        final long seed = nextSeed.getAndAdd(SEED_GAMMA);
+        final Match match = new Match(this, first, second,
+                new Position(rows, cols),
+                second == null ? aiPolicy.get() : null,
+                second == null ? new SplittableRandom(seed) : null);
+        started.incrementAndGet();
+        match.start();
+    }
+
+    /**
+     * Bontja a kapcsolatot: kilépteti a játszmából és a várakozók közül.
+     *
+     * @param connection A kliens.
+     */
+    private void disconnect(final Connection connection) {
+        matchmaking.lock();
+        try {
+            if (waiting == connection) {
+                waiting = null;
+            }
+        } finally {
+            matchmaking.unlock();
+        }
+        final Match match = connection.getMatch();
+        if (match != null) {
+            match.leave(connection);
+        }
+        connections.remove(connection);
+        connection.close();
+    }
+
+    /**
+     * Csendben lezár egy foglalatot.
+     *
+     * @param socket A foglalat.
+     */
+    private static void closeQuietly(final Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // A foglalat már használhatatlan
+        }
+    }
+}
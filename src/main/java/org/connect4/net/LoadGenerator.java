@@ -0,0 +1,312 @@
+package org.connect4.net;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.connect4.ai.Position;
+import org.connect4.sim.MovePolicy;
+import org.connect4.sim.RandomPolicy;
+import org.connect4.sim.TacticalPolicy;
+
+/**
+ * Terhelésgeneráló kliens a {@link GameServer}-hez.
+ *
+ * <p>Sok egyidejű klienst indít (mindegyiket saját virtuális szálon),
+ * amelyek véletlen lépésekkel, egymás után játszanak a szerver AI-ja
+ * ellen. Minden lépésnél a küldéstől a szerver első válaszáig eltelt
+ * időt méri; az eredmény a medián és a 99. percentilis, valamint a
+ * másodpercenkénti (és magonkénti) lépésszám.</p>
+ */
+public final class LoadGenerator {
+    /** Az alapértelmezett kliensszám. */
+    public static final int DEFAULT_CLIENTS = 1000;
+
+    /** A mérés alapértelmezett hossza másodpercben. */
+    private static final long DEFAULT_SECONDS = 10L;
+
+    /** A host argumentum indexe. */
+    private static final int HOST_ARG = 2;
+
+    /** A port argumentum indexe. */
+    private static final int PORT_ARG = 3;
+
+    /** Ezredmásodperc egy másodpercben. */
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    /** Nanoszekundum egy ezredmásodpercben. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** A kliensenkénti magok lépésköze. */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** A mintatömb kezdőmérete. */
+    private static final int INITIAL_SAMPLES = 1024;
+
+    /** A szerver címe. */
+    private final String host;
+
+    /** A szerver portja. */
+    private final int port;
+
+    /** Az egyidejű kliensek száma. */
+    private final int clients;
+
+    /** A véletlen lépések magja. */
+    private final long seed;
+
+    /**
+     * Terhelésgenerátor.
+     *
+     * @param serverHost  A szerver címe.
+     * @param serverPort  A szerver portja.
+     * @param clientCount Az egyidejű kliensek száma.
+     * @param baseSeed    A véletlen lépések magja.
+     */
+    public LoadGenerator(final String serverHost,
+                         final int serverPort,
+                         final int clientCount,
+                         final long baseSeed) {
+        if (clientCount < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy kliens szükséges: " + clientCount);
+        }
+        this.host = serverHost;
+        this.port = serverPort;
+        this.clients = clientCount;
+        this.seed = baseSeed;
+    }
+
+    /**
+     * A terhelésgenerátor belépési pontja. Host és port nélkül egy
+     * helyi szervert indít a visszacsatolt (loopback) címen.
+     *
+     * @param args Kliensszám, másodpercek, és opcionálisan host és port.
+     * @throws IOException          ha a kapcsolódás nem sikerül.
+     * @throws InterruptedException ha a szálat megszakítják.
+     */
+    public static void main(final String[] args)
+            throws IOException, InterruptedException {
+        final int clientCount = args.length > 0
+                ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        final long seconds = args.length > 1
+                ? Long.parseLong(args[1]) : DEFAULT_SECONDS;
+        final long millis = seconds * MILLIS_PER_SECOND;
+        if (args.length > PORT_ARG) {
+            System.out.println(new LoadGenerator(args[HOST_ARG],
+                    Integer.parseInt(args[PORT_ARG]), clientCount, 1L)
+                    .run(millis));
+            return;
+        }
+        try (GameServer server =
+                     new GameServer(0, TacticalPolicy::new, 1L)) {
+            server.start();
+            System.out.println(new LoadGenerator("127.0.0.1",
+                    server.getPort(), clientCount, 1L).run(millis));
+        }
+    }
+
+    /**
+     * Lefuttatja a mérést. A kliensek a határidő után befejezik az
+     * éppen folyó játszmát, majd bontják a kapcsolatot.
+     *
+     * @param durationMillis A mérés hossza (ms).
+     * @return Az eredmény.
+     * @throws IOException          ha egy kliens nem tud kapcsolódni,
+     *                              vagy a szerver hibásan válaszol.
+     * @throws InterruptedException ha a szálat megszakítják.
+     */
+    public LoadReport run(final long durationMillis)
+            throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final long deadline = start + durationMillis * NANOS_PER_MILLI;
+        final List<Future<Samples>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("connect4-load-", 0).factory())) {
+            for (int i = 0; i < clients; i++) {
+                final long clientSeed = seed + i * SEED_GAMMA;
+                futures.add(executor.submit(
+                        () -> playUntil(clientSeed, deadline)));
+            }
+            final Samples total = new Samples();
+            for (Future<Samples> future : futures) {
+                total.addAll(await(future));
+            }
+            return new LoadReport(total.toArray(), total.games,
+                    System.nanoTime() - start,
+                    Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Egy kliens: a határidőig egymás után játszik az AI ellen.
+     *
+     * @param clientSeed A kliens véletlenszámainak magja.
+     * @param deadline   A határidő ({@link System#nanoTime()} szerint).
+     * @return A kliens mérései.
+     * @throws IOException ha a kapcsolat vagy a protokoll hibás.
+     */
+    private Samples playUntil(final long clientSeed, final long deadline)
+            throws IOException {
+        final Samples samples = new Samples();
+        final SplittableRandom random = new SplittableRandom(clientSeed);
+        final MovePolicy policy = new RandomPolicy();
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            final DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(socket.getInputStream()));
+            final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()));
+            while (System.nanoTime() < deadline) {
+                playGame(in, out, policy, random, samples);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Lejátszik egy játszmát a szerver AI-ja ellen.
+     *
+     * @param in      A bemenet.
+     * @param out     A kimenet.
+     * @param policy  A kliens stratégiája.
+     * @param random  A véletlenszám-generátor.
+     * @param samples A mérések gyűjtője.
+     * @throws IOException ha a protokoll hibás.
+     */
+    private static void playGame(final DataInputStream in,
+                                 final DataOutputStream out,
+                                 final MovePolicy policy,
+                                 final SplittableRandom random,
+                                 final Samples samples) throws IOException {
+        Protocol.writeHello(out, Protocol.MODE_AI, "load");
+        expect(in, Protocol.START);
+        in.readUnsignedByte(); // A hely: AI ellen a kliens kezd
+        final Position position =
+                new Position(in.readUnsignedByte(), in.readUnsignedByte());
+        while (true) {
+            final int col = policy.select(position, random);
+            final boolean ends = position.isWinningMove(col)
+                    || position.getMoveCount() + 1
+                    == position.getRows() * position.getCols();
+            position.play(col);
+            final long sent = System.nanoTime();
+            Protocol.write(out, Protocol.MOVE, col);
+            final int type = in.readUnsignedByte();
+            final int value = in.readUnsignedByte();
+            samples.add(System.nanoTime() - sent);
+            if (ends || type == Protocol.END) {
+                if (type != Protocol.END) {
+                    throw new IOException("Hiányzó játszmavég.");
+                }
+                samples.games++;
+                return;
+            }
+            if (type != Protocol.OPPONENT_MOVE) {
+                throw new IOException("Váratlan üzenet: " + type);
+            }
+            final boolean aiEnds = position.isWinningMove(value);
+            position.play(value);
+            if (aiEnds || position.isFull()) {
+                expect(in, Protocol.END);
+                in.readUnsignedByte();
+                samples.games++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Beolvas egy üzenettípust és ellenőrzi.
+     *
+     * @param in       A bemenet.
+     * @param expected A várt típus.
+     * @throws IOException ha más típus érkezett.
+     */
+    private static void expect(final DataInputStream in, final int expected)
+            throws IOException {
+        final int type = in.readUnsignedByte();
+        if (type != expected) {
+            throw new IOException("Váratlan üzenet: " + type);
+        }
+    }
+
+    /**
+     * Megvárja egy kliens eredményét.
+     *
+     * @param future A kliens jövőbeli eredménye.
+     * @return A kliens mérései.
+     * @throws IOException          ha a kliens hibával állt le.
+     * @throws InterruptedException ha a szálat megszakítják.
+     */
+    private static Samples await(final Future<Samples> future)
+            throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Egy kliens hibával állt le: "
+                    + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Egy kliens mérései (csak a kliens szála írja).
+     */
+    private static final class Samples {
+        /** Az oda-vissza idők. */
+        private long[] values = new long[INITIAL_SAMPLES];
+
+        /** A mért lépések száma. */
+        private int size;
+
+        /** A befejezett játszmák száma. */
+        private long games;
+
+        /**
+         * Feljegyez egy mérést.
+         *
+         * @param nanos Az oda-vissza idő.
+         */
+        private void add(final long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        /**
+         * Hozzáadja egy másik kliens méréseit.
+         *
+         * @param other A másik kliens mérései.
+         */
+        private void addAll(final Samples other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values,
+                        Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            games += other.games;
+        }
+
+        /**
+         * A mérések tömbként.
+         *
+         * @return A mérések másolata.
+         */
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.connect4.net;
+
+import java.util.Arrays;
+
+/**
+ * Egy terheléses mérés eredménye: a lépések oda-vissza idejének
+ * eloszlása és az áteresztőképesség.
+ */
+public final class LoadReport {
+    /** Nanoszekundum egy másodpercben. */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Nanoszekundum egy mikroszekundumban. */
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    /** A medián kvantilise. */
+    private static final double MEDIAN = 0.5;
+
+    /** A 99. percentilis kvantilise. */
+    private static final double P99 = 0.99;
+
+    /** A lépések oda-vissza ideje (ns), növekvő sorrendben. */
+    private final long[] latencies;
+
+    /** A befejezett játszmák száma. */
+    private final long games;
+
+    /** A mérés ideje nanoszekundumban. */
+    private final long elapsedNanos;
+
+    /** A processzormagok száma. */
+    private final int cores;
+
+    /**
+     * Létrehoz egy eredményt.
+     *
+     * @param roundTrips Az oda-vissza idők (ns; lemásolódik és rendeződik).
+     * @param gameCount  A befejezett játszmák száma.
+     * @param nanos      A mérés ideje nanoszekundumban.
+     * @param coreCount  A processzormagok száma.
+     */
+    public LoadReport(final long[] roundTrips,
+                      final long gameCount,
+                      final long nanos,
+                      final int coreCount) {
+        this.latencies = roundTrips.clone();
+        Arrays.sort(latencies);
+        this.games = gameCount;
+        this.elapsedNanos = nanos;
+        this.cores = coreCount;
+    }
+
+    /**
+     * A mért lépések száma.
+     *
+     * @return A lépések száma.
+     */
+    public long getMoves() {
+        return latencies.length;
+    }
+
+    /**
+     * A befejezett játszmák száma.
+     *
+     * @return A játszmák száma.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * A mérés ideje.
+     *
+     * @return Az idő nanoszekundumban.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Az oda-vissza idő adott kvantilise.
+     *
+     * @param quantile A kvantilis (0 és 1 között).
+     * @return Az idő nanoszekundumban, mérés nélkül 0.
+     */
+    public long getLatencyNanos(final double quantile) {
+        if (latencies.length == 0) {
+            return 0L;
+        }
+        final int rank = (int) Math.ceil(quantile * latencies.length);
+        return latencies[Math.max(0, Math.min(latencies.length, rank) - 1)];
+    }
+
+    /**
+     * A lépések száma másodpercenként.
+     *
+     * @return Az áteresztőképesség.
+     */
+    public double getMovesPerSecond() {
+        return elapsedNanos == 0
+                ? 0.0 : latencies.length * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * A lépések száma másodpercenként, egy processzormagra vetítve.
+     *
+     * @return Az áteresztőképesség magonként.
+     */
+    public double getMovesPerSecondPerCore() {
+        return getMovesPerSecond() / cores;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d lépés, %d játszma, %.1f s%n"
+                        + "oda-vissza idő: p50 %.1f us, p99 %.1f us%n"
+                        + "%.0f lépés/s, %.0f lépés/s magonként (%d mag)",
+                getMoves(), games, elapsedNanos / NANOS_PER_SECOND,
+                getLatencyNanos(MEDIAN) / NANOS_PER_MICRO,
+                getLatencyNanos(P99) / NANOS_PER_MICRO,
+                getMovesPerSecond(), getMovesPerSecondPerCore(), cores);
+    }
+}
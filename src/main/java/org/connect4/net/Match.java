@@ -0,0 +1,177 @@
+package org.connect4.net;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.connect4.ai.Position;
+import org.connect4.sim.MovePolicy;
+
+/**
+ * Egy szerveren futó játszma két hely között. Egy hely lehet kliens
+ * vagy a szerver AI-ja (null kapcsolat). Az AI a kliens lépésére
+ * ugyanazon a szálon azonnal válaszol. A játszmát egy zár védi, mert
+ * két kliens szála is léptethet benne.
+ */
+final class Match {
+    /** A két hely kapcsolata (null: AI). */
+    private final Connection[] seats = new Connection[2];
+
+    /** Az állás. */
+    private final Position position;
+
+    /** Az AI stratégiája, vagy null. */
+    private final MovePolicy ai;
+
+    /** Az AI véletlenszám-generátora, vagy null. */
+    private final SplittableRandom random;
+
+    /** A szerver (a statisztikákhoz). */
+    private final GameServer server;
+
+    /** A játszma zárja. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Véget ért-e a játszma. */
+    private boolean over;
+
+    /**
+     * Játszma két hely között.
+     *
+     * @param owner       A szerver.
+     * @param first       A kezdő hely kapcsolata (null: AI).
+     * @param second      A második hely kapcsolata (null: AI).
+     * @param start       A kezdőállás (üres).
+     * @param aiPolicy    Az AI stratégiája, ha van AI hely.
+     * @param aiRandom    Az AI véletlenszám-generátora.
+     */
+    Match(final GameServer owner,
+          final Connection first,
+          final Connection second,
+          final Position start,
+          final MovePolicy aiPolicy,
+          final SplittableRandom aiRandom) {
+        this.server = owner;
+        this.seats[0] = first;
+        this.seats[1] = second;
+        this.position = start;
+        this.ai = aiPolicy;
+        this.random = aiRandom;
+    }
+
+    /**
+     * Elindítja a játszmát: értesíti a klienseket, és ha az AI kezd,
+     * megteszi az első lépést.
+     */
+    void start() {
+        lock.lock();
+        try {
+            for (int seat = 0; seat < 2; seat++) {
+                if (seats[seat] != null) {
+                    seats[seat].setMatch(this);
+                    seats[seat].sendStart(seat, position.getRows(),
+                            position.getCols());
+                }
+            }
+            for (int seat = 0; seat < 2; seat++) {
+                if (seats[seat] != null && seats[seat].isClosed()) {
+                    finish(1 - seat); // A párosítás közben kilépett
+                    return;
+                }
+            }
+            if (seats[0] == null) {
+                apply(0, ai.select(position, random));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Egy kliens lépése. Szabálytalan lépésnél vagy ha nem ő lép,
+     * {@link Protocol#INVALID} választ kap.
+     *
+     * @param from A lépő kliens.
+     * @param col  Az oszlop.
+     */
+    void play(final Connection from, final int col) {
+        lock.lock();
+        try {
+            final int seat = position.getMoveCount() & 1;
+            if (over || seats[seat] != from) {
+                from.send(Protocol.INVALID, Protocol.REASON_NOT_YOUR_TURN);
+                return;
+            }
+            if (col < 0 || col >= position.getCols()
+                    || !position.canPlay(col)) {
+                from.send(Protocol.INVALID, Protocol.REASON_ILLEGAL_MOVE);
+                return;
+            }
+            apply(seat, col);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Egy kliens kilépése: ha a játszma még tart, az ellenfele nyer.
+     *
+     * @param who A kilépő kliens.
+     */
+    void leave(final Connection who) {
+        lock.lock();
+        try {
+            who.setMatch(null);
+            if (over) {
+                return;
+            }
+            final int seat = seats[0] == who ? 0 : 1;
+            finish(1 - seat);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Végrehajt egy lépést, értesíti az ellenfelet, és ha az AI
+     * következik, lépteti. A zárat a hívó tartja.
+     *
+     * @param seat A lépő hely.
+     * @param col  Az oszlop (szabályos).
+     */
+    private void apply(final int seat, final int col) {
+        final boolean win = position.isWinningMove(col);
+        position.play(col);
+        server.recordMove();
+        final Connection opponent = seats[1 - seat];
+        if (opponent != null) {
+            opponent.send(Protocol.OPPONENT_MOVE, col);
+        }
+        if (win) {
+            finish(seat);
+        } else if (position.isFull()) {
+            finish(-1);
+        } else if (opponent == null) {
+            apply(1 - seat, ai.select(position, random));
+        }
+    }
+
+    /**
+     * Lezárja a játszmát és elküldi az eredményt. A zárat a hívó tartja.
+     *
+     * @param winner A győztes hely, vagy -1 döntetlennél.
+     */
+    private void finish(final int winner) {
+        over = true;
+        server.recordFinished(); // Az értesítés előtt, hogy a kliens lássa
+        for (int seat = 0; seat < 2; seat++) {
+            final Connection connection = seats[seat];
+            if (connection == null) {
+                continue;
+            }
+            connection.setMatch(null);
+            connection.send(Protocol.END, winner < 0 ? Protocol.RESULT_DRAW
+                    : winner == seat ? Protocol.RESULT_WIN
+                    : Protocol.RESULT_LOSS);
+        }
+    }
+}
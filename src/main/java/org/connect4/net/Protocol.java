@@ -0,0 +1,142 @@
+package org.connect4.net;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A játékszerver bináris protokollja.
+ *
+ * <p>Minden üzenet egy típusbájttal kezdődik, utána rögzített hosszú
+ * adat jön; egy lépés így oda-vissza 2-2 bájt. A kliens üzenetei:
+ * {@link #HELLO} (mód, névhossz, UTF-8 név) és {@link #MOVE} (oszlop).
+ * A szerveréi: {@link #START} (a kliens helye, 0 kezd; sorok, oszlopok),
+ * {@link #OPPONENT_MOVE} (oszlop), {@link #INVALID} (ok) és
+ * {@link #END} (eredmény). Az elfogadott lépésre nincs külön válasz: a
+ * következő üzenet az ellenfél lépése vagy a játszma vége. Egy
+ * {@link #END} után ugyanazon a kapcsolaton új {@link #HELLO} jöhet.</p>
+ */
+public final class Protocol {
+    /** Kliens: belépés egy játszmába. */
+    public static final int HELLO = 0x01;
+
+    /** Kliens: lépés. */
+    public static final int MOVE = 0x02;
+
+    /** Szerver: a játszma kezdete. */
+    public static final int START = 0x10;
+
+    /** Szerver: az ellenfél lépése. */
+    public static final int OPPONENT_MOVE = 0x11;
+
+    /** Szerver: a lépés elutasítva. */
+    public static final int INVALID = 0x12;
+
+    /** Szerver: a játszma vége. */
+    public static final int END = 0x13;
+
+    /** Mód: emberi ellenfél keresése. */
+    public static final int MODE_MATCH = 0;
+
+    /** Mód: játék a szerver AI-ja ellen (a kliens kezd). */
+    public static final int MODE_AI = 1;
+
+    /** Eredmény: a kliens nyert. */
+    public static final int RESULT_WIN = 0;
+
+    /** Eredmény: a kliens vesztett. */
+    public static final int RESULT_LOSS = 1;
+
+    /** Eredmény: döntetlen. */
+    public static final int RESULT_DRAW = 2;
+
+    /** Elutasítás oka: nincs folyamatban játszma, vagy nem a kliens lép. */
+    public static final int REASON_NOT_YOUR_TURN = 0;
+
+    /** Elutasítás oka: szabálytalan oszlop. */
+    public static final int REASON_ILLEGAL_MOVE = 1;
+
+    /** Egy név UTF-8 bájtjainak maximális száma. */
+    public static final int MAX_NAME_BYTES = 0xFF;
+
+    // Privát konstruktor
+    private Protocol() {
+        throw new UnsupportedOperationException(
+                "A segédosztály példányosítása nem engedélyezett"
+        );
+    }
+
+    /**
+     * Kiír egy belépési üzenetet.
+     *
+     * @param out  A kimenet.
+     * @param mode A mód ({@link #MODE_MATCH} vagy {@link #MODE_AI}).
+     * @param name A játékos neve.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    public static void writeHello(final DataOutputStream out,
+                                  final int mode,
+                                  final String name) throws IOException {
+        final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("A név túl hosszú: " + name);
+        }
+        out.writeByte(HELLO);
+        out.writeByte(mode);
+        out.writeByte(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * Kiír egy egybájtos adatú üzenetet (lépés, ellenfél lépése,
+     * elutasítás, eredmény).
+     *
+     * @param out   A kimenet.
+     * @param type  Az üzenet típusa.
+     * @param value Az adat.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    public static void write(final DataOutputStream out,
+                             final int type,
+                             final int value) throws IOException {
+        out.writeByte(type);
+        out.writeByte(value);
+        out.flush();
+    }
+
+    /**
+     * Kiír egy kezdési üzenetet.
+     *
+     * @param out  A kimenet.
+     * @param seat A kliens helye (0: kezd).
+     * @param rows A sorok száma.
+     * @param cols Az oszlopok száma.
+     * @throws IOException ha az írás nem sikerül.
+     */
+    public static void writeStart(final DataOutputStream out,
+                                  final int seat,
+                                  final int rows,
+                                  final int cols) throws IOException {
+        out.writeByte(START);
+        out.writeByte(seat);
+        out.writeByte(rows);
+        out.writeByte(cols);
+        out.flush();
+    }
+
+    /**
+     * Beolvassa a belépési üzenet nevét (a mód után).
+     *
+     * @param in A bemenet.
+     * @return A név.
+     * @throws IOException ha az olvasás nem sikerül.
+     */
+    public static String readName(final DataInputStream in)
+            throws IOException {
+        final byte[] bytes = new byte[in.readUnsignedByte()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the TCP game server, its compact binary
+ * protocol and a loopback load generator for measuring move latency.
+ */
+package org.connect4.net;
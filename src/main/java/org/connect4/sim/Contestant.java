@@ -0,0 +1,110 @@
+package org.connect4.sim;
+
+import java.util.function.Supplier;
+
+import org.connect4.ai.Evaluation;
+import org.connect4.ai.SearchEngine;
+
+/**
+ * Egy {@link Tournament} versenyzője: név és stratégiagyártó. A
+ * gyártó szálanként egy stratégiapéldányt hoz létre, mert egy
+ * {@link MovePolicy} példányt egyszerre csak egy szál használhat.
+ */
+public final class Contestant {
+    /** A mélységkorlátos keresés előtagja a leírásban. */
+    private static final String SEARCH_PREFIX = "search:";
+
+    /** A középre súlyozó értékelésű keresés előtagja a leírásban. */
+    private static final String CENTER_PREFIX = "search-center:";
+
+    /** A versenyző neve. */
+    private final String name;
+
+    /** A stratégia gyártója. */
+    private final Supplier<? extends MovePolicy> factory;
+
+    /**
+     * Versenyző névvel és stratégiagyártóval.
+     *
+     * @param contestantName A név (a táblázatokban).
+     * @param policyFactory  A stratégia gyártója.
+     */
+    public Contestant(final String contestantName,
+                      final Supplier<? extends MovePolicy> policyFactory) {
+        this.name = contestantName;
+        this.factory = policyFactory;
+    }
+
+    /**
+     * Versenyző egy leírásból: {@code random}, {@code tactical},
+     * {@code search:<mélység>} (fenyegetésalapú értékelés) vagy
+     * {@code search-center:<mélység>}. A keresők mélységkorlátosak,
+     * időkorlát és transzpozíciós tábla nélkül, így lépésük egy
+     * állásban mindig ugyanaz.
+     *
+     * @param spec A leírás.
+     * @return A versenyző, a leírással mint névvel.
+     * @throws IllegalArgumentException ha a leírás ismeretlen.
+     */
+    public static Contestant parse(final String spec) {
+        if (spec.startsWith(SEARCH_PREFIX)) {
+            return search(spec, spec.substring(SEARCH_PREFIX.length()),
+                    Evaluation.THREATS);
+        }
+        if (spec.startsWith(CENTER_PREFIX)) {
+            return search(spec, spec.substring(CENTER_PREFIX.length()),
+                    Evaluation.CENTER);
+        }
+        return new Contestant(spec, SelfPlaySimulator.policy(spec));
+    }
+
+    /**
+     * Mélységkorlátos kereső versenyző.
+     *
+     * @param spec       A leírás (a név).
+     * @param depth      A mélység szövegként.
+     * @param evaluation A levélértékelés.
+     * @return A versenyző.
+     * @throws IllegalArgumentException ha a mélység érvénytelen.
+     */
+    private static Contestant search(final String spec,
+                                     final String depth,
+                                     final Evaluation evaluation) {
+        final int limit;
+        try {
+            limit = Integer.parseInt(depth);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen keresési mélység: " + spec, e);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen keresési mélység: " + spec);
+        }
+        return new Contestant(spec, () -> new SearchPolicy(new SearchEngine(
+                Long.MAX_VALUE, limit, null, evaluation)));
+    }
+
+    /**
+     * A versenyző neve.
+     *
+     * @return A név.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Új stratégiapéldány egy szál számára.
+     *
+     * @return A stratégia.
+     */
+    public MovePolicy newPolicy() {
+        return factory.get();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,171 @@
+package org.connect4.sim;
+
+import java.util.Arrays;
+
+/**
+ * Élő-számítások játszmaeredményekből. A pontszám a győzelmek és a
+ * döntetlenek felének aránya; a bizonytalanságot a játszmánkénti
+ * pontszám (1, 1/2, 0) szórásából becsüli, 95%-os normális
+ * közelítéssel. A 0 és 1 pontszám végtelen Élő-különbséget adna, ezért
+ * a pontszámot fél játszmányival a határokon belülre szorítja.
+ */
+final class Elo {
+    /** A standard normális eloszlás 97,5%-os kvantilise (95%-os CI). */
+    static final double Z_95 = 1.959963984540054;
+
+    /** Az Élő-skála: 400 pont a tízszeres esélyarány. */
+    private static final double SCALE = 400.0;
+
+    /** A döntetlen pontértéke. */
+    private static final double HALF = 0.5;
+
+    /** Az illesztés legfeljebb ennyi iterációig fut. */
+    private static final int MAX_ITERATIONS = 10_000;
+
+    /** Az illesztés leáll, ha egyik erősség sem változik ennyinél többet. */
+    private static final double TOLERANCE = 1e-10;
+
+    /**
+     * A segédosztály nem példányosítható.
+     */
+    private Elo() {
+        throw new UnsupportedOperationException(
+                "A segédosztály példányosítása nem engedélyezett");
+    }
+
+    /**
+     * Az elért pontarány.
+     *
+     * @param wins   A győzelmek száma.
+     * @param draws  A döntetlenek száma.
+     * @param losses A vereségek száma.
+     * @return A pontszám 0 és 1 között, vagy 0,5 ha nem volt játszma.
+     */
+    static double score(final long wins, final long draws, final long losses) {
+        final long games = wins + draws + losses;
+        return games == 0 ? HALF : (wins + HALF * draws) / games;
+    }
+
+    /**
+     * A pontarányhoz tartozó Élő-különbség.
+     *
+     * @param score A pontszám (a hívó szorítja a (0, 1) intervallumba).
+     * @return Az Élő-különbség.
+     */
+    static double fromScore(final double score) {
+        return -SCALE * Math.log10(1.0 / score - 1.0);
+    }
+
+    /**
+     * A játszmák Élő-különbsége.
+     *
+     * @param wins   A győzelmek száma.
+     * @param draws  A döntetlenek száma.
+     * @param losses A vereségek száma.
+     * @return Az Élő-különbség (játszma nélkül 0).
+     */
+    static double difference(final long wins,
+                             final long draws,
+                             final long losses) {
+        final long games = wins + draws + losses;
+        return games == 0 ? 0.0
+                : fromScore(clamp(score(wins, draws, losses), games));
+    }
+
+    /**
+     * A 95%-os konfidenciaintervallum félszélessége Élőben.
+     *
+     * @param wins   A győzelmek száma.
+     * @param draws  A döntetlenek száma.
+     * @param losses A vereségek száma.
+     * @return A félszélesség (játszma nélkül végtelen).
+     */
+    static double margin(final long wins,
+                         final long draws,
+                         final long losses) {
+        final long games = wins + draws + losses;
+        if (games == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        final double score = score(wins, draws, losses);
+        final double variance = (wins * (1.0 - score) * (1.0 - score)
+                + draws * (HALF - score) * (HALF - score)
+                + losses * score * score) / games;
+        final double deviation = Z_95 * Math.sqrt(variance / games);
+        final double low = fromScore(clamp(score - deviation, games));
+        final double high = fromScore(clamp(score + deviation, games));
+        return (high - low) / 2.0;
+    }
+
+    /**
+     * A pontszámot fél játszmányival a (0, 1) határokon belülre szorítja.
+     *
+     * @param score A pontszám.
+     * @param games A játszmák száma.
+     * @return A szorított pontszám.
+     */
+    static double clamp(final double score, final long games) {
+        final double edge = HALF / (games + 1);
+        return Math.min(1.0 - edge, Math.max(edge, score));
+    }
+
+    /**
+     * Élő-becslés minden versenyzőre az összes páros eredményből
+     * (Bradley-Terry-modell, maximum likelihood, a döntetlen fél pont).
+     * Párosításonként egy virtuális döntetlen a priori, így a
+     * hibátlan vagy pont nélküli versenyző becslése is véges.
+     *
+     * @param players  A versenyzők száma.
+     * @param firsts   Párosításonként az első versenyző indexe.
+     * @param seconds  Párosításonként a második versenyző indexe.
+     * @param outcomes Párosításonként az első győzelmei, a döntetlenek
+     *                 és az első vereségei.
+     * @return Az Élő-becslések, az első versenyzőé 0.
+     */
+    static double[] ratings(final int players,
+                            final int[] firsts,
+                            final int[] seconds,
+                            final long[][] outcomes) {
+        final double[] points = new double[players];
+        final double[] games = new double[firsts.length];
+        for (int k = 0; k < firsts.length; k++) {
+            final long[] outcome = outcomes[k];
+            points[firsts[k]] += outcome[0] + HALF * outcome[1] + HALF;
+            points[seconds[k]] += outcome[2] + HALF * outcome[1] + HALF;
+            games[k] = outcome[0] + outcome[1] + outcome[2] + 1.0;
+        }
+        final double[] strength = new double[players];
+        Arrays.fill(strength, 1.0);
+        final double[] weight = new double[players];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            Arrays.fill(weight, 0.0);
+            for (int k = 0; k < firsts.length; k++) {
+                final double w = games[k]
+                        / (strength[firsts[k]] + strength[seconds[k]]);
+                weight[firsts[k]] += w;
+                weight[seconds[k]] += w;
+            }
+            double change = 0.0;
+            for (int i = 0; i < players; i++) {
+                if (weight[i] > 0) {
+                    final double next = points[i] / weight[i];
+                    change = Math.max(change,
+                            Math.abs(Math.log(next / strength[i])));
+                    strength[i] = next;
+                }
+            }
+            final double anchor = strength[0];
+            for (int i = 0; i < players; i++) {
+                strength[i] /= anchor;
+            }
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+        final double[] elo = new double[players];
+        for (int i = 0; i < players; i++) {
+            elo[i] = SCALE * Math.log10(strength[i]);
+        }
+        return elo;
+    }
+}
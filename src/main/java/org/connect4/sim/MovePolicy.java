@@ -0,0 +1,23 @@
+package org.connect4.sim;
+
+import java.util.SplittableRandom;
+
+import org.connect4.ai.Position;
+
+/**
+ * Lépésválasztó stratégia a szimulációhoz.
+ * A megvalósításoknak a játszmánként többször hívott
+ * {@link #select(Position, SplittableRandom)} metódusban nem szabad
+ * objektumot foglalniuk, különben a szimulátor ciklusa szemetet termel.
+ * Egy példányt mindig csak egy szál használ.
+ */
+public interface MovePolicy {
+    /**
+     * Kiválaszt egy lépést a lépésen lévő játékos számára.
+     *
+     * @param position Az állás (nem módosítható); van szabályos lépés.
+     * @param random   A szál véletlenszám-generátora.
+     * @return Egy játszható oszlop.
+     */
+    int select(Position position, SplittableRandom random);
+}
@@ -0,0 +1,131 @@
+package org.connect4.sim;
+
+/**
+ * Két versenyző egymás elleni eredménye az első szemszögéből, az
+ * Élő-különbség becslésével és 95%-os hibahatárával.
+ */
+public final class PairingResult {
+    /** Az első versenyző neve. */
+    private final String first;
+
+    /** A második versenyző neve. */
+    private final String second;
+
+    /** Az első győzelmei. */
+    private final long wins;
+
+    /** A döntetlenek száma. */
+    private final long draws;
+
+    /** Az első vereségei. */
+    private final long losses;
+
+    /**
+     * Páros eredmény.
+     *
+     * @param firstName  Az első versenyző neve.
+     * @param secondName A második versenyző neve.
+     * @param won        Az első győzelmei.
+     * @param drawn      A döntetlenek.
+     * @param lost       Az első vereségei.
+     */
+    public PairingResult(final String firstName,
+                         final String secondName,
+                         final long won,
+                         final long drawn,
+                         final long lost) {
+        this.first = firstName;
+        this.second = secondName;
+        this.wins = won;
+        this.draws = drawn;
+        this.losses = lost;
+    }
+
+    /**
+     * Az első versenyző neve.
+     *
+     * @return A név.
+     */
+    public String getFirst() {
+        return first;
+    }
+
+    /**
+     * A második versenyző neve.
+     *
+     * @return A név.
+     */
+    public String getSecond() {
+        return second;
+    }
+
+    /**
+     * Az első győzelmei.
+     *
+     * @return A győzelmek száma.
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * A döntetlenek száma.
+     *
+     * @return A döntetlenek száma.
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Az első vereségei.
+     *
+     * @return A vereségek száma.
+     */
+    public long getLosses() {
+        return losses;
+    }
+
+    /**
+     * A lejátszott játszmák száma.
+     *
+     * @return A játszmák száma.
+     */
+    public long getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Az első pontaránya.
+     *
+     * @return A pontszám 0 és 1 között.
+     */
+    public double getScore() {
+        return Elo.score(wins, draws, losses);
+    }
+
+    /**
+     * Az első Élő-előnye a másodikkal szemben.
+     *
+     * @return Az Élő-különbség.
+     */
+    public double getEloDifference() {
+        return Elo.difference(wins, draws, losses);
+    }
+
+    /**
+     * Az Élő-különbség 95%-os hibahatára.
+     *
+     * @return A konfidenciaintervallum félszélessége.
+     */
+    public double getEloMargin() {
+        return Elo.margin(wins, draws, losses);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s: +%d =%d -%d, %+.0f ± %.0f Élő",
+                first, second, wins, draws, losses, getEloDifference(),
+                getEloMargin());
+    }
+}
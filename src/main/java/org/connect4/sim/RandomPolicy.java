@@ -0,0 +1,35 @@
+package org.connect4.sim;
+
+import java.util.SplittableRandom;
+
+import org.connect4.ai.Position;
+
+/**
+ * Egyenletes eloszlással választ a játszható oszlopok közül.
+ */
+public final class RandomPolicy implements MovePolicy {
+    @Override
+    public int select(final Position position,
+                      final SplittableRandom random) {
+        return randomColumn(position, position.possible(), random);
+    }
+
+    /**
+     * Véletlen oszlop a lépések bitmaszkjából.
+     *
+     * @param position Az állás.
+     * @param moves    A választható lépések bitjei (nem üres).
+     * @param random   A véletlenszám-generátor.
+     * @return A kiválasztott lépés oszlopa.
+     */
+    static int randomColumn(final Position position,
+                            final long moves,
+                            final SplittableRandom random) {
+        long remaining = moves;
+        for (int skip = random.nextInt(Long.bitCount(moves));
+             skip > 0; skip--) {
+            remaining &= remaining - 1; // A legalsó bit törlése
+        }
+        return position.columnOf(Long.lowestOneBit(remaining));
+    }
+}
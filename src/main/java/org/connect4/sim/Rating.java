@@ -0,0 +1,120 @@
+package org.connect4.sim;
+
+/**
+ * Egy versenyző Élő-becslése a teljes versenyből, a lépésenkénti
+ * gondolkodási idővel.
+ */
+public final class Rating {
+    /** Nanoszekundum egy milliszekundumban. */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** A versenyző neve. */
+    private final String name;
+
+    /** Az Élő-becslés az első versenyzőhöz (0) képest. */
+    private final double elo;
+
+    /** A becslés 95%-os hibahatára. */
+    private final double margin;
+
+    /** Az összes győzelem. */
+    private final long wins;
+
+    /** Az összes döntetlen. */
+    private final long draws;
+
+    /** Az összes vereség. */
+    private final long losses;
+
+    /** A lépésenkénti átlagos idő nanoszekundumban. */
+    private final double nanosPerMove;
+
+    /**
+     * Értékelés.
+     *
+     * @param contestant  A versenyző neve.
+     * @param estimate    Az Élő-becslés.
+     * @param errorMargin A 95%-os hibahatár.
+     * @param won         A győzelmek.
+     * @param drawn       A döntetlenek.
+     * @param lost        A vereségek.
+     * @param moveNanos   A lépésenkénti átlagos idő (ns).
+     */
+    public Rating(final String contestant,
+                  final double estimate,
+                  final double errorMargin,
+                  final long won,
+                  final long drawn,
+                  final long lost,
+                  final double moveNanos) {
+        this.name = contestant;
+        this.elo = estimate;
+        this.margin = errorMargin;
+        this.wins = won;
+        this.draws = drawn;
+        this.losses = lost;
+        this.nanosPerMove = moveNanos;
+    }
+
+    /**
+     * A versenyző neve.
+     *
+     * @return A név.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Az Élő-becslés; az első versenyzőé 0.
+     *
+     * @return Az Élő-pontszám.
+     */
+    public double getElo() {
+        return elo;
+    }
+
+    /**
+     * A becslés 95%-os hibahatára (a versenyző összesített
+     * eredményéből).
+     *
+     * @return A konfidenciaintervallum félszélessége.
+     */
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     * A versenyző játszmáinak száma.
+     *
+     * @return A játszmák száma.
+     */
+    public long getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * A versenyző pontaránya az összes játszmájában.
+     *
+     * @return A pontszám 0 és 1 között.
+     */
+    public double getScore() {
+        return Elo.score(wins, draws, losses);
+    }
+
+    /**
+     * A lépésenkénti átlagos gondolkodási idő.
+     *
+     * @return Az idő milliszekundumban.
+     */
+    public double getMillisPerMove() {
+        return nanosPerMove / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %+.0f ± %.0f Élő (+%d =%d -%d), "
+                        + "%.3f ms/lépés",
+                name, elo, margin, wins, draws, losses, getMillisPerMove());
+    }
+}
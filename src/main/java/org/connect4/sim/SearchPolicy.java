@@ -0,0 +1,37 @@
+package org.connect4.sim;
+
+import java.util.SplittableRandom;
+
+import org.connect4.ai.Position;
+import org.connect4.ai.Searcher;
+
+/**
+ * Egy {@link Searcher} legjobb lépését játssza.
+ * A keresés objektumokat foglal és a táblája állapotot hordoz, ezért
+ * ez a stratégia lassú, és eredménye a keresés időkorlátjától függően
+ * nem feltétlenül reprodukálható; a kereső erejének méréséhez való.
+ */
+public final class SearchPolicy implements MovePolicy {
+    /** A kereső. */
+    private final Searcher searcher;
+
+    /**
+     * Stratégia a megadott keresővel.
+     *
+     * @param engine A kereső (csak ez a stratégia használja).
+     */
+    public SearchPolicy(final Searcher engine) {
+        this.searcher = engine;
+    }
+
+    @Override
+    public int select(final Position position,
+                      final SplittableRandom random) {
+        final int move = searcher.search(position).getBestMove();
+        if (move >= 0) {
+            return move;
+        }
+        return RandomPolicy.randomColumn(position, position.possible(),
+                random);
+    }
+}
@@ -0,0 +1,283 @@
+package org.connect4.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.connect4.ai.Position;
+
+/**
+ * Konzol nélküli, többszálú önjáték-szimulátor.
+ * A játszmák rögzített méretű csomagokra oszlanak; a szálak a
+ * csomagokat egy közös számlálóból veszik. Minden csomag saját,
+ * a magból és a csomag sorszámából képzett {@link SplittableRandom}
+ * generátort kap, így determinisztikus stratégiákkal az eredmény
+ * ugyanazzal a maggal a szálak számától függetlenül megismételhető.
+ *
+ * <p>A játszmaciklus a szálanként egyszer létrehozott {@link Position}
+ * példányon fut, és nem foglal objektumot.</p>
+ */
+public final class SelfPlaySimulator {
+    /** Egy csomag játszmáinak száma. */
+    static final int CHUNK_GAMES = 1024;
+
+    /** A csomagonkénti magok lépésköze (a 64 bites aranymetszés). */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** Az alapértelmezett játszmaszám a parancssorból. */
+    private static final long DEFAULT_GAMES = 1_000_000L;
+
+    /** A harmadik parancssori argumentum indexe. */
+    private static final int SEED_ARG = 2;
+
+    /** A negyedik parancssori argumentum indexe. */
+    private static final int FIRST_POLICY_ARG = 3;
+
+    /** Az ötödik parancssori argumentum indexe. */
+    private static final int SECOND_POLICY_ARG = 4;
+
+    /** Az eredménytömb indexe: a kezdő győzelmei. */
+    private static final int FIRST_WINS = 0;
+
+    /** Az eredménytömb indexe: a második győzelmei. */
+    private static final int SECOND_WINS = 1;
+
+    /** Az eredménytömb indexe: a döntetlenek. */
+    private static final int DRAWS = 2;
+
+    /** Az eredménytömb első hossz-számlálójának indexe. */
+    private static final int LENGTHS = 3;
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** A szálak száma. */
+    private final int threads;
+
+    /** A szimuláció magja. */
+    private final long seed;
+
+    /**
+     * Szimulátor a szabványos 6x7-es táblára.
+     *
+     * @param threadCount A szálak száma.
+     * @param baseSeed    A szimuláció magja.
+     */
+    public SelfPlaySimulator(final int threadCount, final long baseSeed) {
+        this(Position.DEFAULT_ROWS, Position.DEFAULT_COLS,
+                threadCount, baseSeed);
+    }
+
+    /**
+     * Szimulátor a megadott táblamérettel.
+     *
+     * @param rowCount    A sorok száma.
+     * @param colCount    Az oszlopok száma.
+     * @param threadCount A szálak száma.
+     * @param baseSeed    A szimuláció magja.
+     */
+    public SelfPlaySimulator(final int rowCount,
+                             final int colCount,
+                             final int threadCount,
+                             final long baseSeed) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy szál szükséges: " + threadCount);
+        }
+        new Position(rowCount, colCount); // A méret ellenőrzése
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.threads = threadCount;
+        this.seed = baseSeed;
+    }
+
+    /**
+     * A szimuláció belépési pontja.
+     *
+     * @param args Játszmaszám, szálszám, mag, valamint a két stratégia
+     *             neve ({@code random} vagy {@code tactical}).
+     */
+    public static void main(final String[] args) {
+        final long games = args.length > 0
+                ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+        final int threadCount = args.length > 1
+                ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        final long baseSeed = args.length > SEED_ARG
+                ? Long.parseLong(args[SEED_ARG]) : 1L;
+        final Supplier<MovePolicy> first = policy(
+                args.length > FIRST_POLICY_ARG ? args[FIRST_POLICY_ARG]
+                        : "random");
+        final Supplier<MovePolicy> second = policy(
+                args.length > SECOND_POLICY_ARG ? args[SECOND_POLICY_ARG]
+                        : "random");
+        final SimulationResult result = new SelfPlaySimulator(
+                threadCount, baseSeed).run(games, first, second);
+        System.out.println(result);
+    }
+
+    /**
+     * Lejátssza a megadott számú játszmát.
+     * A stratégiagyártók szálanként egy-egy példányt hoznak létre.
+     *
+     * @param games  A játszmák száma.
+     * @param first  A kezdő játékos stratégiájának gyártója.
+     * @param second A második játékos stratégiájának gyártója.
+     * @return Az összesített eredmény.
+     */
+    public SimulationResult run(final long games,
+                                final Supplier<? extends MovePolicy> first,
+                                final Supplier<? extends MovePolicy> second) {
+        if (games < 0) {
+            throw new IllegalArgumentException(
+                    "A játszmák száma nem lehet negatív: " + games);
+        }
+        final long start = System.nanoTime();
+        final long chunks = (games + CHUNK_GAMES - 1) / CHUNK_GAMES;
+        final AtomicLong nextChunk = new AtomicLong();
+        final int workers = (int) Math.max(1L, Math.min(threads, chunks));
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(workers, runnable -> {
+                    final Thread thread =
+                            new Thread(runnable, "connect4-sim");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            final List<Future<long[]>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(games, chunks,
+                        nextChunk, first.get(), second.get())));
+            }
+            final long[] totals = new long[LENGTHS + rows * cols + 1];
+            for (Future<long[]> future : futures) {
+                final long[] counts = await(future);
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+            final long[] lengths = new long[rows * cols + 1];
+            System.arraycopy(totals, LENGTHS, lengths, 0, lengths.length);
+            return new SimulationResult(totals[FIRST_WINS],
+                    totals[SECOND_WINS], totals[DRAWS], lengths,
+                    System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Egy szál munkája: csomagokat vesz, amíg el nem fogynak.
+     *
+     * @param games     Az összes játszma száma.
+     * @param chunks    A csomagok száma.
+     * @param nextChunk A következő szabad csomag sorszáma.
+     * @param first     A kezdő játékos stratégiája.
+     * @param second    A második játékos stratégiája.
+     * @return A szál számlálói (kimenetelek, majd hosszak).
+     */
+    private long[] work(final long games,
+                        final long chunks,
+                        final AtomicLong nextChunk,
+                        final MovePolicy first,
+                        final MovePolicy second) {
+        final long[] counts = new long[LENGTHS + rows * cols + 1];
+        final Position position = new Position(rows, cols);
+        long chunk;
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+            final SplittableRandom random =
+                    new SplittableRandom(seed + chunk * SEED_GAMMA);
+            final long end = Math.min(games, (chunk + 1) * CHUNK_GAMES);
+            for (long game = chunk * CHUNK_GAMES; game < end; game++) {
+                final int outcome = play(position, first, second, random);
+                counts[outcome]++;
+                counts[LENGTHS + position.getMoveCount()]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Lejátszik egy játszmát. A végén a pozíció lépésszáma a játszma
+     * hossza (a nyerő lépéssel együtt).
+     *
+     * @param position Az újrahasznosított állás.
+     * @param first    A kezdő játékos stratégiája.
+     * @param second   A második játékos stratégiája.
+     * @param random   A véletlenszám-generátor.
+     * @return A kimenetel indexe.
+     */
+    private static int play(final Position position,
+                            final MovePolicy first,
+                            final MovePolicy second,
+                            final SplittableRandom random) {
+        position.reset();
+        while (true) {
+            final boolean firstToMove = (position.getMoveCount() & 1) == 0;
+            final int col = (firstToMove ? first : second)
+                    .select(position, random);
+            if (col < 0 || col >= position.getCols()
+                    || !position.canPlay(col)) {
+                throw new IllegalStateException(
+                        "A stratégia szabálytalan lépést választott: " + col);
+            }
+            final boolean win = position.isWinningMove(col);
+            position.play(col);
+            if (win) {
+                return firstToMove ? FIRST_WINS : SECOND_WINS;
+            }
+            if (position.isFull()) {
+                return DRAWS;
+            }
+        }
+    }
+
+    /**
+     * A név szerinti stratégia gyártója.
+     *
+     * @param name A stratégia neve ({@code random} vagy
+     *             {@code tactical}).
+     * @return A gyártó.
+     * @throws IllegalArgumentException ha a név ismeretlen.
+     */
+    public static Supplier<MovePolicy> policy(final String name) {
+        switch (name) {
+            case "random":
+                return RandomPolicy::new;
+            case "tactical":
+                return TacticalPolicy::new;
+            default:
+                throw new IllegalArgumentException(
+                        "Ismeretlen stratégia: " + name);
+        }
+    }
+
+    /**
+     * Megvárja egy szál eredményét.
+     *
+     * @param future A szál jövőbeli eredménye.
+     * @return A szál számlálói.
+     */
+    static long[] await(final Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("A szimuláció megszakadt.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.connect4.sim;
+
+/**
+ * Egy szimuláció összesített eredménye: a kimenetelek száma, a
+ * játszmahosszak eloszlása és az áteresztőképesség.
+ */
+public final class SimulationResult {
+    /** Nanoszekundum egy másodpercben. */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Százalékos szorzó. */
+    private static final double PERCENT = 100.0;
+
+    /** A kezdő játékos győzelmeinek száma. */
+    private final long firstWins;
+
+    /** A második játékos győzelmeinek száma. */
+    private final long secondWins;
+
+    /** A döntetlenek száma. */
+    private final long draws;
+
+    /** A játszmák hossza szerinti darabszámok (index: lépésszám). */
+    private final long[] lengths;
+
+    /** A szimuláció ideje nanoszekundumban. */
+    private final long elapsedNanos;
+
+    /**
+     * Létrehoz egy eredményt.
+     *
+     * @param first       A kezdő játékos győzelmei.
+     * @param second      A második játékos győzelmei.
+     * @param drawn       A döntetlenek.
+     * @param lengthCount A játszmák száma hossz szerint (lemásolódik).
+     * @param nanos       Az eltelt idő nanoszekundumban.
+     */
+    public SimulationResult(final long first,
+                            final long second,
+                            final long drawn,
+                            final long[] lengthCount,
+                            final long nanos) {
+        this.firstWins = first;
+        this.secondWins = second;
+        this.draws = drawn;
+        this.lengths = lengthCount.clone();
+        this.elapsedNanos = nanos;
+    }
+
+    /**
+     * A lejátszott játszmák száma.
+     *
+     * @return A játszmák száma.
+     */
+    public long getGames() {
+        return firstWins + secondWins + draws;
+    }
+
+    /**
+     * A kezdő játékos győzelmeinek száma.
+     *
+     * @return A győzelmek száma.
+     */
+    public long getFirstWins() {
+        return firstWins;
+    }
+
+    /**
+     * A második játékos győzelmeinek száma.
+     *
+     * @return A győzelmek száma.
+     */
+    public long getSecondWins() {
+        return secondWins;
+    }
+
+    /**
+     * A döntetlenek száma.
+     *
+     * @return A döntetlenek száma.
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Az adott hosszúságú játszmák száma.
+     *
+     * @param plies A játszma hossza lépésben.
+     * @return A játszmák száma, vagy 0 ha nincs ilyen hossz.
+     */
+    public long getGamesOfLength(final int plies) {
+        return plies >= 0 && plies < lengths.length ? lengths[plies] : 0L;
+    }
+
+    /**
+     * Az összes megtett lépés száma.
+     *
+     * @return A lépések száma.
+     */
+    public long getTotalPlies() {
+        long total = 0L;
+        for (int plies = 0; plies < lengths.length; plies++) {
+            total += plies * lengths[plies];
+        }
+        return total;
+    }
+
+    /**
+     * Az átlagos játszmahossz.
+     *
+     * @return Az átlagos lépésszám, vagy 0 ha nem volt játszma.
+     */
+    public double getAverageLength() {
+        final long games = getGames();
+        return games == 0 ? 0.0 : (double) getTotalPlies() / games;
+    }
+
+    /**
+     * A szimuláció ideje.
+     *
+     * @return Az eltelt idő nanoszekundumban.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Az áteresztőképesség.
+     *
+     * @return Lejátszott játszmák másodpercenként.
+     */
+    public double getGamesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return getGames() * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        final double games = Math.max(1L, getGames());
+        return String.format("%d játszma: kezdő %.1f%%, második %.1f%%, "
+                        + "döntetlen %.1f%%, átlagos hossz %.1f lépés, "
+                        + "%.0f játszma/s",
+                getGames(), PERCENT * firstWins / games,
+                PERCENT * secondWins / games, PERCENT * draws / games,
+                getAverageLength(), getGamesPerSecond());
+    }
+}
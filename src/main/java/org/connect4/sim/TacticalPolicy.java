@@ -0,0 +1,26 @@
+package org.connect4.sim;
+
+import java.util.SplittableRandom;
+
+import org.connect4.ai.Position;
+
+/**
+ * Egylépéses taktikai stratégia: ha nyerhet, nyer; ha az ellenfél a
+ * következő lépéssel nyerne, blokkol; egyébként véletlenszerűen választ
+ * azok közül a lépések közül, amelyek nem adnak azonnali győzelmet az
+ * ellenfélnek.
+ */
+public final class TacticalPolicy implements MovePolicy {
+    @Override
+    public int select(final Position position,
+                      final SplittableRandom random) {
+        final long possible = position.possible();
+        final long wins = possible & position.winningPositions();
+        if (wins != 0) {
+            return position.columnOf(Long.lowestOneBit(wins));
+        }
+        final long safe = position.possibleNonLosingMoves();
+        return RandomPolicy.randomColumn(position,
+                safe != 0 ? safe : possible, random);
+    }
+}
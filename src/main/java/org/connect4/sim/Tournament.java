@@ -0,0 +1,423 @@
+package org.connect4.sim;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.connect4.ai.Position;
+
+/**
+ * Párhuzamos verseny stratégiák között, Élő-becsléssel.
+ *
+ * <p>A párosításokat a {@link TournamentFormat} határozza meg. Egy
+ * párosítás játszmái párokban futnak: a pár két játszmája ugyanabból a
+ * véletlen nyitásból indul, felcserélt színekkel, így a kezdés előnye
+ * kiegyenlítődik, és a determinisztikus stratégiák sem játsszák újra
+ * ugyanazt a játszmát. Minden játszma nyitása és véletlenszám-generátora
+ * a magból és a játszma sorszámából képződik, ezért az eredmény
+ * determinisztikus stratégiákkal a szálak számától független.</p>
+ *
+ * <p>A játszmák rögzített méretű csomagokban oszlanak szét a szálak
+ * között; minden szál versenyzőnként saját stratégiapéldányt és egy
+ * újrahasznosított {@link Position} példányt használ.</p>
+ */
+public final class Tournament {
+    /** Egy csomag játszmáinak száma. */
+    static final int CHUNK_GAMES = 64;
+
+    /** Az alapértelmezett véletlen nyitás hossza lépésben. */
+    public static final int DEFAULT_OPENING_PLIES = 4;
+
+    /** A játszmánkénti magok lépésköze (a 64 bites aranymetszés). */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** A nyitások magjának eltolása a játszmák magjától. */
+    private static final long OPENING_SALT = 0x5DEECE66DL;
+
+    /** A versenyzők legkisebb száma. */
+    private static final int MIN_CONTESTANTS = 2;
+
+    /** Az eredménytömbben egy párosítás mezőinek száma. */
+    private static final int OUTCOMES = 3;
+
+    /** Az eredménytömbben egy versenyző mezőinek száma (idő, lépés). */
+    private static final int TIMINGS = 2;
+
+    /** A győzelem kimenetel indexe (az első versenyző szemszögéből). */
+    private static final int WIN = 0;
+
+    /** A döntetlen kimenetel indexe. */
+    private static final int DRAW = 1;
+
+    /** A vereség kimenetel indexe. */
+    private static final int LOSS = 2;
+
+    /** A parancssori versenyzők első argumentumindexe. */
+    private static final int FIRST_CONTESTANT_ARG = 4;
+
+    /** A harmadik parancssori argumentum indexe. */
+    private static final int THREADS_ARG = 2;
+
+    /** A negyedik parancssori argumentum indexe. */
+    private static final int SEED_ARG = 3;
+
+    /** A sorok száma. */
+    private final int rows;
+
+    /** Az oszlopok száma. */
+    private final int cols;
+
+    /** A szálak száma. */
+    private final int threads;
+
+    /** A verseny magja. */
+    private final long seed;
+
+    /** A véletlen nyitás hossza. */
+    private final int openingPlies;
+
+    /**
+     * Verseny a szabványos 6x7-es táblán, alapértelmezett nyitással.
+     *
+     * @param threadCount A szálak száma.
+     * @param baseSeed    A verseny magja.
+     */
+    public Tournament(final int threadCount, final long baseSeed) {
+        this(Position.DEFAULT_ROWS, Position.DEFAULT_COLS, threadCount,
+                baseSeed, DEFAULT_OPENING_PLIES);
+    }
+
+    /**
+     * Verseny a megadott táblával és nyitáshosszal.
+     *
+     * @param rowCount    A sorok száma.
+     * @param colCount    Az oszlopok száma.
+     * @param threadCount A szálak száma.
+     * @param baseSeed    A verseny magja.
+     * @param opening     A véletlen nyitás hossza lépésben.
+     * @throws IllegalArgumentException ha a paraméterek érvénytelenek.
+     */
+    public Tournament(final int rowCount,
+                      final int colCount,
+                      final int threadCount,
+                      final long baseSeed,
+                      final int opening) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(
+                    "Legalább egy szál szükséges: " + threadCount);
+        }
+        if (opening < 0 || opening >= rowCount * colCount) {
+            throw new IllegalArgumentException(
+                    "Érvénytelen nyitáshossz: " + opening);
+        }
+        new Position(rowCount, colCount); // A méret ellenőrzése
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.threads = threadCount;
+        this.seed = baseSeed;
+        this.openingPlies = opening;
+    }
+
+    /**
+     * A verseny belépési pontja.
+     *
+     * @param args Forma ({@code round-robin} vagy {@code gauntlet}),
+     *             játszmák párosításonként, szálszám, mag, majd a
+     *             versenyzők leírásai ({@link Contestant#parse}).
+     */
+    public static void main(final String[] args) {
+        if (args.length < FIRST_CONTESTANT_ARG + MIN_CONTESTANTS) {
+            System.out.println("Használat: Tournament round-robin|gauntlet"
+                    + " <játszmák> <szálak> <mag> <versenyző>...");
+            return;
+        }
+        final TournamentFormat format = "gauntlet".equals(args[0])
+                ? TournamentFormat.GAUNTLET : TournamentFormat.ROUND_ROBIN;
+        final List<Contestant> contestants = new ArrayList<>();
+        for (int i = FIRST_CONTESTANT_ARG; i < args.length; i++) {
+            contestants.add(Contestant.parse(args[i]));
+        }
+        final TournamentResult result = new Tournament(
+                Integer.parseInt(args[THREADS_ARG]),
+                Long.parseLong(args[SEED_ARG]))
+                .run(format, contestants, Integer.parseInt(args[1]));
+        System.out.print(result);
+    }
+
+    /**
+     * Lejátssza a versenyt.
+     *
+     * @param format          A párosítási rend.
+     * @param contestants     A versenyzők (gauntletnél az első a jelölt).
+     * @param gamesPerPairing A játszmák száma párosításonként (a
+     *                        színcsere miatt érdemes párosnak lennie).
+     * @return Az eredmény.
+     * @throws IllegalArgumentException ha kevesebb mint két versenyző
+     *                                  van, a nevek nem egyediek, vagy a
+     *                                  játszmaszám nem pozitív.
+     */
+    public TournamentResult run(final TournamentFormat format,
+                                final List<Contestant> contestants,
+                                final int gamesPerPairing) {
+        validate(contestants, gamesPerPairing);
+        final long start = System.nanoTime();
+        final int[][] schedule = schedule(format, contestants.size());
+        final long chunksPerPairing =
+                (gamesPerPairing + CHUNK_GAMES - 1) / CHUNK_GAMES;
+        final long chunks = chunksPerPairing * schedule.length;
+        final AtomicLong nextChunk = new AtomicLong();
+        final int workers = (int) Math.max(1L, Math.min(threads, chunks));
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(workers, runnable -> {
+                    final Thread thread =
+                            new Thread(runnable, "connect4-tournament");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final int size = schedule.length * OUTCOMES
+                + contestants.size() * TIMINGS;
+        try {
+            final List<Future<long[]>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(contestants,
+                        schedule, gamesPerPairing, chunksPerPairing,
+                        nextChunk, size)));
+            }
+            final long[] totals = new long[size];
+            for (Future<long[]> future : futures) {
+                final long[] counts = SelfPlaySimulator.await(future);
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+            return summarize(contestants, schedule, totals,
+                    System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ellenőrzi a verseny paramétereit.
+     *
+     * @param contestants     A versenyzők.
+     * @param gamesPerPairing A játszmák száma párosításonként.
+     * @throws IllegalArgumentException ha valamelyik érvénytelen.
+     */
+    private static void validate(final List<Contestant> contestants,
+                                 final int gamesPerPairing) {
+        if (contestants.size() < MIN_CONTESTANTS) {
+            throw new IllegalArgumentException(
+                    "Legalább két versenyző szükséges.");
+        }
+        if (gamesPerPairing < 1) {
+            throw new IllegalArgumentException(
+                    "A játszmák számának pozitívnak kell lennie: "
+                            + gamesPerPairing);
+        }
+        final Set<String> names = new HashSet<>();
+        for (Contestant contestant : contestants) {
+            if (!names.add(contestant.getName())) {
+                throw new IllegalArgumentException(
+                        "Ismétlődő versenyzőnév: " + contestant.getName());
+            }
+        }
+    }
+
+    /**
+     * A párosítások listája.
+     *
+     * @param format  A párosítási rend.
+     * @param players A versenyzők száma.
+     * @return Párosításonként a két versenyző indexe.
+     */
+    static int[][] schedule(final TournamentFormat format,
+                            final int players) {
+        final List<int[]> pairs = new ArrayList<>();
+        for (int a = 0; a < players; a++) {
+            for (int b = a + 1; b < players; b++) {
+                if (format == TournamentFormat.ROUND_ROBIN || a == 0) {
+                    pairs.add(new int[] {a, b});
+                }
+            }
+        }
+        return pairs.toArray(new int[0][]);
+    }
+
+    /**
+     * Egy szál munkája: csomagokat vesz, amíg el nem fogynak.
+     *
+     * @param contestants      A versenyzők.
+     * @param schedule         A párosítások.
+     * @param gamesPerPairing  A játszmák száma párosításonként.
+     * @param chunksPerPairing A csomagok száma párosításonként.
+     * @param nextChunk        A következő szabad csomag sorszáma.
+     * @param size             Az eredménytömb mérete.
+     * @return A szál számlálói (párosításonként kimenetelek, majd
+     *         versenyzőnként idő és lépésszám).
+     */
+    private long[] work(final List<Contestant> contestants,
+                        final int[][] schedule,
+                        final int gamesPerPairing,
+                        final long chunksPerPairing,
+                        final AtomicLong nextChunk,
+                        final int size) {
+        final long[] counts = new long[size];
+        final MovePolicy[] policies = new MovePolicy[contestants.size()];
+        final Position position = new Position(rows, cols);
+        final int timings = schedule.length * OUTCOMES;
+        final long chunks = chunksPerPairing * schedule.length;
+        long chunk;
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+            final int pairing = (int) (chunk / chunksPerPairing);
+            final int[] pair = schedule[pairing];
+            for (int player : pair) {
+                if (policies[player] == null) {
+                    policies[player] = contestants.get(player).newPolicy();
+                }
+            }
+            final long first = (chunk % chunksPerPairing) * CHUNK_GAMES;
+            final long end = Math.min(gamesPerPairing, first + CHUNK_GAMES);
+            for (long game = first; game < end; game++) {
+                final long index = (long) pairing * gamesPerPairing + game;
+                // A pár két játszmája közös nyitásból, felcserélt színnel
+                final boolean swapped = (game & 1) == 1;
+                final long opening = (long) pairing * gamesPerPairing
+                        + (game & ~1L);
+                final int starter = swapped ? pair[1] : pair[0];
+                final int other = swapped ? pair[0] : pair[1];
+                final int outcome = play(position, policies[starter],
+                        policies[other],
+                        new SplittableRandom(
+                                (seed ^ OPENING_SALT) + opening * SEED_GAMMA),
+                        new SplittableRandom(seed + index * SEED_GAMMA),
+                        counts, new int[] {timings + starter * TIMINGS,
+                            timings + other * TIMINGS});
+                final int result = outcome == DRAW || !swapped
+                        ? outcome : LOSS - outcome;
+                counts[pairing * OUTCOMES + result]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Lejátszik egy játszmát a véletlen nyitás után. A stratégiák
+     * lépésidejét és lépésszámát a számlálókba írja.
+     *
+     * @param position     Az újrahasznosított állás.
+     * @param starter      A kezdő stratégiája.
+     * @param other        A második stratégiája.
+     * @param openings     A nyitás generátora.
+     * @param random       A stratégiák generátora.
+     * @param counts       A szál számlálói.
+     * @param slots        A kezdő és a második idő- és
+     *                     lépésszámlálójának indexe.
+     * @return A kimenetel a kezdő szemszögéből ({@link #WIN},
+     *         {@link #DRAW} vagy {@link #LOSS}).
+     */
+    private int play(final Position position,
+                     final MovePolicy starter,
+                     final MovePolicy other,
+                     final SplittableRandom openings,
+                     final SplittableRandom random,
+                     final long[] counts,
+                     final int[] slots) {
+        position.reset();
+        for (int ply = 0; ply < openingPlies && !position.isFull(); ply++) {
+            final long possible = position.possible();
+            final long quiet = possible & ~position.winningPositions();
+            position.play(RandomPolicy.randomColumn(position,
+                    quiet != 0 ? quiet : possible, openings));
+            if (position.isLastMoveWin()) {
+                return (ply & 1) == 0 ? WIN : LOSS;
+            }
+        }
+        if (position.isFull()) {
+            return DRAW;
+        }
+        while (true) {
+            final boolean starterToMove =
+                    (position.getMoveCount() & 1) == 0;
+            final int slot = slots[starterToMove ? 0 : 1];
+            final long begin = System.nanoTime();
+            final int col = (starterToMove ? starter : other)
+                    .select(position, random);
+            counts[slot] += System.nanoTime() - begin;
+            counts[slot + 1]++;
+            if (col < 0 || col >= position.getCols()
+                    || !position.canPlay(col)) {
+                throw new IllegalStateException(
+                        "A stratégia szabálytalan lépést választott: " + col);
+            }
+            final boolean win = position.isWinningMove(col);
+            position.play(col);
+            if (win) {
+                return starterToMove ? WIN : LOSS;
+            }
+            if (position.isFull()) {
+                return DRAW;
+            }
+        }
+    }
+
+    /**
+     * Összesíti a számlálókat: páros eredmények, Élő-illesztés,
+     * hibahatárok és lépésidők.
+     *
+     * @param contestants A versenyzők.
+     * @param schedule    A párosítások.
+     * @param totals      Az összesített számlálók.
+     * @param nanos       Az eltelt idő.
+     * @return Az eredmény.
+     */
+    private static TournamentResult summarize(
+            final List<Contestant> contestants,
+            final int[][] schedule,
+            final long[] totals,
+            final long nanos) {
+        final int players = contestants.size();
+        final int[] firsts = new int[schedule.length];
+        final int[] seconds = new int[schedule.length];
+        final long[][] outcomes = new long[schedule.length][];
+        final long[][] records = new long[players][OUTCOMES];
+        final List<PairingResult> pairings = new ArrayList<>();
+        for (int k = 0; k < schedule.length; k++) {
+            firsts[k] = schedule[k][0];
+            seconds[k] = schedule[k][1];
+            final long wins = totals[k * OUTCOMES + WIN];
+            final long draws = totals[k * OUTCOMES + DRAW];
+            final long losses = totals[k * OUTCOMES + LOSS];
+            outcomes[k] = new long[] {wins, draws, losses};
+            records[firsts[k]][WIN] += wins;
+            records[firsts[k]][DRAW] += draws;
+            records[firsts[k]][LOSS] += losses;
+            records[seconds[k]][WIN] += losses;
+            records[seconds[k]][DRAW] += draws;
+            records[seconds[k]][LOSS] += wins;
+            pairings.add(new PairingResult(
+                    contestants.get(firsts[k]).getName(),
+                    contestants.get(seconds[k]).getName(),
+                    wins, draws, losses));
+        }
+        final double[] elo = Elo.ratings(players, firsts, seconds, outcomes);
+        final int timings = schedule.length * OUTCOMES;
+        final List<Rating> ratings = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            final long[] record = records[i];
+            final long moveNanos = totals[timings + i * TIMINGS];
+            final long moves = totals[timings + i * TIMINGS + 1];
+            ratings.add(new Rating(contestants.get(i).getName(), elo[i],
+                    Elo.margin(record[WIN], record[DRAW], record[LOSS]),
+                    record[WIN], record[DRAW], record[LOSS],
+                    moves == 0 ? 0.0 : (double) moveNanos / moves));
+        }
+        return new TournamentResult(pairings, ratings, nanos);
+    }
+}
@@ -0,0 +1,15 @@
+package org.connect4.sim;
+
+/**
+ * A {@link Tournament} párosítási rendje.
+ */
+public enum TournamentFormat {
+    /** Körmérkőzés: minden versenyző mindenki mással játszik. */
+    ROUND_ROBIN,
+
+    /**
+     * Kesztyűpróba: az első versenyző (a jelölt) mindenki mással
+     * játszik, a többiek egymással nem.
+     */
+    GAUNTLET
+}
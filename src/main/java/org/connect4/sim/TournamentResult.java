@@ -0,0 +1,123 @@
+package org.connect4.sim;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Egy {@link Tournament} eredménye: a páros eredmények, a versenyzők
+ * Élő-becslései hibahatárral és lépésidővel, valamint az
+ * áteresztőképesség.
+ */
+public final class TournamentResult {
+    /** Nanoszekundum egy percben. */
+    private static final double NANOS_PER_MINUTE = 60_000_000_000.0;
+
+    /** A páros eredmények a lejátszás sorrendjében. */
+    private final List<PairingResult> pairings;
+
+    /** Az értékelések a versenyzők sorrendjében. */
+    private final List<Rating> ratings;
+
+    /** A verseny ideje nanoszekundumban. */
+    private final long elapsedNanos;
+
+    /**
+     * Eredmény.
+     *
+     * @param pairingResults A páros eredmények.
+     * @param contestantRatings Az értékelések a versenyzők sorrendjében.
+     * @param nanos Az eltelt idő nanoszekundumban.
+     */
+    public TournamentResult(final List<PairingResult> pairingResults,
+                            final List<Rating> contestantRatings,
+                            final long nanos) {
+        this.pairings = List.copyOf(pairingResults);
+        this.ratings = List.copyOf(contestantRatings);
+        this.elapsedNanos = nanos;
+    }
+
+    /**
+     * A páros eredmények.
+     *
+     * @return Változtathatatlan lista.
+     */
+    public List<PairingResult> getPairings() {
+        return pairings;
+    }
+
+    /**
+     * Az értékelések a versenyzők megadási sorrendjében.
+     *
+     * @return Változtathatatlan lista.
+     */
+    public List<Rating> getRatings() {
+        return ratings;
+    }
+
+    /**
+     * Egy versenyző értékelése.
+     *
+     * @param name A versenyző neve.
+     * @return Az értékelés.
+     * @throws IllegalArgumentException ha nincs ilyen versenyző.
+     */
+    public Rating getRating(final String name) {
+        for (Rating rating : ratings) {
+            if (rating.getName().equals(name)) {
+                return rating;
+            }
+        }
+        throw new IllegalArgumentException("Ismeretlen versenyző: " + name);
+    }
+
+    /**
+     * A lejátszott játszmák száma.
+     *
+     * @return A játszmák száma.
+     */
+    public long getGames() {
+        long games = 0L;
+        for (PairingResult pairing : pairings) {
+            games += pairing.getGames();
+        }
+        return games;
+    }
+
+    /**
+     * A verseny ideje.
+     *
+     * @return Az eltelt idő nanoszekundumban.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Az áteresztőképesség.
+     *
+     * @return Lejátszott játszmák percenként.
+     */
+    public double getGamesPerMinute() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return getGames() * NANOS_PER_MINUTE / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        final List<Rating> ranked = new ArrayList<>(ratings);
+        ranked.sort(Comparator.comparingDouble(Rating::getElo).reversed());
+        final StringBuilder text = new StringBuilder();
+        text.append(String.format("%d játszma, %.0f játszma/perc%n",
+                getGames(), getGamesPerMinute()));
+        for (Rating rating : ranked) {
+            text.append(rating).append(System.lineSeparator());
+        }
+        for (PairingResult pairing : pairings) {
+            text.append(pairing).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+}
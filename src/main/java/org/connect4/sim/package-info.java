@@ -0,0 +1,6 @@
+/**
+ * This package contains the headless self-play simulator, the pluggable
+ * move policies it plays with, and the parallel tournament runner that
+ * rates policies against each other.
+ */
+package org.connect4.sim;
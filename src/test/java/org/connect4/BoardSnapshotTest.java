@@ -0,0 +1,96 @@
+package org.connect4;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+
+    @Test
+    void testSnapshotIsNotAffectedByLaterMoves() {
+        Board board = new Board();
+        board.makeMove(3, 'X');
+        BoardSnapshot snapshot = board.snapshot();
+        board.makeMove(3, 'O');
+        board.makeMove(4, 'X');
+
+        assertEquals(1, snapshot.getMoveCount(), "A pillanatkép lépésszáma nem változhat.");
+        assertEquals('X', snapshot.cellAt(5, 3), "A pillanatkép mezőjének meg kell maradnia.");
+        assertEquals('.', snapshot.cellAt(4, 3), "A későbbi lépés nem látszhat a pillanatképen.");
+        assertEquals(1, snapshot.getHeight(3), "Az oszlopmagasság nem változhat.");
+    }
+
+    @Test
+    void testPlayReturnsNewSnapshotMatchingBoard() {
+        Board board = new Board();
+        BoardSnapshot snapshot = board.snapshot();
+        for (int col : new int[] {3, 3, 4, 2, 0}) {
+            char token = (board.getMoveCount() & 1) == 0 ? 'X' : 'O';
+            BoardSnapshot next = snapshot.play(col, token);
+            board.makeMove(col, token);
+
+            assertNotSame(snapshot, next, "A lépésnek új pillanatképet kell adnia.");
+            assertEquals(board.snapshot(), next, "A pillanatképnek a táblával azonos állást kell mutatnia.");
+            assertEquals(board.getHashKey(), next.getHashKey(), "A kulcsnak a tábláéval egyeznie kell.");
+            assertEquals(board.getCanonicalKey(), next.getCanonicalKey(), "A kanonikus kulcsnak egyeznie kell.");
+            assertArrayEquals(board.getBoard(), next.getBoard(), "A karaktertömbnek egyeznie kell.");
+            snapshot = next;
+        }
+    }
+
+    @Test
+    void testWinnerAndGameOver() {
+        BoardSnapshot snapshot = BoardSnapshot.empty(6, 7, 4);
+        for (int i = 0; i < 3; i++) {
+            snapshot = snapshot.play(0, 'X').play(1, 'O');
+        }
+        assertFalse(snapshot.isOver(), "Még nincs vége a játszmának.");
+
+        BoardSnapshot won = snapshot.play(0, 'X');
+
+        assertTrue(won.hasWinner(), "A függőleges négyes győzelem.");
+        assertEquals('X', won.getWinner(), "Az X nyert.");
+        assertTrue(won.isOver(), "Győzelem után vége a játszmának.");
+        assertEquals('.', snapshot.getWinner(), "Az előző pillanatképen nincs nyertes.");
+        assertThrows(IllegalStateException.class, () -> won.play(2, 'O'), "Véget ért játszmában nem lehet lépni.");
+    }
+
+    @Test
+    void testBoardSnapshotDetectsExistingWinner() {
+        Board board = new Board();
+        for (int col = 0; col < 4; col++) {
+            board.makeMove(col, 'X');
+        }
+
+        assertEquals('X', board.snapshot().getWinner(), "A tábláról készült pillanatképnek is látnia kell a győzelmet.");
+    }
+
+    @Test
+    void testIllegalMovesRejected() {
+        BoardSnapshot snapshot = BoardSnapshot.empty(2, 2, 2).play(0, 'X').play(0, 'O');
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.play(0, 'X'), "Tele oszlopba nem lehet lépni.");
+        assertThrows(IllegalArgumentException.class, () -> snapshot.play(2, 'X'), "Nem létező oszlopba nem lehet lépni.");
+        assertThrows(IllegalArgumentException.class, () -> snapshot.play(1, 'Z'), "Harmadik karakter nem léphet.");
+        assertFalse(snapshot.canPlay(0), "A tele oszlop nem játszható.");
+        assertTrue(snapshot.canPlay(1), "Az üres oszlop játszható.");
+    }
+
+    @Test
+    void testLargeBoardSnapshot() {
+        BoardSnapshot snapshot = BoardSnapshot.empty(12, 12, 5);
+        for (int col = 0; col < 5; col++) {
+            snapshot = snapshot.play(col, 'X');
+        }
+
+        assertEquals('X', snapshot.getWinner(), "Nagy táblán is fel kell ismerni az ötöst.");
+        assertEquals("X", String.valueOf(snapshot.cellAt(11, 4)), "A mezőnek a legalsó sorban kell lennie.");
+    }
+
+    @Test
+    void testToStringUsesTextLayout() {
+        BoardSnapshot snapshot = BoardSnapshot.empty(2, 3, 2).play(1, 'X');
+
+        assertEquals("...\n.X.\n", snapshot.toString(), "A szöveg a mentés alakja, felső sor elöl.");
+    }
+}
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -143,6 +144,343 @@ class BoardTest {
         assertFalse(board.dropToken(0, player1.getToken()), "A zsetont nem szabadna ledobni egy tele oszlopba.");
     }
 
+    @Test
+    void testGetBoardIsView() {
+        board.dropToken(3, player1.getToken());
+        char[][] view = board.getBoard();
+        view[5][3] = 'O';
+
+        assertEquals('X', board.getBoard()[5][3], "A nézet módosítása nem hathat vissza a táblára.");
+        assertEquals('X', board.cellAt(5, 3), "A cellAt-nak a bitboard állapotát kell visszaadnia.");
+    }
+
+    @Test
+    void testWinNotDetectedForOpponent() {
+        for (int col = 0; col < 4; col++) {
+            board.dropToken(col, player1.getToken());
+        }
+        board.dropToken(6, player2.getToken());
+
+        assertFalse(board.checkHorizontalWin(player2), "Player 2 nem nyerhetett.");
+        assertFalse(board.checkVerticalWin(player1), "Player 1 nem nyert függőlegesen.");
+        assertFalse(board.checkDiagonalWin(player1), "Player 1 nem nyert átlósan.");
+    }
+
+    @Test
+    void testLoadStateFromFileRejectsThirdToken() throws IOException {
+        String testFileName = "test_board_state_invalid.txt";
+        Files.write(Paths.get(testFileName), "XOZ....\n".getBytes());
+
+        assertFalse(board.loadStateFromFile(testFileName), "Harmadik fajta karakter nem tölthető be.");
+        assertEquals('.', board.getBoard()[0][0], "Sikertelen betöltés nem módosíthatja a táblát.");
+
+        new File(testFileName).delete();
+    }
+
+    @Test
+    void testCheckWinAt() {
+        board.dropToken(0, player1.getToken());
+        board.dropToken(1, player2.getToken());
+        board.dropToken(1, player1.getToken());
+        board.dropToken(2, player2.getToken());
+        board.dropToken(2, player2.getToken());
+        board.dropToken(2, player1.getToken());
+        board.dropToken(3, player2.getToken());
+        board.dropToken(3, player2.getToken());
+        board.dropToken(3, player2.getToken());
+        assertFalse(board.checkWinAt(5, 0), "Még nincs győzelem az utolsó lépés után.");
+
+        board.dropToken(3, player1.getToken());
+        assertTrue(board.checkWinAt(2, 3), "Az utolsó token átlós győzelmet ad.");
+        assertTrue(board.checkWinAt(5, 0), "Az átló bármely mezőjéről látszik a győzelem.");
+        assertFalse(board.checkWinAt(0, 6), "Üres mezőn nem lehet győzelem.");
+    }
+
+    @Test
+    void testHeightsAndMoveCount() {
+        board.dropToken(2, player1.getToken());
+        board.dropToken(2, player2.getToken());
+        board.dropToken(4, player1.getToken());
+
+        assertEquals(2, board.getHeight(2), "A 2. oszlop magassága 2.");
+        assertEquals(1, board.getHeight(4), "A 4. oszlop magassága 1.");
+        assertEquals(0, board.getHeight(0), "A 0. oszlop üres.");
+        assertEquals(3, board.getMoveCount(), "Három lépés történt.");
+    }
+
+    @Test
+    void testCustomDimensionsAndConnectLength() {
+        Board large = new Board(7, 8, 5);
+
+        assertEquals(7, large.getRows(), "A sorok számának egyeznie kell.");
+        assertEquals(8, large.getCols(), "Az oszlopok számának egyeznie kell.");
+        assertEquals(5, large.getConnectLength(), "A sorhossznak egyeznie kell.");
+        assertEquals(7, large.getBoard().length, "A nézetnek 7 sora van.");
+        assertEquals(8, large.getBoard()[0].length, "A nézetnek 8 oszlopa van.");
+        assertTrue(large.fitsInLong(), "A 7x8-as tábla elfér egy long-ban.");
+
+        for (int col = 0; col < 4; col++) {
+            large.dropToken(col, player1.getToken());
+        }
+        assertFalse(large.checkHorizontalWin(player1), "Ötös sornál a négy token még nem nyer.");
+        assertTrue(large.isWinningMove(4, player1.getToken()), "Az ötödik token nyerne.");
+        large.dropToken(7, player1.getToken());
+        assertFalse(large.checkWinAt(large.getRows() - 1, 7), "A különálló token nem nyer.");
+        large.dropToken(4, player1.getToken());
+        assertTrue(large.checkHorizontalWin(player1), "Öt token vízszintesen nyer.");
+        assertTrue(large.checkWinAt(large.getRows() - 1, 4), "Az utolsó tokenen át is nyer.");
+    }
+
+    @Test
+    void testMultiWordBoardWins() {
+        Board large = new Board(12, 15, 4);
+        assertFalse(large.fitsInLong(), "A 12x15-ös tábla nem fér el egy long-ban.");
+
+        for (int col = 10; col < 14; col++) {
+            large.dropToken(col, player1.getToken());
+        }
+        assertTrue(large.checkHorizontalWin(player1), "Vízszintes győzelem a szavak határán át.");
+        assertFalse(large.checkHorizontalWin(player2), "A másik játékos nem nyert.");
+
+        Board vertical = new Board(12, 15, 6);
+        for (int i = 0; i < 6; i++) {
+            vertical.dropToken(14, player2.getToken());
+        }
+        assertTrue(vertical.checkVerticalWin(player2), "Függőleges győzelem az utolsó oszlopban.");
+        assertTrue(vertical.checkWinAt(6, 14), "A legfelső tokenen át is nyer.");
+
+        Board diagonal = new Board(12, 15, 4);
+        for (int i = 0; i < 4; i++) {
+            int col = 9 + i;
+            for (int filler = 0; filler < i; filler++) {
+                diagonal.dropToken(col, player2.getToken());
+            }
+            assertEquals(i == 3, diagonal.isWinningMove(col, player1.getToken()),
+                    "Csak a negyedik átlós token nyer.");
+            diagonal.dropToken(col, player1.getToken());
+        }
+        assertTrue(diagonal.checkDiagonalWin(player1), "Emelkedő átlós győzelem nagy táblán.");
+        assertFalse(diagonal.checkDiagonalWin(player2), "A kitöltő tokenek nem alkotnak átlót.");
+    }
+
+    @Test
+    void testMultiWordBoardMatchesSingleWordOnSameLayout() {
+        Board small = new Board(5, 10, 4);
+        Board large = new Board(5, 20, 4);
+        Random random = new Random(7);
+        for (int move = 0; move < 40; move++) {
+            int col = random.nextInt(10);
+            char token = (move & 1) == 0 ? 'X' : 'O';
+            assertEquals(small.dropToken(col, token), large.dropToken(col, token), "A lépéseknek egyezniük kell.");
+            assertEquals(small.checkHorizontalWin(player1), large.checkHorizontalWin(player1), "Vízszintes eltérés.");
+            assertEquals(small.checkVerticalWin(player2), large.checkVerticalWin(player2), "Függőleges eltérés.");
+            assertEquals(small.checkDiagonalWin(player1), large.checkDiagonalWin(player1), "Átlós eltérés.");
+        }
+    }
+
+    @Test
+    void testLongBitsUnavailableOnLargeBoard() {
+        Board large = new Board(10, 10, 4);
+        large.dropToken(0, 'X');
+
+        assertThrows(IllegalStateException.class, () -> large.getTokenBits('X'),
+                "Nagy táblán nincs egy long-os bitboard.");
+        assertThrows(IllegalStateException.class, large::getMask,
+                "Nagy táblán nincs egy long-os maszk.");
+        assertEquals(1, large.countTokens('X'), "A tokenek száma nagy táblán is elérhető.");
+    }
+
+    @Test
+    void testLoadAndSaveLargeBoard() throws IOException {
+        Board large = new Board(9, 12, 5);
+        large.dropToken(11, 'X');
+        large.dropToken(11, 'O');
+        large.dropToken(0, 'X');
+        File file = File.createTempFile("large", ".txt");
+        large.saveStateToFile(file.getPath());
+
+        Board loaded = new Board(9, 12, 5);
+        assertTrue(loaded.loadStateFromFile(file.getPath()), "A nagy táblát be kell tudni tölteni.");
+        assertEquals('O', loaded.cellAt(7, 11), "A betöltött mezőnek egyeznie kell.");
+        assertEquals(2, loaded.getHeight(11), "A magasságot újra kell számolni.");
+        assertEquals(3, loaded.getMoveCount(), "A lépésszámot újra kell számolni.");
+        file.delete();
+    }
+
+    @Test
+    void testUnmakeMoveRestoresStateAndHash() {
+        long emptyHash = board.getHashKey();
+        board.makeMove(3, 'X');
+        long afterFirst = board.getHashKey();
+        char[][] before = board.getBoard();
+        board.makeMove(3, 'O');
+
+        assertEquals(3, board.unmakeMove(), "A visszavont lépés oszlopát kell visszaadni.");
+        assertArrayEquals(before, board.getBoard(), "A táblának vissza kell állnia.");
+        assertEquals(1, board.getHeight(3), "A magasságnak vissza kell állnia.");
+        assertEquals(1, board.getMoveCount(), "A lépésszámnak vissza kell állnia.");
+        assertEquals(afterFirst, board.getHashKey(), "A kulcsnak vissza kell állnia.");
+        board.unmakeMove();
+        assertEquals(emptyHash, board.getHashKey(), "Üres táblán a kulcs az eredeti.");
+        assertFalse(board.canUndo(), "Üres táblán nincs mit visszavonni.");
+        assertThrows(IllegalStateException.class, board::unmakeMove, "Üres táblán a visszavonás hiba.");
+    }
+
+    @Test
+    void testHashIgnoresMoveOrder() {
+        Board other = new Board();
+        board.makeMove(2, 'X');
+        board.makeMove(4, 'O');
+        board.makeMove(3, 'X');
+        other.makeMove(3, 'X');
+        other.makeMove(4, 'O');
+        other.makeMove(2, 'X');
+
+        assertEquals(board.getHashKey(), other.getHashKey(), "Azonos állásnak azonos a kulcsa.");
+        other.unmakeMove();
+        assertNotEquals(board.getHashKey(), other.getHashKey(), "Eltérő állásnak más a kulcsa.");
+    }
+
+    @Test
+    void testRedoMoveAndNewMoveClearsRedo() {
+        board.makeMove(1, 'X');
+        board.makeMove(2, 'O');
+        board.unmakeMove();
+        board.unmakeMove();
+
+        assertTrue(board.canRedo(), "A visszavont lépések újra megtehetők.");
+        assertEquals(1, board.redoMove(), "Először az első lépés jön vissza.");
+        assertEquals('X', board.cellAt(5, 1), "A lépés a saját karakterével tér vissza.");
+        board.makeMove(5, 'O');
+        assertFalse(board.canRedo(), "Új lépés után nincs újralépés.");
+        assertArrayEquals(new int[] {1, 5}, board.getMoveHistory(), "A történet az új lépést tartalmazza.");
+    }
+
+    @Test
+    void testLongReplayWithUndoOnLargeBoard() {
+        Board large = new Board(20, 20, 5);
+        Random random = new Random(11);
+        for (int move = 0; move < 300; move++) {
+            int col = random.nextInt(20);
+            if (large.getHeight(col) < 20) {
+                large.makeMove(col, (large.getMoveCount() & 1) == 0 ? 'X' : 'O');
+            }
+        }
+        while (large.canUndo()) {
+            large.unmakeMove();
+        }
+
+        assertEquals(0, large.getMoveCount(), "Minden lépés visszavonható.");
+        assertEquals(0L, large.getHashKey(), "Az üres tábla kulcsa 0.");
+        assertEquals(0, large.countTokens('X') + large.countTokens('O'), "A táblán nem maradhat token.");
+    }
+
+    @Test
+    void testTextLoadedBoardHasHashButNoUndo() throws IOException {
+        board.makeMove(3, 'X');
+        board.makeMove(4, 'O');
+        File file = File.createTempFile("hash", ".txt");
+        board.saveStateToFile(file.getPath());
+
+        Board loaded = new Board();
+        assertTrue(loaded.loadStateFromFile(file.getPath()), "A betöltésnek sikerülnie kell.");
+        file.delete();
+
+        assertEquals(board.getHashKey(), loaded.getHashKey(), "A kulcsot betöltéskor újra kell számolni.");
+        assertFalse(loaded.canUndo(), "Ismeretlen sorrendnél nincs visszavonás.");
+    }
+
+    @Test
+    void testMirroredTextBoardsShareCanonicalKey() throws IOException {
+        File left = File.createTempFile("left", ".txt");
+        File right = File.createTempFile("right", ".txt");
+        Files.write(left.toPath(), (
+                ".......\n" +
+                ".......\n" +
+                ".......\n" +
+                "O......\n" +
+                "XO.....\n" +
+                "XXO.X..\n").getBytes());
+        Files.write(right.toPath(), (
+                ".......\n" +
+                ".......\n" +
+                ".......\n" +
+                "......O\n" +
+                ".....OX\n" +
+                "..X.OXX\n").getBytes());
+
+        Board leftBoard = new Board();
+        Board rightBoard = new Board();
+        assertTrue(leftBoard.loadStateFromFile(left.getPath()), "A bal oldali táblát be kell tudni tölteni.");
+        assertTrue(rightBoard.loadStateFromFile(right.getPath()), "A tükrözött táblát be kell tudni tölteni.");
+        left.delete();
+        right.delete();
+
+        assertNotEquals(leftBoard.getHashKey(), rightBoard.getHashKey(), "A két állás Zobrist-kulcsa eltér.");
+        assertEquals(leftBoard.getMirrorHashKey(), rightBoard.getHashKey(), "A tükörkép kulcsa a másik tábla kulcsa.");
+        assertEquals(leftBoard.getCanonicalKey(), rightBoard.getCanonicalKey(),
+                "A tükörképeknek azonos kanonikus kulcsot kell kapniuk.");
+    }
+
+    @Test
+    void testMirrorHashFollowsMovesAndUndo() {
+        Board mirrored = new Board();
+        Random random = new Random(23);
+        for (int move = 0; move < 30; move++) {
+            int col = random.nextInt(7);
+            if (board.getHeight(col) < 6) {
+                char token = (board.getMoveCount() & 1) == 0 ? 'X' : 'O';
+                board.makeMove(col, token);
+                mirrored.makeMove(6 - col, token);
+                assertEquals(mirrored.getHashKey(), board.getMirrorHashKey(),
+                        "A tükörkulcsnak lépésenként követnie kell a tükrözött táblát.");
+                assertEquals(board.getCanonicalKey(), mirrored.getCanonicalKey(), "A kanonikus kulcsnak egyeznie kell.");
+            }
+        }
+        while (board.canUndo()) {
+            board.unmakeMove();
+            mirrored.unmakeMove();
+            assertEquals(mirrored.getHashKey(), board.getMirrorHashKey(), "Visszavonáskor is követnie kell.");
+        }
+        assertEquals(0L, board.getMirrorHashKey(), "Az üres tábla tükörkulcsa 0.");
+    }
+
+    @Test
+    void testTallNarrowBoardsHaveNoWrappedLines() {
+        // Ezeken a táblákon a vízszintes és átlós eltolás eléri a 64 bitet
+        Board fiveInRow = new Board(15, 4, 5);
+        for (int col = 0; col < 4; col++) {
+            fiveInRow.dropToken(col, player1.getToken());
+        }
+        assertFalse(fiveInRow.checkHorizontalWin(player1), "Négy oszlopon nincs ötös sor.");
+        assertFalse(fiveInRow.checkDiagonalWin(player1), "Négy oszlopon nincs ötös átló.");
+        assertFalse(fiveInRow.checkWinAt(14, 3), "A lépésenkénti ellenőrzésnek is egyeznie kell.");
+
+        Board twoColumns = new Board(31, 2, 4);
+        twoColumns.dropToken(0, player1.getToken());
+        twoColumns.dropToken(1, player1.getToken());
+        assertFalse(twoColumns.checkHorizontalWin(player1), "Két szomszédos token nem győzelem.");
+        assertFalse(twoColumns.checkDiagonalWin(player1), "Két oszlopon nincs átlós négyes.");
+
+        Board oneColumn = new Board(63, 1, 4);
+        oneColumn.dropToken(0, player1.getToken());
+        assertFalse(oneColumn.checkHorizontalWin(player1), "Egyetlen token nem győzelem.");
+        assertFalse(oneColumn.checkDiagonalWin(player1), "Egyetlen token nem győzelem.");
+        assertFalse(oneColumn.checkVerticalWin(player1), "Egyetlen token nem győzelem.");
+        for (int i = 0; i < 3; i++) {
+            oneColumn.dropToken(0, player1.getToken());
+        }
+        assertTrue(oneColumn.checkVerticalWin(player1), "A függőleges négyes győzelem.");
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(0, 7, 4), "Nulla sor érvénytelen.");
+        assertThrows(IllegalArgumentException.class, () -> new Board(6, 0, 4), "Nulla oszlop érvénytelen.");
+        assertThrows(IllegalArgumentException.class, () -> new Board(6, 7, 1), "Egyes sor érvénytelen.");
+        assertThrows(IllegalArgumentException.class, () -> new Board(3, 3, 4), "A sorhossz nem lehet nagyobb a táblánál.");
+    }
+
     @Test
     void testPrintBoard() {
         // A standard kimenet átirányítása, hogy ellenőrizhessük a kiírt szöveget
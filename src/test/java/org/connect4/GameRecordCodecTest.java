@@ -0,0 +1,174 @@
+package org.connect4;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRecordCodecTest {
+
+    private final Player first = new Player("Anna", 'X');
+    private final Player second = new Player("Béla", 'O');
+
+    private Board play(int rows, int cols, int connect, int... moves) {
+        Board board = new Board(rows, cols, connect);
+        for (int i = 0; i < moves.length; i++) {
+            board.dropToken(moves[i], i % 2 == 0 ? 'X' : 'O');
+        }
+        return board;
+    }
+
+    @Test
+    public void testRoundTripKeepsMovesAndPlayers() throws IOException {
+        int[] moves = {3, 3, 2, 4, 6, 0, 1, 5, 5, 5};
+        GameRecord record = GameRecord.of(play(6, 7, 4, moves), first, second);
+
+        GameRecord decoded = GameRecordCodec.decode(GameRecordCodec.encode(record));
+
+        assertArrayEquals(moves, decoded.getMoves(), "A lépéssorrendnek meg kell maradnia.");
+        assertEquals("Anna", decoded.getFirstPlayer().getName(), "A kezdő neve megmarad.");
+        assertEquals("Béla", decoded.getSecondPlayer().getName(), "Az ékezetes név is megmarad.");
+        assertEquals('X', decoded.getPlayerToMove().getToken(), "Páros lépésszámnál a kezdő lép.");
+        assertArrayEquals(play(6, 7, 4, moves).getBoard(), decoded.toBoard().getBoard(),
+                "A visszajátszott táblának egyeznie kell.");
+    }
+
+    @Test
+    public void testMovesArePackedInThreeBitsOnStandardBoard() {
+        int[] moves = new int[40];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = i % 7;
+        }
+        GameRecord empty = new GameRecord(6, 7, 4, first, second, new int[0]);
+        GameRecord full = new GameRecord(6, 7, 4, first, second, moves);
+
+        int emptySize = GameRecordCodec.encode(empty).remaining();
+        int fullSize = GameRecordCodec.encode(full).remaining();
+
+        assertEquals(3, GameRecordCodec.bitsPerMove(7), "7 oszlophoz 3 bit kell.");
+        assertEquals(4, GameRecordCodec.bitsPerMove(16), "16 oszlophoz 4 bit kell.");
+        assertEquals(15, fullSize - emptySize, "40 lépés 3 biten 15 bájt.");
+    }
+
+    @Test
+    public void testLargeBoardRoundTrip() throws IOException {
+        int[] moves = new int[200];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (i * 7) % 32;
+        }
+        GameRecord record = new GameRecord(32, 32, 6, first, second, moves);
+
+        GameRecord decoded = GameRecordCodec.decode(GameRecordCodec.encode(record));
+
+        assertArrayEquals(moves, decoded.getMoves(), "Nagy táblán is megmarad a sorrend.");
+        assertEquals(32, decoded.getCols(), "Az oszlopszám megmarad.");
+        assertEquals(6, decoded.getConnectLength(), "A sorhossz megmarad.");
+    }
+
+    @Test
+    public void testCorruptedDataIsRejected() {
+        GameRecord record = GameRecord.of(play(6, 7, 4, 3, 3, 2), first, second);
+        ByteBuffer buffer = GameRecordCodec.encode(record);
+        int last = buffer.limit() - 5;
+        buffer.put(last, (byte) (buffer.get(last) ^ 1));
+
+        assertThrows(IOException.class, () -> GameRecordCodec.decode(buffer),
+                "A sérült adatot az ellenőrzőösszegnek észre kell vennie.");
+    }
+
+    @Test
+    public void testTruncatedAndForeignDataIsRejected() {
+        ByteBuffer encoded = GameRecordCodec.encode(
+                GameRecord.of(play(6, 7, 4, 3), first, second));
+        ByteBuffer truncated = ByteBuffer.wrap(encoded.array(), 0, 8);
+
+        assertThrows(IOException.class, () -> GameRecordCodec.decode(truncated),
+                "A csonka adatot el kell utasítani.");
+        assertThrows(IOException.class,
+                () -> GameRecordCodec.decode(ByteBuffer.wrap("XO.....\n".repeat(6).getBytes())),
+                "Az idegen formátumot el kell utasítani.");
+    }
+
+    /** Egy üres játszma fejét hamisítja, helyes ellenőrzőösszeggel. */
+    private ByteBuffer forge(int rows, int cols, int count) {
+        ByteBuffer buffer = GameRecordCodec.encode(
+                new GameRecord(6, 7, 4, first, second, new int[0]));
+        int end = buffer.limit() - Integer.BYTES;
+        buffer.putShort(5, (short) rows).putShort(7, (short) cols);
+        buffer.putInt(end - 5, count).put(end - 1, (byte) GameRecordCodec.bitsPerMove(cols));
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, end);
+        return buffer.putInt(end, (int) crc.getValue());
+    }
+
+    @Test
+    public void testForgedHeaderIsRejectedBeforeAllocation() {
+        assertThrows(IOException.class, () -> GameRecordCodec.decode(forge(30000, 30000, 0)),
+                "A túl nagy táblát foglalás előtt el kell utasítani.");
+        assertThrows(IOException.class, () -> GameRecordCodec.decode(forge(1024, 1024, 1 << 20)),
+                "A hiányzó lépésbájtokat foglalás előtt észre kell venni.");
+        assertThrows(IOException.class, () -> GameRecordCodec.decode(forge(6, 7, 42)),
+                "A csonka lépéslistát el kell utasítani.");
+    }
+
+    @Test
+    public void testIllegalMoveIsRejected() {
+        int[] moves = {0, 0, 0, 0, 0, 0, 0};
+        GameRecord record = new GameRecord(6, 7, 4, first, second, moves);
+
+        assertThrows(IOException.class,
+                () -> GameRecordCodec.decode(GameRecordCodec.encode(record)),
+                "Tele oszlopba lépést tartalmazó játszmát el kell utasítani.");
+    }
+
+    @Test
+    public void testOrderIsReconstructedAfterTextLoad() throws IOException {
+        Board original = play(6, 7, 4, 3, 2, 3, 3, 4, 2, 1);
+        Path file = Files.createTempFile("record", ".txt");
+        original.saveStateToFile(file.toString());
+        Board loaded = new Board();
+        assertTrue(loaded.loadStateFromFile(file.toString()), "A szöveges betöltésnek sikerülnie kell.");
+        Files.delete(file);
+
+        assertFalse(loaded.hasMoveHistory(), "Szöveges betöltés után nincs lépéstörténet.");
+        GameRecord record = GameRecord.of(loaded, first, second);
+
+        assertEquals(7, record.getMoveCount(), "Minden token lépésként szerepel.");
+        assertEquals('X', record.getFirstPlayer().getToken(), "A több tokennel rendelkező kezdett.");
+        assertArrayEquals(original.getBoard(), record.toBoard().getBoard(),
+                "A helyreállított sorrendnek ugyanazt az állást kell adnia.");
+    }
+
+    @Test
+    public void testUnreachablePositionIsRejected() {
+        Board board = new Board();
+        board.dropToken(0, 'X');
+        board.dropToken(1, 'X');
+        board.dropToken(2, 'X');
+
+        assertThrows(IllegalArgumentException.class, () -> GameRecord.of(board, first, second),
+                "Felváltott lépésekkel el nem érhető állás nem menthető.");
+    }
+
+    @Test
+    public void testFileRoundTripAndSizeAgainstText() throws IOException {
+        Board board = play(16, 16, 5, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15);
+        Path binary = Files.createTempFile("record", GameRecordCodec.EXTENSION);
+        Path text = Files.createTempFile("record", ".txt");
+
+        GameRecordCodec.write(binary, GameRecord.of(board, first, second));
+        board.saveStateToFile(text.toString());
+        GameRecord read = GameRecordCodec.read(binary);
+
+        assertArrayEquals(board.getBoard(), read.toBoard().getBoard(), "A fájlból visszaolvasott állás egyezik.");
+        assertTrue(Files.size(binary) * 5 < Files.size(text),
+                "A bináris alak nagy táblán jóval kisebb a szövegesnél.");
+        Files.delete(binary);
+        Files.delete(text);
+    }
+}
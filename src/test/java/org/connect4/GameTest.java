@@ -2,9 +2,15 @@ package org.connect4;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.connect4.ai.OpeningBook;
+import org.connect4.ai.Position;
+import org.connect4.ai.SearchEngine;
+import org.connect4.sim.TacticalPolicy;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,6 +63,16 @@ public class GameTest {
         assertTrue(game.isPlayingAgainstAI(), "AI ellen kellene játszani.");
     }
 
+    @Test
+    public void testSetupGameLoadsFileNameFromSameScanner() {
+        Scanner scanner = new Scanner("Játékos1\nJátékos2\ngamestate.txt\n");
+        Game game = Game.setupGame(3, scanner);
+
+        assertEquals('X', game.getBoard().cellAt(2, 3),
+                "A fájlnevet a menü scanneréből kell olvasni, és a táblát betölteni.");
+        assertEquals('O', game.getBoard().cellAt(3, 4), "A betöltött táblának egyeznie kell a fájllal.");
+    }
+
     @Test
     public void testGetPlayerInput_ValidInput() {
         String input = "3\n"; // A játékos által megadott bemenet
@@ -107,6 +123,365 @@ public class GameTest {
         assertTrue(column >= 0 && column < 7, "Az AI kiválasztott oszlopa érvényesnek kell lennie (0-6 között).");
     }
 
+    @Test
+    public void testGetCurrentPlayerInput_AIBlocksWin() {
+        Player ai = new Player("AI", 'O');
+        game = new Game(player1, ai, true);
+        game.getBoard().dropToken(0, player1.getToken());
+        game.getBoard().dropToken(1, player1.getToken());
+        game.getBoard().dropToken(2, player1.getToken());
+        game.getBoard().dropToken(6, ai.getToken());
+        game.getBoard().dropToken(6, ai.getToken());
+        game.switchPlayer();
+
+        int column = game.getCurrentPlayerInput();
+
+        assertEquals(3, column, "Az AI-nak blokkolnia kell az ellenfél nyerő lépését.");
+    }
+
+    @Test
+    public void testGetCurrentPlayerInput_StrategyPlayer() {
+        Player bot = new Player("Bot", 'O', (position, random) -> 5);
+        game = new Game(player1, bot, false);
+        game.getBoard().dropToken(0, player1.getToken());
+        game.switchPlayer();
+
+        assertEquals(5, game.getCurrentPlayerInput(),
+                "A stratégiával rendelkező játékos lépését a stratégia adja.");
+    }
+
+    @Test
+    public void testComputeStrategyMove_TakesWinWithTacticalStrategy() {
+        Player bot = new Player("Bot", 'O', new TacticalPolicy());
+        game = new Game(player1, bot, false);
+        game.getBoard().dropToken(0, player1.getToken());
+        game.getBoard().dropToken(4, bot.getToken());
+        game.getBoard().dropToken(0, player1.getToken());
+        game.getBoard().dropToken(4, bot.getToken());
+        game.getBoard().dropToken(1, player1.getToken());
+        game.getBoard().dropToken(4, bot.getToken());
+        game.getBoard().dropToken(6, player1.getToken());
+        game.switchPlayer();
+
+        assertEquals(4, game.computeStrategyMove(),
+                "A taktikus stratégiának meg kell tennie a nyerő lépést.");
+    }
+
+    @Test
+    public void testGetCurrentPlayerInput_AIOnLargeBoardTakesWinAndBlocks() {
+        Player ai = new Player("AI", 'O');
+        game = new Game(player1, ai, true, new SearchEngine(50), null, new Board(8, 9, 5));
+        for (int col = 0; col < 4; col++) {
+            game.getBoard().dropToken(col, player1.getToken());
+        }
+        game.switchPlayer();
+
+        assertEquals(4, game.getCurrentPlayerInput(), "Az AI-nak blokkolnia kell az ötös sort.");
+
+        for (int col = 5; col < 9; col++) {
+            game.getBoard().dropToken(col, ai.getToken());
+        }
+        assertEquals(4, game.getCurrentPlayerInput(), "Az AI-nak a saját győzelmét kell választania.");
+    }
+
+    @Test
+    public void testGameWithCustomDimensions() {
+        game = new Game(player1, player2, false, 7, 8, 5);
+
+        assertEquals(7, game.getBoard().getRows(), "A tábla sorainak száma 7.");
+        assertEquals(8, game.getBoard().getCols(), "A tábla oszlopainak száma 8.");
+        assertEquals(5, game.getBoard().getConnectLength(), "A sorhossz 5.");
+    }
+
+    @Test
+    public void testGetCurrentPlayerInput_AIUsesOpeningBook() throws Exception {
+        Player ai = new Player("AI", 'O');
+        Board reference = new Board();
+        reference.dropToken(3, player1.getToken());
+        long key = Position.fromBoard(reference, ai.getToken()).key();
+        Path file = Files.createTempFile("game", ".book");
+        OpeningBook.write(file, 6, 7, 4, new long[] {key}, new byte[] {0});
+
+        game = new Game(player1, ai, true, new SearchEngine(50), OpeningBook.open(file));
+        game.getBoard().dropToken(3, player1.getToken());
+        game.switchPlayer();
+
+        assertEquals(0, game.getCurrentPlayerInput(), "Az AI-nak a könyvlépést kell játszania.");
+        Files.delete(file);
+    }
+
+    @Test
+    public void testBinarySaveAndLoadRestoresPositionAndTurn() throws Exception {
+        Path file = Files.createTempFile("game", GameRecordCodec.EXTENSION);
+        game.getBoard().dropToken(3, player1.getToken());
+        game.getBoard().dropToken(3, player2.getToken());
+        game.getBoard().dropToken(4, player1.getToken());
+        game.saveGameState(file.toString());
+
+        Game restored = new Game(player1, player2, false);
+        assertTrue(restored.loadGameState(file.toString()), "A bináris betöltésnek sikerülnie kell.");
+
+        assertArrayEquals(game.getBoard().getBoard(), restored.getBoard().getBoard(),
+                "A betöltött táblának egyeznie kell a mentettel.");
+        assertArrayEquals(new int[] {3, 3, 4}, restored.getBoard().getMoveHistory(),
+                "A lépéstörténetnek is vissza kell állnia.");
+        assertEquals(player2, restored.getCurrentPlayer(), "Három lépés után a második játékos lép.");
+        Files.delete(file);
+    }
+
+    @Test
+    public void testLoadGameStateRecoversJournal() throws Exception {
+        Path file = Files.createTempFile("game", MoveJournal.EXTENSION);
+        try (JournalWriter writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH)) {
+            MoveJournal journal = writer.open(file);
+            journal.begin(new GameRecord(6, 7, 4, player1, player2, new int[] {3}));
+            journal.append(4);
+            journal.append(3);
+            writer.flush();
+        }
+
+        assertTrue(game.loadGameState(file.toString()), "A naplóból való betöltésnek sikerülnie kell.");
+        assertArrayEquals(new int[] {3, 4, 3}, game.getBoard().getMoveHistory(),
+                "A naplózott lépéseknek vissza kell állniuk.");
+        assertEquals(player2, game.getCurrentPlayer(), "Három lépés után a második játékos lép.");
+        Files.delete(file);
+    }
+
+    @Test
+    public void testSetupGameResumesInterruptedGameFromJournal() throws Exception {
+        Path file = Files.createTempFile("autosave", MoveJournal.EXTENSION);
+        try (JournalWriter writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH)) {
+            MoveJournal journal = writer.open(file);
+            journal.begin(new GameRecord(6, 7, 4, player1, player2, new int[] {3}));
+            journal.append(4);
+            journal.append(3);
+            writer.flush();
+        }
+        System.setProperty("connect4.autosave", file.toString());
+        try {
+            // Üres fájlnév: a megszakadt játék folytatása
+            Game resumed = Game.setupGame(3, new Scanner("Játékos1\nJátékos2\n\n"));
+
+            assertArrayEquals(new int[] {3, 4, 3}, resumed.getBoard().getMoveHistory(),
+                    "A megszakadt játék lépéseinek vissza kell állniuk.");
+            assertEquals('O', resumed.getCurrentPlayer().getToken(),
+                    "Három lépés után a második játékos lép.");
+        } finally {
+            System.clearProperty("connect4.autosave");
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testSetupGameKeepsInterruptedJournalForNewGame() throws Exception {
+        Path file = Files.createTempFile("autosave", MoveJournal.EXTENSION);
+        try (JournalWriter writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH)) {
+            MoveJournal journal = writer.open(file);
+            journal.begin(new GameRecord(6, 7, 4, player1, player2, new int[] {3}));
+            journal.append(4);
+            writer.flush();
+        }
+        Path fresh = Game.freshJournalPath(file);
+        System.setProperty("connect4.autosave", file.toString());
+        try {
+            Game newGame = Game.setupGame(1, new Scanner("Játékos1\nJátékos2\n"));
+            newGame.play(0);
+            Game.autosaveWriter().flush();
+
+            assertArrayEquals(new int[] {3, 4}, MoveJournal.recover(file).getMoves(),
+                    "Az új játék nem írhatja felül a megszakadt játék naplóját.");
+            assertArrayEquals(new int[] {0}, MoveJournal.recover(fresh).getMoves(),
+                    "Az új játék saját naplóba kerül.");
+        } finally {
+            System.clearProperty("connect4.autosave");
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(fresh);
+        }
+    }
+
+    @Test
+    public void testRestartKeepsJournaling() throws Exception {
+        Path file = Files.createTempFile("game", MoveJournal.EXTENSION);
+        try (JournalWriter writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH)) {
+            game.enableAutosave(writer.open(file));
+            game.play(0);
+            game.play(1);
+            game.restart();
+            game.play(2);
+            writer.flush();
+
+            assertArrayEquals(new int[] {2}, MoveJournal.recover(file).getMoves(),
+                    "Újrakezdés után az új játszmát is naplózni kell.");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStart_AutosaveJournalIsRemovedAfterGameEnds() throws Exception {
+        Path file = Files.createTempFile("game", MoveJournal.EXTENSION);
+        for (int col = 0; col < 3; col++) {
+            game.getBoard().dropToken(col, player1.getToken());
+            game.getBoard().dropToken(col, player2.getToken());
+        }
+        try (JournalWriter writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH)) {
+            game.enableAutosave(writer.open(file));
+            System.setIn(new ByteArrayInputStream("3\n".getBytes()));
+
+            game.start();
+            writer.flush();
+        }
+
+        assertFalse(Files.exists(file), "A befejezett játék naplóját törölni kell.");
+    }
+
+    @Test
+    public void testUndoAndRedoMove() {
+        game.getBoard().makeMove(3, player1.getToken());
+        game.switchPlayer();
+
+        assertTrue(game.undoMove(), "Az egyetlen lépés visszavonható.");
+        assertEquals(0, game.getBoard().getMoveCount(), "A tábla újra üres.");
+        assertEquals(player1, game.getCurrentPlayer(), "Visszavonás után újra az első játékos lép.");
+        assertFalse(game.undoMove(), "Üres táblán nincs mit visszavonni.");
+
+        assertTrue(game.redoMove(), "A visszavont lépés újra megtehető.");
+        assertFalse(game.isOver(), "Az újralépés nem hoz győzelmet.");
+        assertEquals(1, game.getBoard().getHeight(3), "A lépésnek vissza kell kerülnie.");
+        assertEquals(player2, game.getCurrentPlayer(), "Újralépés után a második játékos jön.");
+    }
+
+    @Test
+    public void testUndoAgainstAIRevertsBothMoves() {
+        game = new Game(player1, player2, true, new SearchEngine(50));
+        game.getBoard().makeMove(3, player1.getToken());
+        game.getBoard().makeMove(3, player2.getToken());
+
+        assertTrue(game.undoMove(), "A két lépés visszavonható.");
+        assertEquals(0, game.getBoard().getMoveCount(), "AI ellen a játékos és az AI lépése is visszavonódik.");
+        assertEquals(player1, game.getCurrentPlayer(), "Visszavonás után a játékos lép.");
+    }
+
+    @Test
+    public void testUndoAgainstAIAfterPlayerWinRevertsOnlyWinningMove() {
+        game = new Game(player1, player2, true, new SearchEngine(50));
+        for (int col = 0; col < 3; col++) {
+            game.play(col);
+            game.play(6);
+        }
+        assertEquals(MoveResult.WIN, game.play(3), "A játékos vízszintesen nyer.");
+
+        assertTrue(game.undoMove(), "A nyerő lépés visszavonható.");
+        assertFalse(game.isOver(), "Visszavonás után a játék folytatódik.");
+        assertEquals(6, game.getBoard().getMoveCount(), "Csak a játékos nyerő lépése vonódik vissza.");
+        assertEquals(player1, game.getCurrentPlayer(), "Visszavonás után ismét a játékos lép.");
+    }
+
+    @Test
+    public void testUndoAfterWinKeepsAutosaveJournal() throws Exception {
+        Path file = Files.createTempFile("game", MoveJournal.EXTENSION);
+        try (JournalWriter writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH)) {
+            game.enableAutosave(writer.open(file));
+            for (int i = 0; i < 3; i++) {
+                game.play(0);
+                game.play(1);
+            }
+            assertEquals(MoveResult.WIN, game.play(0), "A negyedik korong függőlegesen nyer.");
+            assertTrue(game.undoMove(), "A nyerő lépés visszavonható.");
+            assertEquals(MoveResult.APPLIED, game.play(2), "A visszavont játék folytatható.");
+            writer.flush();
+
+            assertArrayEquals(game.getBoard().getMoveHistory(), MoveJournal.recover(file).getMoves(),
+                    "A visszavonás után tett lépésnek is a naplóba kell kerülnie.");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testGetPlayerInput_UndoAndRedoCommands() {
+        System.setIn(new ByteArrayInputStream("u\n".getBytes()));
+        assertEquals(Game.UNDO_COMMAND, game.getPlayerInput(), "Az 'u' a visszavonás parancsa.");
+        System.setIn(new ByteArrayInputStream("r\n".getBytes()));
+        assertEquals(Game.REDO_COMMAND, game.getPlayerInput(), "Az 'r' az újralépés parancsa.");
+    }
+
+    @Test
+    public void testPlay_ReturnsOutcomes() {
+        assertEquals(MoveResult.INVALID_COLUMN, game.play(7), "A 7. oszlop nem létezik.");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(MoveResult.APPLIED, game.play(0), "Szabályos lépésnek meg kell történnie.");
+            assertEquals(MoveResult.APPLIED, game.play(1), "Szabályos lépésnek meg kell történnie.");
+        }
+        assertEquals(player1, game.getCurrentPlayer(), "Hat lépés után az első játékos lép.");
+        assertEquals(MoveResult.WIN, game.play(0), "A negyedik korong függőlegesen nyer.");
+        assertTrue(game.isOver(), "Győzelem után a játéknak véget kell érnie.");
+        assertEquals(player1, game.getWinner(), "Az első játékosnak kell nyernie.");
+        assertEquals(MoveResult.GAME_OVER, game.play(2), "Véget ért játékban nem lehet lépni.");
+        assertEquals(7, game.getBoard().getMoveCount(), "Elutasított lépés nem kerülhet a táblára.");
+    }
+
+    @Test
+    public void testPlay_ColumnFullAndDraw() {
+        game = new Game(player1, player2, false, null, null, new Board(1, 2, 2));
+        assertEquals(MoveResult.APPLIED, game.play(0), "Szabályos lépésnek meg kell történnie.");
+        assertEquals(MoveResult.COLUMN_FULL, game.play(0), "Tele oszlopba nem lehet lépni.");
+        assertEquals(player2, game.getCurrentPlayer(), "Elutasított lépés után ugyanaz a játékos lép.");
+        assertEquals(MoveResult.DRAW, game.play(1), "A tele tábla döntetlen.");
+        assertTrue(game.isOver(), "Döntetlen után a játéknak véget kell érnie.");
+        assertNull(game.getWinner(), "Döntetlennél nincs győztes.");
+    }
+
+    @Test
+    public void testListenerReceivesEvents() {
+        StringBuilder events = new StringBuilder();
+        game.addListener(new GameListener() {
+            @Override
+            public void onMove(Game g, Player player, int col) {
+                events.append(player.getToken()).append(col).append(' ');
+            }
+
+            @Override
+            public void onUndo(Game g, Player player, int col) {
+                events.append("u").append(col).append(' ');
+            }
+
+            @Override
+            public void onWin(Game g, Player winner) {
+                events.append("win:").append(winner.getToken()).append(' ');
+            }
+
+            @Override
+            public void onIllegalMove(Game g, Player player, int col, MoveResult reason) {
+                events.append(reason).append(' ');
+            }
+        });
+        game.play(3);
+        game.play(9);
+        game.play(4);
+        game.undoMove();
+        assertEquals("X3 INVALID_COLUMN O4 u4 ", events.toString(), "Az eseményeknek sorrendben kell érkezniük.");
+    }
+
+    @Test
+    public void testRunWithScriptedSources() {
+        int[] firstMoves = {0, 0, 0, 0};
+        int[] secondMoves = {1, 1, 1};
+        int[] next = new int[2];
+        MoveResult result = game.run(g -> firstMoves[next[0]++], g -> secondMoves[next[1]++]);
+
+        assertEquals(MoveResult.WIN, result, "A szkriptelt játszmának győzelemmel kell végződnie.");
+        assertEquals(player1, game.getWinner(), "Az első játékosnak kell nyernie.");
+
+        assertTrue(game.undoMove(), "A győztes lépés visszavonható.");
+        assertFalse(game.isOver(), "Visszavonás után a játék folytatódik.");
+        assertEquals(player1, game.getCurrentPlayer(), "A visszavont lépés játékosa lép újra.");
+
+        game.restart();
+        assertEquals(0, game.getBoard().getMoveCount(), "Újrakezdéskor a táblának üresnek kell lennie.");
+        assertEquals(player1, game.getCurrentPlayer(), "Újrakezdéskor az első játékos lép.");
+    }
+
     @Test
     public void testSwitchPlayer() {
         // Kezdő állapot: első játékos
@@ -0,0 +1,181 @@
+package org.connect4;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveJournalTest {
+
+    private final Player first = new Player("Anna", 'X');
+    private final Player second = new Player("Béla", 'O');
+
+    @TempDir
+    Path dir;
+
+    private JournalWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        writer = new JournalWriter(JournalWriter.SYNC_EVERY_BATCH);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writer.close();
+    }
+
+    private GameRecord empty() {
+        return new GameRecord(6, 7, 4, first, second, new int[0]);
+    }
+
+    @Test
+    public void testAppendedMovesAreRecovered() throws IOException {
+        Path file = dir.resolve("game" + MoveJournal.EXTENSION);
+        MoveJournal journal = writer.open(file);
+        journal.begin(empty());
+        int[] moves = {3, 3, 4, 2, 5, 6};
+        for (int move : moves) {
+            journal.append(move);
+        }
+        writer.flush();
+
+        GameRecord recovered = MoveJournal.recover(file);
+
+        assertArrayEquals(moves, recovered.getMoves(), "A naplózott lépéseknek vissza kell állniuk.");
+        assertEquals("Béla", recovered.getSecondPlayer().getName(), "A játékosok is a naplóban vannak.");
+    }
+
+    @Test
+    public void testHeaderKeepsEarlierMoves() throws IOException {
+        Path file = dir.resolve("game" + MoveJournal.EXTENSION);
+        MoveJournal journal = writer.open(file);
+        journal.begin(new GameRecord(6, 7, 4, first, second, new int[] {3, 2}));
+        journal.append(3);
+        writer.flush();
+
+        assertArrayEquals(new int[] {3, 2, 3}, MoveJournal.recover(file).getMoves(),
+                "A kezdőállás lépései és a naplózott lépések együtt állnak vissza.");
+    }
+
+    @Test
+    public void testUndoRecordsAreReplayed() throws IOException {
+        Path file = dir.resolve("game" + MoveJournal.EXTENSION);
+        MoveJournal journal = writer.open(file);
+        journal.begin(new GameRecord(6, 7, 4, first, second, new int[] {3}));
+        journal.append(4);
+        journal.undo();
+        journal.undo();
+        journal.append(2);
+        writer.flush();
+
+        assertArrayEquals(new int[] {2}, MoveJournal.recover(file).getMoves(),
+                "A visszavonások a kezdőállás lépéseit is visszavonhatják.");
+    }
+
+    @Test
+    public void testTornTailIsIgnored() throws IOException {
+        Path file = dir.resolve("game" + MoveJournal.EXTENSION);
+        MoveJournal journal = writer.open(file);
+        journal.begin(empty());
+        journal.append(1);
+        journal.append(2);
+        journal.close();
+        writer.flush();
+
+        // Félbeszakadt rekord és egy rossz sorszámú rekord a fájl végén
+        Files.write(file, new byte[] {0, 4, 0, 9, 0}, StandardOpenOption.APPEND);
+
+        assertArrayEquals(new int[] {1, 2}, MoveJournal.recover(file).getMoves(),
+                "A sérült végű naplóból az ép lépéseknek vissza kell állniuk.");
+    }
+
+    @Test
+    public void testIllegalMoveEndsRecovery() throws IOException {
+        Path file = dir.resolve("game" + MoveJournal.EXTENSION);
+        MoveJournal journal = writer.open(file);
+        journal.begin(empty());
+        for (int i = 0; i < 7; i++) {
+            journal.append(0); // A hetedik lépés már tele oszlopba menne
+        }
+        writer.flush();
+
+        assertEquals(6, MoveJournal.recover(file).getMoveCount(),
+                "Szabálytalan lépésnél a helyreállításnak meg kell állnia.");
+    }
+
+    @Test
+    public void testFinishDeletesJournal() {
+        Path file = dir.resolve("game" + MoveJournal.EXTENSION);
+        MoveJournal journal = writer.open(file);
+        journal.begin(empty());
+        journal.append(3);
+        writer.flush();
+        assertTrue(Files.exists(file), "A naplónak léteznie kell a játék közben.");
+
+        journal.finish();
+        writer.flush();
+
+        assertFalse(Files.exists(file), "A befejezett játszma naplóját törölni kell.");
+        assertThrows(IllegalStateException.class, () -> journal.append(4),
+                "Lezárt naplóba nem lehet írni.");
+    }
+
+    @Test
+    public void testAppendBeforeBeginIsRejected() {
+        MoveJournal journal = writer.open(dir.resolve("game" + MoveJournal.EXTENSION));
+
+        assertThrows(IllegalStateException.class, () -> journal.append(3),
+                "Fejléc nélkül nem lehet lépést naplózni.");
+    }
+
+    @Test
+    public void testInvalidFileIsRejected() throws IOException {
+        Path file = dir.resolve("other" + MoveJournal.EXTENSION);
+        Files.write(file, "XO.....\n".getBytes());
+
+        assertThrows(IOException.class, () -> MoveJournal.recover(file),
+                "Idegen fájlt nem lehet naplóként betölteni.");
+    }
+
+    @Test
+    public void testManyConcurrentGamesShareOneWriter() throws Exception {
+        JournalWriter batched = new JournalWriter(20, 128);
+        int games = 200;
+        int[] moves = {3, 2, 3, 2, 4, 4, 5, 5, 1, 0, 6, 6};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int g = 0; g < games; g++) {
+            Path file = dir.resolve("game" + g + MoveJournal.EXTENSION);
+            futures.add(executor.submit(() -> {
+                MoveJournal journal = batched.open(file);
+                journal.begin(empty());
+                for (int move : moves) {
+                    journal.append(move);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        batched.close();
+
+        for (int g = 0; g < games; g++) {
+            assertArrayEquals(moves, MoveJournal.recover(dir.resolve("game" + g + MoveJournal.EXTENSION)).getMoves(),
+                    "Minden játszma naplójának teljesnek kell lennie a leállítás után.");
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package org.connect4;
 
+import org.connect4.sim.MovePolicy;
+import org.connect4.sim.TacticalPolicy;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class PlayerTest {
 
@@ -17,4 +21,14 @@ public class PlayerTest {
         // Assert: Ellenőrizzük, hogy a visszaadott név megegyezik az elvárt névvel
         assertEquals("Játékos1", actualName, "A játékos neve nem egyezik.");
     }
+
+    @Test
+    public void testStrategyIsOptional() {
+        MovePolicy strategy = new TacticalPolicy();
+
+        assertNull(new Player("Játékos1", 'X').getStrategy(),
+                "Stratégia nélkül a játékos ember.");
+        assertSame(strategy, new Player("Gép", 'O', strategy).getStrategy(),
+                "A játékosnak a megadott stratégiát kell hordoznia.");
+    }
 }
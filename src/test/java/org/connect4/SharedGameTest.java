@@ -0,0 +1,132 @@
+package org.connect4;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedGameTest {
+    private final Player first = new Player("Első", 'X');
+    private final Player second = new Player("Második", 'O');
+
+    @Test
+    void testCommitRejectsStaleSnapshot() {
+        SharedGame game = new SharedGame(first, second);
+        BoardSnapshot seen = game.current();
+
+        assertEquals(MoveResult.APPLIED, game.commit(seen, 3), "Az aktuális állásra épülő lépésnek meg kell történnie.");
+        assertEquals(MoveResult.STALE, game.commit(seen, 4), "Az elavult állásra épülő lépést el kell utasítani.");
+        assertEquals(1, game.current().getMoveCount(), "Csak egy lépés kerülhet a táblára.");
+        assertEquals('X', game.current().cellAt(5, 3), "A kezdő karaktere került a táblára.");
+        assertEquals('O', game.tokenToMove(game.current()), "Ezután a második játékos lép.");
+    }
+
+    @Test
+    void testRulesAndOutcomes() {
+        SharedGame game = new SharedGame(first, second, BoardSnapshot.empty(2, 2, 2));
+
+        assertEquals(MoveResult.INVALID_COLUMN, game.play(2), "Nem létező oszlop.");
+        assertEquals(MoveResult.APPLIED, game.play(0), "Szabályos lépés.");
+        assertEquals(MoveResult.APPLIED, game.play(0), "Szabályos lépés.");
+        assertEquals(MoveResult.COLUMN_FULL, game.play(0), "Tele oszlop.");
+        assertEquals(MoveResult.WIN, game.play(1), "Az X vízszintesen nyer az alsó sorban.");
+        assertEquals(MoveResult.GAME_OVER, game.play(1), "Véget ért játszmában nem lehet lépni.");
+
+        game.restart();
+        assertEquals(0, game.current().getMoveCount(), "Újrakezdés után üres a tábla.");
+    }
+
+    @Test
+    void testSameSnapshotRaceHasExactlyOneWinner() throws Exception {
+        int clients = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            for (int round = 0; round < 50; round++) {
+                SharedGame game = new SharedGame(first, second);
+                BoardSnapshot seen = game.current();
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<MoveResult>> results = new ArrayList<>();
+                for (int i = 0; i < clients; i++) {
+                    int col = i % 7;
+                    results.add(pool.submit(() -> {
+                        go.await();
+                        return game.commit(seen, col);
+                    }));
+                }
+                go.countDown();
+                int applied = 0;
+                for (Future<MoveResult> result : results) {
+                    MoveResult outcome = result.get();
+                    if (outcome == MoveResult.APPLIED) {
+                        applied++;
+                    } else {
+                        assertEquals(MoveResult.STALE, outcome, "A vesztesnek elavult választ kell kapnia.");
+                    }
+                }
+                assertEquals(1, applied, "Pontosan egy versengő lépésnek kell megtörténnie.");
+                assertEquals(1, game.current().getMoveCount(), "A táblán pontosan egy token lehet.");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentPlayersAndReadersSeeConsistentSnapshots() throws Exception {
+        SharedGame game = new SharedGame(first, second, BoardSnapshot.empty(20, 20, 20));
+        int writers = 3;
+        int readers = 4;
+        int movesPerWriter = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        try {
+            List<Future<Integer>> writes = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int offset = w;
+                writes.add(pool.submit(() -> {
+                    int applied = 0;
+                    for (int i = 0; i < movesPerWriter; i++) {
+                        if (game.play((offset * 7 + i) % 20).isApplied()) {
+                            applied++;
+                        }
+                    }
+                    return applied;
+                }));
+            }
+            List<Future<Boolean>> reads = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                reads.add(pool.submit(() -> {
+                    int last = 0;
+                    for (int i = 0; i < 2_000; i++) {
+                        BoardSnapshot snapshot = game.current();
+                        int tokens = 0;
+                        for (int col = 0; col < snapshot.getCols(); col++) {
+                            tokens += snapshot.getHeight(col);
+                        }
+                        if (tokens != snapshot.getMoveCount() || snapshot.getMoveCount() < last) {
+                            return false;
+                        }
+                        last = snapshot.getMoveCount();
+                    }
+                    return true;
+                }));
+            }
+            int applied = 0;
+            for (Future<Integer> write : writes) {
+                applied += write.get();
+            }
+            for (Future<Boolean> read : reads) {
+                assertTrue(read.get(), "Az olvasóknak mindig ép, előrehaladó pillanatképet kell látniuk.");
+            }
+            assertEquals(writers * movesPerWriter, applied, "Minden szabályos lépésnek meg kell történnie.");
+            assertEquals(applied, game.current().getMoveCount(), "Egyetlen lépés sem veszhet el.");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.connect4.ai;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.connect4.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchAnalyzerTest {
+
+    @Test
+    void testFindsWinningMoveAndScoresEveryColumn() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(2, 4)) {
+            PositionAnalysis analysis = analyzer.analyzePositions(List.of(position),
+                    AnalysisBudget.ofMillis(500).withDepth(6)).get(0);
+
+            assertEquals(3, analysis.getBestMove(), "A nyerő lépést kell választani.");
+            assertEquals(SearchEngine.MATE_SCORE - 1, analysis.getScore(3), "Az azonnali győzelem a legjobb érték.");
+            for (int col = 0; col < 7; col++) {
+                assertNotEquals(PositionAnalysis.ILLEGAL, analysis.getScore(col), "Minden oszlop szabályos.");
+            }
+        }
+    }
+
+    @Test
+    void testFullColumnIsIllegal() {
+        Position position = new Position(6, 7);
+        for (int i = 0; i < 6; i++) {
+            position.play(0);
+        }
+
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(1, 4)) {
+            PositionAnalysis analysis = analyzer.analyzePositions(List.of(position),
+                    AnalysisBudget.ofNodes(10_000).withDepth(4)).get(0);
+
+            assertEquals(PositionAnalysis.ILLEGAL, analysis.getScore(0), "A tele oszlop nem játszható.");
+            assertNotEquals(0, analysis.getBestMove(), "A tele oszlop nem lehet a legjobb lépés.");
+        }
+    }
+
+    @Test
+    void testMirroredPositionsGetMirroredResults() {
+        Position position = new Position(6, 7);
+        position.play(0);
+        position.play(1);
+        position.play(0);
+        position.play(1);
+        position.play(0);
+
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(2, 4)) {
+            List<PositionAnalysis> analyses = analyzer.analyzePositions(
+                    List.of(position, position.mirror(), new Position(position)),
+                    AnalysisBudget.ofNodes(50_000).withDepth(6));
+
+            assertEquals(0, analyses.get(0).getBestMove(), "A 0. oszlop akadályozza meg a vereséget.");
+            assertEquals(6, analyses.get(1).getBestMove(), "A tükörképen a 6. oszlop a válasz.");
+            for (int col = 0; col < 7; col++) {
+                assertEquals(analyses.get(0).getScore(col), analyses.get(1).getScore(6 - col),
+                        "A tükörkép értékei fordított sorrendűek.");
+                assertEquals(analyses.get(0).getScore(col), analyses.get(2).getScore(col),
+                        "Az azonos állás értékei megegyeznek.");
+            }
+        }
+    }
+
+    @Test
+    void testBoardsAndKeysMatchPositions() {
+        Board board = new Board();
+        board.makeMove(3, 'X');
+        board.makeMove(3, 'O');
+        board.makeMove(2, 'X');
+        Position position = PositionSolver.toPosition(board);
+        AnalysisBudget budget = AnalysisBudget.ofNodes(20_000).withDepth(5);
+
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(1, 4)) {
+            PositionAnalysis fromBoard = analyzer.analyzeBoards(List.of(board), budget).get(0);
+            PositionAnalysis fromKey = analyzer.analyzeKeys(6, 7, new long[] {position.key()}, budget).get(0);
+
+            assertArrayEquals(fromBoard.getScores(), fromKey.getScores(), "A két bemenetnek ugyanazt kell adnia.");
+        }
+    }
+
+    @Test
+    void testMixedDimensionsRejected() {
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(1, 1)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> analyzer.analyzePositions(List.of(new Position(6, 7), new Position(5, 6)),
+                            AnalysisBudget.ofMillis(10)),
+                    "Eltérő méretű állások nem kerülhetnek egy kötegbe.");
+        }
+    }
+
+    @Test
+    void testLargeBatchRespectsNodeBudget() {
+        Random random = new Random(42);
+        List<Position> positions = new ArrayList<>();
+        Set<Long> canonical = new HashSet<>();
+        while (positions.size() < 100_000) {
+            Position position = new Position(6, 7);
+            int moves = 6 + random.nextInt(14);
+            for (int m = 0; m < moves; m++) {
+                int col = random.nextInt(7);
+                if (position.canPlay(col) && !position.isWinningMove(col)) {
+                    position.play(col);
+                }
+            }
+            if (canonical.add(Math.min(position.key(), position.mirror().key()))) {
+                positions.add(position);
+            }
+        }
+
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(2, 16)) {
+            List<PositionAnalysis> analyses = analyzer.analyzePositions(positions,
+                    AnalysisBudget.ofNodes(5_000_000).withDepth(2));
+
+            assertEquals(positions.size(), analyses.size(), "Minden álláshoz tartozik elemzés.");
+            long nodes = 0;
+            for (int i = 0; i < analyses.size(); i++) {
+                int best = analyses.get(i).getBestMove();
+                assertTrue(positions.get(i).canPlay(best), "A legjobb lépésnek szabályosnak kell lennie.");
+                nodes += analyses.get(i).getNodes();
+            }
+            assertTrue(nodes <= 5_000_000 + 100_000 * 7L, "A csomópontkeretet közelítőleg tartani kell.");
+        }
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzer(0, 1),
+                "Legalább egy szál kell.");
+        assertThrows(IllegalArgumentException.class, () -> AnalysisBudget.ofMillis(0),
+                "A keretnek pozitívnak kell lennie.");
+        assertThrows(IllegalArgumentException.class, () -> AnalysisBudget.ofNodes(10).withDepth(0),
+                "A mélységnek pozitívnak kell lennie.");
+    }
+}
@@ -0,0 +1,134 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSearchTest {
+
+    @Test
+    void testTakesImmediateWin() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        SearchResult result = new MonteCarloSearch(1, 1_000, 1_000, 1L).search(position);
+
+        assertEquals(3, result.getBestMove(), "A nyerő lépést kell választani.");
+        assertEquals(MonteCarloSearch.SCORE_SCALE, result.getScore(), "A győzelem a legjobb érték.");
+    }
+
+    @Test
+    void testBlocksOpponentThreat() {
+        Position position = new Position(6, 7);
+        position.play(0);
+        position.play(6);
+        position.play(1);
+        position.play(6);
+        position.play(2);
+
+        SearchResult result = new MonteCarloSearch(1, 10_000, 20_000, 2L).search(position);
+
+        assertEquals(3, result.getBestMove(), "Az ellenfél fenyegetését blokkolni kell.");
+    }
+
+    @Test
+    void testPrefersCenterFromEmptyBoard() {
+        SearchResult result = new MonteCarloSearch(1, 10_000, 50_000, 3L).search(new Position(6, 7));
+
+        assertEquals(3, result.getBestMove(), "Üres táblán a középső oszlop a legjobb.");
+        assertTrue(result.getScore() > 0, "A kezdő előnyben van.");
+    }
+
+    @Test
+    void testPlayoutBudgetIsExact() {
+        SearchResult result = new MonteCarloSearch(1, 60_000, 5_000, 4L).search(new Position(6, 7));
+
+        assertEquals(5_000, result.getNodes(), "A lejátszáskeretet pontosan be kell tartani.");
+        assertTrue(result.getDepth() > 1, "A fának mélyülnie kell.");
+    }
+
+    @Test
+    void testUnlimitedMoveTimeDoesNotOverflowDeadline() {
+        SearchResult result = new MonteCarloSearch(1, Long.MAX_VALUE, 5_000, 4L)
+                .search(new Position(6, 7));
+
+        assertEquals(5_000, result.getNodes(),
+                "Korlátlan időnél csak a lejátszáskeret állíthatja meg a keresést.");
+    }
+
+    @Test
+    void testSameSeedIsReproducible() {
+        Position position = new Position(6, 7);
+        position.play(3);
+        position.play(2);
+
+        SearchResult first = new MonteCarloSearch(1, 60_000, 3_000, 5L).search(position);
+        SearchResult second = new MonteCarloSearch(1, 60_000, 3_000, 5L).search(position);
+
+        assertEquals(first.getBestMove(), second.getBestMove(), "Ugyanaz a mag ugyanazt a lépést adja.");
+        assertEquals(first.getScore(), second.getScore(), "Ugyanaz a mag ugyanazt az értéket adja.");
+    }
+
+    @Test
+    void testRootParallelSplitsBudget() {
+        try (MonteCarloSearch search = new MonteCarloSearch(3, 60_000, 10_000, 6L)) {
+            Position position = new Position(6, 7);
+            position.play(3);
+
+            SearchResult result = search.search(position);
+
+            assertEquals(3, search.getThreads(), "A szálak számának egyeznie kell.");
+            assertEquals(10_000, result.getNodes(), "A szálak együtt a teljes keretet használják.");
+            assertTrue(position.canPlay(result.getBestMove()), "Szabályos lépés kell.");
+        }
+    }
+
+    @Test
+    void testRespectsDeadline() {
+        try (MonteCarloSearch search = new MonteCarloSearch(2, 30,
+                MonteCarloSearch.UNLIMITED_PLAYOUTS, 7L)) {
+            long start = System.nanoTime();
+            SearchResult result = search.search(new Position(6, 7));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMillis < 1_000, "Az időkorlátot be kell tartani: " + elapsedMillis);
+            assertTrue(result.getNodes() > 0, "Legalább egy lejátszásnak le kell futnia.");
+            assertTrue(result.getNodesPerSecond() > 0, "A lejátszás/s értéknek pozitívnak kell lennie.");
+        }
+    }
+
+    @Test
+    void testFullTreeStillReturnsLegalMove() {
+        Position position = new Position(6, 7);
+        position.play(3);
+
+        SearchResult result = new MonteCarloSearch(1, 60_000, 2_000, 8L, 16).search(position);
+
+        assertTrue(position.canPlay(result.getBestMove()), "Betelt fával is szabályos lépés kell.");
+        assertEquals(2_000, result.getNodes(), "A lejátszások a betelt fával is folytatódnak.");
+    }
+
+    @Test
+    void testFinishedPositionHasNoMove() {
+        Position position = new Position(6, 7);
+        for (int i = 0; i < 3; i++) {
+            position.play(0);
+            position.play(1);
+        }
+        position.play(0);
+
+        assertEquals(-1, new MonteCarloSearch(1, 100, 100, 9L).search(position).getBestMove(),
+                "Lezárt játszmában nincs lépés.");
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSearch(0, 10, 10, 1L),
+                "Legalább egy szál kell.");
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSearch(1, 10, 0, 1L),
+                "Legalább egy lejátszás kell.");
+    }
+}
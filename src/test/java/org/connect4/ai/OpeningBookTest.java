@@ -0,0 +1,81 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndLookup() throws IOException {
+        Path file = tempDir.resolve("test.book");
+        OpeningBook.write(file, 6, 7, 4, new long[] {300L, 7L, 42L}, new byte[] {5, 3, 1});
+
+        OpeningBook book = OpeningBook.open(file);
+
+        assertEquals(3, book.size(), "Három rekordnak kell lennie.");
+        assertEquals(4, book.getPlies(), "A lefedett lépésszám hibás.");
+        assertEquals(3, book.lookup(7L), "A 7-es kulcs lépése 3.");
+        assertEquals(1, book.lookup(42L), "A 42-es kulcs lépése 1.");
+        assertEquals(5, book.lookup(300L), "A 300-as kulcs lépése 5.");
+        assertEquals(-1, book.lookup(8L), "Ismeretlen kulcsra nincs lépés.");
+    }
+
+    @Test
+    void testLookupPositionRespectsPlies() throws IOException {
+        Path file = tempDir.resolve("plies.book");
+        Position position = new Position(6, 7);
+        position.play(3);
+        OpeningBook.write(file, 6, 7, 1, new long[] {position.key()}, new byte[] {3});
+
+        OpeningBook book = OpeningBook.open(file);
+
+        assertEquals(-1, book.lookup(position), "A lefedett lépésszám után nem szabad a könyvet használni.");
+    }
+
+    @Test
+    void testInvalidFileRejected() throws IOException {
+        Path file = tempDir.resolve("invalid.book");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> OpeningBook.open(file));
+    }
+
+    @Test
+    void testBuilderCoversOpeningPositions() throws IOException {
+        Path file = tempDir.resolve("built.book");
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 7, 2);
+
+        int written = builder.build(file, new SearchEngine(1_000, 4));
+        OpeningBook book = OpeningBook.open(file);
+
+        assertEquals(5, written, "Az első két lépésben 1 + 4 tükrözésre egyedi állás van.");
+        assertEquals(5, book.size(), "Minden állásnak a könyvben kell lennie.");
+        int firstMove = book.lookup(new Position(6, 7));
+        assertTrue(firstMove >= 0 && firstMove < 7, "Az üres táblára is kell könyvlépés.");
+    }
+
+    @Test
+    void testLookupMirrorsMoveForMirroredPosition() throws IOException {
+        Path file = tempDir.resolve("mirror.book");
+        Position position = new Position(6, 7);
+        position.play(1);
+        Position mirror = position.mirror();
+        Position canonical = position.isMirrorCanonical() ? mirror : position;
+        OpeningBook.write(file, 6, 7, 4, new long[] {canonical.key()}, new byte[] {2});
+
+        OpeningBook book = OpeningBook.open(file);
+
+        Position other = canonical == position ? mirror : position;
+        assertEquals(2, book.lookup(canonical), "A kanonikus alak a tárolt lépést kapja.");
+        assertEquals(4, book.lookup(other), "A tükörkép a tükrözött lépést kapja.");
+    }
+}
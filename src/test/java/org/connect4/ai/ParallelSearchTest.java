@@ -0,0 +1,70 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchTest {
+
+    @Test
+    void testFindsSameWinningMoveWithSeveralThreads() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        try (ParallelSearch search = new ParallelSearch(4, 100, 64, 1)) {
+            SearchResult result = search.search(position);
+
+            assertEquals(3, result.getBestMove(), "A nyerő lépést kell választani.");
+        }
+    }
+
+    @Test
+    void testReachesFixedDepthAndSumsNodes() {
+        Position position = new Position(6, 7);
+        position.play(3);
+
+        try (ParallelSearch search = new ParallelSearch(4, 60_000, 10, 4)) {
+            SearchResult result = search.search(position);
+
+            assertEquals(4, search.getThreads(), "A szálak számának egyeznie kell.");
+            assertEquals(10, result.getDepth(), "A célmélységet el kell érni.");
+            assertTrue(result.getBestMove() >= 0 && result.getBestMove() < 7, "Szabályos lépés kell.");
+            assertTrue(result.getNodes() > 0, "A csomópontokat össze kell adni.");
+        }
+    }
+
+    @Test
+    void testSingleThreadMatchesSearchEngineMove() {
+        Position position = new Position(6, 7);
+        position.play(3);
+        position.play(2);
+
+        SearchResult single = new SearchEngine(60_000, 8, new TranspositionTable(4)).search(position);
+        try (ParallelSearch search = new ParallelSearch(1, 60_000, 8, 4)) {
+            SearchResult parallel = search.search(position);
+
+            assertEquals(single.getBestMove(), parallel.getBestMove(), "Egy szálon ugyanazt kell adnia.");
+            assertEquals(single.getScore(), parallel.getScore(), "Egy szálon az érték is egyezik.");
+        }
+    }
+
+    @Test
+    void testRespectsDeadline() {
+        try (ParallelSearch search = new ParallelSearch(4, 30, 64, 4)) {
+            long start = System.nanoTime();
+            SearchResult result = search.search(new Position(6, 7));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMillis < 1_000, "A keresésnek a határidő közelében le kell állnia.");
+            assertTrue(result.getBestMove() >= 0, "Szabályos lépés kell.");
+        }
+    }
+
+    @Test
+    void testInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(0, 10, 10, 1));
+    }
+}
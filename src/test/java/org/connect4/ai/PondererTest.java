@@ -0,0 +1,79 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PondererTest {
+
+    @Test
+    void testPonderHitAfterPredictedReply() throws InterruptedException {
+        Position root = new Position(6, 7);
+        root.play(3);
+        TranspositionTable table = new TranspositionTable(4);
+
+        try (Ponderer ponderer = new Ponderer(table, 20)) {
+            ponderer.start(root);
+            assertTrue(ponderer.isPondering(), "A gondolkodásnak el kell indulnia.");
+            Thread.sleep(1_000);
+
+            Position reply = new Position(root);
+            reply.play(3);
+            SearchResult result = ponderer.take(reply);
+
+            assertFalse(ponderer.isPondering(), "A take után a gondolkodás leáll.");
+            assertNotNull(result, "A válasz utáni állásra kész eredménynek kell lennie.");
+            assertTrue(reply.canPlay(result.getBestMove()), "A lépésnek szabályosnak kell lennie.");
+            Position next = new Position(reply);
+            next.play(result.getBestMove());
+            assertNotEquals(0L, table.probe(next.key()), "A gondolkodás a közös táblát tölti.");
+            assertNull(ponderer.take(reply), "Az eredmény csak egyszer vehető ki.");
+        }
+    }
+
+    @Test
+    void testStopIsPromptAndShortSearchIsNoHit() {
+        Position root = new Position(6, 7);
+        try (Ponderer ponderer = new Ponderer(new TranspositionTable(1), 60_000)) {
+            ponderer.start(root);
+            long start = System.nanoTime();
+            Position reply = new Position(root);
+            reply.play(3);
+            SearchResult result = ponderer.take(reply);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertNull(result, "A rendes gondolkodási időnél rövidebb keresés nem találat.");
+            assertTrue(elapsedMillis < 1_000, "A leállításnak gyorsnak kell lennie: " + elapsedMillis + " ms");
+        }
+    }
+
+    @Test
+    void testFinishedReplyIsHitEvenWithShortSlice() throws InterruptedException {
+        // Az ellenfél egyetlen válasza után a lépő azonnal nyer: a keresés az időszelet előtt véget ér
+        Position root = Position.of(1, 7, 0L, 0L);
+        for (int col : new int[] {0, 1, 6, 2, 5}) {
+            root.play(col);
+        }
+
+        try (Ponderer ponderer = new Ponderer(null, 60_000)) {
+            ponderer.start(root);
+            Thread.sleep(200);
+            Position reply = new Position(root);
+            reply.play(3);
+            SearchResult result = ponderer.take(reply);
+
+            assertNotNull(result, "A befejezett keresés találat.");
+            assertEquals(4, result.getBestMove(), "Az egyetlen szabad oszlop a 4.");
+        }
+    }
+
+    @Test
+    void testOnlyAlphaBetaSearchersSupported() {
+        try (Ponderer ponderer = Ponderer.forSearcher(new SearchEngine(10), 10)) {
+            assertNotNull(ponderer, "Az alfa-béta keresőhöz lehet gondolkodni.");
+        }
+        try (MonteCarloSearch mcts = new MonteCarloSearch(10)) {
+            assertNull(Ponderer.forSearcher(mcts, 10), "A Monte Carlo keresőhöz nincs háttérgondolkodás.");
+        }
+    }
+}
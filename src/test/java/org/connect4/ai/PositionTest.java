@@ -0,0 +1,184 @@
+package org.connect4.ai;
+
+import org.connect4.Board;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTest {
+
+    @Test
+    void testPlayAndUndo() {
+        Position position = new Position(6, 7);
+        position.play(3);
+        position.play(3);
+        position.play(2);
+        long key = position.key();
+
+        position.play(4);
+        position.undo(4);
+
+        assertEquals(key, position.key(), "A visszavonás után a kulcsnak vissza kell állnia.");
+        assertEquals(3, position.getMoveCount(), "Három lépésnek kell maradnia.");
+        assertEquals(2, position.height(3), "A 3. oszlop magassága 2.");
+    }
+
+    @Test
+    void testWinningMove() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        assertTrue(position.isWinningMove(3), "A 3. oszlop nyerő lépés a kezdőnek.");
+        assertFalse(position.isWinningMove(6), "A 6. oszlop nem nyer.");
+        position.play(3);
+        assertTrue(position.isLastMoveWin(), "Az utolsó lépés győzelmet adott.");
+    }
+
+    @Test
+    void testFullColumn() {
+        Position position = new Position(6, 7);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(position.canPlay(0), "Az oszlopba még lehet dobni.");
+            position.play(0);
+        }
+        assertFalse(position.canPlay(0), "A teli oszlopba nem lehet dobni.");
+    }
+
+    @Test
+    void testFromBoard() {
+        Board board = new Board();
+        board.dropToken(3, 'X');
+        board.dropToken(4, 'O');
+        board.dropToken(3, 'X');
+
+        Position position = Position.fromBoard(board, 'O');
+
+        assertEquals(3, position.getMoveCount(), "Három token van a táblán.");
+        assertEquals(board.getTokenBits('O'), position.getCurrent(), "A lépő játékos az O.");
+        assertEquals(board.getMask(), position.getMask(), "A foglaltsági maszknak egyeznie kell.");
+    }
+
+    @Test
+    void testTooLargeBoardRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Position(8, 9),
+                "A 64 bitnél nagyobb tábla nem támogatott.");
+    }
+
+    @Test
+    void testTallNarrowBoardsHaveNoWrappedLines() {
+        Position twoColumns = new Position(31, 2);
+        twoColumns.play(0);
+        twoColumns.play(0);
+        twoColumns.play(1);
+        assertFalse(twoColumns.isLastMoveWin(), "Két szomszédos token nem győzelem.");
+        for (int col = 0; col < 2; col++) {
+            assertFalse(twoColumns.isWinningMove(col), "Két oszlopon nincs vízszintes vagy átlós négyes.");
+        }
+
+        Position oneColumn = new Position(63, 1);
+        oneColumn.play(0);
+        assertFalse(oneColumn.isLastMoveWin(), "Egyetlen token nem győzelem.");
+        for (int i = 0; i < 5; i++) {
+            oneColumn.play(0);
+            assertFalse(oneColumn.isLastMoveWin(), "Váltakozó tokenek nem alkotnak sort.");
+            assertFalse(oneColumn.isWinningMove(0), "Váltakozó tokenek után nincs nyerő lépés.");
+        }
+        assertEquals(oneColumn.key(), oneColumn.canonicalKey(), "Az egyoszlopos tábla tükörképe önmaga.");
+        assertEquals(oneColumn.key(), Position.fromKey(63, 1, oneColumn.key()).key(),
+                "A teljes 64 bites oszlop kulcsa is visszaalakítható.");
+
+        Position fourColumns = new Position(15, 4);
+        for (int col = 0; col < 3; col++) {
+            fourColumns.play(col);
+            fourColumns.play(col);
+        }
+        assertTrue(fourColumns.isWinningMove(3), "A négy oszlopon átérő sor győzelem.");
+    }
+
+    @Test
+    void testFromKeyRoundTrip() {
+        Position position = new Position(6, 7);
+        for (int col : new int[] {3, 3, 2, 4, 6, 0, 3}) {
+            position.play(col);
+        }
+
+        Position decoded = Position.fromKey(6, 7, position.key());
+
+        assertEquals(position.key(), decoded.key(), "A visszafejtett állás kulcsának egyeznie kell.");
+        assertEquals(position.getMask(), decoded.getMask(), "A foglaltsági maszknak egyeznie kell.");
+        assertEquals(position.getCurrent(), decoded.getCurrent(), "A lépő játékos tokenjeinek egyeznie kell.");
+        assertEquals(7, decoded.getMoveCount(), "Hét lépésnek kell lennie.");
+    }
+
+    @Test
+    void testFromKeyRejectsInvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> Position.fromKey(6, 7, -1L),
+                "A tábla méretébe nem illő kulcsot el kell utasítani.");
+    }
+
+    @Test
+    void testMirror() {
+        Position position = new Position(6, 7);
+        position.play(0);
+        position.play(1);
+        position.play(0);
+
+        Position mirror = position.mirror();
+        Position expected = new Position(6, 7);
+        expected.play(6);
+        expected.play(5);
+        expected.play(6);
+
+        assertEquals(expected.key(), mirror.key(), "A tükörkép az oszlopok megfordítása.");
+        assertEquals(position.key(), mirror.mirror().key(), "A kétszeres tükrözés az eredeti állást adja.");
+    }
+
+    @Test
+    void testCanonicalKeyMaintainedIncrementally() {
+        Position position = new Position(6, 7);
+        Position mirrored = new Position(6, 7);
+        Random random = new Random(5);
+        int[] played = new int[42];
+        int count = 0;
+        while (count < 30) {
+            int col = random.nextInt(7);
+            if (!position.canPlay(col)) {
+                continue;
+            }
+            position.play(col);
+            mirrored.play(6 - col);
+            played[count++] = col;
+            assertEquals(mirrored.key(), position.mirrorKey(), "A tükörkulcsnak lépésenként követnie kell a tükörképet.");
+            assertEquals(position.canonicalKey(), mirrored.canonicalKey(), "A tükörképek kanonikus kulcsa azonos.");
+            assertEquals(Math.min(position.key(), position.mirror().key()), position.canonicalKey(),
+                    "A kanonikus kulcs a két kulcs minimuma.");
+        }
+        while (count > 0) {
+            position.undo(played[--count]);
+            assertEquals(position.mirror().key(), position.mirrorKey(), "Visszavonáskor is követnie kell.");
+        }
+        assertEquals(0L, position.mirrorKey(), "Az üres tábla tükörkulcsa 0.");
+    }
+
+    @Test
+    void testCanonicalKeyFromBoardAndKey() {
+        Board board = new Board();
+        board.makeMove(1, 'X');
+        board.makeMove(2, 'O');
+        Position position = Position.fromBoard(board, 'X');
+        Position restored = Position.fromKey(6, 7, position.mirrorKey());
+
+        assertEquals(position.canonicalKey(), restored.canonicalKey(), "A kulcsból visszaállított tükörkép kulcsa azonos.");
+        assertTrue(position.isMirrorCanonical() != restored.isMirrorCanonical(),
+                "Nem szimmetrikus állásnál pontosan az egyik alak kanonikus.");
+        Position symmetric = new Position(6, 7);
+        symmetric.play(3);
+        assertEquals(symmetric.key(), symmetric.canonicalKey(), "Szimmetrikus állásnál a kulcs maga kanonikus.");
+        assertFalse(symmetric.isMirrorCanonical(), "Szimmetrikus állásnál nincs tükrözés.");
+    }
+}
@@ -0,0 +1,109 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchEngineTest {
+
+    @Test
+    void testTakesImmediateWin() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        SearchResult result = new SearchEngine(50).search(position);
+
+        assertEquals(3, result.getBestMove(), "Az AI-nak a nyerő lépést kell választania.");
+        assertTrue(result.getScore() > SearchEngine.MATE_SCORE - SearchEngine.MAX_PLY, "A nyerő lépés értéke győzelem.");
+    }
+
+    @Test
+    void testBlocksOpponentWin() {
+        Position position = new Position(6, 7);
+        position.play(0);
+        position.play(6);
+        position.play(1);
+        position.play(6);
+        position.play(2);
+
+        SearchResult result = new SearchEngine(50).search(position);
+
+        assertEquals(3, result.getBestMove(), "Az AI-nak blokkolnia kell a vízszintes négyest.");
+    }
+
+    @Test
+    void testRespectsDeadlineAndReportsStatistics() {
+        Position position = new Position(6, 7);
+
+        long start = System.nanoTime();
+        SearchResult result = new SearchEngine(30).search(position);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 500, "A keresésnek a határidő közelében le kell állnia.");
+        assertEquals(3, result.getBestMove(), "Üres táblán a középső oszlop a legjobb.");
+        assertTrue(result.getDepth() > 0, "Legalább egy iterációnak be kell fejeződnie.");
+        assertTrue(result.getNodes() > 0, "A csomópontszámnak pozitívnak kell lennie.");
+    }
+
+    @Test
+    void testDepthLimit() {
+        SearchResult result = new SearchEngine(10_000, 3).search(new Position(6, 7));
+
+        assertEquals(3, result.getDepth(), "A mélységkorlátot be kell tartani.");
+    }
+
+    @Test
+    void testPositionIsNotModified() {
+        Position position = new Position(6, 7);
+        position.play(3);
+        long key = position.key();
+
+        new SearchEngine(20).search(position);
+
+        assertEquals(key, position.key(), "A keresés nem módosíthatja a kapott állást.");
+    }
+
+    @Test
+    void testCenterOrder() {
+        assertArrayEquals(new int[] {3, 4, 2, 5, 1, 6, 0}, SearchEngine.centerOrder(7));
+        assertArrayEquals(new int[] {3, 4, 2, 5, 1, 6, 0, 7}, SearchEngine.centerOrder(8));
+    }
+
+    @Test
+    void testBothEvaluationsBlockOpponentWinAndHugeTimeLimitDoesNotExpire() {
+        Position position = new Position(6, 7);
+        for (int col : new int[] {0, 6, 1, 6, 2}) {
+            position.play(col);
+        }
+
+        for (Evaluation evaluation : Evaluation.values()) {
+            SearchEngine engine = new SearchEngine(Long.MAX_VALUE / 2, 6, null, evaluation);
+            SearchResult result = engine.search(position);
+
+            assertEquals(evaluation, engine.getEvaluation(), "Az értékelés fajtájának egyeznie kell.");
+            assertEquals(3, result.getBestMove(), "Mindkét értékeléssel blokkolni kell.");
+            assertEquals(6, result.getDepth(), "A túl nagy időkeret nem járhat le azonnal.");
+        }
+    }
+
+    @Test
+    void testMirroredPositionReusesTableWithMirroredMoves() {
+        Position position = new Position(6, 7);
+        for (int col : new int[] {1, 3, 1, 4, 1}) {
+            position.play(col);
+        }
+        TranspositionTable table = new TranspositionTable(4);
+
+        SearchResult original = new SearchEngine(60_000, 8, table).search(position);
+        SearchResult mirrored = new SearchEngine(60_000, 8, table).search(position.mirror());
+
+        assertEquals(1, original.getBestMove(), "Az AI-nak blokkolnia kell a függőleges hármast.");
+        assertEquals(5, mirrored.getBestMove(), "A tükörképben a tükrözött lépés a legjobb.");
+        assertEquals(original.getScore(), mirrored.getScore(), "A tükörkép értéke azonos.");
+        assertTrue(mirrored.getNodes() < original.getNodes(),
+                "A tükörképnek a közös kanonikus bejegyzéseket kell használnia.");
+    }
+}
@@ -0,0 +1,94 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolvedDatabaseTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPersistsAcrossReopen() throws IOException {
+        Path file = tempDir.resolve("test.db");
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            for (long key = 0; key < 5_000; key++) {
+                database.put(key * 31, (int) (key % 43) - 21);
+            }
+            database.put(31, 5); // Ismert kulcs nem íródik felül
+        }
+
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            assertEquals(5_000, database.size(), "Minden rekordot be kell tölteni.");
+            assertEquals(-21, database.get(0), "A 0-s kulcs értéke hibás.");
+            assertEquals(-20, database.get(31), "A 31-es kulcs értéke nem változhat.");
+            assertEquals(SolvedDatabase.NOT_FOUND, database.get(32), "Ismeretlen kulcsra nincs érték.");
+        }
+    }
+
+    @Test
+    void testStoresLargeScores() throws IOException {
+        Path file = tempDir.resolve("large.db");
+        try (SolvedDatabase database = SolvedDatabase.open(file, 9, 7)) {
+            database.put(1L, 28);
+            database.put(2L, 32);
+            database.put(3L, -32);
+
+            assertEquals(28, database.get(1L), "A 28-as érték nem csordulhat túl.");
+            assertThrows(IllegalArgumentException.class, () -> database.put(4L, 200),
+                    "A rekordba nem férő értéket el kell utasítani.");
+        }
+        try (SolvedDatabase database = SolvedDatabase.open(file, 9, 7)) {
+            assertEquals(32, database.get(2L), "A nagy értéknek újranyitás után is egyeznie kell.");
+            assertEquals(-32, database.get(3L), "A negatív értéknek is meg kell maradnia.");
+        }
+    }
+
+    @Test
+    void testIgnoresTruncatedRecord() throws IOException {
+        Path file = tempDir.resolve("truncated.db");
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            database.put(1L, 3);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {1, 2, 3}));
+        }
+
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            assertEquals(1, database.size(), "A csonka rekordot el kell dobni.");
+            database.put(2L, -4);
+        }
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            assertEquals(-4, database.get(2L), "A csonka rekord után írt rekordnak olvashatónak kell lennie.");
+        }
+    }
+
+    @Test
+    void testRejectsOtherBoardSize() throws IOException {
+        Path file = tempDir.resolve("size.db");
+        SolvedDatabase.open(file, 6, 7).close();
+
+        assertThrows(IOException.class, () -> SolvedDatabase.open(file, 7, 8));
+        assertTrue(Files.size(file) > 0, "A fájlnak meg kell maradnia.");
+    }
+
+    @Test
+    void testRejectsRawKeyVersion() throws IOException {
+        Path file = tempDir.resolve("old.db");
+        SolvedDatabase.open(file, 6, 7).close();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(java.nio.ByteBuffer.allocate(Integer.BYTES).putInt(0, 1), Integer.BYTES);
+        }
+
+        assertThrows(IOException.class, () -> SolvedDatabase.open(file, 6, 7),
+                "A nyers kulcsú régi adatbázist nem szabad megnyitni.");
+    }
+}
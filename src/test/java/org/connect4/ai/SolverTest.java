@@ -0,0 +1,105 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImmediateWin() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        Solution solution = new Solver(1).analyze(position);
+
+        assertTrue(solution.isWin(), "A lépő játékos nyer.");
+        assertEquals(1, solution.getDistance(), "A győzelem egy lépésre van.");
+        assertEquals(3, solution.getBestMove(), "A nyerő oszlop a 3.");
+        assertEquals((42 + 1 - 6) / 2, solution.getScore(), "Az érték hibás.");
+    }
+
+    @Test
+    void testForcedLoss() {
+        // Az ellenfélnek két nyerő mezője van az alsó sorban (1 és 5)
+        Position position = new Position(6, 7);
+        position.play(2);
+        position.play(2);
+        position.play(3);
+        position.play(3);
+        position.play(4);
+
+        Solution solution = new Solver(1).analyze(position);
+
+        assertTrue(solution.isLoss(), "A lépő játékos nem védhet két fenyegetést.");
+        assertEquals(2, solution.getDistance(), "A vereség két lépésre van.");
+    }
+
+    @Test
+    void testMatchesExhaustiveSearchOnLatePositions() {
+        Random random = new Random(7);
+        Solver solver = new Solver(4);
+        int checked = 0;
+        while (checked < 20) {
+            Position position = randomPosition(random, 30);
+            if (position == null) {
+                continue;
+            }
+            int remaining = 42 - position.getMoveCount();
+            SearchResult exact = new SearchEngine(600_000, remaining).search(position);
+            Solution solution = solver.analyze(position);
+
+            int expectedSign = Integer.signum(exact.getScore());
+            assertEquals(expectedSign, Integer.signum(solution.getScore()), "Az eredménynek egyeznie kell.");
+            if (expectedSign != 0) {
+                int expectedDistance = SearchEngine.MATE_SCORE - Math.abs(exact.getScore());
+                assertEquals(expectedDistance, solution.getDistance(), "A távolságnak egyeznie kell.");
+            }
+            checked++;
+        }
+    }
+
+    @Test
+    void testDatabaseStoresSolvedPositions() throws IOException {
+        Random random = new Random(11);
+        Position position = null;
+        while (position == null) {
+            position = randomPosition(random, 20);
+        }
+        Path file = tempDir.resolve("solved.db");
+
+        int first;
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            first = new Solver(4, database).solve(position);
+            assertEquals(first, database.get(position.key()), "A megoldásnak az adatbázisba kell kerülnie.");
+        }
+        try (SolvedDatabase database = SolvedDatabase.open(file, 6, 7)) {
+            Solver solver = new Solver(4, database);
+            assertEquals(first, solver.solve(position), "Újranyitás után ugyanazt az értéket kell adnia.");
+            assertEquals(0, solver.getNodes(), "Az ismert állást nem szabad újra keresni.");
+        }
+    }
+
+    private static Position randomPosition(Random random, int moves) {
+        Position position = new Position(6, 7);
+        for (int i = 0; i < moves; i++) {
+            int col = random.nextInt(7);
+            if (!position.canPlay(col) || position.isWinningMove(col)) {
+                return null;
+            }
+            position.play(col);
+        }
+        return position.canWinNext() ? null : position;
+    }
+}
@@ -0,0 +1,82 @@
+package org.connect4.ai;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatEvaluatorTest {
+
+    @Test
+    void testIncrementalMatchesRecomputation() {
+        Random random = new Random(7);
+        Position position = new Position(6, 7);
+        ThreatEvaluator evaluator = new ThreatEvaluator(6, 7);
+        evaluator.reset(position);
+        Deque<Integer> played = new ArrayDeque<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            int col = random.nextInt(7);
+            boolean undo = !played.isEmpty() && (random.nextInt(3) == 0 || position.isFull());
+            if (undo) {
+                int last = played.pop();
+                position.undo(last);
+                evaluator.undo(last);
+            } else if (position.canPlay(col)) {
+                position.play(col);
+                evaluator.play(col);
+                played.push(col);
+            }
+            assertEquals(ThreatEvaluator.evaluate(position), evaluator.score(),
+                    "A növekményes értékelésnek egyeznie kell az újraszámolttal.");
+        }
+    }
+
+    @Test
+    void testEmptyPositionIsBalanced() {
+        assertEquals(0, ThreatEvaluator.evaluate(new Position(6, 7)), "Az üres tábla kiegyenlített.");
+    }
+
+    @Test
+    void testCenterIsWorthMoreThanEdge() {
+        Position center = new Position(6, 7);
+        center.play(3);
+        Position edge = new Position(6, 7);
+        edge.play(0);
+
+        assertTrue(ThreatEvaluator.evaluate(center) < ThreatEvaluator.evaluate(edge),
+                "A középső token többet ér az ellenfélnek (a lépőnek rosszabb).");
+    }
+
+    @Test
+    void testOpenThreeAndParityBonus() {
+        // A kezdő hármasa az alsó sorban: a fenyegetés mezője is a (páratlan) alsó sorban van
+        Position odd = new Position(6, 7);
+        for (int col : new int[] {0, 6, 1, 6, 2, 5}) {
+            odd.play(col);
+        }
+        ThreatEvaluator evaluator = new ThreatEvaluator(6, 7);
+        evaluator.reset(odd);
+        int withThreat = evaluator.score();
+        odd.play(3);
+        evaluator.play(3);
+        odd.undo(3);
+        evaluator.undo(3);
+
+        assertEquals(withThreat, evaluator.score(), "A lépés és visszavonás után az érték visszaáll.");
+        assertTrue(withThreat > ThreatEvaluator.THREE_WEIGHT,
+                "A kezdő nyitott hármasa nagy előnyt ad a lépő kezdőnek.");
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ThreatEvaluator(8, 9),
+                "A 64 bitnél nagyobb tábla nem támogatott.");
+        ThreatEvaluator evaluator = new ThreatEvaluator(6, 7);
+        assertThrows(IllegalArgumentException.class, () -> evaluator.reset(new Position(5, 6)),
+                "Eltérő méretű állás nem tölthető be.");
+    }
+}
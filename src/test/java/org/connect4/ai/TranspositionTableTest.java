@@ -0,0 +1,65 @@
+package org.connect4.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42L, TranspositionTable.LOWER, 7, -1234, 5);
+
+        long entry = table.probe(42L);
+
+        assertNotEquals(0L, entry, "A tárolt állást meg kell találni.");
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry), "A korlát típusa hibás.");
+        assertEquals(7, TranspositionTable.depth(entry), "A mélység hibás.");
+        assertEquals(-1234, TranspositionTable.score(entry), "Az érték hibás.");
+        assertEquals(5, TranspositionTable.move(entry), "A lépés hibás.");
+        assertEquals(0L, table.probe(43L), "Ismeretlen állásra nincs találat.");
+        assertEquals(1, table.getHits(), "Egy találatnak kell lennie.");
+        assertEquals(1, table.getMisses(), "Egy hiánynak kell lennie.");
+    }
+
+    @Test
+    void testSizeInMegabytes() {
+        TranspositionTable table = new TranspositionTable(1);
+
+        assertEquals(1 << 16, table.capacity(), "1 MB 65536 darab 16 bájtos bejegyzés.");
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void testDepthPreferredReplacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        long first = 1L;
+        long second = first + 1;
+        while (table.index(second) != table.index(first)) {
+            second++;
+        }
+        table.store(first, TranspositionTable.EXACT, 10, 1, 0);
+        table.store(second, TranspositionTable.EXACT, 3, 2, 1);
+        assertNotEquals(0L, table.probe(first), "A mélyebb bejegyzésnek meg kell maradnia.");
+
+        table.store(second, TranspositionTable.EXACT, 12, 2, 1);
+        assertEquals(0L, table.probe(first), "A mélyebb új bejegyzés felülírja a régit.");
+        assertTrue(table.getCollisions() > 0, "Az ütközést számolni kell.");
+        assertNotEquals(0L, table.probe(second), "Az új bejegyzést meg kell találni.");
+    }
+
+    @Test
+    void testNodeReductionAtFixedDepth() {
+        Position position = new Position(6, 7);
+        position.play(3);
+        position.play(3);
+        int depth = 12;
+
+        SearchResult plain = new SearchEngine(60_000, depth).search(position);
+        SearchResult cached = new SearchEngine(60_000, depth, new TranspositionTable(8)).search(position);
+
+        assertEquals(depth, cached.getDepth(), "A keresésnek el kell érnie a mélységet.");
+        assertTrue(cached.getNodes() * 3 < plain.getNodes(), "A táblának többszörösen csökkentenie kell a csomópontokat.");
+    }
+}
@@ -0,0 +1,158 @@
+package org.connect4.archive;
+
+import org.connect4.Board;
+import org.connect4.Game;
+import org.connect4.GameRecord;
+import org.connect4.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameArchiveTest {
+
+    private static final Player FIRST = new Player("Első", 'X');
+    private static final Player SECOND = new Player("Második", 'O');
+
+    @TempDir
+    Path dir;
+
+    // Véletlen lépésekkel végigjátszott játszma (győzelemig vagy tele tábláig)
+    private static GameRecord randomGame(Random random) {
+        Board board = new Board();
+        int[] moves = new int[board.getRows() * board.getCols()];
+        int count = 0;
+        while (!board.isFull()) {
+            int col = random.nextInt(board.getCols());
+            char token = (count & 1) == 0 ? FIRST.getToken() : SECOND.getToken();
+            if (!board.makeMove(col, token)) {
+                continue;
+            }
+            moves[count++] = col;
+            if (board.checkWinAt(board.getRows() - board.getHeight(col), col)) {
+                break;
+            }
+        }
+        return new GameRecord(board.getRows(), board.getCols(), board.getConnectLength(),
+                FIRST, SECOND, java.util.Arrays.copyOf(moves, count));
+    }
+
+    // A játszma állása az első n lépés után
+    private static Board prefix(GameRecord record, int n) {
+        Board board = new Board();
+        for (int i = 0; i < n; i++) {
+            board.makeMove(record.getMoves()[i], (i & 1) == 0 ? 'X' : 'O');
+        }
+        return board;
+    }
+
+    @Test
+    public void testAppendAndFindAcrossSegments() throws IOException {
+        Random random = new Random(7);
+        GameRecord[] games = new GameRecord[50];
+        try (GameArchive archive = GameArchive.open(dir, 16)) {
+            for (int i = 0; i < games.length; i++) {
+                games[i] = randomGame(random);
+                assertEquals(i, archive.append(games[i]), "Az azonosítók sorszámok.");
+            }
+            assertEquals(50, archive.size(), "Ötven játszmának kell lennie.");
+
+            GameRecord target = games[37];
+            Board position = prefix(target, 5);
+            List<ArchivedGame> found = archive.find(position, 100);
+            assertTrue(found.stream().anyMatch(g -> g.getId() == 37), "A forrásjátszmát meg kell találni.");
+            for (ArchivedGame game : found) {
+                assertArrayEquals(position.getBoard(), prefix(game.getRecord(), 5).getBoard(),
+                        "Minden találatnak át kell mennie az álláson.");
+            }
+            long counted = archive.countOutcomes(position).values().stream().mapToLong(Long::longValue).sum();
+            assertEquals(found.size(), counted, "A kimenetelek száma a találatok száma.");
+
+            assertEquals(50, archive.find(new Board(), 100).size(), "Az üres állásról minden játszma indul.");
+            assertEquals(3, archive.find(new Board(), 3).size(), "A korlátot be kell tartani.");
+            assertArrayEquals(games[20].getMoves(), archive.get(20).getRecord().getMoves(),
+                    "Az azonosító szerinti olvasásnak a játszmát kell adnia.");
+        }
+
+        try (GameArchive reopened = GameArchive.open(dir, 16)) {
+            assertEquals(50, reopened.size(), "Újranyitás után minden játszma megmarad.");
+            assertTrue(reopened.find(prefix(games[49], games[49].getMoveCount()), 10).stream()
+                    .anyMatch(g -> g.getId() == 49), "A lezárt utolsó szegmensben is kell találat.");
+            assertEquals(50, reopened.append(games[0]), "Az azonosítók folytatódnak.");
+        }
+    }
+
+    @Test
+    public void testOutcomes() throws IOException {
+        Board board = new Board();
+        for (int i = 0; i < 3; i++) {
+            board.makeMove(0, 'X');
+            board.makeMove(1, 'O');
+        }
+        board.makeMove(0, 'X');
+        try (GameArchive archive = GameArchive.open(dir)) {
+            archive.append(GameRecord.of(board, FIRST, SECOND));
+            Map<GameOutcome, Long> counts = archive.countOutcomes(board);
+            assertEquals(1L, counts.get(GameOutcome.FIRST_PLAYER_WIN), "A kezdő játékos nyert.");
+            assertEquals(0L, counts.get(GameOutcome.DRAW), "Nincs döntetlen.");
+
+            Board unfinished = new Board();
+            unfinished.makeMove(3, 'X');
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append(GameRecord.of(unfinished, FIRST, SECOND)),
+                    "Befejezetlen játszma nem archiválható.");
+        }
+    }
+
+    @Test
+    public void testRecoversUnsealedSegment() throws IOException {
+        Random random = new Random(11);
+        GameArchive archive = GameArchive.open(dir, 1000);
+        for (int i = 0; i < 5; i++) {
+            archive.append(randomGame(random));
+        }
+        archive.flush();
+        // Összeomlás szimulálása: lezárás nélkül, csonka végű fájl
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (GameArchive recovered = GameArchive.open(dir, 1000)) {
+            assertEquals(4, recovered.size(), "A csonka utolsó játszma elvész, a többi megmarad.");
+            assertEquals(4, recovered.append(randomGame(random)), "A szegmens folytatható.");
+        }
+        try (GameArchive sealed = GameArchive.open(dir, 1000)) {
+            assertEquals(5, sealed.size(), "Lezárás után minden játszma megmarad.");
+        }
+    }
+
+    @Test
+    public void testRecorderArchivesFinishedGames() throws IOException {
+        try (GameArchive archive = GameArchive.open(dir)) {
+            Game game = new Game(FIRST, SECOND, false, null, null, new Board());
+            game.addListener(archive.recorder());
+            for (int i = 0; i < 3; i++) {
+                game.play(0);
+                game.play(1);
+            }
+            assertEquals(0, archive.size(), "Folyamatban lévő játszma nem kerül archívumba.");
+            game.play(0);
+            assertEquals(1, archive.size(), "A befejezett játszmát archiválni kell.");
+            assertEquals(GameOutcome.FIRST_PLAYER_WIN, archive.get(0).getOutcome(), "A kezdő nyert.");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.connect4.bulk;
+
+import org.connect4.Board;
+import org.connect4.ai.Position;
+import org.connect4.ai.PositionSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionImporterTest {
+
+    @TempDir
+    Path dir;
+
+    // Gyűjti az importálás eredményeit, és ellenőrzi a sorrendet
+    private static final class Collector implements ImportListener {
+        final List<Long> keys = new ArrayList<>();
+        final List<ImportDiagnostic> errors = new ArrayList<>();
+        long nextIndex;
+
+        @Override
+        public void onPosition(long index, long key) {
+            assertEquals(nextIndex++, index, "A rekordoknak sorrendben kell érkezniük.");
+            keys.add(key);
+        }
+
+        @Override
+        public void onError(ImportDiagnostic diagnostic) {
+            assertEquals(nextIndex++, diagnostic.getIndex(), "A hibáknak is sorrendben kell érkezniük.");
+            errors.add(diagnostic);
+        }
+    }
+
+    // Véletlen, szabályos állás még el nem dőlt játszmából (X, O bitboardok)
+    private static long[] randomPosition(Random random) {
+        Position position = new Position(6, 7);
+        int moves = random.nextInt(30);
+        for (int i = 0; i < moves; i++) {
+            int col = random.nextInt(7);
+            if (position.canPlay(col) && !position.isWinningMove(col)) {
+                position.play(col);
+            }
+        }
+        long own = position.getCurrent();
+        long other = own ^ position.getMask();
+        return (position.getMoveCount() & 1) == 0 ? new long[] {own, other} : new long[] {other, own};
+    }
+
+    private static String toText(long first, long second) {
+        StringBuilder text = new StringBuilder();
+        for (int row = 5; row >= 0; row--) {
+            for (int col = 0; col < 7; col++) {
+                long bit = 1L << (col * 7 + row);
+                text.append((first & bit) != 0 ? 'X' : (second & bit) != 0 ? 'O' : '.');
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    void testTextDumpMatchesBoardLoader() throws IOException {
+        String board = ".......\n.......\n.......\n.......\n...O...\n..XX...\n";
+        Path single = write("single.txt", board);
+        Board loaded = new Board();
+        assertTrue(loaded.loadStateFromFile(single.toString()), "A tábla betöltésének sikerülnie kell.");
+        long expected = PositionSolver.toPosition(loaded).key();
+
+        Collector collector = new Collector();
+        try (PositionImporter importer = new PositionImporter(6, 7, 2)) {
+            ImportSummary summary = importer.importFile(write("dump.txt", board + "\n" + board.replace("\n", "\r\n")),
+                    collector);
+
+            assertEquals(2, summary.getAccepted(), "Mindkét táblát (CRLF sorvéggel is) el kell fogadni.");
+            assertEquals(0, summary.getRejected(), "Nem lehet hiba.");
+            assertEquals(List.of(expected, expected), collector.keys, "A kulcsnak a Board betöltésével egyeznie kell.");
+        }
+    }
+
+    @Test
+    void testTextDiagnostics() throws IOException {
+        String valid = ".......\n.......\n.......\n.......\n.......\n...X...\n";
+        String floating = ".......\n.......\n.......\n...X...\n.......\n...O...\n";
+        String badChar = ".......\n.......\n.......\n.......\n.......\n...Q...\n";
+        String badLength = ".......\n.......\n.......\n.......\n......\n...X...\n";
+        String balance = ".......\n.......\n.......\n.......\n.......\n..XX...\n";
+        String won = ".......\n.......\n.......\n.......\nOOO....\nXXXX...\n";
+        String truncated = ".......\n...X...\n\n";
+
+        Collector collector = new Collector();
+        try (PositionImporter importer = new PositionImporter(6, 7, 2)) {
+            ImportSummary summary = importer.importFile(write("errors.txt",
+                    floating + badChar + badLength + balance + won + truncated + valid), collector);
+
+            assertEquals(1, summary.getAccepted(), "Csak az utolsó tábla érvényes.");
+            assertEquals(6, summary.getRejected(), "Hat hibás táblának kell lennie.");
+            List<PositionError> kinds = new ArrayList<>();
+            for (ImportDiagnostic diagnostic : collector.errors) {
+                kinds.add(diagnostic.getError());
+            }
+            assertEquals(List.of(PositionError.FLOATING_TOKEN, PositionError.MALFORMED, PositionError.MALFORMED,
+                    PositionError.TOKEN_BALANCE, PositionError.ALREADY_WON, PositionError.MALFORMED), kinds,
+                    "A hibafajtáknak egyezniük kell.");
+            assertEquals(1, collector.errors.get(0).getLocation(), "Az első tábla az 1. sorban kezdődik.");
+            assertTrue(collector.errors.get(1).getMessage().contains("'Q'"), "Az üzenet megnevezi a karaktert.");
+            assertEquals(13, collector.errors.get(2).getLocation(), "A harmadik tábla a 13. sorban kezdődik.");
+            assertTrue(collector.errors.get(5).getMessage().contains("csonka"), "A csonka táblát jelezni kell.");
+            assertEquals(3L, summary.getErrors().get(PositionError.MALFORMED), "Két formai hiba és a csonka tábla.");
+        }
+    }
+
+    @Test
+    void testSmallWindowsGiveSameResultAsDefault() throws IOException {
+        Random random = new Random(5);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            long[] position = randomPosition(random);
+            text.append(toText(position[0], position[1]));
+            if (i % 3 == 0) {
+                text.append('\n');
+            }
+        }
+        Path file = write("many.txt", text.toString());
+
+        Collector whole = new Collector();
+        Collector windowed = new Collector();
+        try (PositionImporter importer = new PositionImporter(6, 7, 2);
+             PositionImporter small = new PositionImporter(6, 7, 3, 100)) {
+            importer.importFile(file, whole);
+            small.importFile(file, windowed);
+        }
+
+        assertEquals(20_000, whole.keys.size(), "Minden véletlen állás érvényes.");
+        assertEquals(whole.keys, windowed.keys, "Az ablakmérettől nem függhet az eredmény.");
+        assertTrue(windowed.errors.isEmpty(), "Kis ablakkal sem lehet hiba.");
+    }
+
+    @Test
+    void testBinaryDump() throws IOException {
+        Random random = new Random(9);
+        Path file = dir.resolve("dump.c4pb");
+        List<Long> expected = new ArrayList<>();
+        PositionValidator validator = new PositionValidator(6, 7);
+        try (PositionDumpWriter writer = PositionDumpWriter.create(file, 6, 7)) {
+            for (int i = 0; i < 10_000; i++) {
+                long[] position = randomPosition(random);
+                writer.write(position[0], position[1]);
+                expected.add(validator.key(position[0], position[1]));
+            }
+            writer.write(1L, 1L);
+            writer.write(1L << 6, 0L);
+        }
+        Files.write(file, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        Collector collector = new Collector();
+        try (PositionImporter importer = new PositionImporter(6, 7, 2, 4096)) {
+            ImportSummary summary = importer.importFile(file, collector);
+
+            assertEquals(expected, collector.keys, "A kulcsoknak egyezniük kell.");
+            assertEquals(3, summary.getRejected(), "Az átfedés, a táblán kívüli bit és a csonka rekord hiba.");
+            assertEquals(PositionError.OVERLAP, collector.errors.get(0).getError(), "Átfedő tokenek.");
+            assertEquals(PositionError.MALFORMED, collector.errors.get(1).getError(), "Őrbit a táblán kívül.");
+            assertEquals(PositionError.MALFORMED, collector.errors.get(2).getError(), "Csonka rekord.");
+            assertEquals(Files.size(file) - 3, collector.errors.get(2).getLocation(), "A csonka rekord helye.");
+            assertEquals(Files.size(file), summary.getBytes(), "A teljes fájlt be kell olvasni.");
+        }
+    }
+
+    @Test
+    void testBinaryDimensionMismatchRejected() throws IOException {
+        Path file = dir.resolve("small.c4pb");
+        try (PositionDumpWriter writer = PositionDumpWriter.create(file, 5, 6)) {
+            writer.write(0L, 0L);
+        }
+        try (PositionImporter importer = new PositionImporter(6, 7, 1)) {
+            assertThrows(IOException.class, () -> importer.importFile(file, new ImportListener() { }),
+                    "Eltérő méretű dump nem importálható.");
+        }
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new PositionImporter(6, 7, 0),
+                "Legalább egy szál kell.");
+        assertThrows(IllegalArgumentException.class, () -> PositionDumpWriter.create(dir.resolve("x"), 8, 9),
+                "A 64 bitnél nagyobb tábla nem támogatott.");
+    }
+}
@@ -0,0 +1,61 @@
+package org.connect4.bulk;
+
+import org.connect4.ai.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionValidatorTest {
+
+    private final PositionValidator validator = new PositionValidator(6, 7);
+
+    @Test
+    void testValidPositionAndKey() {
+        Position position = new Position(6, 7);
+        position.play(3);
+        position.play(3);
+        position.play(2);
+        long x = validator.bit(3, 0) | validator.bit(2, 0);
+        long o = validator.bit(3, 1);
+
+        assertNull(validator.validate(x, o), "Szabályos állás.");
+        assertEquals(position.key(), validator.key(x, o), "A kulcs a lépő játékos (O) szemszögéből készül.");
+        assertNull(validator.validate(0L, 0L), "Az üres tábla szabályos.");
+    }
+
+    @Test
+    void testGravity() {
+        assertEquals(PositionError.FLOATING_TOKEN, validator.validate(validator.bit(4, 1), 0L),
+                "Üres mező fölötti token lebeg.");
+        long fullColumn = 0L;
+        long other = 0L;
+        for (int row = 0; row < 6; row++) {
+            if ((row & 1) == 0) {
+                fullColumn |= validator.bit(0, row);
+            } else {
+                other |= validator.bit(0, row);
+            }
+        }
+        assertNull(validator.validate(fullColumn, other), "A tele oszlop szabályos.");
+        assertTrue(validator.explain(PositionError.FLOATING_TOKEN, validator.bit(4, 1), 0L).contains("4."),
+                "A leírás megnevezi az oszlopot.");
+    }
+
+    @Test
+    void testBalanceAndWin() {
+        assertEquals(PositionError.TOKEN_BALANCE, validator.validate(0L, validator.bit(0, 0)),
+                "Az O nem kezdhet.");
+        long fourX = validator.bit(0, 0) | validator.bit(1, 0) | validator.bit(2, 0) | validator.bit(3, 0);
+        long threeO = validator.bit(0, 1) | validator.bit(1, 1) | validator.bit(2, 1);
+        assertEquals(PositionError.ALREADY_WON, validator.validate(fourX, threeO), "Az X már nyert.");
+        assertEquals("az X négyese kész", validator.explain(PositionError.ALREADY_WON, fourX, threeO),
+                "A leírás megnevezi a nyertest.");
+    }
+
+    @Test
+    void testOverlapAndOutsideBits() {
+        assertEquals(PositionError.OVERLAP, validator.validate(1L, 1L), "Ugyanaz a mező nem lehet kétszer foglalt.");
+        assertEquals(PositionError.MALFORMED, validator.validate(1L << 6, 0L), "Az őrbit nem mező.");
+        assertEquals(PositionError.MALFORMED, validator.validate(1L << 63, 0L), "A táblán kívüli bit hiba.");
+    }
+}
@@ -0,0 +1,40 @@
+package org.connect4.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverValuesContinuously() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket), "Az értéknek a rekesz határán belül kell lennie: " + value);
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBound(bucket - 1),
+                    "Az értéknek az előző rekesz fölött kell lennie: " + value);
+        }
+        int last = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(last), "A legnagyobb érték is rekeszbe kell kerüljön.");
+    }
+
+    @Test
+    public void testStatistics() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(100, histogram.getCount(), "Száz mérésnek kell lennie.");
+        assertEquals(50_500, histogram.getMeanNanos(), "Az átlag hibás.");
+        assertEquals(100_000, histogram.getMaxNanos(), "A maximum hibás.");
+        long p50 = histogram.getP50Nanos();
+        assertTrue(p50 >= 50_000 && p50 <= 62_500, "A medián legfeljebb 25%-kal térhet el: " + p50);
+        long p99 = histogram.getP99Nanos();
+        assertTrue(p99 >= 99_000 && p99 <= 100_000, "A 99. percentilis hibás: " + p99);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount(), "Törlés után nem lehet mérés.");
+        assertEquals(0, histogram.getP99Nanos(), "Üres hisztogram percentilise 0.");
+    }
+}
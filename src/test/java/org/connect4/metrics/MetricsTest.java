@@ -0,0 +1,85 @@
+package org.connect4.metrics;
+
+import org.connect4.Board;
+import org.connect4.Game;
+import org.connect4.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.ObjectName;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+        Board board = new Board();
+        board.dropToken(3, 'X');
+
+        assertEquals(0L, Metrics.start(), "Kikapcsolva nincs időmérés.");
+        assertEquals(0, Metrics.get(Operation.MOVE).getCount(), "Kikapcsolva nem rögzülhet lépés.");
+    }
+
+    @Test
+    public void testEnabledRecordsMovesAndWinChecks() throws Exception {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+        Game game = new Game(new Player("A", 'X'), new Player("B", 'O'), false, null, null, new Board());
+        game.play(3);
+        game.play(4);
+
+        assertEquals(2, Metrics.get(Operation.MOVE).getCount(), "Két lépésnek kell rögzülnie.");
+        assertEquals(2, Metrics.get(Operation.WIN_CHECK).getCount(), "Két győzelemvizsgálatnak kell rögzülnie.");
+        ObjectName name = new ObjectName(Metrics.DOMAIN + Operation.MOVE);
+        assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Count"),
+                "A lépésszámnak JMX-en is látszania kell.");
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Path dump = Files.createTempFile("metrics", ".jfr");
+        Path save = Files.createTempFile("metrics", ".txt");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.connect4.AiDecision");
+            recording.enable("org.connect4.FileOperation");
+            recording.start();
+            Game game = new Game(new Player("A", 'X'), new Player("B", 'O'), true, null, null, new Board());
+            int col = game.computeAIMove();
+            game.getBoard().saveStateToFile(save.toString());
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            RecordedEvent decision = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("org.connect4.AiDecision"))
+                    .findFirst().orElseThrow();
+            assertEquals(col, decision.getInt("column"), "Az eseménynek a választott oszlopot kell tartalmaznia.");
+            assertEquals(AiDecisionEvent.TACTICAL, decision.getString("source"), "Kereső nélkül taktikai a döntés.");
+            RecordedEvent file = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("org.connect4.FileOperation"))
+                    .findFirst().orElseThrow();
+            assertTrue(file.getBoolean("save"), "Mentés eseménynek kell lennie.");
+            assertTrue(file.getBoolean("success"), "A mentésnek sikerülnie kell.");
+        } finally {
+            Files.deleteIfExists(dump);
+            Files.deleteIfExists(save);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.connect4.net;
+
+import org.connect4.ai.Position;
+import org.connect4.sim.TacticalPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+
+    private GameServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new GameServer(0, TacticalPolicy::new, 42L);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    private static final class Client implements AutoCloseable {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Client(int port) throws IOException {
+            socket = new Socket("127.0.0.1", port);
+            socket.setSoTimeout(5000);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        int[] read() throws IOException {
+            int type = in.readUnsignedByte();
+            if (type == Protocol.START) {
+                return new int[] {type, in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte()};
+            }
+            return new int[] {type, in.readUnsignedByte()};
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testGameAgainstAIRunsToTheEnd() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            Protocol.writeHello(client.out, Protocol.MODE_AI, "Anna");
+            int[] start = client.read();
+            assertEquals(Protocol.START, start[0], "Először a kezdési üzenet jön.");
+            assertEquals(0, start[1], "AI ellen a kliens kezd.");
+            assertEquals(6, start[2], "A tábla 6 soros.");
+            assertEquals(7, start[3], "A tábla 7 oszlopos.");
+
+            Position position = new Position(6, 7);
+            int[] message;
+            do {
+                int col = 0;
+                while (!position.canPlay(col)) {
+                    col++;
+                }
+                position.play(col);
+                Protocol.write(client.out, Protocol.MOVE, col);
+                message = client.read();
+                if (message[0] == Protocol.OPPONENT_MOVE) {
+                    position.play(message[1]);
+                    if (position.isLastMoveWin() || position.isFull()) {
+                        message = client.read();
+                    }
+                }
+            } while (message[0] != Protocol.END);
+
+            assertEquals(Protocol.RESULT_LOSS, message[1], "A taktikus AI legyőzi az egy oszlopba rakó klienst.");
+        }
+        assertEquals(1, server.getFinishedGames(), "Egy befejezett játszma.");
+        assertTrue(server.getMoves() >= 7, "A lépéseket számolni kell.");
+    }
+
+    @Test
+    public void testMatchmakingRelaysMovesAndRejectsInvalidOnes() throws IOException {
+        try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+            Protocol.writeHello(first.out, Protocol.MODE_MATCH, "Anna");
+            Protocol.write(first.out, Protocol.MOVE, 3);
+            assertArrayEquals(new int[] {Protocol.INVALID, Protocol.REASON_NOT_YOUR_TURN}, first.read(),
+                    "Párosítás előtt nem lehet lépni.");
+
+            Protocol.writeHello(second.out, Protocol.MODE_MATCH, "Béla");
+            assertEquals(0, first.read()[1], "Az elsőként érkező kezd.");
+            assertEquals(1, second.read()[1], "A második érkező a második helyen ül.");
+
+            Protocol.write(second.out, Protocol.MOVE, 3);
+            assertArrayEquals(new int[] {Protocol.INVALID, Protocol.REASON_NOT_YOUR_TURN}, second.read(),
+                    "Nem a soron következő lépése elutasítandó.");
+            Protocol.write(first.out, Protocol.MOVE, 9);
+            assertArrayEquals(new int[] {Protocol.INVALID, Protocol.REASON_ILLEGAL_MOVE}, first.read(),
+                    "Nem létező oszlop elutasítandó.");
+
+            Protocol.write(first.out, Protocol.MOVE, 3);
+            assertArrayEquals(new int[] {Protocol.OPPONENT_MOVE, 3}, second.read(),
+                    "Az ellenfélnek meg kell kapnia a lépést.");
+
+            second.close();
+            assertArrayEquals(new int[] {Protocol.END, Protocol.RESULT_WIN}, first.read(),
+                    "Kilépéskor az ellenfél nyer.");
+        }
+    }
+
+    @Test
+    public void testConnectionCanPlaySeveralGames() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            for (int game = 0; game < 2; game++) {
+                Protocol.writeHello(client.out, Protocol.MODE_AI, "Anna");
+                assertEquals(Protocol.START, client.read()[0], "Minden játszma kezdési üzenettel indul.");
+                Position position = new Position(6, 7);
+                int[] message;
+                do {
+                    int col = 6;
+                    while (!position.canPlay(col)) {
+                        col--;
+                    }
+                    position.play(col);
+                    Protocol.write(client.out, Protocol.MOVE, col);
+                    message = client.read();
+                    if (message[0] == Protocol.OPPONENT_MOVE) {
+                        position.play(message[1]);
+                        if (position.isLastMoveWin() || position.isFull()) {
+                            message = client.read();
+                        }
+                    }
+                } while (message[0] != Protocol.END);
+            }
+        }
+        assertEquals(2, server.getFinishedGames(), "Egy kapcsolaton két játszma.");
+    }
+}
@@ -0,0 +1,40 @@
+package org.connect4.net;
+
+import org.connect4.sim.TacticalPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorTest {
+
+    @Test
+    public void testReportsLatencyAndThroughput() throws IOException, InterruptedException {
+        LoadReport report;
+        try (GameServer server = new GameServer(0, TacticalPolicy::new, 1L)) {
+            server.start();
+            report = new LoadGenerator("127.0.0.1", server.getPort(), 8, 7L).run(300);
+            assertEquals(report.getGames(), server.getFinishedGames(), "A kliensek minden játszmát befejeznek.");
+        }
+
+        assertTrue(report.getMoves() > 0, "Lépéseket kell mérni.");
+        assertTrue(report.getGames() > 0, "Játszmáknak kell befejeződniük.");
+        assertTrue(report.getLatencyNanos(0.5) <= report.getLatencyNanos(0.99), "A medián nem lehet nagyobb a p99-nél.");
+        assertTrue(report.getMovesPerSecond() > 0, "Az áteresztőképesség pozitív.");
+    }
+
+    @Test
+    public void testPercentilesOfKnownSamples() {
+        long[] samples = new long[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 100 - i;
+        }
+        LoadReport report = new LoadReport(samples, 1, 1_000_000_000L, 2);
+
+        assertEquals(50, report.getLatencyNanos(0.5), "A medián az 50. legkisebb érték.");
+        assertEquals(99, report.getLatencyNanos(0.99), "A p99 a 99. legkisebb érték.");
+        assertEquals(100.0, report.getMovesPerSecond(), 1e-9, "100 lépés 1 másodperc alatt.");
+        assertEquals(50.0, report.getMovesPerSecondPerCore(), 1e-9, "Két magra vetítve a fele.");
+    }
+}
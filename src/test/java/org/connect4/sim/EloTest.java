@@ -0,0 +1,50 @@
+package org.connect4.sim;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EloTest {
+
+    @Test
+    void testEvenScoreIsZeroDifference() {
+        assertEquals(0.0, Elo.difference(10, 0, 10), 1e-9, "Az 50%-os eredmény nulla különbség.");
+        assertEquals(0.0, Elo.difference(0, 20, 0), 1e-9, "A csupa döntetlen nulla különbség.");
+    }
+
+    @Test
+    void testSeventyFivePercentIsAboutOneHundredNinetyOneElo() {
+        assertEquals(190.85, Elo.difference(75, 0, 25), 0.01,
+                "A 75%-os eredmény körülbelül 191 Élő.");
+        assertEquals(-190.85, Elo.difference(25, 0, 75), 0.01, "A különbség előjeles.");
+    }
+
+    @Test
+    void testMarginShrinksWithMoreGames() {
+        double small = Elo.margin(60, 20, 20);
+        double large = Elo.margin(600, 200, 200);
+
+        assertTrue(small > large, "Több játszma szűkebb hibahatárt ad.");
+        assertTrue(large > 0, "A hibahatár pozitív.");
+    }
+
+    @Test
+    void testPerfectScoreStaysFinite() {
+        assertTrue(Double.isFinite(Elo.difference(50, 0, 0)),
+                "A hibátlan eredmény becslése is véges.");
+        assertTrue(Double.isFinite(Elo.margin(50, 0, 0)),
+                "A hibátlan eredmény hibahatára is véges.");
+    }
+
+    @Test
+    void testRatingsAreConsistentWithPairwiseScores() {
+        // A > B > C, és A - C a két lépés összege.
+        double[] elo = Elo.ratings(3, new int[] {0, 1, 0}, new int[] {1, 2, 2},
+                new long[][] {{750, 0, 250}, {750, 0, 250}, {900, 0, 100}});
+
+        assertEquals(0.0, elo[0], 1e-9, "Az első versenyző a viszonyítási pont.");
+        assertTrue(elo[0] > elo[1] && elo[1] > elo[2], "A sorrendnek meg kell maradnia.");
+        assertEquals(elo[0] - elo[1], elo[1] - elo[2], 5.0,
+                "Szimmetrikus eredmények azonos különbséget adnak.");
+    }
+}
@@ -0,0 +1,96 @@
+package org.connect4.sim;
+
+import org.connect4.ai.SearchEngine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlaySimulatorTest {
+
+    @Test
+    void testCountsAddUp() {
+        SimulationResult result = new SelfPlaySimulator(2, 42L)
+                .run(5_000, RandomPolicy::new, RandomPolicy::new);
+
+        assertEquals(5_000, result.getGames(), "Minden játszmát le kell játszani.");
+        assertEquals(result.getGames(),
+                result.getFirstWins() + result.getSecondWins() + result.getDraws(),
+                "A kimenetelek összege a játszmák száma.");
+        long byLength = 0;
+        for (int plies = 0; plies <= 42; plies++) {
+            byLength += result.getGamesOfLength(plies);
+        }
+        assertEquals(result.getGames(), byLength, "A hossz-eloszlás összege a játszmák száma.");
+        assertEquals(0, result.getGamesOfLength(6), "Hat lépésben senki sem nyerhet.");
+        assertTrue(result.getAverageLength() >= 7 && result.getAverageLength() <= 42,
+                "Az átlagos hossznak szabályosnak kell lennie.");
+    }
+
+    @Test
+    void testSameSeedIsReproducibleAcrossThreadCounts() {
+        SimulationResult single = new SelfPlaySimulator(1, 7L)
+                .run(3 * SelfPlaySimulator.CHUNK_GAMES + 17, TacticalPolicy::new, RandomPolicy::new);
+        SimulationResult parallel = new SelfPlaySimulator(4, 7L)
+                .run(3 * SelfPlaySimulator.CHUNK_GAMES + 17, TacticalPolicy::new, RandomPolicy::new);
+
+        assertEquals(single.getFirstWins(), parallel.getFirstWins(), "A győzelmeknek egyezniük kell.");
+        assertEquals(single.getSecondWins(), parallel.getSecondWins(), "A győzelmeknek egyezniük kell.");
+        assertEquals(single.getDraws(), parallel.getDraws(), "A döntetleneknek egyezniük kell.");
+        assertEquals(single.getTotalPlies(), parallel.getTotalPlies(), "A lépésszámnak egyeznie kell.");
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentGames() {
+        SimulationResult first = new SelfPlaySimulator(1, 1L)
+                .run(2_000, RandomPolicy::new, RandomPolicy::new);
+        SimulationResult second = new SelfPlaySimulator(1, 2L)
+                .run(2_000, RandomPolicy::new, RandomPolicy::new);
+
+        assertNotEquals(first.getTotalPlies(), second.getTotalPlies(),
+                "Különböző magok különböző játszmákat adnak.");
+    }
+
+    @Test
+    void testTacticalPolicyBeatsRandom() {
+        SimulationResult result = new SelfPlaySimulator(2, 3L)
+                .run(4_000, RandomPolicy::new, TacticalPolicy::new);
+
+        assertTrue(result.getSecondWins() > 0.8 * result.getGames(),
+                "A taktikus stratégiának második játékosként is nyernie kell: " + result);
+    }
+
+    @Test
+    void testRandomPlayFavoursFirstPlayer() {
+        SimulationResult result = new SelfPlaySimulator(2, 5L)
+                .run(20_000, RandomPolicy::new, RandomPolicy::new);
+
+        assertTrue(result.getFirstWins() > result.getSecondWins(),
+                "Véletlen játékban a kezdő előnyben van: " + result);
+    }
+
+    @Test
+    void testSearchPolicyPlaysLegalGames() {
+        SimulationResult result = new SelfPlaySimulator(1, 9L)
+                .run(4, () -> new SearchPolicy(new SearchEngine(1_000, 2)), RandomPolicy::new);
+
+        assertEquals(4, result.getGames(), "A keresővel is le kell játszani a játszmákat.");
+        assertTrue(result.getFirstWins() >= 3, "A kereső a véletlen ellen nyer: " + result);
+    }
+
+    @Test
+    void testIllegalMoveIsRejected() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(1, 1L);
+
+        assertThrows(IllegalStateException.class,
+                () -> simulator.run(1, () -> (position, random) -> 0, RandomPolicy::new),
+                "A tele oszlopba lépést jelezni kell.");
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlaySimulator(0, 1L),
+                "Legalább egy szál kell.");
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlaySimulator(1, 1L)
+                .run(-1, RandomPolicy::new, RandomPolicy::new), "Negatív játszmaszám hibás.");
+    }
+}
@@ -0,0 +1,57 @@
+package org.connect4.sim;
+
+import java.util.SplittableRandom;
+
+import org.connect4.ai.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TacticalPolicyTest {
+
+    @Test
+    void testTakesImmediateWin() {
+        Position position = new Position(6, 7);
+        for (int col = 0; col < 3; col++) {
+            position.play(col);
+            position.play(col);
+        }
+
+        assertEquals(3, new TacticalPolicy().select(position, new SplittableRandom(1)),
+                "A nyerő lépést kell választani.");
+    }
+
+    @Test
+    void testBlocksOpponentThreat() {
+        Position position = new Position(6, 7);
+        position.play(0);
+        position.play(6);
+        position.play(1);
+        position.play(6);
+        position.play(2);
+
+        for (long seed = 0; seed < 20; seed++) {
+            assertEquals(3, new TacticalPolicy().select(position, new SplittableRandom(seed)),
+                    "Az ellenfél fenyegetését blokkolni kell.");
+        }
+    }
+
+    @Test
+    void testRandomPolicyReturnsPlayableColumn() {
+        Position position = new Position(6, 7);
+        for (int i = 0; i < 6; i++) {
+            position.play(3);
+        }
+        RandomPolicy policy = new RandomPolicy();
+        SplittableRandom random = new SplittableRandom(11);
+        boolean[] seen = new boolean[7];
+        for (int i = 0; i < 500; i++) {
+            int col = policy.select(position, random);
+            assertTrue(position.canPlay(col), "Csak játszható oszlop választható.");
+            seen[col] = true;
+        }
+        for (int col = 0; col < 7; col++) {
+            assertEquals(col != 3, seen[col], "Minden szabad oszlopot választania kell.");
+        }
+    }
+}
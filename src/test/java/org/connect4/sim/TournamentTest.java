@@ -0,0 +1,126 @@
+package org.connect4.sim;
+
+import java.util.List;
+
+import org.connect4.ai.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    private static final List<Contestant> FIELD = List.of(
+            Contestant.parse("random"),
+            Contestant.parse("tactical"),
+            Contestant.parse("search:2"));
+
+    @Test
+    void testRoundRobinCountsAddUp() {
+        TournamentResult result = new Tournament(2, 42L)
+                .run(TournamentFormat.ROUND_ROBIN, FIELD, 100);
+
+        assertEquals(3, result.getPairings().size(), "Három versenyzőnek három párosítása van.");
+        assertEquals(300, result.getGames(), "Minden játszmát le kell játszani.");
+        for (PairingResult pairing : result.getPairings()) {
+            assertEquals(100, pairing.getWins() + pairing.getDraws() + pairing.getLosses(),
+                    "A kimenetelek összege a párosítás játszmáinak száma: " + pairing);
+        }
+        for (Rating rating : result.getRatings()) {
+            assertEquals(200, rating.getGames(), "Mindenki két párosításban játszik: " + rating);
+            assertTrue(rating.getMillisPerMove() >= 0, "A lépésidő nem lehet negatív.");
+        }
+        assertEquals(0.0, result.getRating("random").getElo(), 1e-9,
+                "Az első versenyző a viszonyítási pont.");
+    }
+
+    @Test
+    void testGauntletPairsOnlyTheCandidate() {
+        TournamentResult result = new Tournament(1, 1L)
+                .run(TournamentFormat.GAUNTLET, FIELD, 10);
+
+        assertEquals(2, result.getPairings().size(), "A jelölt mindenki mással játszik.");
+        for (PairingResult pairing : result.getPairings()) {
+            assertEquals("random", pairing.getFirst(), "Minden párosításban a jelölt az első.");
+        }
+    }
+
+    @Test
+    void testSameSeedIsReproducibleAcrossThreadCounts() {
+        int games = 2 * Tournament.CHUNK_GAMES + 10;
+        TournamentResult single = new Tournament(1, 7L)
+                .run(TournamentFormat.ROUND_ROBIN, FIELD, games);
+        TournamentResult parallel = new Tournament(4, 7L)
+                .run(TournamentFormat.ROUND_ROBIN, FIELD, games);
+
+        for (int i = 0; i < single.getPairings().size(); i++) {
+            PairingResult a = single.getPairings().get(i);
+            PairingResult b = parallel.getPairings().get(i);
+            assertEquals(a.getWins(), b.getWins(), "A győzelmeknek egyezniük kell: " + a);
+            assertEquals(a.getDraws(), b.getDraws(), "A döntetleneknek egyezniük kell: " + a);
+        }
+    }
+
+    @Test
+    void testColorsAlternate() {
+        // Két azonos, balról feltöltő stratégia nyitás nélkül: mindig a
+        // kezdő nyer, így csak a színcsere egyenlíti ki az eredményt.
+        Contestant left = new Contestant("left", () -> (position, random) -> {
+            for (int col = 0; col < position.getCols(); col++) {
+                if (position.canPlay(col)) {
+                    return col;
+                }
+            }
+            throw new IllegalStateException("Nincs szabad oszlop.");
+        });
+        Contestant copy = new Contestant("copy", left::newPolicy);
+        TournamentResult result = new Tournament(Position.DEFAULT_ROWS, Position.DEFAULT_COLS, 1, 3L, 0)
+                .run(TournamentFormat.ROUND_ROBIN, List.of(left, copy), 10);
+
+        PairingResult pairing = result.getPairings().get(0);
+        assertEquals(5, pairing.getWins(), "A játszmák felében az első kezd.");
+        assertEquals(5, pairing.getLosses(), "A játszmák felében a második kezd.");
+        assertEquals(0.0, result.getRating("copy").getElo(), 1e-6,
+                "Egyforma stratégiák Élő-különbsége nulla.");
+    }
+
+    @Test
+    void testTacticalBeatsRandomWithSignificantElo() {
+        TournamentResult result = new Tournament(2, 11L).run(TournamentFormat.GAUNTLET,
+                List.of(Contestant.parse("random"), Contestant.parse("tactical")), 400);
+
+        Rating tactical = result.getRating("tactical");
+        assertTrue(tactical.getElo() - tactical.getMargin() > 0,
+                "A taktikus stratégia előnyének szignifikánsnak kell lennie: " + result);
+        PairingResult pairing = result.getPairings().get(0);
+        assertTrue(pairing.getEloDifference() + pairing.getEloMargin() < 0,
+                "A véletlen stratégia hátrányának szignifikánsnak kell lennie: " + pairing);
+    }
+
+    @Test
+    void testThousandsOfGamesPerMinute() {
+        TournamentResult result = new Tournament(2, 5L).run(TournamentFormat.ROUND_ROBIN,
+                List.of(Contestant.parse("random"), Contestant.parse("tactical")), 4_000);
+
+        assertEquals(4_000, result.getGames(), "Minden játszmát le kell játszani.");
+        assertTrue(result.getGamesPerMinute() > 1_000,
+                "Percenként több ezer játszmát kell lejátszani: " + result.getGamesPerMinute());
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        Tournament tournament = new Tournament(1, 0L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tournament.run(TournamentFormat.ROUND_ROBIN, FIELD.subList(0, 1), 10),
+                "Egy versenyzővel nincs verseny.");
+        assertThrows(IllegalArgumentException.class,
+                () -> tournament.run(TournamentFormat.ROUND_ROBIN, FIELD, 0),
+                "A játszmák számának pozitívnak kell lennie.");
+        assertThrows(IllegalArgumentException.class,
+                () -> tournament.run(TournamentFormat.ROUND_ROBIN,
+                        List.of(Contestant.parse("random"), Contestant.parse("random")), 10),
+                "A neveknek egyedinek kell lenniük.");
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(0, 0L),
+                "Legalább egy szál szükséges.");
+    }
+}